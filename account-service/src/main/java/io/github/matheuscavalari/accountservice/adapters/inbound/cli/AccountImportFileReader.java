@@ -0,0 +1,165 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.cli;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.matheuscavalari.accountservice.adapters.inbound.messaging.dto.AccountCreatedMessage.AccountPayload;
+import io.github.matheuscavalari.accountservice.application.dto.AccountCreatedEvent;
+import io.github.matheuscavalari.accountservice.application.dto.AccountImportLine;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Lê arquivos de importação de contas no formato do payload de {@code AccountCreatedMessage}, uma conta por linha:
+ * NDJSON (o payload ou a mensagem inteira com {@code "account"}) ou CSV com cabeçalho {@code id,owner,created_at,status}.
+ * O stream é preguiçoso: só a linha corrente fica em memória. Linhas vazias são ignoradas.
+ */
+@Component
+public class AccountImportFileReader {
+
+    private final ObjectMapper objectMapper;
+
+    public AccountImportFileReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /** O stream precisa ser fechado (fecha o arquivo). */
+    public Stream<AccountImportLine> read(Path file) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, UTF_8);
+        try {
+            Function<String, AccountCreatedEvent> parser;
+            AtomicLong lineNumber = new AtomicLong();
+            if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+                String header = reader.readLine();
+                lineNumber.incrementAndGet();
+                parser = csvParser(header);
+            } else {
+                parser = this::parseJson;
+            }
+
+            return reader.lines()
+                    .map(line -> {
+                        long n = lineNumber.incrementAndGet();
+                        if (line.isBlank()) {
+                            return null;
+                        }
+                        try {
+                            return AccountImportLine.parsed(n, parser.apply(line));
+                        } catch (IllegalArgumentException e) {
+                            return AccountImportLine.rejected(n, e.getMessage());
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .onClose(() -> close(reader));
+        } catch (IOException | RuntimeException e) {
+            close(reader);
+            throw e;
+        }
+    }
+
+    private AccountCreatedEvent parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.has("account")) {
+                node = node.get("account");
+            }
+            AccountPayload payload = objectMapper.treeToValue(node, AccountPayload.class);
+            return new AccountCreatedEvent(payload.id(), payload.owner(), payload.createdAtEpoch(), payload.status());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Function<String, AccountCreatedEvent> csvParser(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        List<String> columns = splitCsv(header).stream()
+                .map(c -> c == null ? "" : c.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int id = columns.indexOf("id");
+        int owner = columns.indexOf("owner");
+        int createdAt = columns.indexOf("created_at");
+        int status = columns.indexOf("status");
+        if (id < 0 || owner < 0) {
+            throw new IllegalArgumentException("CSV header must contain id and owner columns: " + header);
+        }
+
+        return line -> {
+            List<String> fields = splitCsv(line);
+            if (fields.size() != columns.size()) {
+                throw new IllegalArgumentException("expected " + columns.size() + " fields, got " + fields.size());
+            }
+            String rawId = fields.get(id);
+            UUID accountId;
+            try {
+                accountId = rawId == null ? null : UUID.fromString(rawId.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("invalid id '" + rawId + "'");
+            }
+            return new AccountCreatedEvent(
+                    accountId,
+                    fields.get(owner),
+                    createdAt < 0 ? null : fields.get(createdAt),
+                    status < 0 ? null : fields.get(status));
+        };
+    }
+
+    /** RFC 4180 numa única linha: aspas delimitam campos e {@code ""} escapa aspas; campo vazio vira null. */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+        return fields;
+    }
+
+    private static void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.cli;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountImportReport;
+import io.github.matheuscavalari.accountservice.application.usecase.ImportAccountsUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Importação em massa como comando: {@code --account.import.file=/caminho/contas.ndjson} (ou .csv).
+ * Por padrão encerra a aplicação ao terminar.
+ */
+@Component
+@ConditionalOnProperty(name = "account.import.file")
+public class AccountImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountImportRunner.class);
+
+    private final AccountImportFileReader reader;
+    private final ImportAccountsUseCase importAccounts;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final boolean exitOnCompletion;
+
+    public AccountImportRunner(AccountImportFileReader reader,
+                               ImportAccountsUseCase importAccounts,
+                               ConfigurableApplicationContext context,
+                               @Value("${account.import.file}") Path file,
+                               @Value("${account.import.exit-on-completion:true}") boolean exitOnCompletion) {
+        this.reader = reader;
+        this.importAccounts = importAccounts;
+        this.context = context;
+        this.file = file;
+        this.exitOnCompletion = exitOnCompletion;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        log.info("Importing accounts from {}", file);
+
+        AccountImportReport report;
+        try (var lines = reader.read(file)) {
+            report = importAccounts.importAccounts(lines);
+        }
+
+        log.info("Account import finished in {}: {} rows accepted ({} inserted, {} already existed), {} rejected, {} rows/s",
+                report.elapsed(), report.accepted(), report.inserted(), report.duplicates(), report.rejected(),
+                Math.round(report.rowsPerSecond()));
+
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
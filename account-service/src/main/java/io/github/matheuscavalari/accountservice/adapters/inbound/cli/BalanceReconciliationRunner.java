@@ -0,0 +1,50 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.cli;
+
+import io.github.matheuscavalari.accountservice.application.dto.ReconciliationReport;
+import io.github.matheuscavalari.accountservice.application.usecase.ReconcileBalancesUseCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conciliação de saldos como comando: {@code --account.reconciliation.run=true}. Retoma a execução pendente,
+ * se houver. Por padrão encerra a aplicação ao terminar.
+ */
+@Component
+@ConditionalOnProperty(name = "account.reconciliation.run", havingValue = "true")
+public class BalanceReconciliationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceReconciliationRunner.class);
+
+    private final ReconcileBalancesUseCase reconcileBalances;
+    private final ConfigurableApplicationContext context;
+    private final boolean exitOnCompletion;
+
+    public BalanceReconciliationRunner(ReconcileBalancesUseCase reconcileBalances,
+                                       ConfigurableApplicationContext context,
+                                       @Value("${account.reconciliation.exit-on-completion:true}") boolean exitOnCompletion) {
+        this.reconcileBalances = reconcileBalances;
+        this.context = context;
+        this.exitOnCompletion = exitOnCompletion;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ReconciliationReport report = reconcileBalances.reconcile();
+
+        log.info("Reconciliation run {} finished in {} ({} of {} partitions in this process{}): "
+                        + "{} accounts, {} operations, {} discrepancies (see reconciliation_discrepancies)",
+                report.runId(), report.elapsed(), report.partitionsProcessed(), report.partitions(),
+                report.resumed() ? ", resumed" : "", report.accounts(), report.operations(), report.discrepancies());
+
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
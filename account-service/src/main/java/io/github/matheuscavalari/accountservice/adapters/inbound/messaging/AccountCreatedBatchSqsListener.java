@@ -0,0 +1,51 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.messaging;
+
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.github.matheuscavalari.accountservice.adapters.inbound.messaging.dto.AccountCreatedMessage;
+import io.github.matheuscavalari.accountservice.application.dto.AccountCreatedEvent;
+import io.github.matheuscavalari.accountservice.application.usecase.CreateAccountFromEventService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Consome os eventos de conta criada em lotes (até 10 mensagens por poll, o máximo do SQS) e cria as contas
+ * de cada lote com um único INSERT. Só as mensagens cujas contas foram commitadas são confirmadas; as demais
+ * (payload inválido, falha no commit) voltam para a fila após o visibility timeout.
+ */
+@Component
+@ConditionalOnProperty(name = "account.events.listener.mode", havingValue = "batch")
+public class AccountCreatedBatchSqsListener {
+
+    private final CreateAccountFromEventService service;
+
+    public AccountCreatedBatchSqsListener(CreateAccountFromEventService service) {
+        this.service = service;
+    }
+
+    @SqsListener(
+            value = "conta-bancaria-criada",
+            maxMessagesPerPoll = "${account.events.batch.max-messages-per-poll:10}",
+            maxConcurrentMessages = "${account.events.batch.max-concurrent-messages:50}",
+            acknowledgementMode = "MANUAL"
+    )
+    public void onMessages(List<Message<AccountCreatedMessage>> messages,
+                           BatchAcknowledgement<AccountCreatedMessage> acknowledgement) {
+        var events = messages.stream()
+                .map(m -> m.getPayload().account())
+                .filter(Objects::nonNull)
+                .map(account -> new AccountCreatedEvent(account.id(), account.owner(), account.createdAtEpoch(), account.status()))
+                .toList();
+
+        // exceção (ex.: falha no commit) → nada é confirmado e o lote inteiro volta para a fila
+        var committed = service.createAllIfNotExist(events);
+
+        acknowledgement.acknowledge(messages.stream()
+                .filter(m -> m.getPayload().account() != null && committed.contains(m.getPayload().account().id()))
+                .toList());
+    }
+}
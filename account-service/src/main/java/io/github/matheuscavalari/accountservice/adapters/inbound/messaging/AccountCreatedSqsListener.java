@@ -3,9 +3,11 @@ package io.github.matheuscavalari.accountservice.adapters.inbound.messaging;
 import io.awspring.cloud.sqs.annotation.SqsListener;
 import io.github.matheuscavalari.accountservice.adapters.inbound.messaging.dto.AccountCreatedMessage;
 import io.github.matheuscavalari.accountservice.application.usecase.CreateAccountFromEventService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "account.events.listener.mode", havingValue = "single", matchIfMissing = true)
 public class AccountCreatedSqsListener {
 
     private final CreateAccountFromEventService service;
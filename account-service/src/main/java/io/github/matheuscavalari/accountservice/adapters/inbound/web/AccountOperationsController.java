@@ -1,22 +1,87 @@
 package io.github.matheuscavalari.accountservice.adapters.inbound.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.matheuscavalari.accountservice.adapters.inbound.web.api.AccountOperationsApi;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.AccountBalanceResponse;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.AccountStatementItemResponse;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.AccountStatementResponse;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.ApplyOperationBatchItemResult;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.ApplyOperationBatchRequest;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.ApplyOperationBatchResponse;
 import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.ApplyOperationRequest;
 import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.ApplyOperationResponse;
+import io.github.matheuscavalari.accountservice.application.dispatch.OperationGroupCommitDispatcher;
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementPage.StatementEntry;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery.StatementCursor;
 import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationOutcome;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.ledger.LedgerEngine;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationBatchUseCase;
 import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.AuthorizationHoldUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.ExportAccountStatementUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.GetAccountBalanceAsOfUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.GetAccountBalanceUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.GetAccountStatementUseCase;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
 public class AccountOperationsController implements AccountOperationsApi {
 
     private final ApplyOperationUseCase useCase;
+    private final AuthorizationHoldUseCase holdUseCase;
+    private final ApplyOperationBatchUseCase batchUseCase;
+    private final GetAccountBalanceUseCase balanceUseCase;
+    private final GetAccountBalanceAsOfUseCase balanceAsOfUseCase;
+    private final GetAccountStatementUseCase statementUseCase;
+    private final ExportAccountStatementUseCase exportUseCase;
+    private final ObjectMapper objectMapper;
+    private final OperationGroupCommitDispatcher dispatcher;
+    private final LedgerEngine ledger;
 
-    public AccountOperationsController(ApplyOperationUseCase useCase) {
+    public AccountOperationsController(ApplyOperationUseCase useCase,
+                                       AuthorizationHoldUseCase holdUseCase,
+                                       ApplyOperationBatchUseCase batchUseCase,
+                                       GetAccountBalanceUseCase balanceUseCase,
+                                       GetAccountBalanceAsOfUseCase balanceAsOfUseCase,
+                                       GetAccountStatementUseCase statementUseCase,
+                                       ExportAccountStatementUseCase exportUseCase,
+                                       ObjectMapper objectMapper,
+                                       ObjectProvider<OperationGroupCommitDispatcher> dispatcher,
+                                       ObjectProvider<LedgerEngine> ledger) {
         this.useCase = useCase;
+        this.holdUseCase = holdUseCase;
+        this.batchUseCase = batchUseCase;
+        this.balanceUseCase = balanceUseCase;
+        this.balanceAsOfUseCase = balanceAsOfUseCase;
+        this.statementUseCase = statementUseCase;
+        this.exportUseCase = exportUseCase;
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher.getIfAvailable();
+        this.ledger = ledger.getIfAvailable();
     }
 
     @Override
@@ -25,16 +90,162 @@ public class AccountOperationsController implements AccountOperationsApi {
             UUID transactionId,
             ApplyOperationRequest request
     ) {
-        var result = useCase.execute(new ApplyOperationCommand(
+        var cmd = new ApplyOperationCommand(
                 accountId,
                 transactionId,
                 request.type(),
                 request.amountValue(),
                 request.amountCurrency(),
-                request.timestamp()
+                request.timestamp(),
+                request.destinationAccountId()
+        );
+        ApplyOperationResult result;
+        if (ledger != null) {
+            result = ledger.execute(cmd);
+        } else {
+            result = switch (cmd.type()) {
+                case HOLD, CAPTURE, RELEASE -> holdUseCase.execute(cmd);
+                // transferência trava duas contas: fora das filas de escritor único por conta do group commit
+                case TRANSFER -> useCase.execute(cmd);
+                case CREDIT, DEBIT -> dispatcher != null ? dispatcher.apply(cmd) : useCase.execute(cmd);
+            };
+        }
+
+        return ResponseEntity.ok(toResponse(result));
+    }
+
+    @Override
+    public ResponseEntity<ApplyOperationBatchResponse> applyOperations(ApplyOperationBatchRequest request) {
+        var commands = request.operations().stream()
+                .map(item -> new ApplyOperationCommand(
+                        item.accountId(),
+                        item.transactionId(),
+                        item.type(),
+                        item.amountValue(),
+                        item.amountCurrency(),
+                        item.timestamp()
+                ))
+                .toList();
+
+        List<ApplyOperationOutcome> outcomes = batchUseCase.execute(commands);
+
+        var results = new ArrayList<ApplyOperationBatchItemResult>(outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            results.add(toItemResult(commands.get(i), outcomes.get(i)));
+        }
+        return ResponseEntity.ok(new ApplyOperationBatchResponse(results));
+    }
+
+    @Override
+    public ResponseEntity<AccountBalanceResponse> getBalance(UUID accountId, OffsetDateTime asOf, String ifNoneMatch) {
+        if (asOf != null) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(toResponse(balanceAsOfUseCase.execute(accountId, asOf)));
+        }
+
+        var view = balanceUseCase.execute(accountId);
+        var etag = etagOf(view);
+
+        // saldo pode ser guardado pelo cliente, mas sempre revalidado
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(toResponse(view));
+    }
+
+    private static AccountBalanceResponse toResponse(AccountBalanceView view) {
+        return new AccountBalanceResponse(
+                view.accountId(),
+                view.balanceAmount(),
+                view.balanceCurrency(),
+                view.updatedAt()
+        );
+    }
+
+    @Override
+    public ResponseEntity<AccountStatementResponse> getOperations(UUID accountId,
+                                                                  OperationType type,
+                                                                  OperationStatus status,
+                                                                  OffsetDateTime from,
+                                                                  OffsetDateTime to,
+                                                                  String cursor,
+                                                                  Integer limit,
+                                                                  String order) {
+        var page = statementUseCase.execute(new AccountStatementQuery(
+                accountId, type, status, from, to, decodeCursor(cursor), descending(order), limit));
+
+        return ResponseEntity.ok(new AccountStatementResponse(
+                accountId,
+                page.entries().stream().map(AccountOperationsController::toStatementItem).toList(),
+                page.next() != null ? encodeCursor(page.next()) : null
         ));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportOperations(UUID accountId,
+                                                                  OperationType type,
+                                                                  OperationStatus status,
+                                                                  OffsetDateTime from,
+                                                                  OffsetDateTime to,
+                                                                  String format,
+                                                                  String order,
+                                                                  String acceptEncoding) {
+        var exportFormat = StatementExportWriter.Format.of(format);
+        // conta e filtros validados aqui, enquanto erros ainda podem virar 400/404
+        var export = exportUseCase.prepare(new AccountStatementQuery(
+                accountId, type, status, from, to, null, descending(order), null));
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        var response = ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("statement-" + accountId + "." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(out -> {
+            var writer = new StatementExportWriter(out, exportFormat, gzip, objectMapper);
+            export.forEach(entry -> writer.write(toStatementItem(entry)));
+            writer.finish();
+        });
+    }
+
+    private static boolean descending(String order) {
+        return switch (order.toLowerCase(Locale.ROOT)) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new IllegalArgumentException("order must be asc or desc");
+        };
+    }
 
-        return ResponseEntity.ok(new ApplyOperationResponse(
+    /** Accept-Encoding com gzip e q diferente de zero. */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (var candidate : acceptEncoding.split(",")) {
+            var parts = candidate.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static ApplyOperationResponse toResponse(ApplyOperationResult result) {
+        return new ApplyOperationResponse(
                 result.transactionId(),
                 result.accountId(),
                 result.type(),
@@ -44,6 +255,77 @@ public class AccountOperationsController implements AccountOperationsApi {
                 result.timestamp(),
                 result.resultingBalanceAmount(),
                 result.resultingBalanceCurrency()
-        ));
+        );
+    }
+
+    private static AccountStatementItemResponse toStatementItem(StatementEntry entry) {
+        var op = entry.operation();
+        return new AccountStatementItemResponse(
+                op.transactionId(),
+                op.type(),
+                op.amountValue(),
+                op.amountCurrency(),
+                op.status(),
+                op.timestamp(),
+                op.resultingBalanceAmount(),
+                op.resultingBalanceCurrency(),
+                entry.createdAt()
+        );
+    }
+
+    /** Cursor opaco: {@code <created_at em microssegundos>:<transactionId>} em base64url. */
+    private static String encodeCursor(StatementCursor cursor) {
+        var raw = ChronoUnit.MICROS.between(Instant.EPOCH, cursor.createdAt().toInstant()) + ":" + cursor.transactionId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static StatementCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            long micros = Long.parseLong(raw.substring(0, separator));
+            var createdAt = OffsetDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+            return new StatementCursor(createdAt, UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+
+    /** Mesmo mapeamento de erros do {@link RestExceptionHandler}, por item. */
+    private static ApplyOperationBatchItemResult toItemResult(ApplyOperationCommand cmd, ApplyOperationOutcome outcome) {
+        if (outcome.succeeded()) {
+            return new ApplyOperationBatchItemResult(cmd.transactionId(), cmd.accountId(),
+                    HttpStatus.OK.value(), toResponse(outcome.result()), null, null);
+        }
+        var status = outcome.error() instanceof ApplyOperationUseCase.AccountNotFoundException
+                ? HttpStatus.NOT_FOUND
+                : HttpStatus.BAD_REQUEST;
+        return new ApplyOperationBatchItemResult(cmd.transactionId(), cmd.accountId(),
+                status.value(), null, status.name(), outcome.error().getMessage());
+    }
+
+    /** updated_at em microssegundos (precisão do TIMESTAMPTZ), independente do offset devolvido pelo banco. */
+    private static String etagOf(AccountBalanceView view) {
+        return "\"" + ChronoUnit.MICROS.between(Instant.EPOCH, view.updatedAt().toInstant()) + "\"";
+    }
+
+    /** If-None-Match: lista de ETags (fracos ou fortes) ou "*". */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (var candidate : ifNoneMatch.split(",")) {
+            var value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
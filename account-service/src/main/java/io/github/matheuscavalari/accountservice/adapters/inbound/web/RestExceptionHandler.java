@@ -1,6 +1,7 @@
 package io.github.matheuscavalari.accountservice.adapters.inbound.web;
 
 import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.AuthorizationHoldUseCase;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,7 +12,10 @@ import java.util.Map;
 @RestControllerAdvice
 public class RestExceptionHandler {
 
-    @ExceptionHandler(ApplyOperationUseCase.AccountNotFoundException.class)
+    @ExceptionHandler({
+            ApplyOperationUseCase.AccountNotFoundException.class,
+            AuthorizationHoldUseCase.HoldNotFoundException.class
+    })
     public ResponseEntity<Map<String, Object>> handleNotFound(RuntimeException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
                 "timestamp", OffsetDateTime.now().toString(),
@@ -0,0 +1,119 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.AccountStatementItemResponse;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Escreve o extrato linha a linha no stream da resposta, em CSV ou NDJSON e opcionalmente comprimido com gzip.
+ * Só o buffer fixo fica em memória; ele é descarregado no cliente conforme enche.
+ */
+final class StatementExportWriter {
+
+    static final String CSV_HEADER = "transactionId,type,amountValue,amountCurrency,status,timestamp,"
+            + "resultingBalanceAmount,resultingBalanceCurrency,createdAt\n";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    enum Format {
+        CSV(new MediaType("text", "csv", UTF_8), "csv"),
+        NDJSON(new MediaType("application", "x-ndjson", UTF_8), "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        MediaType mediaType() {
+            return mediaType;
+        }
+
+        String extension() {
+            return extension;
+        }
+
+        static Format of(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "csv" -> CSV;
+                case "ndjson" -> NDJSON;
+                default -> throw new IllegalArgumentException("format must be csv or ndjson");
+            };
+        }
+    }
+
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final GZIPOutputStream gzip;
+    private final OutputStream out;
+    private final StringBuilder line = new StringBuilder(256);
+
+    StatementExportWriter(OutputStream target, Format format, boolean gzip, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.gzip = gzip ? new GZIPOutputStream(target, BUFFER_SIZE) : null;
+        this.out = new BufferedOutputStream(gzip ? this.gzip : target, BUFFER_SIZE);
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER.getBytes(UTF_8));
+        }
+    }
+
+    void write(AccountStatementItemResponse item) {
+        try {
+            if (format == Format.NDJSON) {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+                return;
+            }
+            line.setLength(0);
+            line.append(item.transactionId()).append(',')
+                    .append(item.type()).append(',')
+                    .append(plain(item.amountValue())).append(',');
+            appendCsv(item.amountCurrency());
+            line.append(',')
+                    .append(item.status()).append(',')
+                    .append(item.timestamp()).append(',')
+                    .append(plain(item.resultingBalanceAmount())).append(',');
+            appendCsv(item.resultingBalanceCurrency());
+            line.append(',').append(item.createdAt()).append('\n');
+            out.write(line.toString().getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Descarrega o buffer e fecha o gzip (trailer) sem fechar o stream da resposta. */
+    void finish() throws IOException {
+        out.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+
+    private void appendCsv(String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
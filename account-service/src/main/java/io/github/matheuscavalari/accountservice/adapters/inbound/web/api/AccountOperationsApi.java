@@ -1,15 +1,26 @@
 package io.github.matheuscavalari.accountservice.adapters.inbound.web.api;
 
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.AccountBalanceResponse;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.AccountStatementResponse;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.ApplyOperationBatchRequest;
+import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.ApplyOperationBatchResponse;
 import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.ApplyOperationRequest;
 import io.github.matheuscavalari.accountservice.adapters.inbound.web.dto.ApplyOperationResponse;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.*;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -24,12 +35,22 @@ public interface AccountOperationsApi {
     @Operation(
             summary = "Apply an operation to an account (idempotent by transactionId)",
             description = """
-                    Aplica uma operação de CRÉDITO ou DÉBITO em uma conta.
+                    Aplica uma operação de CRÉDITO, DÉBITO, TRANSFERÊNCIA ou BLOQUEIO (HOLD/CAPTURE/RELEASE) em uma conta.
                     
                     Regras:
                     - Idempotente por transactionId
-                    - Débito não permite saldo negativo (status=FAILED)
+                    - Débito não permite saldo disponível negativo (status=FAILED)
                     - Consistência garantida com lock pessimista (FOR UPDATE)
+                    - TRANSFER: accountId é a origem e destinationAccountId o destino (mesma moeda); débito e crédito
+                      na mesma transação, com as duas contas travadas em ordem de accountId. Registra duas operações
+                      (DEBIT na origem com este transactionId, CREDIT no destino), ligadas pela transferência;
+                      a resposta é a perna de débito, com type=TRANSFER. Sem saldo, só a perna de débito é registrada (FAILED)
+                    - TRANSFER não é aceita no lote nem com o ledger em memória (400)
+                    - HOLD: reserva o valor do saldo disponível (saldo - bloqueios ativos) sem alterar o saldo; sem
+                      disponível, o bloqueio é registrado como FAILED. Vence depois de account.holds.ttl
+                    - CAPTURE / RELEASE: usam o transactionId do HOLD. CAPTURE debita até o valor bloqueado e libera o
+                      bloqueio inteiro; RELEASE libera sem debitar. Bloqueio inexistente: 404; já vencido ou finalizado: 400
+                    - HOLD, CAPTURE e RELEASE não são aceitas no lote, em contas quentes nem com o ledger em memória (400)
                     """
     )
     @ApiResponse(
@@ -46,7 +67,7 @@ public interface AccountOperationsApi {
     )
     @ApiResponse(
             responseCode = "404",
-            description = "Account not found"
+            description = "Account (or hold, for CAPTURE/RELEASE) not found"
     )
     @PostMapping(
             value = "/{accountId}/operations/{transactionId}",
@@ -58,4 +79,165 @@ public interface AccountOperationsApi {
             @PathVariable UUID transactionId,
             @Valid @RequestBody ApplyOperationRequest request
     );
+
+    @Operation(
+            summary = "Apply a batch of operations (idempotent per item)",
+            description = """
+                    Aplica um lote de operações de CRÉDITO ou DÉBITO, em uma única transação.
+                    
+                    Regras:
+                    - Até account.operations.batch.max-items itens por requisição (padrão 1000); acima disso, 400
+                    - Idempotente por item (transactionId); itens repetidos no lote devolvem o mesmo resultado
+                    - Dentro de uma mesma conta, os itens são aplicados na ordem em que aparecem no lote
+                    - Entre contas diferentes não há ordem garantida (contas travadas em ordem de accountId)
+                    - Um resultado por item, na ordem de entrada; status do item = código HTTP que a operação
+                      teria isoladamente (200, 400 ou 404), sem invalidar os demais itens
+                    - accountId e transactionId são obrigatórios em todos os itens (senão, 400 para o lote)
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; see the status of each item",
+            content = @Content(
+                    mediaType = APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ApplyOperationBatchResponse.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Empty batch, batch above the limit or item without accountId/transactionId"
+    )
+    @PostMapping(
+            value = "/operations:batch",
+            consumes = APPLICATION_JSON_VALUE,
+            produces = APPLICATION_JSON_VALUE
+    )
+    ResponseEntity<ApplyOperationBatchResponse> applyOperations(
+            @Valid @RequestBody ApplyOperationBatchRequest request
+    );
+
+    @Operation(
+            summary = "Get the current balance of an account",
+            description = """
+                    Retorna o saldo atual da conta (linha base + slots de contas quentes).
+                    
+                    Regras:
+                    - Servido de um cache atualizado após cada commit; no miss, leitura sem lock
+                    - ETag derivado de updated_at: com If-None-Match igual ao ETag atual responde 304 sem corpo
+                    - Com asOf, saldo naquele instante: snapshot de fim de dia mais próximo + operações registradas
+                      (createdAt) entre o fim desse dia e asOf; updatedAt = última operação considerada; sem ETag
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Current balance",
+            headers = @Header(name = HttpHeaders.ETAG, description = "Version of the balance (updated_at)"),
+            content = @Content(
+                    mediaType = APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = AccountBalanceResponse.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "304",
+            description = "Balance not modified since the given ETag"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Account not found"
+    )
+    @GetMapping(
+            value = "/{accountId}/balance",
+            produces = APPLICATION_JSON_VALUE
+    )
+    ResponseEntity<AccountBalanceResponse> getBalance(
+            @PathVariable UUID accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime asOf,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    );
+
+    @Operation(
+            summary = "List the operations of an account (account statement)",
+            description = """
+                    Extrato da conta paginado por cursor (keyset), ordenado por (createdAt, transactionId).
+                    
+                    Regras:
+                    - order=asc (padrão, mais antigas primeiro) ou desc
+                    - Filtros opcionais: type, status e janela de createdAt [from, to)
+                    - limit padrão 50, máximo account.statement.max-page-size (padrão 500)
+                    - nextCursor presente quando há mais páginas: repetir a consulta com cursor=nextCursor
+                      (mesmos filtros e order)
+                    - Leitura sem lock, não concorre com as escritas de saldo
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "A page of the account statement",
+            content = @Content(
+                    mediaType = APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = AccountStatementResponse.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid filter, limit, order or cursor"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Account not found"
+    )
+    @GetMapping(
+            value = "/{accountId}/operations",
+            produces = APPLICATION_JSON_VALUE
+    )
+    ResponseEntity<AccountStatementResponse> getOperations(
+            @PathVariable UUID accountId,
+            @RequestParam(required = false) OperationType type,
+            @RequestParam(required = false) OperationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "asc") String order
+    );
+
+    @Operation(
+            summary = "Export the full operation history of an account (CSV or NDJSON)",
+            description = """
+                    Exporta todas as operações da conta que passam nos filtros, em streaming.
+                    
+                    Regras:
+                    - format=csv (padrão, com cabeçalho) ou ndjson (um objeto JSON por linha)
+                    - Mesmos filtros e ordem do extrato paginado (type, status, from/to, order)
+                    - Lido de um cursor no servidor com fetch size fixo (account.statement.export.fetch-size):
+                      memória constante, qualquer que seja o tamanho do histórico
+                    - Com Accept-Encoding: gzip, a resposta é comprimida durante a escrita (Content-Encoding: gzip)
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Operations of the account as an attachment",
+            content = {
+                    @Content(mediaType = "text/csv"),
+                    @Content(mediaType = "application/x-ndjson")
+            }
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Invalid filter, format or order"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Account not found"
+    )
+    @GetMapping("/{accountId}/operations:export")
+    ResponseEntity<StreamingResponseBody> exportOperations(
+            @PathVariable UUID accountId,
+            @RequestParam(required = false) OperationType type,
+            @RequestParam(required = false) OperationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    );
 }
@@ -0,0 +1,19 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record AccountBalanceResponse(
+
+        @Schema(example = "b8c49f2b-86b0-4c76-8fb2-9f6e9a5f2c10")
+        UUID accountId,
+
+        BigDecimal balanceAmount,
+
+        String balanceCurrency,
+
+        OffsetDateTime updatedAt
+) {}
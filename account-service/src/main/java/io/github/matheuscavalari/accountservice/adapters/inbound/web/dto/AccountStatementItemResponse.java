@@ -0,0 +1,32 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.web.dto;
+
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record AccountStatementItemResponse(
+
+        @Schema(example = "9b3f4f76-7b2d-4b31-9d9a-0b1c9e4b8b12")
+        UUID transactionId,
+
+        OperationType type,
+
+        BigDecimal amountValue,
+
+        String amountCurrency,
+
+        OperationStatus status,
+
+        OffsetDateTime timestamp,
+
+        BigDecimal resultingBalanceAmount,
+
+        String resultingBalanceCurrency,
+
+        @Schema(description = "Momento em que a operação foi registrada (chave de ordenação do extrato)")
+        OffsetDateTime createdAt
+) {}
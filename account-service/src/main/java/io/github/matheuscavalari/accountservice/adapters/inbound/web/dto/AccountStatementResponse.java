@@ -0,0 +1,17 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+public record AccountStatementResponse(
+
+        @Schema(example = "b8c49f2b-86b0-4c76-8fb2-9f6e9a5f2c10")
+        UUID accountId,
+
+        List<AccountStatementItemResponse> operations,
+
+        @Schema(description = "Cursor opaco da próxima página (parâmetro cursor); ausente na última página")
+        String nextCursor
+) {}
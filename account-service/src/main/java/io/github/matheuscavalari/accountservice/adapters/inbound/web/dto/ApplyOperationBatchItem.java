@@ -0,0 +1,36 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.web.dto;
+
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Item de um lote. Só os identificadores são validados na entrada; as demais regras valem por item
+ * e aparecem no resultado do próprio item.
+ */
+public record ApplyOperationBatchItem(
+
+        @Schema(example = "b8c49f2b-86b0-4c76-8fb2-9f6e9a5f2c10")
+        @NotNull
+        UUID accountId,
+
+        @Schema(example = "9b3f4f76-7b2d-4b31-9d9a-0b1c9e4b8b12")
+        @NotNull
+        UUID transactionId,
+
+        @Schema(example = "DEBIT")
+        OperationType type,
+
+        @Schema(example = "10.00")
+        BigDecimal amountValue,
+
+        @Schema(example = "BRL")
+        String amountCurrency,
+
+        @Schema(example = "2025-12-30T12:00:00-03:00")
+        OffsetDateTime timestamp
+) {}
@@ -0,0 +1,28 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * Resultado de um item do lote: {@code status} segue o código HTTP que a mesma operação teria isoladamente
+ * (200, 400 ou 404). {@code operation} vem preenchido em 200; {@code error}/{@code message}, nos demais.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApplyOperationBatchItemResult(
+
+        UUID transactionId,
+
+        UUID accountId,
+
+        @Schema(example = "200")
+        int status,
+
+        ApplyOperationResponse operation,
+
+        @Schema(example = "NOT_FOUND")
+        String error,
+
+        String message
+) {}
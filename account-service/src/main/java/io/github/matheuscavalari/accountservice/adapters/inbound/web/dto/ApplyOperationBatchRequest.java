@@ -0,0 +1,13 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record ApplyOperationBatchRequest(
+
+        @NotEmpty
+        List<@NotNull @Valid ApplyOperationBatchItem> operations
+) {}
@@ -0,0 +1,9 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.web.dto;
+
+import java.util.List;
+
+/** Um resultado por item, na mesma ordem do lote recebido. */
+public record ApplyOperationBatchResponse(
+
+        List<ApplyOperationBatchItemResult> results
+) {}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.UUID;
 
 public record ApplyOperationRequest(
 
@@ -25,5 +26,8 @@ public record ApplyOperationRequest(
 
         @Schema(example = "2025-12-30T12:00:00-03:00")
         @NotNull
-        OffsetDateTime timestamp
+        OffsetDateTime timestamp,
+
+        @Schema(description = "Conta de destino; obrigatória (e permitida) só em TRANSFER")
+        UUID destinationAccountId
 ) {}
@@ -0,0 +1,69 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.messaging;
+
+import io.awspring.cloud.sqs.operations.SendBatchOperationFailedException;
+import io.awspring.cloud.sqs.operations.SendResult;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import io.github.matheuscavalari.accountservice.adapters.outbound.messaging.dto.OperationAppliedMessage;
+import io.github.matheuscavalari.accountservice.application.port.OperationEventPublisherPort;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Publica os eventos do outbox na fila de operações aplicadas com SendMessageBatch (até 10 por requisição).
+ * Entrega at-least-once e sem ordem garantida: consumidores deduplicam por transactionId.
+ */
+@Component
+@ConditionalOnProperty(name = "account.outbox.enabled", havingValue = "true")
+public class SqsOperationEventPublisher implements OperationEventPublisherPort {
+
+    private static final Logger log = LoggerFactory.getLogger(SqsOperationEventPublisher.class);
+
+    private final SqsTemplate sqsTemplate;
+    private final String queue;
+
+    public SqsOperationEventPublisher(SqsTemplate sqsTemplate,
+                                      @Value("${account.outbox.queue:operacao-aplicada}") String queue) {
+        this.sqsTemplate = sqsTemplate;
+        this.queue = queue;
+    }
+
+    @Override
+    public Set<Long> publish(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return Set.of();
+        }
+        var outboxIds = new HashMap<UUID, Long>();
+        List<Message<OperationAppliedMessage>> messages = batch.stream()
+                .map(event -> {
+                    outboxIds.put(event.operation().transactionId(), event.id());
+                    return MessageBuilder.withPayload(OperationAppliedMessage.from(event.operation())).build();
+                })
+                .toList();
+
+        SendResult.Batch<OperationAppliedMessage> result;
+        try {
+            result = sqsTemplate.sendMany(queue, messages);
+        } catch (SendBatchOperationFailedException e) {
+            // falha parcial: as entradas aceitas pelo SQS contam como publicadas, as demais ficam no outbox
+            result = e.getSendBatchResult(OperationAppliedMessage.class);
+        }
+
+        result.failed().forEach(failed -> log.warn("Operation event {} not published: {}",
+                failed.message().getPayload().transactionId(), failed.errorMessage()));
+        return result.successful().stream()
+                .map(sent -> outboxIds.get(sent.message().getPayload().transactionId()))
+                .collect(Collectors.toSet());
+    }
+}
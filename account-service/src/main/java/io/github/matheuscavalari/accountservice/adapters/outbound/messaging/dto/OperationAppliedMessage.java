@@ -0,0 +1,35 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.messaging.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OperationAppliedMessage(
+        @JsonProperty("transaction_id") UUID transactionId,
+        @JsonProperty("account_id") UUID accountId,
+        @JsonProperty("type") String type,
+        @JsonProperty("amount") AmountPayload amount,
+        @JsonProperty("status") String status,
+        @JsonProperty("timestamp") OffsetDateTime timestamp,
+        @JsonProperty("resulting_balance") AmountPayload resultingBalance
+) {
+    public record AmountPayload(
+            @JsonProperty("value") BigDecimal value,
+            @JsonProperty("currency") String currency
+    ) {}
+
+    public static OperationAppliedMessage from(ApplyOperationResult operation) {
+        return new OperationAppliedMessage(
+                operation.transactionId(),
+                operation.accountId(),
+                operation.type().name(),
+                new AmountPayload(operation.amountValue(), operation.amountCurrency()),
+                operation.status().name(),
+                operation.timestamp(),
+                new AmountPayload(operation.resultingBalanceAmount(), operation.resultingBalanceCurrency())
+        );
+    }
+}
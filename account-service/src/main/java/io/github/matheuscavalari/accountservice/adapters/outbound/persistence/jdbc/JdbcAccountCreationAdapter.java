@@ -0,0 +1,51 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jdbc;
+
+import io.github.matheuscavalari.accountservice.application.port.AccountCreationPort;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+public class JdbcAccountCreationAdapter implements AccountCreationPort {
+
+    /**
+     * Multi-row insert via unnest(arrays): um único texto de statement para qualquer tamanho de lote
+     * (prepared statement reaproveitado) e uma ida ao banco por lote.
+     */
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO accounts (id, owner, status, balance_amount, balance_currency, created_at, updated_at)
+            SELECT t.id, t.owner, t.status, 0, ?, t.created_at::timestamptz, ?
+            FROM unnest(?::uuid[], ?::text[], ?::text[], ?::text[]) AS t(id, owner, status, created_at)
+            ON CONFLICT (id) DO NOTHING
+            RETURNING id""";
+
+    private final JdbcClient jdbcClient;
+
+    public JdbcAccountCreationAdapter(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public Set<UUID> insertIfAbsent(List<NewAccount> accounts, String currency, OffsetDateTime updatedAt) {
+        if (accounts.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcClient.sql(INSERT_IF_ABSENT)
+                .params(
+                        currency,
+                        updatedAt,
+                        new SqlArrayValue("uuid", accounts.stream().map(NewAccount::id).toArray()),
+                        new SqlArrayValue("text", accounts.stream().map(NewAccount::owner).toArray()),
+                        new SqlArrayValue("text", accounts.stream().map(NewAccount::status).toArray()),
+                        new SqlArrayValue("text", accounts.stream().map(a -> a.createdAt().toString()).toArray())
+                )
+                .query((rs, n) -> rs.getObject("id", UUID.class))
+                .list());
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jdbc;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.port.AccountHoldPort;
+import io.github.matheuscavalari.accountservice.domain.model.HoldStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Component
+public class JdbcAccountHoldAdapter implements AccountHoldPort {
+
+    private static final String HOLD_COLUMNS = """
+            hold_id, account_id, amount_value, amount_currency, status, timestamp,
+            resulting_balance_amount, resulting_balance_currency, expires_at""";
+
+    /**
+     * Mesmo formato de {@code APPLY_ATOMICALLY}: a linha da conta travada traz o held_amount mais recente,
+     * então a conferência do disponível vale mesmo depois de esperar o lock.
+     */
+    private static final String PLACE_HOLD = """
+            WITH acc AS (
+                SELECT id, balance_amount, balance_currency, balance_slots, held_amount
+                FROM accounts
+                WHERE id = :accountId
+                FOR UPDATE
+            ), ins AS (
+                INSERT INTO account_holds (hold_id, account_id, amount_value, amount_currency, status, timestamp,
+                                           resulting_balance_amount, resulting_balance_currency, expires_at, created_at)
+                SELECT :holdId, acc.id, :amount, :currency,
+                       CASE WHEN acc.balance_amount - acc.held_amount >= :amount THEN 'ACTIVE' ELSE 'FAILED' END,
+                       :timestamp,
+                       CASE WHEN acc.balance_amount - acc.held_amount >= :amount THEN acc.balance_amount
+                            ELSE acc.balance_amount - acc.held_amount END,
+                       acc.balance_currency, :expiresAt, now()
+                FROM acc
+                WHERE upper(acc.balance_currency) = upper(:currency) AND acc.balance_slots = 0
+                ON CONFLICT (hold_id) DO NOTHING
+                RETURNING *
+            ), upd AS (
+                UPDATE accounts a
+                SET held_amount = a.held_amount + ins.amount_value
+                FROM ins
+                WHERE a.id = ins.account_id AND ins.status = 'ACTIVE'
+            )
+            SELECT * FROM ins""";
+
+    private static final String CAPTURE = """
+            WITH acc AS (
+                UPDATE accounts
+                SET balance_amount = balance_amount - :amount,
+                    held_amount = held_amount - :held,
+                    updated_at = now()
+                WHERE id = :accountId
+                RETURNING balance_amount, balance_currency
+            ), ins AS (
+                INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                        timestamp, resulting_balance_amount, resulting_balance_currency, created_at)
+                SELECT :holdId, :accountId, 'CAPTURE', :amount, :currency, 'SUCCEEDED', :timestamp,
+                       acc.balance_amount, acc.balance_currency, now()
+                FROM acc
+                RETURNING resulting_balance_amount, resulting_balance_currency
+            ), fin AS (
+                UPDATE account_holds
+                SET status = 'CAPTURED', finished_at = now()
+                WHERE hold_id = :holdId
+            )
+            SELECT resulting_balance_amount, resulting_balance_currency FROM ins""";
+
+    private static final String RELEASE = """
+            WITH fin AS (
+                UPDATE account_holds
+                SET status = 'RELEASED', finished_at = now()
+                WHERE hold_id = ? AND status = 'ACTIVE'
+                RETURNING account_id, amount_value
+            )
+            UPDATE accounts a
+            SET held_amount = a.held_amount - fin.amount_value
+            FROM fin
+            WHERE a.id = fin.account_id
+            RETURNING a.balance_amount""";
+
+    /** SKIP LOCKED: bloqueios em captura/liberação (ou em outro lote de expiração) ficam para depois. */
+    private static final String EXPIRE_DUE = """
+            WITH due AS (
+                SELECT hold_id
+                FROM account_holds
+                WHERE status = 'ACTIVE' AND expires_at <= now()
+                ORDER BY expires_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE account_holds h
+            SET status = 'EXPIRED', finished_at = now()
+            FROM due
+            WHERE h.hold_id = due.hold_id
+            RETURNING h.account_id, h.amount_value""";
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+
+    public JdbcAccountHoldAdapter(JdbcClient jdbcClient,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Optional<Hold> findHold(UUID holdId) {
+        return jdbcClient.sql("SELECT " + HOLD_COLUMNS + " FROM account_holds WHERE hold_id = ?")
+                .param(holdId)
+                .query(JdbcAccountHoldAdapter::mapHold)
+                .optional();
+    }
+
+    @Override
+    public Optional<Hold> placeHold(ApplyOperationCommand cmd, OffsetDateTime expiresAt) {
+        return jdbcClient.sql(PLACE_HOLD)
+                .param("holdId", cmd.transactionId())
+                .param("accountId", cmd.accountId())
+                .param("amount", cmd.amountValue())
+                .param("currency", cmd.amountCurrency())
+                .param("timestamp", cmd.timestamp())
+                .param("expiresAt", expiresAt)
+                .query(JdbcAccountHoldAdapter::mapHold)
+                .optional();
+    }
+
+    @Override
+    public Optional<Hold> lockHold(UUID holdId) {
+        return jdbcClient.sql("SELECT " + HOLD_COLUMNS + " FROM account_holds WHERE hold_id = ? FOR UPDATE")
+                .param(holdId)
+                .query(JdbcAccountHoldAdapter::mapHold)
+                .optional();
+    }
+
+    @Override
+    public ApplyOperationResult capture(Hold hold, ApplyOperationCommand cmd) {
+        return jdbcClient.sql(CAPTURE)
+                .param("holdId", hold.holdId())
+                .param("accountId", hold.accountId())
+                .param("amount", cmd.amountValue())
+                .param("held", hold.amountValue())
+                .param("currency", cmd.amountCurrency())
+                .param("timestamp", cmd.timestamp())
+                .query((rs, n) -> new ApplyOperationResult(
+                        hold.holdId(),
+                        OperationType.CAPTURE,
+                        cmd.amountValue(),
+                        cmd.amountCurrency(),
+                        OperationStatus.SUCCEEDED,
+                        cmd.timestamp(),
+                        hold.accountId(),
+                        rs.getBigDecimal("resulting_balance_amount"),
+                        rs.getString("resulting_balance_currency")))
+                .single();
+    }
+
+    @Override
+    public BigDecimal release(Hold hold) {
+        return jdbcClient.sql(RELEASE)
+                .param(hold.holdId())
+                .query(BigDecimal.class)
+                .single();
+    }
+
+    @Override
+    public int expireDue(int limit) {
+        Integer expired = tx.execute(status -> {
+            // valor a devolver por conta; TreeMap: contas travadas na ordem canônica de accountId
+            Map<UUID, BigDecimal> releasedByAccount = new TreeMap<>();
+            int[] holds = {0};
+            jdbcClient.sql(EXPIRE_DUE)
+                    .param(limit)
+                    .query(rs -> {
+                        holds[0]++;
+                        releasedByAccount.merge(rs.getObject("account_id", UUID.class),
+                                rs.getBigDecimal("amount_value"), BigDecimal::add);
+                    });
+            if (releasedByAccount.isEmpty()) {
+                return 0;
+            }
+            // um UPDATE por conta (não por bloqueio), em lote, na mesma ordem de lock das transferências
+            jdbcTemplate.batchUpdate("UPDATE accounts SET held_amount = held_amount - ? WHERE id = ?",
+                    releasedByAccount.entrySet().stream()
+                            .map(e -> new Object[]{e.getValue(), e.getKey()})
+                            .toList());
+            return holds[0];
+        });
+        return expired != null ? expired : 0;
+    }
+
+    private static Hold mapHold(ResultSet rs, int rowNum) throws SQLException {
+        return new Hold(
+                rs.getObject("hold_id", UUID.class),
+                rs.getObject("account_id", UUID.class),
+                rs.getBigDecimal("amount_value"),
+                rs.getString("amount_currency"),
+                HoldStatus.valueOf(rs.getString("status")),
+                rs.getObject("timestamp", OffsetDateTime.class),
+                rs.getBigDecimal("resulting_balance_amount"),
+                rs.getString("resulting_balance_currency"),
+                rs.getObject("expires_at", OffsetDateTime.class)
+        );
+    }
+}
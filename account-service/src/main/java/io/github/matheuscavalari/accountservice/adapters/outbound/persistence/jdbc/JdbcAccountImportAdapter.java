@@ -0,0 +1,98 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jdbc;
+
+import io.github.matheuscavalari.accountservice.application.port.AccountCreationPort.NewAccount;
+import io.github.matheuscavalari.accountservice.application.port.AccountImportPort;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Component
+public class JdbcAccountImportAdapter implements AccountImportPort {
+
+    /** Staging temporária por transação: não é WAL-logada, some no commit e não conflita entre importações. */
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE account_import_staging (
+                id UUID NOT NULL,
+                owner TEXT NOT NULL,
+                status TEXT NOT NULL,
+                created_at TIMESTAMPTZ NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGING =
+            "COPY account_import_staging (id, owner, status, created_at) FROM STDIN";
+
+    private static final String MERGE = """
+            INSERT INTO accounts (id, owner, status, balance_amount, balance_currency, created_at, updated_at)
+            SELECT s.id, s.owner, s.status, 0, ?, s.created_at, ?
+            FROM account_import_staging s
+            ON CONFLICT (id) DO NOTHING""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+
+    public JdbcAccountImportAdapter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public long copyAndMerge(List<NewAccount> accounts, String currency, OffsetDateTime updatedAt) {
+        if (accounts.isEmpty()) {
+            return 0;
+        }
+        return tx.execute(status -> {
+            jdbcTemplate.execute(CREATE_STAGING);
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copy(connection, accounts));
+            return (long) jdbcTemplate.update(MERGE, currency, updatedAt);
+        });
+    }
+
+    /** COPY em formato texto, linha a linha, direto no stream do driver (sem montar o lote inteiro em bytes). */
+    private static long copy(Connection connection, List<NewAccount> accounts) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+        try {
+            var row = new StringBuilder(128);
+            for (var account : accounts) {
+                row.setLength(0);
+                row.append(account.id()).append('\t');
+                appendText(row, account.owner());
+                row.append('\t');
+                appendText(row, account.status());
+                row.append('\t').append(account.createdAt()).append('\n');
+
+                byte[] bytes = row.toString().getBytes(UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /** Escapes do formato texto do COPY: barra invertida, tab e quebras de linha. */
+    private static void appendText(StringBuilder row, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case '\t' -> row.append("\\t");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                default -> row.append(c);
+            }
+        }
+    }
+}
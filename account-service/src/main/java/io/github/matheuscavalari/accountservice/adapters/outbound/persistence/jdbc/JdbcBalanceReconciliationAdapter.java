@@ -0,0 +1,179 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jdbc;
+
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class JdbcBalanceReconciliationAdapter implements BalanceReconciliationPort {
+
+    private static final String ACCOUNTS = """
+            SELECT a.id,
+                   ((a.balance_amount + COALESCE((SELECT SUM(s.balance_amount)
+                                                  FROM account_balance_slots s
+                                                  WHERE s.account_id = a.id), 0)) * 100)::bigint AS balance_minor,
+                   a.balance_slots > 0 AS hot
+            FROM accounts a
+            WHERE a.id >= ?""";
+
+    /** Index-only scan em idx_operations_account_created_at: chaves e colunas lidas estão todas no índice. */
+    private static final String OPERATIONS = """
+            SELECT transaction_id, account_id, type, status,
+                   (amount_value * 100)::bigint AS amount_minor,
+                   (resulting_balance_amount * 100)::bigint AS resulting_minor
+            FROM operations
+            WHERE account_id >= ?""";
+
+    private static final String OPERATIONS_ORDER = " ORDER BY account_id, created_at, transaction_id";
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate snapshotTx;
+
+    public JdbcBalanceReconciliationAdapter(JdbcClient jdbcClient,
+                                            JdbcTemplate jdbcTemplate,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${account.reconciliation.fetch-size:1000}") int fetchSize) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.snapshotTx = new TransactionTemplate(transactionManager);
+        this.snapshotTx.setReadOnly(true);
+        this.snapshotTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Override
+    public Optional<Run> findUnfinishedRun() {
+        return jdbcClient.sql("""
+                        SELECT id, partitions FROM reconciliation_runs
+                        WHERE finished_at IS NULL
+                        ORDER BY id DESC
+                        LIMIT 1""")
+                .query((rs, n) -> new Run(rs.getLong("id"), rs.getInt("partitions")))
+                .optional();
+    }
+
+    @Override
+    public Run startRun(int partitions) {
+        return tx.execute(status -> {
+            long id = jdbcClient.sql("INSERT INTO reconciliation_runs (partitions) VALUES (?) RETURNING id")
+                    .param(partitions)
+                    .query(Long.class)
+                    .single();
+            jdbcClient.sql("""
+                            INSERT INTO reconciliation_partitions (run_id, partition_no)
+                            SELECT ?, p FROM generate_series(0, ? - 1) AS p""")
+                    .params(id, partitions)
+                    .update();
+            return new Run(id, partitions);
+        });
+    }
+
+    @Override
+    public List<Integer> pendingPartitions(long runId) {
+        return jdbcClient.sql("""
+                        SELECT partition_no FROM reconciliation_partitions
+                        WHERE run_id = ? AND finished_at IS NULL
+                        ORDER BY partition_no""")
+                .param(runId)
+                .query(Integer.class)
+                .list();
+    }
+
+    @Override
+    public void scan(UUID lower, UUID upper, PartitionVisitor visitor) {
+        List<Object> bounds = new ArrayList<>(2);
+        bounds.add(lower);
+        String accountsSql = ACCOUNTS;
+        String operationsSql = OPERATIONS;
+        if (upper != null) {
+            bounds.add(upper);
+            accountsSql += " AND a.id < ?";
+            operationsSql += " AND account_id < ?";
+        }
+        String accounts = accountsSql;
+        String operations = operationsSql + OPERATIONS_ORDER;
+        Object[] args = bounds.toArray();
+
+        // cursor no servidor: fetch size só vale dentro de uma transação
+        snapshotTx.executeWithoutResult(status -> {
+            streamingJdbcTemplate.query(accounts, rs -> {
+                visitor.account(new StoredBalance(
+                        rs.getObject("id", UUID.class),
+                        rs.getLong("balance_minor"),
+                        rs.getBoolean("hot")));
+            }, args);
+            streamingJdbcTemplate.query(operations, rs -> {
+                visitor.operation(new OperationEntry(
+                        rs.getObject("transaction_id", UUID.class),
+                        rs.getObject("account_id", UUID.class),
+                        OperationType.valueOf(rs.getString("type")),
+                        OperationStatus.valueOf(rs.getString("status")),
+                        rs.getLong("amount_minor"),
+                        rs.getLong("resulting_minor")));
+            }, args);
+        });
+    }
+
+    @Override
+    public void completePartition(long runId, int partition, PartitionResult result) {
+        tx.executeWithoutResult(status -> {
+            if (!result.discrepancies().isEmpty()) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO reconciliation_discrepancies
+                            (run_id, account_id, kind, expected_amount, actual_amount, transaction_id)
+                        VALUES (?, ?, ?, ?, ?, ?)""", result.discrepancies().stream()
+                        .map(d -> new Object[]{
+                                runId, d.accountId(), d.kind().name(),
+                                toAmount(d.expectedMinor()), toAmount(d.actualMinor()), d.transactionId()})
+                        .toList());
+            }
+            jdbcClient.sql("""
+                            UPDATE reconciliation_partitions
+                            SET accounts = ?, operations = ?, discrepancies = ?, finished_at = now()
+                            WHERE run_id = ? AND partition_no = ?""")
+                    .params(result.accounts(), result.operations(), result.discrepancies().size(), runId, partition)
+                    .update();
+        });
+    }
+
+    @Override
+    public RunTotals finishRun(long runId) {
+        return tx.execute(status -> {
+            jdbcClient.sql("UPDATE reconciliation_runs SET finished_at = now() WHERE id = ?")
+                    .param(runId)
+                    .update();
+            return jdbcClient.sql("""
+                            SELECT COALESCE(SUM(accounts), 0) AS accounts,
+                                   COALESCE(SUM(operations), 0) AS operations,
+                                   COALESCE(SUM(discrepancies), 0) AS discrepancies
+                            FROM reconciliation_partitions
+                            WHERE run_id = ?""")
+                    .param(runId)
+                    .query((rs, n) -> new RunTotals(
+                            rs.getLong("accounts"), rs.getLong("operations"), rs.getLong("discrepancies")))
+                    .single();
+        });
+    }
+
+    private static BigDecimal toAmount(Long minor) {
+        return minor == null ? null : BigDecimal.valueOf(minor, 2);
+    }
+}
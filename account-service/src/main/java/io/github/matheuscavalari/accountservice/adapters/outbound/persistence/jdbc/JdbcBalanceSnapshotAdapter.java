@@ -0,0 +1,137 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jdbc;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.port.BalanceSnapshotPort;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Component
+public class JdbcBalanceSnapshotAdapter implements BalanceSnapshotPort {
+
+    /**
+     * Agrega só as operações do dia (faixa de created_at, índice BRIN) e soma ao snapshot anterior de cada conta
+     * tocada (busca reversa na PK). Contas sem operação no dia não são lidas.
+     */
+    private static final String SNAPSHOT_DAY = """
+            INSERT INTO account_balance_snapshots
+                (account_id, snapshot_date, balance_amount, balance_currency, last_operation_at)
+            SELECT d.account_id, :day, COALESCE(prev.balance_amount, 0) + d.delta, a.balance_currency, d.last_operation_at
+            FROM (
+                SELECT account_id,
+                       SUM(CASE WHEN type = 'CREDIT' THEN amount_value ELSE -amount_value END) AS delta,
+                       MAX(created_at) AS last_operation_at
+                FROM operations
+                WHERE status = 'SUCCEEDED' AND created_at >= :start AND created_at < :end
+                GROUP BY account_id
+            ) d
+            JOIN accounts a ON a.id = d.account_id
+            LEFT JOIN LATERAL (
+                SELECT s.balance_amount
+                FROM account_balance_snapshots s
+                WHERE s.account_id = d.account_id AND s.snapshot_date < :day
+                ORDER BY s.snapshot_date DESC
+                LIMIT 1
+            ) prev ON true
+            ON CONFLICT (account_id, snapshot_date) DO UPDATE
+                SET balance_amount = EXCLUDED.balance_amount,
+                    last_operation_at = EXCLUDED.last_operation_at""";
+
+    /** Snapshot até o dia base + replay das operações posteriores (index-only scan no índice do extrato). */
+    private static final String BALANCE_AS_OF = """
+            SELECT a.id, a.balance_currency,
+                   COALESCE(s.balance_amount, 0) + COALESCE(r.delta, 0) AS balance,
+                   COALESCE(r.last_operation_at, s.last_operation_at, a.created_at) AS updated_at
+            FROM accounts a
+            LEFT JOIN LATERAL (
+                SELECT balance_amount, last_operation_at
+                FROM account_balance_snapshots
+                WHERE account_id = a.id AND snapshot_date <= :snapshotDay
+                ORDER BY snapshot_date DESC
+                LIMIT 1
+            ) s ON true
+            LEFT JOIN LATERAL (
+                SELECT SUM(CASE WHEN type = 'CREDIT' THEN amount_value ELSE -amount_value END) AS delta,
+                       MAX(created_at) AS last_operation_at
+                FROM operations
+                WHERE account_id = a.id AND status = 'SUCCEEDED'
+                  AND created_at >= :replayFrom AND created_at <= :asOf
+            ) r ON true
+            WHERE a.id = :accountId""";
+
+    private final JdbcClient jdbcClient;
+    private final TransactionTemplate tx;
+
+    public JdbcBalanceSnapshotAdapter(JdbcClient jdbcClient, PlatformTransactionManager transactionManager) {
+        this.jdbcClient = jdbcClient;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Optional<LocalDate> lastSnapshotDay() {
+        return jdbcClient.sql("SELECT MAX(snapshot_date) FROM account_balance_snapshot_runs")
+                .query((rs, n) -> rs.getObject(1, LocalDate.class))
+                .optional();
+    }
+
+    @Override
+    public Optional<OffsetDateTime> firstOperationAt() {
+        return jdbcClient.sql("SELECT MIN(created_at) FROM operations")
+                .query((rs, n) -> rs.getObject(1, OffsetDateTime.class))
+                .optional();
+    }
+
+    @Override
+    public OptionalLong snapshotDay(LocalDate day, OffsetDateTime start, OffsetDateTime end) {
+        Long accounts = tx.execute(status -> {
+            // o registro do dia vem primeiro: outra instância gerando o mesmo dia espera este commit e desiste
+            int claimed = jdbcClient.sql("""
+                            INSERT INTO account_balance_snapshot_runs (snapshot_date) VALUES (?)
+                            ON CONFLICT (snapshot_date) DO NOTHING""")
+                    .param(day)
+                    .update();
+            if (claimed == 0) {
+                return null;
+            }
+            long written = jdbcClient.sql(SNAPSHOT_DAY)
+                    .param("day", day)
+                    .param("start", start)
+                    .param("end", end)
+                    .update();
+            jdbcClient.sql("""
+                            UPDATE account_balance_snapshot_runs
+                            SET accounts = ?,
+                                duration_ms = (EXTRACT(EPOCH FROM clock_timestamp() - now()) * 1000)::bigint,
+                                finished_at = clock_timestamp()
+                            WHERE snapshot_date = ?""")
+                    .params(written, day)
+                    .update();
+            return written;
+        });
+        return accounts == null ? OptionalLong.empty() : OptionalLong.of(accounts);
+    }
+
+    @Override
+    public Optional<AccountBalanceView> balanceAsOf(UUID accountId, OffsetDateTime asOf,
+                                                    LocalDate snapshotDay, OffsetDateTime replayFrom) {
+        // sem snapshot: dia base e início do replay abertos (todo o histórico até asOf)
+        return jdbcClient.sql(BALANCE_AS_OF)
+                .param("accountId", accountId)
+                .param("asOf", asOf)
+                .param("snapshotDay", snapshotDay != null ? snapshotDay : LocalDate.of(1, 1, 1))
+                .param("replayFrom", replayFrom != null ? replayFrom : OffsetDateTime.parse("1970-01-01T00:00:00Z"))
+                .query((rs, n) -> new AccountBalanceView(
+                        rs.getObject("id", UUID.class),
+                        rs.getBigDecimal("balance"),
+                        rs.getString("balance_currency"),
+                        rs.getObject("updated_at", OffsetDateTime.class)))
+                .optional();
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jdbc;
+
+import io.github.matheuscavalari.accountservice.application.ledger.LedgerRecord;
+import io.github.matheuscavalari.accountservice.application.port.LedgerStorePort;
+import io.github.matheuscavalari.accountservice.domain.model.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "account.ledger.enabled", havingValue = "true")
+public class JdbcLedgerStoreAdapter implements LedgerStorePort {
+
+    private static final String BALANCE = """
+            SELECT a.id,
+                   a.balance_amount + COALESCE((SELECT SUM(s.balance_amount)
+                                                FROM account_balance_slots s
+                                                WHERE s.account_id = a.id), 0) AS balance,
+                   a.balance_currency
+            FROM accounts a""";
+
+    private static final String PROJECT_OPERATION = """
+            INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                    timestamp, resulting_balance_amount, resulting_balance_currency, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, now())
+            ON CONFLICT (transaction_id) DO NOTHING""";
+
+    /** Mesmo insert, com o evento no outbox só para as operações efetivamente inseridas (replays não republicam). */
+    private static final String PROJECT_OPERATION_WITH_OUTBOX =
+            "WITH ins AS (" + PROJECT_OPERATION + " RETURNING transaction_id) "
+                    + "INSERT INTO operation_outbox (transaction_id) SELECT transaction_id FROM ins";
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean outboxEnabled;
+
+    public JdbcLedgerStoreAdapter(JdbcClient jdbcClient,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${account.outbox.enabled:false}") boolean outboxEnabled) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(10_000);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.outboxEnabled = outboxEnabled;
+    }
+
+    @Override
+    public Optional<Money> loadBalance(UUID accountId) {
+        return jdbcClient.sql(BALANCE + " WHERE a.id = ?")
+                .param(accountId)
+                .query((rs, n) -> Money.of(rs.getBigDecimal("balance"), rs.getString("balance_currency")))
+                .optional();
+    }
+
+    @Override
+    public boolean hasActiveHolds() {
+        // índice parcial de expiração (status = 'ACTIVE'): não varre os bloqueios encerrados
+        return Boolean.TRUE.equals(jdbcClient.sql("SELECT EXISTS (SELECT 1 FROM account_holds WHERE status = 'ACTIVE')")
+                .query(Boolean.class)
+                .single());
+    }
+
+    @Override
+    public void forEachBalance(Consumer<AccountBalance> consumer) {
+        // cursor no servidor: fetch size só vale dentro de uma transação
+        readOnlyTx.executeWithoutResult(status -> streamingJdbcTemplate.query(BALANCE, rs -> {
+            consumer.accept(new AccountBalance(
+                    rs.getObject("id", UUID.class),
+                    Money.of(rs.getBigDecimal("balance"), rs.getString("balance_currency"))));
+        }));
+    }
+
+    @Override
+    public void project(List<LedgerRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        var lastBalance = new LinkedHashMap<UUID, LedgerRecord>();
+        records.forEach(r -> lastBalance.put(r.accountId(), r));
+
+        tx.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(outboxEnabled ? PROJECT_OPERATION_WITH_OUTBOX : PROJECT_OPERATION, records.stream().map(r -> {
+                var result = r.toResult();
+                return new Object[]{
+                        result.transactionId(), result.accountId(), result.type().name(),
+                        result.amountValue(), result.amountCurrency(), result.status().name(), result.timestamp(),
+                        result.resultingBalanceAmount(), result.resultingBalanceCurrency()
+                };
+            }).toList());
+
+            // o ledger é dono do saldo inteiro: slots de contas quentes são consolidados na linha base
+            var accounts = lastBalance.values().stream()
+                    .map(r -> new Object[]{new Money(r.resultingMinor(), r.accountCurrency()).toBigDecimal(), r.accountId()})
+                    .toList();
+            jdbcTemplate.batchUpdate("UPDATE accounts SET balance_amount = ?, updated_at = now() WHERE id = ?", accounts);
+            jdbcTemplate.batchUpdate("""
+                    UPDATE account_balance_slots SET balance_amount = 0, updated_at = now()
+                    WHERE account_id = ? AND balance_amount <> 0""",
+                    lastBalance.keySet().stream().map(id -> new Object[]{id}).toList());
+        });
+    }
+}
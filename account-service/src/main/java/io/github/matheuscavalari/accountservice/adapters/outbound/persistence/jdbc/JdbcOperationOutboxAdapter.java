@@ -0,0 +1,80 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jdbc;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "account.outbox.enabled", havingValue = "true")
+public class JdbcOperationOutboxAdapter implements OperationOutboxPort {
+
+    /**
+     * Escolhe as linhas sem lease (ou com lease vencido) com SKIP LOCKED, marca o lease e devolve o payload lido de
+     * operations, sem lock. Statement único em autocommit: os locks duram só a reivindicação.
+     */
+    private static final String CLAIM = """
+            WITH claimed AS (
+                UPDATE operation_outbox ob
+                SET leased_until = now() + make_interval(secs => ?)
+                WHERE ob.id IN (
+                    SELECT id
+                    FROM operation_outbox
+                    WHERE leased_until IS NULL OR leased_until < now()
+                    ORDER BY id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING ob.id, ob.transaction_id, ob.created_at
+            )
+            SELECT c.id AS outbox_id, c.created_at AS outbox_created_at, o.*
+            FROM claimed c
+            JOIN operations o ON o.transaction_id = c.transaction_id
+            ORDER BY c.id""";
+
+    private final JdbcClient jdbcClient;
+
+    public JdbcOperationOutboxAdapter(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public void append(Collection<ApplyOperationResult> operations) {
+        // um statement para o grupo inteiro, na transação de quem registrou as operações
+        jdbcClient.sql("INSERT INTO operation_outbox (transaction_id) SELECT unnest(?::uuid[])")
+                .param(new SqlArrayValue("uuid", operations.stream().map(ApplyOperationResult::transactionId).toArray()))
+                .update();
+    }
+
+    @Override
+    public List<OutboxEvent> claim(int limit, Duration lease) {
+        return jdbcClient.sql(CLAIM)
+                .param(lease.toMillis() / 1000.0)
+                .param(limit)
+                .query((rs, n) -> new OutboxEvent(
+                        rs.getLong("outbox_id"),
+                        JdbcOperationPersistenceAdapter.mapOperation(rs, n),
+                        rs.getObject("outbox_created_at", OffsetDateTime.class)))
+                .list();
+    }
+
+    @Override
+    public void delete(Collection<Long> ids) {
+        jdbcClient.sql("DELETE FROM operation_outbox WHERE id = ANY(?)")
+                .param(new SqlArrayValue("bigint", ids.toArray()))
+                .update();
+    }
+
+    @Override
+    public void release(Collection<Long> ids) {
+        jdbcClient.sql("UPDATE operation_outbox SET leased_until = NULL WHERE id = ANY(?)")
+                .param(new SqlArrayValue("bigint", ids.toArray()))
+                .update();
+    }
+}
@@ -0,0 +1,488 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jdbc;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort;
+import io.github.matheuscavalari.accountservice.domain.model.Money;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Adapter sem Hibernate para o caminho de aplicação de operações: SQL escrito à mão, sem persistence context,
+ * dirty checking ou callbacks. Os statements têm texto fixo, então o driver os reaproveita como prepared
+ * statements no servidor (ver {@code prepareThreshold}).
+ */
+@Component
+@ConditionalOnProperty(name = "account.persistence.adapter", havingValue = "jdbc")
+public class JdbcOperationPersistenceAdapter implements OperationPersistencePort {
+
+    private static final String OPERATION_COLUMNS = """
+            transaction_id, account_id, type, amount_value, amount_currency, status,
+            timestamp, resulting_balance_amount, resulting_balance_currency""";
+
+    /**
+     * Multi-row insert via unnest(arrays), um único statement para qualquer tamanho de lote; devolve só os
+     * transactionIds gravados (os já registrados ficam de fora pelo ON CONFLICT).
+     */
+    private static final String INSERT_OPERATIONS = """
+            INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                    timestamp, resulting_balance_amount, resulting_balance_currency, created_at)
+            SELECT t.transaction_id, t.account_id, t.type, t.amount_value, t.amount_currency, t.status,
+                   t.timestamp::timestamptz, t.resulting_balance_amount, t.resulting_balance_currency, now()
+            FROM unnest(?::uuid[], ?::uuid[], ?::text[], ?::numeric[], ?::text[], ?::text[], ?::text[], ?::numeric[],
+                        ?::text[])
+                 AS t(transaction_id, account_id, type, amount_value, amount_currency, status, timestamp,
+                      resulting_balance_amount, resulting_balance_currency)
+            ON CONFLICT (transaction_id) DO NOTHING
+            RETURNING transaction_id""";
+
+    /**
+     * Insert ou leitura da operação já registrada em um único statement: sempre uma linha, com {@code inserted}
+     * e, quando nada foi inserido, as colunas da operação existente (nulas se ela ainda não é visível).
+     */
+    private static final String INSERT_IF_ABSENT = """
+            WITH ins AS (
+                INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                        timestamp, resulting_balance_amount, resulting_balance_currency, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, now())
+                ON CONFLICT (transaction_id) DO NOTHING
+                RETURNING 1
+            )
+            SELECT n.inserted > 0 AS inserted, o.*
+            FROM (SELECT count(*) AS inserted FROM ins) n
+            LEFT JOIN operations o ON n.inserted = 0 AND o.transaction_id = ?""";
+
+    /** As duas pernas de uma transferência em um único INSERT; devolve quantas linhas foram gravadas. */
+    private static final String INSERT_TRANSFER = """
+            WITH ins AS (
+                INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                        timestamp, resulting_balance_amount, resulting_balance_currency, transfer_id,
+                                        created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now()),
+                       (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now())
+                ON CONFLICT (transaction_id) DO NOTHING
+                RETURNING 1
+            )
+            SELECT count(*) FROM ins""";
+
+    private static final String APPLY_ATOMICALLY = """
+            WITH acc AS (
+                SELECT id, balance_amount, balance_currency, balance_slots, held_amount
+                FROM accounts
+                WHERE id = :accountId
+                FOR UPDATE
+            ), ins AS (
+                INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                        timestamp, resulting_balance_amount, resulting_balance_currency, created_at)
+                SELECT :transactionId, acc.id, :type, :amount, :currency,
+                       CASE WHEN :type = 'CREDIT' OR acc.balance_amount - acc.held_amount >= :amount
+                            THEN 'SUCCEEDED' ELSE 'FAILED' END,
+                       :timestamp,
+                       CASE WHEN :type = 'CREDIT' THEN acc.balance_amount + :amount
+                            WHEN acc.balance_amount - acc.held_amount >= :amount THEN acc.balance_amount - :amount
+                            ELSE acc.balance_amount - acc.held_amount END,
+                       acc.balance_currency, now()
+                FROM acc
+                WHERE upper(acc.balance_currency) = upper(:currency) AND acc.balance_slots = 0
+                ON CONFLICT (transaction_id) DO NOTHING
+                RETURNING status, resulting_balance_amount, resulting_balance_currency
+            ), upd AS (
+                UPDATE accounts a
+                SET balance_amount = ins.resulting_balance_amount, updated_at = now()
+                FROM ins
+                WHERE a.id = :accountId AND ins.status = 'SUCCEEDED'
+            )
+            SELECT ins.status, ins.resulting_balance_amount, ins.resulting_balance_currency
+            FROM ins""";
+
+    private static final RowMapper<ApplyOperationResult> OPERATION_MAPPER = JdbcOperationPersistenceAdapter::mapOperation;
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcOperationPersistenceAdapter(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<ApplyOperationResult> findOperation(UUID transactionId) {
+        return jdbcClient.sql("SELECT " + OPERATION_COLUMNS + " FROM operations WHERE transaction_id = ?")
+                .param(transactionId)
+                .query(OPERATION_MAPPER)
+                .optional();
+    }
+
+    @Override
+    public List<ApplyOperationResult> findOperations(Collection<UUID> transactionIds) {
+        // = ANY(array): um único texto de statement para qualquer tamanho de lote
+        return jdbcClient.sql("SELECT " + OPERATION_COLUMNS + " FROM operations WHERE transaction_id = ANY(?)")
+                .param(new SqlArrayValue("uuid", transactionIds.toArray()))
+                .query(OPERATION_MAPPER)
+                .list();
+    }
+
+    @Override
+    public Optional<LockedAccount> lockAccount(UUID accountId) {
+        return jdbcClient.sql("""
+                        SELECT id, balance_amount, balance_currency, balance_slots, held_amount, updated_at
+                        FROM accounts
+                        WHERE id = ?
+                        FOR UPDATE""")
+                .param(accountId)
+                .query((rs, n) -> (LockedAccount) new JdbcLockedAccount(
+                        rs.getObject("id", UUID.class),
+                        Money.of(rs.getBigDecimal("balance_amount"), rs.getString("balance_currency")),
+                        rs.getString("balance_currency"),
+                        rs.getInt("balance_slots"),
+                        rs.getBigDecimal("held_amount"),
+                        rs.getObject("updated_at", OffsetDateTime.class)))
+                .optional();
+    }
+
+    @Override
+    public Optional<BalanceLayout> findBalanceLayout(UUID accountId) {
+        return jdbcClient.sql("SELECT balance_slots, balance_currency FROM accounts WHERE id = ?")
+                .param(accountId)
+                .query((rs, n) -> new BalanceLayout(rs.getInt("balance_slots"), rs.getString("balance_currency")))
+                .optional();
+    }
+
+    @Override
+    public Optional<AccountBalanceView> findBalance(UUID accountId) {
+        return jdbcClient.sql("""
+                        SELECT a.balance_amount + COALESCE(s.total, 0) AS balance_amount,
+                               a.balance_currency,
+                               GREATEST(a.updated_at, s.last_updated_at) AS updated_at
+                        FROM accounts a
+                        LEFT JOIN LATERAL (SELECT SUM(balance_amount) AS total, MAX(updated_at) AS last_updated_at
+                                           FROM account_balance_slots
+                                           WHERE account_id = a.id) s ON true
+                        WHERE a.id = ?""")
+                .param(accountId)
+                .query((rs, n) -> new AccountBalanceView(
+                        accountId,
+                        rs.getBigDecimal("balance_amount"),
+                        rs.getString("balance_currency"),
+                        rs.getObject("updated_at", OffsetDateTime.class)))
+                .optional();
+    }
+
+    @Override
+    public void updateBalance(LockedAccount account) {
+        // updated_at vem da aplicação (precisão do TIMESTAMPTZ) para ser conhecido sem reler a linha
+        var updatedAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        jdbcClient.sql("UPDATE accounts SET balance_amount = ?, updated_at = ? WHERE id = ?")
+                .params(account.getBalanceAmount(), updatedAt, account.getId())
+                .update();
+        if (account instanceof JdbcLockedAccount locked) {
+            locked.updatedAt = updatedAt;
+        }
+    }
+
+    @Override
+    public void updateBalances(Collection<? extends LockedAccount> accounts) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+        var updatedAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        jdbcTemplate.batchUpdate("UPDATE accounts SET balance_amount = ?, updated_at = ? WHERE id = ?",
+                accounts.stream().map(a -> new Object[]{a.getBalanceAmount(), updatedAt, a.getId()}).toList());
+        for (var account : accounts) {
+            if (account instanceof JdbcLockedAccount locked) {
+                locked.updatedAt = updatedAt;
+            }
+        }
+    }
+
+    @Override
+    public Optional<ApplyOperationResult> insertOperation(ApplyOperationResult operation) {
+        var outcome = jdbcClient.sql(INSERT_IF_ABSENT)
+                .params(operationParams(operation))
+                .param(operation.transactionId())
+                .query((rs, n) -> new InsertOutcome(
+                        rs.getBoolean("inserted"),
+                        rs.getObject("transaction_id") != null ? mapOperation(rs, n) : null))
+                .single();
+        if (outcome.inserted()) {
+            return Optional.empty();
+        }
+        if (outcome.existing() != null) {
+            // duplicata devolvida no mesmo statement
+            return Optional.of(outcome.existing());
+        }
+        // outra transação registrou o mesmo transactionId e commitou durante o statement (o ON CONFLICT espera
+        // o commit dela, mas a linha não está no snapshot do statement): relê em um novo snapshot
+        return Optional.of(findOperation(operation.transactionId())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Operation %s conflicted but is not visible".formatted(operation.transactionId()))));
+    }
+
+    @Override
+    public void completeOperation(ApplyOperationResult operation) {
+        int updated = jdbcClient.sql("""
+                        UPDATE operations
+                        SET status = ?, resulting_balance_amount = ?
+                        WHERE transaction_id = ?""")
+                .params(operation.status().name(), operation.resultingBalanceAmount(), operation.transactionId())
+                .update();
+        if (updated != 1) {
+            throw new IllegalStateException("Operation %s is not recorded".formatted(operation.transactionId()));
+        }
+    }
+
+    @Override
+    public Optional<ApplyOperationResult> insertTransfer(ApplyOperationResult debit, ApplyOperationResult credit) {
+        var transferId = debit.transactionId();
+        var params = new ArrayList<>(List.of(operationParams(debit)));
+        params.add(transferId);
+        params.addAll(List.of(operationParams(credit)));
+        params.add(transferId);
+
+        int inserted = jdbcClient.sql(INSERT_TRANSFER)
+                .params(params)
+                .query(Integer.class)
+                .single();
+        if (inserted == 2) {
+            return Optional.empty();
+        }
+        if (inserted == 0) {
+            // transferência já registrada (retry concorrente): devolve a perna de débito, relida em um novo snapshot
+            return Optional.of(findOperation(transferId)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Transfer %s conflicted but is not visible".formatted(transferId))));
+        }
+        // só uma perna gravada: chave de perna já usada por outra operação; a exceção desfaz a transação
+        throw new IllegalStateException("Transfer %s was only partially recorded".formatted(transferId));
+    }
+
+    @Override
+    public void markTransfer(UUID transactionId) {
+        int updated = jdbcClient.sql("UPDATE operations SET transfer_id = transaction_id WHERE transaction_id = ?")
+                .param(transactionId)
+                .update();
+        if (updated != 1) {
+            throw new IllegalStateException("Operation %s is not recorded".formatted(transactionId));
+        }
+    }
+
+    @Override
+    public boolean isTransfer(UUID transactionId) {
+        return Boolean.TRUE.equals(jdbcClient.sql("""
+                        SELECT EXISTS (SELECT 1 FROM operations
+                                       WHERE transaction_id = ? AND transfer_id = transaction_id)""")
+                .param(transactionId)
+                .query(Boolean.class)
+                .single());
+    }
+
+    @Override
+    public Set<UUID> insertOperations(List<ApplyOperationResult> operations) {
+        if (operations.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcClient.sql(INSERT_OPERATIONS)
+                .params(
+                        new SqlArrayValue("uuid", operations.stream().map(ApplyOperationResult::transactionId).toArray()),
+                        new SqlArrayValue("uuid", operations.stream().map(ApplyOperationResult::accountId).toArray()),
+                        new SqlArrayValue("text", operations.stream().map(op -> op.type().name()).toArray()),
+                        new SqlArrayValue("numeric", operations.stream().map(ApplyOperationResult::amountValue).toArray()),
+                        new SqlArrayValue("text", operations.stream().map(ApplyOperationResult::amountCurrency).toArray()),
+                        new SqlArrayValue("text", operations.stream().map(op -> op.status().name()).toArray()),
+                        new SqlArrayValue("text", operations.stream().map(op -> op.timestamp().toString()).toArray()),
+                        new SqlArrayValue("numeric", operations.stream().map(ApplyOperationResult::resultingBalanceAmount).toArray()),
+                        new SqlArrayValue("text", operations.stream().map(ApplyOperationResult::resultingBalanceCurrency).toArray())
+                )
+                .query((rs, n) -> rs.getObject("transaction_id", UUID.class))
+                .list());
+    }
+
+    @Override
+    public Optional<AppliedOperation> applyAtomically(ApplyOperationCommand cmd) {
+        return jdbcClient.sql(APPLY_ATOMICALLY)
+                .param("transactionId", cmd.transactionId())
+                .param("accountId", cmd.accountId())
+                .param("type", cmd.type().name())
+                .param("amount", cmd.amountValue())
+                .param("currency", cmd.amountCurrency())
+                .param("timestamp", cmd.timestamp())
+                .query((rs, n) -> new AppliedOperation(
+                        OperationStatus.valueOf(rs.getString("status")),
+                        rs.getBigDecimal("resulting_balance_amount"),
+                        rs.getString("resulting_balance_currency")))
+                .optional();
+    }
+
+    @Override
+    public void creditSlot(UUID accountId, int slot, BigDecimal amount) {
+        jdbcClient.sql("""
+                        INSERT INTO account_balance_slots (account_id, slot, balance_amount, updated_at)
+                        VALUES (?, ?, ?, now())
+                        ON CONFLICT (account_id, slot)
+                        DO UPDATE SET balance_amount = account_balance_slots.balance_amount + EXCLUDED.balance_amount,
+                                      updated_at = now()""")
+                .params(accountId, slot, amount)
+                .update();
+    }
+
+    @Override
+    public boolean tryDebitSlot(UUID accountId, int slot, BigDecimal amount) {
+        return jdbcClient.sql("""
+                        UPDATE account_balance_slots
+                        SET balance_amount = balance_amount - ?, updated_at = now()
+                        WHERE account_id = ? AND slot = ? AND balance_amount >= ?
+                          AND NOT EXISTS (SELECT 1 FROM accounts a WHERE a.id = ? AND a.held_amount > 0)""")
+                .params(amount, accountId, slot, amount, accountId)
+                .update() > 0;
+    }
+
+    @Override
+    public BigDecimal currentBalance(UUID accountId) {
+        return jdbcClient.sql("""
+                        SELECT a.balance_amount + COALESCE((SELECT SUM(s.balance_amount)
+                                                            FROM account_balance_slots s
+                                                            WHERE s.account_id = a.id), 0)
+                        FROM accounts a
+                        WHERE a.id = ?""")
+                .param(accountId)
+                .query(BigDecimal.class)
+                .single();
+    }
+
+    @Override
+    public BigDecimal lockSlots(UUID accountId) {
+        return jdbcClient.sql("""
+                        SELECT balance_amount
+                        FROM account_balance_slots
+                        WHERE account_id = ?
+                        ORDER BY slot
+                        FOR UPDATE""")
+                .param(accountId)
+                .query(BigDecimal.class)
+                .list()
+                .stream()
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Override
+    public void drainSlots(UUID accountId) {
+        jdbcClient.sql("UPDATE account_balance_slots SET balance_amount = 0, updated_at = now() WHERE account_id = ?")
+                .param(accountId)
+                .update();
+    }
+
+    private static Object[] operationParams(ApplyOperationResult op) {
+        return new Object[]{
+                op.transactionId(),
+                op.accountId(),
+                op.type().name(),
+                op.amountValue(),
+                op.amountCurrency(),
+                op.status().name(),
+                op.timestamp(),
+                op.resultingBalanceAmount(),
+                op.resultingBalanceCurrency()
+        };
+    }
+
+    static ApplyOperationResult mapOperation(ResultSet rs, int rowNum) throws SQLException {
+        return new ApplyOperationResult(
+                rs.getObject("transaction_id", UUID.class),
+                OperationType.valueOf(rs.getString("type")),
+                rs.getBigDecimal("amount_value"),
+                rs.getString("amount_currency"),
+                OperationStatus.valueOf(rs.getString("status")),
+                rs.getObject("timestamp", OffsetDateTime.class),
+                rs.getObject("account_id", UUID.class),
+                rs.getBigDecimal("resulting_balance_amount"),
+                rs.getString("resulting_balance_currency")
+        );
+    }
+
+    private record InsertOutcome(boolean inserted, ApplyOperationResult existing) {}
+
+    /** Saldo mantido como {@link Money} (convertido de balance_amount na leitura); BigDecimal só na hora de gravar. */
+    private static final class JdbcLockedAccount implements LockedAccount {
+        private final UUID id;
+        private Money balance;
+        private final String balanceCurrency;
+        private final int balanceSlots;
+        private final BigDecimal heldAmount;
+        private OffsetDateTime updatedAt;
+
+        private JdbcLockedAccount(UUID id, Money balance, String balanceCurrency, int balanceSlots,
+                                  BigDecimal heldAmount, OffsetDateTime updatedAt) {
+            this.id = id;
+            this.balance = balance;
+            this.balanceCurrency = balanceCurrency;
+            this.balanceSlots = balanceSlots;
+            this.heldAmount = heldAmount;
+            this.updatedAt = updatedAt;
+        }
+
+        @Override
+        public OffsetDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public BigDecimal getBalanceAmount() {
+            return balance.toBigDecimal();
+        }
+
+        @Override
+        public Money getBalance() {
+            return balance;
+        }
+
+        @Override
+        public void setBalance(Money balance) {
+            this.balance = balance;
+        }
+
+        @Override
+        public String getBalanceCurrency() {
+            return balanceCurrency;
+        }
+
+        @Override
+        public int getBalanceSlots() {
+            return balanceSlots;
+        }
+
+        @Override
+        public BigDecimal getHeldAmount() {
+            return heldAmount;
+        }
+
+        @Override
+        public void setBalanceAmount(BigDecimal balanceAmount) {
+            this.balance = Money.of(balanceAmount, balanceCurrency);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jdbc;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementPage.StatementEntry;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery;
+import io.github.matheuscavalari.accountservice.application.port.OperationQueryPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Extrato lido direto com SQL, sem lock. O filtro por conta + ordenação casam com
+ * {@code idx_operations_account_created_at} (V7), que também resolve os filtros de tipo e status: a página sai de um
+ * index scan a partir do cursor, sem OFFSET e sem sort, e só as linhas devolvidas são lidas no heap.
+ */
+@Component
+public class JdbcOperationQueryAdapter implements OperationQueryPort {
+
+    private static final String SELECT_STATEMENT = """
+            SELECT transaction_id, account_id, type, amount_value, amount_currency, status,
+                   timestamp, resulting_balance_amount, resulting_balance_currency, created_at
+            FROM operations
+            WHERE account_id = ?""";
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+
+    public JdbcOperationQueryAdapter(JdbcClient jdbcClient,
+                                     JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${account.statement.export.fetch-size:1000}") int exportFetchSize) {
+        this.jdbcClient = jdbcClient;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(exportFetchSize);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @Override
+    public List<StatementEntry> findStatement(AccountStatementQuery query, int limit) {
+        var params = new ArrayList<Object>();
+        var sql = statementSql(query, params) + " LIMIT ?";
+        params.add(limit);
+
+        return jdbcClient.sql(sql)
+                .params(params)
+                .query(JdbcOperationQueryAdapter::mapEntry)
+                .list();
+    }
+
+    @Override
+    public void streamStatement(AccountStatementQuery query, Consumer<StatementEntry> consumer) {
+        var params = new ArrayList<Object>();
+        var sql = statementSql(withoutCursor(query), params);
+
+        // cursor no servidor: fetch size só vale dentro de uma transação
+        readOnlyTx.executeWithoutResult(status -> streamingJdbcTemplate.query(sql, rs -> {
+            consumer.accept(mapEntry(rs, 0));
+        }, params.toArray()));
+    }
+
+    @Override
+    public boolean accountExists(UUID accountId) {
+        return jdbcClient.sql("SELECT EXISTS (SELECT 1 FROM accounts WHERE id = ?)")
+                .param(accountId)
+                .query(Boolean.class)
+                .single();
+    }
+
+    @Override
+    public void streamTransactionIdsCreatedSince(OffsetDateTime since, BiConsumer<UUID, OffsetDateTime> consumer) {
+        // created_at >= ? casa com o índice BRIN (V5)
+        readOnlyTx.executeWithoutResult(status -> streamingJdbcTemplate.query(
+                "SELECT transaction_id, created_at FROM operations WHERE created_at >= ?",
+                rs -> {
+                    consumer.accept(rs.getObject("transaction_id", UUID.class),
+                            rs.getObject("created_at", OffsetDateTime.class));
+                }, since));
+    }
+
+    private static String statementSql(AccountStatementQuery query, List<Object> params) {
+        var sql = new StringBuilder(SELECT_STATEMENT);
+        params.add(query.accountId());
+
+        if (query.after() != null) {
+            // comparação de linha: vira condição de índice sobre (created_at, transaction_id)
+            sql.append(query.descending()
+                    ? " AND (created_at, transaction_id) < (?, ?)"
+                    : " AND (created_at, transaction_id) > (?, ?)");
+            params.add(query.after().createdAt());
+            params.add(query.after().transactionId());
+        }
+        if (query.from() != null) {
+            sql.append(" AND created_at >= ?");
+            params.add(query.from());
+        }
+        if (query.to() != null) {
+            sql.append(" AND created_at < ?");
+            params.add(query.to());
+        }
+        if (query.type() != null) {
+            sql.append(" AND type = ?");
+            params.add(query.type().name());
+        }
+        if (query.status() != null) {
+            sql.append(" AND status = ?");
+            params.add(query.status().name());
+        }
+        sql.append(query.descending()
+                ? " ORDER BY created_at DESC, transaction_id DESC"
+                : " ORDER BY created_at, transaction_id");
+        return sql.toString();
+    }
+
+    private static AccountStatementQuery withoutCursor(AccountStatementQuery query) {
+        return new AccountStatementQuery(query.accountId(), query.type(), query.status(), query.from(), query.to(),
+                null, query.descending(), null);
+    }
+
+    private static StatementEntry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        return new StatementEntry(
+                JdbcOperationPersistenceAdapter.mapOperation(rs, rowNum),
+                rs.getObject("created_at", OffsetDateTime.class));
+    }
+}
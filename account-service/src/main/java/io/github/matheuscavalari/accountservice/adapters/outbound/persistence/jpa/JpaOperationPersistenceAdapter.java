@@ -0,0 +1,237 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa;
+
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.AccountBalanceSlotEntity;
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.AccountEntity;
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.OperationEntity;
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.AccountBalanceSlotJpaRepository;
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.AccountJpaRepository;
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.OperationJpaRepository;
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/** Adapter padrão: entidades gerenciadas pelo Hibernate (persistence context, dirty checking, callbacks). */
+@Component
+@ConditionalOnProperty(name = "account.persistence.adapter", havingValue = "jpa", matchIfMissing = true)
+public class JpaOperationPersistenceAdapter implements OperationPersistencePort {
+
+    private final AccountJpaRepository accountRepository;
+    private final OperationJpaRepository operationRepository;
+    private final AccountBalanceSlotJpaRepository slotRepository;
+
+    public JpaOperationPersistenceAdapter(AccountJpaRepository accountRepository,
+                                          OperationJpaRepository operationRepository,
+                                          AccountBalanceSlotJpaRepository slotRepository) {
+        this.accountRepository = accountRepository;
+        this.operationRepository = operationRepository;
+        this.slotRepository = slotRepository;
+    }
+
+    @Override
+    public Optional<ApplyOperationResult> findOperation(UUID transactionId) {
+        return operationRepository.findById(transactionId).map(JpaOperationPersistenceAdapter::toResult);
+    }
+
+    @Override
+    public List<ApplyOperationResult> findOperations(Collection<UUID> transactionIds) {
+        var results = new ArrayList<ApplyOperationResult>();
+        operationRepository.findAllById(transactionIds).forEach(op -> results.add(toResult(op)));
+        return results;
+    }
+
+    @Override
+    public Optional<LockedAccount> lockAccount(UUID accountId) {
+        return accountRepository.findByIdForUpdate(accountId).map(LockedAccount.class::cast);
+    }
+
+    @Override
+    public Optional<BalanceLayout> findBalanceLayout(UUID accountId) {
+        return accountRepository.findBalanceLayoutById(accountId)
+                .map(layout -> new BalanceLayout(layout.getBalanceSlots(), layout.getBalanceCurrency()));
+    }
+
+    @Override
+    public Optional<AccountBalanceView> findBalance(UUID accountId) {
+        return accountRepository.findBalanceSnapshotById(accountId)
+                .map(b -> new AccountBalanceView(
+                        accountId,
+                        b.getBalanceAmount().add(b.getSlotsAmount()),
+                        b.getBalanceCurrency(),
+                        b.getSlotsUpdatedAt() != null && b.getSlotsUpdatedAt().isAfter(b.getUpdatedAt())
+                                ? b.getSlotsUpdatedAt()
+                                : b.getUpdatedAt()));
+    }
+
+    @Override
+    public void updateBalance(LockedAccount account) {
+        // updatedAt será preenchido automaticamente via @PreUpdate
+        accountRepository.save((AccountEntity) account);
+    }
+
+    @Override
+    public void updateBalances(Collection<? extends LockedAccount> accounts) {
+        // entidades gerenciadas: os UPDATEs saem agrupados no flush (hibernate.jdbc.batch_size + order_updates)
+        accounts.forEach(this::updateBalance);
+    }
+
+    @Override
+    public Optional<ApplyOperationResult> insertOperation(ApplyOperationResult operation) {
+        // salva a operação primeiro para garantir idempotência antes de atualizar saldo;
+        // duplicata detectada e devolvida no mesmo statement (sem exceção, sem sessão invalidada)
+        List<Object[]> rows = operationRepository.insertIfAbsent(toEntity(operation));
+        if (!rows.isEmpty()) {
+            Object[] row = rows.get(0);
+            return Boolean.TRUE.equals(row[1])
+                    ? Optional.empty()
+                    : Optional.of(toResult((OperationEntity) row[0]));
+        }
+        // outra transação inseriu a mesma operação e commitou durante o statement -> relê em um novo snapshot
+        return Optional.of(operationRepository.findById(operation.transactionId())
+                .map(JpaOperationPersistenceAdapter::toResult)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Operation %s conflicted but is not visible".formatted(operation.transactionId()))));
+    }
+
+    @Override
+    public void completeOperation(ApplyOperationResult operation) {
+        int updated = operationRepository.completeOperation(
+                operation.transactionId(), operation.status().name(), operation.resultingBalanceAmount());
+        if (updated != 1) {
+            throw new IllegalStateException("Operation %s is not recorded".formatted(operation.transactionId()));
+        }
+    }
+
+    @Override
+    public Optional<ApplyOperationResult> insertTransfer(ApplyOperationResult debit, ApplyOperationResult credit) {
+        var transferId = debit.transactionId();
+        long inserted = operationRepository.insertTransferIfAbsent(toEntity(debit), toEntity(credit));
+        if (inserted == 2) {
+            return Optional.empty();
+        }
+        if (inserted == 0) {
+            // transferência já registrada (retry concorrente): devolve a perna de débito, relida em um novo snapshot
+            return Optional.of(operationRepository.findById(transferId)
+                    .map(JpaOperationPersistenceAdapter::toResult)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Transfer %s conflicted but is not visible".formatted(transferId))));
+        }
+        // só uma perna gravada: chave de perna já usada por outra operação; a exceção desfaz a transação
+        throw new IllegalStateException("Transfer %s was only partially recorded".formatted(transferId));
+    }
+
+    @Override
+    public void markTransfer(UUID transactionId) {
+        if (operationRepository.markTransfer(transactionId) != 1) {
+            throw new IllegalStateException("Operation %s is not recorded".formatted(transactionId));
+        }
+    }
+
+    @Override
+    public boolean isTransfer(UUID transactionId) {
+        return operationRepository.isTransfer(transactionId);
+    }
+
+    @Override
+    public Set<UUID> insertOperations(List<ApplyOperationResult> operations) {
+        if (operations.isEmpty()) {
+            return Set.of();
+        }
+        // statement nativo com ON CONFLICT DO NOTHING: duplicata não invalida a sessão nem reverte o lote
+        return new HashSet<>(operationRepository.insertAllIfAbsent(
+                operations.stream().map(ApplyOperationResult::transactionId).toArray(UUID[]::new),
+                operations.stream().map(ApplyOperationResult::accountId).toArray(UUID[]::new),
+                operations.stream().map(op -> op.type().name()).toArray(String[]::new),
+                operations.stream().map(ApplyOperationResult::amountValue).toArray(BigDecimal[]::new),
+                operations.stream().map(ApplyOperationResult::amountCurrency).toArray(String[]::new),
+                operations.stream().map(op -> op.status().name()).toArray(String[]::new),
+                operations.stream().map(op -> op.timestamp().toString()).toArray(String[]::new),
+                operations.stream().map(ApplyOperationResult::resultingBalanceAmount).toArray(BigDecimal[]::new),
+                operations.stream().map(ApplyOperationResult::resultingBalanceCurrency).toArray(String[]::new)));
+    }
+
+    @Override
+    public Optional<AppliedOperation> applyAtomically(ApplyOperationCommand cmd) {
+        return operationRepository.applyAtomically(
+                cmd.transactionId(),
+                cmd.accountId(),
+                cmd.type().name(),
+                cmd.amountValue(),
+                cmd.amountCurrency(),
+                cmd.timestamp()
+        ).map(row -> new AppliedOperation(OperationStatus.valueOf(row.getStatus()),
+                row.getResultingBalanceAmount(), row.getResultingBalanceCurrency()));
+    }
+
+    @Override
+    public void creditSlot(UUID accountId, int slot, BigDecimal amount) {
+        slotRepository.credit(accountId, slot, amount);
+    }
+
+    @Override
+    public boolean tryDebitSlot(UUID accountId, int slot, BigDecimal amount) {
+        return slotRepository.tryDebit(accountId, slot, amount) > 0;
+    }
+
+    @Override
+    public BigDecimal currentBalance(UUID accountId) {
+        return slotRepository.currentBalance(accountId);
+    }
+
+    @Override
+    public BigDecimal lockSlots(UUID accountId) {
+        return slotRepository.findAllByAccountIdForUpdate(accountId).stream()
+                .map(AccountBalanceSlotEntity::getBalanceAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Override
+    public void drainSlots(UUID accountId) {
+        // mesmas entidades já travadas em lockSlots (persistence context); o flush grava os zeros
+        slotRepository.findAllByAccountIdForUpdate(accountId)
+                .forEach(row -> row.setBalanceAmount(BigDecimal.ZERO));
+    }
+
+    private static OperationEntity toEntity(ApplyOperationResult op) {
+        return new OperationEntity(
+                op.transactionId(),
+                op.accountId(),
+                op.type().name(),
+                op.amountValue(),
+                op.amountCurrency(),
+                op.status().name(),
+                op.timestamp(),
+                op.resultingBalanceAmount(),
+                op.resultingBalanceCurrency(),
+                OffsetDateTime.now()
+        );
+    }
+
+    private static ApplyOperationResult toResult(OperationEntity op) {
+        return new ApplyOperationResult(
+                op.getTransactionId(),
+                OperationType.valueOf(op.getType()),
+                op.getAmountValue(),
+                op.getAmountCurrency(),
+                OperationStatus.valueOf(op.getStatus()),
+                op.getTimestamp(),
+                op.getAccountId(),
+                op.getResultingBalanceAmount(),
+                op.getResultingBalanceCurrency()
+        );
+    }
+}
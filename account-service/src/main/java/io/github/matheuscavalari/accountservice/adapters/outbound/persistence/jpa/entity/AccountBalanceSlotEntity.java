@@ -0,0 +1,97 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "account_balance_slots")
+@IdClass(AccountBalanceSlotEntity.Key.class)
+public class AccountBalanceSlotEntity {
+
+    @Id
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Id
+    @Column(name = "slot", nullable = false, updatable = false)
+    private int slot;
+
+    @Column(name = "balance_amount", nullable = false, precision = 18, scale = 2)
+    private BigDecimal balanceAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    protected AccountBalanceSlotEntity() {
+        // JPA
+    }
+
+    public AccountBalanceSlotEntity(UUID accountId, int slot, BigDecimal balanceAmount, OffsetDateTime updatedAt) {
+        this.accountId = accountId;
+        this.slot = slot;
+        this.balanceAmount = balanceAmount;
+        this.updatedAt = updatedAt;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        this.updatedAt = OffsetDateTime.now();
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public BigDecimal getBalanceAmount() {
+        return balanceAmount;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setBalanceAmount(BigDecimal balanceAmount) {
+        this.balanceAmount = balanceAmount;
+    }
+
+    public static class Key implements Serializable {
+
+        private UUID accountId;
+        private int slot;
+
+        protected Key() {
+            // JPA
+        }
+
+        public Key(UUID accountId, int slot) {
+            this.accountId = accountId;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return slot == other.slot && Objects.equals(accountId, other.accountId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, slot);
+        }
+    }
+}
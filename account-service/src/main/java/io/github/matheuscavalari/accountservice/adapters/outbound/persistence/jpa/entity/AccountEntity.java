@@ -1,5 +1,6 @@
 package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity;
 
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -9,11 +10,12 @@ import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
 @Table(name = "accounts")
-public class AccountEntity {
+public class AccountEntity implements OperationPersistencePort.LockedAccount {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
@@ -31,6 +33,13 @@ public class AccountEntity {
     @Column(name = "balance_currency", nullable = false, length = 3)
     private String balanceCurrency;
 
+    @Column(name = "balance_slots", nullable = false)
+    private int balanceSlots;
+
+    // mantido pelos statements de bloqueio (JdbcAccountHoldAdapter): fora dos INSERTs/UPDATEs do Hibernate
+    @Column(name = "held_amount", nullable = false, insertable = false, updatable = false, precision = 18, scale = 2)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
@@ -59,16 +68,22 @@ public class AccountEntity {
 
     @PrePersist
     void prePersist() {
-        var now = OffsetDateTime.now();
+        var now = now();
         if (this.createdAt == null) this.createdAt = now;
         if (this.updatedAt == null) this.updatedAt = now;
     }
 
     @PreUpdate
     void preUpdate() {
-        this.updatedAt = OffsetDateTime.now();
+        this.updatedAt = now();
     }
 
+    /** Precisão do TIMESTAMPTZ (microssegundos): o valor em memória é o mesmo que o banco devolve (ETag do saldo). */
+    private static OffsetDateTime now() {
+        return OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @Override
     public UUID getId() {
         return id;
     }
@@ -81,18 +96,31 @@ public class AccountEntity {
         return status;
     }
 
+    @Override
     public BigDecimal getBalanceAmount() {
         return balanceAmount;
     }
 
+    @Override
     public String getBalanceCurrency() {
         return balanceCurrency;
     }
 
+    @Override
+    public int getBalanceSlots() {
+        return balanceSlots;
+    }
+
+    @Override
+    public BigDecimal getHeldAmount() {
+        return heldAmount;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
 
+    @Override
     public OffsetDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -105,6 +133,7 @@ public class AccountEntity {
         this.status = status;
     }
 
+    @Override
     public void setBalanceAmount(BigDecimal balanceAmount) {
         this.balanceAmount = balanceAmount;
     }
@@ -112,4 +141,8 @@ public class AccountEntity {
     public void setBalanceCurrency(String balanceCurrency) {
         this.balanceCurrency = balanceCurrency;
     }
+
+    public void setBalanceSlots(int balanceSlots) {
+        this.balanceSlots = balanceSlots;
+    }
 }
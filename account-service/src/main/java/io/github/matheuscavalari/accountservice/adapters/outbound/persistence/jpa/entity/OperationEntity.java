@@ -1,16 +1,32 @@
 package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityResult;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 @Entity
 @Table(name = "operations")
-public class OperationEntity {
+@SqlResultSetMapping(
+        name = OperationEntity.INSERT_IF_ABSENT_MAPPING,
+        entities = @EntityResult(entityClass = OperationEntity.class),
+        columns = @ColumnResult(name = "inserted", type = Boolean.class)
+)
+public class OperationEntity implements Persistable<UUID> {
+
+    /** Linha da operação + flag {@code inserted} (ver {@code OperationJpaRepository#insertIfAbsent}). */
+    public static final String INSERT_IF_ABSENT_MAPPING = "OperationEntity.insertIfAbsent";
+
     @Id
     @Column(name = "transaction_id", nullable = false, updatable = false)
     private UUID transactionId;
@@ -19,7 +35,7 @@ public class OperationEntity {
     private UUID accountId;
 
     @Column(name = "type", nullable = false)
-    private String type; // CREDIT | DEBIT
+    private String type; // CREDIT | DEBIT (transferências gravam uma perna de cada)
 
     @Column(name = "amount_value", nullable = false, precision = 18, scale = 2)
     private BigDecimal amountValue;
@@ -42,6 +58,10 @@ public class OperationEntity {
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
+    // transaction_id é atribuído pela aplicação: sem isso o save() faria merge (SELECT + INSERT)
+    @Transient
+    private boolean isNew = true;
+
     protected OperationEntity() {
         // JPA
     }
@@ -68,6 +88,22 @@ public class OperationEntity {
         this.createdAt = createdAt;
     }
 
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public UUID getId() {
+        return transactionId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
     public UUID getTransactionId() {
         return transactionId;
     }
@@ -0,0 +1,56 @@
+package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository;
+
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.AccountBalanceSlotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface AccountBalanceSlotJpaRepository
+        extends JpaRepository<AccountBalanceSlotEntity, AccountBalanceSlotEntity.Key> {
+
+    /** Credita um slot, criando a linha na primeira vez. Trava apenas a linha do slot. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO account_balance_slots (account_id, slot, balance_amount, updated_at)
+            VALUES (:accountId, :slot, :amount, now())
+            ON CONFLICT (account_id, slot)
+            DO UPDATE SET balance_amount = account_balance_slots.balance_amount + EXCLUDED.balance_amount,
+                          updated_at = now()
+            """, nativeQuery = true)
+    int credit(@Param("accountId") UUID accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /**
+     * Debita um slot somente se ele tiver saldo suficiente e a conta não tiver bloqueios ativos; retorna 0
+     * (sem lock retido) caso contrário.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE account_balance_slots
+            SET balance_amount = balance_amount - :amount, updated_at = now()
+            WHERE account_id = :accountId AND slot = :slot AND balance_amount >= :amount
+              AND NOT EXISTS (SELECT 1 FROM accounts a WHERE a.id = :accountId AND a.held_amount > 0)
+            """, nativeQuery = true)
+    int tryDebit(@Param("accountId") UUID accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    /** Trava todos os slots da conta, sempre na mesma ordem, para evitar deadlock entre débitos que tomam emprestado. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountBalanceSlotEntity s where s.accountId = :accountId order by s.slot")
+    List<AccountBalanceSlotEntity> findAllByAccountIdForUpdate(@Param("accountId") UUID accountId);
+
+    /** Saldo autoritativo (linha base + slots), lido sem lock. */
+    @Query(value = """
+            SELECT a.balance_amount + COALESCE((SELECT SUM(s.balance_amount)
+                                                FROM account_balance_slots s
+                                                WHERE s.account_id = a.id), 0)
+            FROM accounts a
+            WHERE a.id = :accountId
+            """, nativeQuery = true)
+    BigDecimal currentBalance(@Param("accountId") UUID accountId);
+}
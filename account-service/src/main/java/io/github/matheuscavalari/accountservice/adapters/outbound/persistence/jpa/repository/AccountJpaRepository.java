@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,4 +17,37 @@ public interface AccountJpaRepository extends JpaRepository<AccountEntity, UUID>
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select a from AccountEntity a where a.id = :id")
     Optional<AccountEntity> findByIdForUpdate(@Param("id") UUID id);
+
+    /** Leitura sem lock (e sem carregar a entidade) para decidir se a conta usa slots de saldo. */
+    @Query("select a.balanceSlots as balanceSlots, a.balanceCurrency as balanceCurrency from AccountEntity a where a.id = :id")
+    Optional<BalanceLayout> findBalanceLayoutById(@Param("id") UUID id);
+
+    /** Leitura sem lock do saldo base, da soma dos slots e das últimas escritas em cada um. */
+    @Query("""
+            select a.balanceAmount as balanceAmount,
+                   a.balanceCurrency as balanceCurrency,
+                   a.updatedAt as updatedAt,
+                   (select coalesce(sum(s.balanceAmount), 0) from AccountBalanceSlotEntity s where s.accountId = a.id) as slotsAmount,
+                   (select max(s.updatedAt) from AccountBalanceSlotEntity s where s.accountId = a.id) as slotsUpdatedAt
+            from AccountEntity a
+            where a.id = :id""")
+    Optional<BalanceSnapshot> findBalanceSnapshotById(@Param("id") UUID id);
+
+    interface BalanceLayout {
+        int getBalanceSlots();
+
+        String getBalanceCurrency();
+    }
+
+    interface BalanceSnapshot {
+        BigDecimal getBalanceAmount();
+
+        String getBalanceCurrency();
+
+        OffsetDateTime getUpdatedAt();
+
+        BigDecimal getSlotsAmount();
+
+        OffsetDateTime getSlotsUpdatedAt();
+    }
 }
@@ -3,8 +3,172 @@ package io.github.matheuscavalari.accountservice.adapters.outbound.persistence.j
 
 import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.OperationEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface OperationJpaRepository extends JpaRepository<OperationEntity, UUID> {
+
+    /**
+     * Aplica CREDIT/DEBIT e registra a operação em um único statement. O débito respeita o saldo disponível
+     * (saldo - bloqueios); quando falha, o saldo resultante registrado é o disponível.
+     * Retorna vazio quando a conta não existe, a moeda diverge, a conta usa slots de saldo
+     * ou o transactionId já foi registrado.
+     */
+    @Query(value = """
+            WITH acc AS (
+                SELECT id, balance_amount, balance_currency, balance_slots, held_amount
+                FROM accounts
+                WHERE id = :accountId
+                FOR UPDATE
+            ), ins AS (
+                INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                        timestamp, resulting_balance_amount, resulting_balance_currency, created_at)
+                SELECT :transactionId, acc.id, :type, :amount, :currency,
+                       CASE WHEN :type = 'CREDIT' OR acc.balance_amount - acc.held_amount >= :amount
+                            THEN 'SUCCEEDED' ELSE 'FAILED' END,
+                       :timestamp,
+                       CASE WHEN :type = 'CREDIT' THEN acc.balance_amount + :amount
+                            WHEN acc.balance_amount - acc.held_amount >= :amount THEN acc.balance_amount - :amount
+                            ELSE acc.balance_amount - acc.held_amount END,
+                       acc.balance_currency, now()
+                FROM acc
+                WHERE upper(acc.balance_currency) = upper(:currency) AND acc.balance_slots = 0
+                ON CONFLICT (transaction_id) DO NOTHING
+                RETURNING status, resulting_balance_amount, resulting_balance_currency
+            ), upd AS (
+                UPDATE accounts a
+                SET balance_amount = ins.resulting_balance_amount, updated_at = now()
+                FROM ins
+                WHERE a.id = :accountId AND ins.status = 'SUCCEEDED'
+            )
+            SELECT ins.status AS status,
+                   ins.resulting_balance_amount AS resultingBalanceAmount,
+                   ins.resulting_balance_currency AS resultingBalanceCurrency
+            FROM ins
+            """, nativeQuery = true)
+    Optional<AppliedOperation> applyAtomically(@Param("transactionId") UUID transactionId,
+                                               @Param("accountId") UUID accountId,
+                                               @Param("type") String type,
+                                               @Param("amount") BigDecimal amount,
+                                               @Param("currency") String currency,
+                                               @Param("timestamp") OffsetDateTime timestamp);
+
+    /**
+     * Registra a operação ou devolve a já existente com o mesmo transactionId, em um único statement.
+     * Cada linha é {@code [OperationEntity, Boolean inserted]}. Vazio só quando o conflito foi com uma transação
+     * commitada depois do início do statement (a linha ainda não é visível no snapshot dele).
+     */
+    @NativeQuery(value = """
+            WITH ins AS (
+                INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                        timestamp, resulting_balance_amount, resulting_balance_currency, created_at)
+                VALUES (:#{#op.transactionId}, :#{#op.accountId}, :#{#op.type}, :#{#op.amountValue},
+                        :#{#op.amountCurrency}, :#{#op.status}, :#{#op.timestamp}, :#{#op.resultingBalanceAmount},
+                        :#{#op.resultingBalanceCurrency}, :#{#op.createdAt})
+                ON CONFLICT (transaction_id) DO NOTHING
+                RETURNING *
+            )
+            SELECT ins.*, true AS inserted FROM ins
+            UNION ALL
+            SELECT o.*, false AS inserted
+            FROM operations o
+            WHERE o.transaction_id = :#{#op.transactionId} AND NOT EXISTS (SELECT 1 FROM ins)
+            """, sqlResultSetMapping = OperationEntity.INSERT_IF_ABSENT_MAPPING)
+    List<Object[]> insertIfAbsent(@Param("op") OperationEntity op);
+
+    /**
+     * Insert em lote via unnest(arrays) em um único statement ({@code timestamps} em ISO-8601). Devolve os
+     * transactionIds gravados; os já registrados ficam de fora pelo ON CONFLICT, sem exceção.
+     */
+    @NativeQuery("""
+            INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                    timestamp, resulting_balance_amount, resulting_balance_currency, created_at)
+            SELECT t.transaction_id, t.account_id, t.type, t.amount_value, t.amount_currency, t.status,
+                   t.timestamp::timestamptz, t.resulting_balance_amount, t.resulting_balance_currency, now()
+            FROM unnest(CAST(:transactionIds AS uuid[]), CAST(:accountIds AS uuid[]), CAST(:types AS text[]),
+                        CAST(:amountValues AS numeric[]), CAST(:amountCurrencies AS text[]),
+                        CAST(:statuses AS text[]), CAST(:timestamps AS text[]),
+                        CAST(:resultingBalanceAmounts AS numeric[]), CAST(:resultingBalanceCurrencies AS text[]))
+                 AS t(transaction_id, account_id, type, amount_value, amount_currency, status, timestamp,
+                      resulting_balance_amount, resulting_balance_currency)
+            ON CONFLICT (transaction_id) DO NOTHING
+            RETURNING transaction_id
+            """)
+    List<UUID> insertAllIfAbsent(@Param("transactionIds") UUID[] transactionIds,
+                                 @Param("accountIds") UUID[] accountIds,
+                                 @Param("types") String[] types,
+                                 @Param("amountValues") BigDecimal[] amountValues,
+                                 @Param("amountCurrencies") String[] amountCurrencies,
+                                 @Param("statuses") String[] statuses,
+                                 @Param("timestamps") String[] timestamps,
+                                 @Param("resultingBalanceAmounts") BigDecimal[] resultingBalanceAmounts,
+                                 @Param("resultingBalanceCurrencies") String[] resultingBalanceCurrencies);
+
+    /** Preenche status e saldo resultante de uma operação reservada por {@link #insertIfAbsent}. */
+    @Modifying
+    @Query(value = """
+            UPDATE operations
+            SET status = :status, resulting_balance_amount = :resultingBalanceAmount
+            WHERE transaction_id = :transactionId
+            """, nativeQuery = true)
+    int completeOperation(@Param("transactionId") UUID transactionId,
+                          @Param("status") String status,
+                          @Param("resultingBalanceAmount") BigDecimal resultingBalanceAmount);
+
+    /**
+     * Registra as duas pernas de uma transferência em um único statement, ligadas por {@code transfer_id}
+     * (o transactionId da perna de débito). Retorna quantas linhas foram gravadas: 0 quando a transferência
+     * já existia.
+     */
+    @NativeQuery(value = """
+            WITH ins AS (
+                INSERT INTO operations (transaction_id, account_id, type, amount_value, amount_currency, status,
+                                        timestamp, resulting_balance_amount, resulting_balance_currency, transfer_id,
+                                        created_at)
+                VALUES (:#{#debit.transactionId}, :#{#debit.accountId}, :#{#debit.type}, :#{#debit.amountValue},
+                        :#{#debit.amountCurrency}, :#{#debit.status}, :#{#debit.timestamp},
+                        :#{#debit.resultingBalanceAmount}, :#{#debit.resultingBalanceCurrency},
+                        :#{#debit.transactionId}, :#{#debit.createdAt}),
+                       (:#{#credit.transactionId}, :#{#credit.accountId}, :#{#credit.type}, :#{#credit.amountValue},
+                        :#{#credit.amountCurrency}, :#{#credit.status}, :#{#credit.timestamp},
+                        :#{#credit.resultingBalanceAmount}, :#{#credit.resultingBalanceCurrency},
+                        :#{#debit.transactionId}, :#{#credit.createdAt})
+                ON CONFLICT (transaction_id) DO NOTHING
+                RETURNING 1
+            )
+            SELECT count(*) FROM ins
+            """)
+    long insertTransferIfAbsent(@Param("debit") OperationEntity debit, @Param("credit") OperationEntity credit);
+
+    /** Liga a perna de débito FAILED de uma transferência recusada a si mesma por {@code transfer_id}. */
+    @Modifying
+    @Query(value = """
+            UPDATE operations
+            SET transfer_id = transaction_id
+            WHERE transaction_id = :transactionId
+            """, nativeQuery = true)
+    int markTransfer(@Param("transactionId") UUID transactionId);
+
+    /** A operação é a perna de débito de uma transferência ({@code transfer_id} = transactionId). */
+    @NativeQuery("""
+            SELECT EXISTS (SELECT 1 FROM operations
+                           WHERE transaction_id = :transactionId AND transfer_id = transaction_id)
+            """)
+    boolean isTransfer(@Param("transactionId") UUID transactionId);
+
+    interface AppliedOperation {
+        String getStatus();
+
+        BigDecimal getResultingBalanceAmount();
+
+        String getResultingBalanceCurrency();
+    }
 }
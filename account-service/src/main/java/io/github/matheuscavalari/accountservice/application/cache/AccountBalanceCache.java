@@ -0,0 +1,129 @@
+package io.github.matheuscavalari.accountservice.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache write-through dos saldos por conta, atualizado depois do commit de cada escrita no saldo.
+ * Entre commits concorrentes vence a versão com {@code updatedAt} mais recente. Escritas que esta instância
+ * não vê (outras instâncias, slots de contas quentes) ficam visíveis no máximo após o TTL.
+ * <p>
+ * Escritas com versão desconhecida descartam a entrada ({@link #evictOnCommit}) deixando uma marca com o número do
+ * evict; uma leitura do banco iniciada antes desse evict ({@link #beginLoad}) não é publicada
+ * ({@link #putLoaded}), então o saldo anterior ao commit não volta para o cache.
+ */
+@Component
+public class AccountBalanceCache {
+
+    private final Cache<UUID, Entry> cache;
+    private final AtomicLong evictions = new AtomicLong();
+    // maior número de evict cuja marca saiu do cache por tamanho/TTL: leituras iniciadas antes dele são descartadas
+    private final AtomicLong lostEvictions = new AtomicLong();
+
+    public AccountBalanceCache(MeterRegistry meterRegistry,
+                               @Value("${account.balance-cache.enabled:true}") boolean enabled,
+                               @Value("${account.balance-cache.max-entries:100000}") long maxEntries,
+                               @Value("${account.balance-cache.ttl:30s}") Duration ttl) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .evictionListener((UUID accountId, Entry entry, RemovalCause cause) -> {
+                    if (entry != null && entry.evictedAt() > 0) {
+                        lostEvictions.accumulateAndGet(entry.evictedAt(), Math::max);
+                    }
+                })
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "account-balances");
+    }
+
+    public AccountBalanceView get(UUID accountId) {
+        var entry = cache != null ? cache.getIfPresent(accountId) : null;
+        return entry != null ? entry.view() : null;
+    }
+
+    /** Publica um saldo com versão conhecida ({@code updatedAt} da escrita); vence a versão mais recente. */
+    public void put(AccountBalanceView view) {
+        if (cache != null) {
+            cache.asMap().merge(view.accountId(), new Entry(view, 0), (current, incoming) -> new Entry(
+                    current.view() != null ? current.view().newest(view) : view, current.evictedAt()));
+        }
+    }
+
+    /** Marca o início de uma leitura do banco a ser publicada por {@link #putLoaded}. */
+    public long beginLoad() {
+        return evictions.get();
+    }
+
+    /**
+     * Publica um saldo lido do banco a partir de {@link #beginLoad}. Descartado quando a conta teve um evict
+     * depois do início da leitura: o valor lido pode ser anterior ao commit que causou o evict.
+     */
+    public void putLoaded(AccountBalanceView view, long loadStartedAt) {
+        if (cache == null || lostEvictions.get() > loadStartedAt) {
+            return;
+        }
+        cache.asMap().compute(view.accountId(), (accountId, current) -> {
+            if (current == null) {
+                return lostEvictions.get() > loadStartedAt ? null : new Entry(view, 0);
+            }
+            if (current.evictedAt() > loadStartedAt) {
+                return current;
+            }
+            return new Entry(current.view() != null ? current.view().newest(view) : view, current.evictedAt());
+        });
+    }
+
+    /**
+     * Publica o saldo depois do commit. O supplier é avaliado só no afterCommit, quando o {@code updated_at}
+     * gravado pelo flush já é conhecido; em rollback nada é publicado.
+     */
+    public void putOnCommit(Supplier<AccountBalanceView> view) {
+        if (cache == null) {
+            return;
+        }
+        afterCommit(() -> put(view.get()));
+    }
+
+    /** Descarta a entrada depois do commit, para escritas cujo saldo/versão resultante não é conhecido aqui. */
+    public void evictOnCommit(UUID accountId) {
+        if (cache == null) {
+            return;
+        }
+        afterCommit(() -> cache.put(accountId, new Entry(null, evictions.incrementAndGet())));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /** Saldo em cache ({@code null} depois de um evict) e o número do último evict da conta (0 se nenhum). */
+    private record Entry(AccountBalanceView view, long evictedAt) {}
+}
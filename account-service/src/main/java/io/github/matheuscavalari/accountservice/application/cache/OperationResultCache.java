@@ -0,0 +1,64 @@
+package io.github.matheuscavalari.accountservice.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cache limitado em entradas e com TTL dos resultados já commitados, por transactionId.
+ * Retries do cliente são respondidos daqui sem ir ao Postgres. Uma operação registrada nunca muda,
+ * então a entrada continua válida mesmo com várias instâncias do serviço.
+ */
+@Component
+public class OperationResultCache {
+
+    private final Cache<UUID, ApplyOperationResult> cache;
+
+    public OperationResultCache(MeterRegistry meterRegistry,
+                                @Value("${account.operations.result-cache.enabled:true}") boolean enabled,
+                                @Value("${account.operations.result-cache.max-entries:100000}") long maxEntries,
+                                @Value("${account.operations.result-cache.ttl:10m}") Duration ttl) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<UUID, ApplyOperationResult>build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "operation-results");
+    }
+
+    public ApplyOperationResult get(UUID transactionId) {
+        return cache != null ? cache.getIfPresent(transactionId) : null;
+    }
+
+    /** Só publica o resultado depois do commit; em rollback a entrada nunca aparece. */
+    public void putOnCommit(ApplyOperationResult result) {
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(result.transactionId(), result);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(result.transactionId(), result);
+            }
+        });
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.matheuscavalari.accountservice.application.dispatch;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationOutcome;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Distribui as operações em N filas de escritor único (hash do accountId). Cada fila drena até
+ * {@code max-batch-size} operações, esperando no máximo {@code max-linger}, e as aplica em uma única
+ * transação via {@link ApplyOperationUseCase#executeBatch}. Cada chamador recebe o próprio resultado,
+ * esperando no máximo {@code reply-timeout}; uma falha do lote (inclusive {@link Error}) é repassada aos
+ * chamadores do lote sem derrubar a thread da fila.
+ */
+@Component
+@ConditionalOnProperty(name = "account.operations.group-commit.enabled", havingValue = "true")
+public class OperationGroupCommitDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OperationGroupCommitDispatcher.class);
+
+    private final ApplyOperationUseCase useCase;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final long replyTimeoutMillis;
+    private final List<Lane> lanes = new ArrayList<>();
+    private final DistributionSummary batchSize;
+
+    private volatile boolean running = true;
+
+    public OperationGroupCommitDispatcher(ApplyOperationUseCase useCase,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${account.operations.group-commit.lanes:8}") int laneCount,
+                                          @Value("${account.operations.group-commit.max-batch-size:100}") int maxBatchSize,
+                                          @Value("${account.operations.group-commit.max-linger:2ms}") Duration maxLinger,
+                                          @Value("${account.operations.group-commit.queue-capacity:10000}") int queueCapacity,
+                                          @Value("${account.operations.group-commit.reply-timeout:5s}") Duration replyTimeout) {
+        if (laneCount < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("group-commit lanes and max-batch-size must be >= 1");
+        }
+        this.useCase = useCase;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.replyTimeoutMillis = replyTimeout.toMillis();
+        this.batchSize = DistributionSummary.builder("account.operations.group_commit.batch.size")
+                .description("Operations committed per group-commit transaction")
+                .register(meterRegistry);
+
+        for (int i = 0; i < laneCount; i++) {
+            var lane = new Lane(i, new LinkedBlockingQueue<>(queueCapacity));
+            Gauge.builder("account.operations.group_commit.queue.depth", lane.queue, BlockingQueue::size)
+                    .description("Operations waiting in a group-commit lane")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+            lanes.add(lane);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        lanes.forEach(lane -> lane.thread.start());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (var lane : lanes) {
+            lane.thread.interrupt();
+        }
+        for (var lane : lanes) {
+            lane.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Aplica a operação pela fila da conta e bloqueia até o commit do grupo em que ela entrou. Se o grupo não
+     * responder dentro de {@code reply-timeout}, falha com {@link IllegalStateException}: o resultado fica
+     * indeterminado e o chamador deve repetir com o mesmo transactionId, que é idempotente.
+     */
+    public ApplyOperationResult apply(ApplyOperationCommand cmd) {
+        var pending = new Pending(cmd, new CompletableFuture<>());
+        var lane = lanes.get(Math.floorMod(cmd.accountId().hashCode(), lanes.size()));
+
+        if (!running || !lane.queue.offer(pending)) {
+            // fila cheia (ou desligando): aplica direto na thread do chamador
+            return useCase.execute(cmd);
+        }
+
+        try {
+            return pending.result.get(replyTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Group commit failed for transaction " + cmd.transactionId(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Group commit did not answer within %d ms for transaction %s"
+                    .formatted(replyTimeoutMillis, cmd.transactionId()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit of transaction " + cmd.transactionId(), e);
+        }
+    }
+
+    private void drain(BlockingQueue<Pending> queue) {
+        var batch = new ArrayList<Pending>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = running ? queue.take() : queue.poll();
+                if (first == null) {
+                    return;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxLingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // desligando: segue drenando o que já está na fila sem bloquear
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Pending> batch) {
+        batchSize.record(batch.size());
+        try {
+            List<ApplyOperationOutcome> outcomes = useCase.executeBatch(batch.stream().map(Pending::cmd).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                var outcome = outcomes.get(i);
+                if (outcome.succeeded()) {
+                    batch.get(i).result.complete(outcome.result());
+                } else {
+                    batch.get(i).result.completeExceptionally(outcome.error());
+                }
+            }
+        } catch (RuntimeException batchFailure) {
+            // o grupo inteiro foi revertido (ex.: deadlock, conexão perdida): aplica item a item
+            log.warn("Group commit of {} operations failed, retrying individually", batch.size(), batchFailure);
+            for (var pending : batch) {
+                if (pending.result.isDone()) {
+                    continue;
+                }
+                try {
+                    pending.result.complete(useCase.execute(pending.cmd));
+                } catch (Throwable e) {
+                    pending.result.completeExceptionally(e);
+                }
+            }
+        } catch (Throwable fatal) {
+            // Error (ex.: OutOfMemoryError) não pode matar a fila: os chamadores do lote recebem a falha
+            log.error("Group commit of {} operations failed", batch.size(), fatal);
+            for (var pending : batch) {
+                pending.result.completeExceptionally(fatal);
+            }
+        }
+    }
+
+    private record Pending(ApplyOperationCommand cmd, CompletableFuture<ApplyOperationResult> result) {}
+
+    private final class Lane {
+        private final BlockingQueue<Pending> queue;
+        private final Thread thread;
+
+        private Lane(int index, BlockingQueue<Pending> queue) {
+            this.queue = queue;
+            this.thread = new Thread(() -> drain(queue), "group-commit-lane-" + index);
+            this.thread.setDaemon(true);
+        }
+    }
+}
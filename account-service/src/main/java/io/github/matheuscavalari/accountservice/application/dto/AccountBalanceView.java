@@ -0,0 +1,22 @@
+package io.github.matheuscavalari.accountservice.application.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Saldo de uma conta (linha base + slots) e o instante da última escrita que o alterou,
+ * usado como versão em requisições condicionais.
+ */
+public record AccountBalanceView(
+        UUID accountId,
+        BigDecimal balanceAmount,
+        String balanceCurrency,
+        OffsetDateTime updatedAt
+) {
+
+    /** Mantém a versão mais recente; commits concorrentes podem publicar fora de ordem. */
+    public AccountBalanceView newest(AccountBalanceView other) {
+        return other.updatedAt().isAfter(updatedAt) ? other : this;
+    }
+}
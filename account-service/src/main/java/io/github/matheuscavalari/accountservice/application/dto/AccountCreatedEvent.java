@@ -0,0 +1,11 @@
+package io.github.matheuscavalari.accountservice.application.dto;
+
+import java.util.UUID;
+
+/** Conta criada, como chega no evento (created_at em epoch seconds). */
+public record AccountCreatedEvent(
+        UUID accountId,
+        String owner,
+        String createdAtEpoch,
+        String status
+) {}
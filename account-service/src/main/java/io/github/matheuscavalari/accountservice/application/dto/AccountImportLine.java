@@ -0,0 +1,13 @@
+package io.github.matheuscavalari.accountservice.application.dto;
+
+/** Linha de um arquivo de importação de contas: o evento lido ou o motivo pelo qual não pôde ser lido. */
+public record AccountImportLine(long lineNumber, AccountCreatedEvent event, String error) {
+
+    public static AccountImportLine parsed(long lineNumber, AccountCreatedEvent event) {
+        return new AccountImportLine(lineNumber, event, null);
+    }
+
+    public static AccountImportLine rejected(long lineNumber, String error) {
+        return new AccountImportLine(lineNumber, null, error);
+    }
+}
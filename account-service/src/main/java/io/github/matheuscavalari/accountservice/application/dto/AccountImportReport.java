@@ -0,0 +1,27 @@
+package io.github.matheuscavalari.accountservice.application.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resultado de uma importação de contas. {@code rejections} guarda só as primeiras linhas rejeitadas
+ * (memória constante); {@code rejected} é o total.
+ */
+public record AccountImportReport(long accepted,
+                                  long inserted,
+                                  long rejected,
+                                  List<Rejection> rejections,
+                                  Duration elapsed) {
+
+    public record Rejection(long lineNumber, String reason) {}
+
+    /** Linhas válidas cuja conta já existia (ou repetida no próprio arquivo). */
+    public long duplicates() {
+        return accepted - inserted;
+    }
+
+    public double rowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos > 0 ? (accepted + rejected) * 1_000_000_000d / nanos : 0;
+    }
+}
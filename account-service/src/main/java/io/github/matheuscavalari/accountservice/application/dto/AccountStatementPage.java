@@ -0,0 +1,17 @@
+package io.github.matheuscavalari.accountservice.application.dto;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery.StatementCursor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/** Entradas do extrato na ordem pedida; {@code next} é nulo na última página. */
+public record AccountStatementPage(List<StatementEntry> entries, StatementCursor next) {
+
+    public record StatementEntry(ApplyOperationResult operation, OffsetDateTime createdAt) {
+
+        public StatementCursor cursor() {
+            return new StatementCursor(createdAt, operation.transactionId());
+        }
+    }
+}
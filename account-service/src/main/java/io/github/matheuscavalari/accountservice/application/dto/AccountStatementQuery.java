@@ -0,0 +1,26 @@
+package io.github.matheuscavalari.accountservice.application.dto;
+
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Página do extrato de uma conta. Filtros nulos não restringem; {@code from} é inclusivo e {@code to} exclusivo.
+ * {@code after} é o cursor da página anterior (a última entrada já entregue) na ordem pedida.
+ */
+public record AccountStatementQuery(
+        UUID accountId,
+        OperationType type,
+        OperationStatus status,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        StatementCursor after,
+        boolean descending,
+        Integer limit
+) {
+
+    /** Posição no extrato: a chave de ordenação {@code (created_at, transaction_id)}. */
+    public record StatementCursor(OffsetDateTime createdAt, UUID transactionId) {}
+}
@@ -1,8 +1,10 @@
 package io.github.matheuscavalari.accountservice.application.dto;
 
+import io.github.matheuscavalari.accountservice.domain.model.Money;
 import io.github.matheuscavalari.accountservice.domain.model.OperationType;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -12,5 +14,69 @@ public record ApplyOperationCommand(
         OperationType type,
         BigDecimal amountValue,
         String amountCurrency,
-        OffsetDateTime timestamp
-) {}
+        OffsetDateTime timestamp,
+        UUID destinationAccountId
+) {
+
+    /** CREDIT/DEBIT: sem conta de destino. */
+    public ApplyOperationCommand(UUID accountId,
+                                 UUID transactionId,
+                                 OperationType type,
+                                 BigDecimal amountValue,
+                                 String amountCurrency,
+                                 OffsetDateTime timestamp) {
+        this(accountId, transactionId, type, amountValue, amountCurrency, timestamp, null);
+    }
+
+    /** Validações que NÃO dependem do banco. */
+    public void validate() {
+        if (type == null) {
+            throw new IllegalArgumentException("type is required");
+        }
+        if (type == OperationType.TRANSFER) {
+            if (destinationAccountId == null) {
+                throw new IllegalArgumentException("destinationAccountId is required for TRANSFER");
+            }
+            if (destinationAccountId.equals(accountId)) {
+                throw new IllegalArgumentException("destinationAccountId must differ from the source account");
+            }
+        } else if (destinationAccountId != null) {
+            throw new IllegalArgumentException("destinationAccountId is only allowed for TRANSFER");
+        }
+        if (amountValue == null || amountValue.signum() <= 0) {
+            throw new IllegalArgumentException("amountValue must be > 0");
+        }
+        if (amountValue.stripTrailingZeros().scale() > Money.SCALE) {
+            throw new IllegalArgumentException("amountValue must have at most %d decimal places".formatted(Money.SCALE));
+        }
+        if (amountCurrency == null || amountCurrency.isBlank()) {
+            throw new IllegalArgumentException("amountCurrency is required");
+        }
+        if (timestamp == null) {
+            throw new IllegalArgumentException("timestamp is required");
+        }
+    }
+
+    /** Validação que depende da conta. */
+    public void validateCurrency(String accountCurrency) {
+        if (!amountCurrency.equalsIgnoreCase(accountCurrency)) {
+            throw new IllegalArgumentException(
+                    "Currency mismatch: operation currency '%s' does not match account currency '%s'"
+                            .formatted(amountCurrency, accountCurrency)
+            );
+        }
+    }
+
+    /**
+     * transactionId da perna de crédito de uma transferência, derivado do transactionId da transferência
+     * (que é o da perna de débito): o retry grava sempre as mesmas duas chaves.
+     */
+    public static UUID creditLegTransactionId(UUID transferId) {
+        return UUID.nameUUIDFromBytes(("transfer-credit:" + transferId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Valor da operação em unidades menores; exige amountValue com no máximo 2 casas. */
+    public Money amount() {
+        return Money.of(amountValue, amountCurrency);
+    }
+}
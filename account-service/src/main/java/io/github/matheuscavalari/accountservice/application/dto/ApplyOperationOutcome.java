@@ -0,0 +1,18 @@
+package io.github.matheuscavalari.accountservice.application.dto;
+
+public record ApplyOperationOutcome(
+        ApplyOperationResult result,
+        RuntimeException error
+) {
+    public static ApplyOperationOutcome success(ApplyOperationResult result) {
+        return new ApplyOperationOutcome(result, null);
+    }
+
+    public static ApplyOperationOutcome failure(RuntimeException error) {
+        return new ApplyOperationOutcome(null, error);
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.matheuscavalari.accountservice.application.dto;
+
+import java.time.Duration;
+
+/**
+ * Resultado de uma conciliação de saldos. Os totais cobrem a execução inteira (inclusive partições concluídas
+ * antes de uma retomada); {@code partitionsProcessed} e {@code elapsed}, só este processo.
+ */
+public record ReconciliationReport(long runId,
+                                   boolean resumed,
+                                   int partitions,
+                                   int partitionsProcessed,
+                                   long accounts,
+                                   long operations,
+                                   long discrepancies,
+                                   Duration elapsed) {}
@@ -0,0 +1,102 @@
+package io.github.matheuscavalari.accountservice.application.hold;
+
+import io.github.matheuscavalari.accountservice.application.port.AccountHoldPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Libera os bloqueios vencidos em lotes: cada lote é uma transação curta que marca até {@code batch-size}
+ * bloqueios como EXPIRED (FOR UPDATE SKIP LOCKED, sem esperar capturas em andamento) e devolve o valor com um
+ * UPDATE por conta, não por bloqueio. Lotes cheios emendam uns nos outros até esvaziar o backlog; depois o job
+ * espera {@code poll-interval}. Várias instâncias podem rodar o job ao mesmo tempo.
+ */
+@Component
+@ConditionalOnProperty(name = "account.holds.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class HoldExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldExpiryJob.class);
+
+    private final AccountHoldPort holds;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Thread worker;
+    private final Timer batchDuration;
+    private final Counter expired;
+
+    private volatile boolean running = true;
+
+    public HoldExpiryJob(AccountHoldPort holds,
+                         MeterRegistry meterRegistry,
+                         @Value("${account.holds.expiry.batch-size:5000}") int batchSize,
+                         @Value("${account.holds.expiry.poll-interval:1s}") Duration pollInterval) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("account.holds.expiry.batch-size must be > 0");
+        }
+        this.holds = holds;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.batchDuration = Timer.builder("account.holds.expiry.batch.duration")
+                .description("Time to expire one batch of holds")
+                .register(meterRegistry);
+        this.expired = Counter.builder("account.holds.expired")
+                .description("Holds released by expiry")
+                .register(meterRegistry);
+        this.worker = new Thread(this::run, "hold-expiry");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                // lote cheio: provavelmente há mais vencidos, segue sem esperar
+                if (expireOnce() < batchSize) {
+                    Thread.sleep(pollInterval);
+                }
+            } catch (InterruptedException e) {
+                // desligando: o laço confere running
+            } catch (RuntimeException e) {
+                log.warn("Hold expiry failed, retrying in {}", pollInterval, e);
+                try {
+                    Thread.sleep(pollInterval);
+                } catch (InterruptedException interrupted) {
+                    // desligando
+                }
+            }
+        }
+    }
+
+    /** Expira um lote; devolve quantos bloqueios foram liberados. */
+    int expireOnce() {
+        long begin = System.nanoTime();
+        int count = holds.expireDue(batchSize);
+        if (count > 0) {
+            batchDuration.record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+            expired.increment(count);
+            log.debug("Expired {} holds", count);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.matheuscavalari.accountservice.application.idempotency;
+
+import io.github.matheuscavalari.accountservice.application.port.OperationQueryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro probabilístico dos transactionIds já vistos, fora do heap, na frente da busca por idempotência.
+ * <p>
+ * "Não visto" dispensa o {@code findById}; "talvez visto" cai no caminho normal. É uma dica de desempenho: a
+ * idempotência continua garantida pelo insert com {@code ON CONFLICT (transaction_id)}.
+ * Enquanto o filtro não foi reconstruído a partir do banco (ou se estiver desligado), toda consulta
+ * responde "talvez visto", preservando o comportamento anterior.
+ */
+@Component
+public class SeenTransactionFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SeenTransactionFilter.class);
+
+    private final OperationQueryPort operations;
+    private final Clock clock;
+    private final Duration window;
+    private final Duration rebuildTimeout;
+    private final TimeBucketedBloomFilter filter;
+
+    private final Counter definitelyNew;
+    private final Counter maybeSeen;
+    private final Counter rebuildRows;
+    private final Timer rebuildTimer;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public SeenTransactionFilter(OperationQueryPort operations,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${account.operations.seen-filter.enabled:false}") boolean enabled,
+                                 @Value("${account.operations.seen-filter.expected-insertions:10000000}") long expectedInsertions,
+                                 @Value("${account.operations.seen-filter.fpp:0.01}") double fpp,
+                                 @Value("${account.operations.seen-filter.window:7d}") Duration window,
+                                 @Value("${account.operations.seen-filter.buckets:7}") int buckets,
+                                 @Value("${account.operations.seen-filter.max-memory:256MB}") DataSize maxMemory,
+                                 @Value("${account.operations.seen-filter.rebuild-timeout:5m}") Duration rebuildTimeout) {
+        this(operations, meterRegistry, enabled, expectedInsertions, fpp, window,
+                buckets, maxMemory, rebuildTimeout, Clock.systemUTC());
+    }
+
+    SeenTransactionFilter(OperationQueryPort operations,
+                          MeterRegistry meterRegistry,
+                          boolean enabled,
+                          long expectedInsertions,
+                          double fpp,
+                          Duration window,
+                          int buckets,
+                          DataSize maxMemory,
+                          Duration rebuildTimeout,
+                          Clock clock) {
+        this.operations = operations;
+        this.clock = clock;
+        this.window = window;
+        this.rebuildTimeout = rebuildTimeout;
+
+        if (enabled) {
+            this.filter = new TimeBucketedBloomFilter(expectedInsertions, fpp, buckets, window.toMillis());
+            if (filter.maxBytes() > maxMemory.toBytes()) {
+                throw new IllegalStateException("Seen-transaction filter needs " + filter.maxBytes()
+                        + " bytes off-heap, above the configured max-memory of " + maxMemory.toBytes());
+            }
+        } else {
+            this.filter = null;
+        }
+
+        this.definitelyNew = Counter.builder("account.operations.seen_filter.lookups")
+                .tag("result", "definitely_new").register(meterRegistry);
+        this.maybeSeen = Counter.builder("account.operations.seen_filter.lookups")
+                .tag("result", "maybe_seen").register(meterRegistry);
+        this.rebuildRows = Counter.builder("account.operations.seen_filter.rebuild.rows").register(meterRegistry);
+        this.rebuildTimer = Timer.builder("account.operations.seen_filter.rebuild").register(meterRegistry);
+        Gauge.builder("account.operations.seen_filter.memory", this, f -> f.filter != null ? f.filter.allocatedBytes() : 0)
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("account.operations.seen_filter.entries", this, SeenTransactionFilter::entries)
+                .register(meterRegistry);
+        Gauge.builder("account.operations.seen_filter.bits_per_entry", this, SeenTransactionFilter::bitsPerEntry)
+                .register(meterRegistry);
+        Gauge.builder("account.operations.seen_filter.ready", this, f -> f.ready ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Dica, não garantia: {@code false} só diz que esta instância não viu o transactionId, nem no rebuild (linhas
+     * criadas dentro da janela) nem por {@link #record}. Outra instância, uma operação mais antiga que a janela ou
+     * ainda não commitada podem ter usado o mesmo id; quem decide é o insert com {@code ON CONFLICT}.
+     */
+    public boolean mightContain(UUID transactionId) {
+        if (!ready) {
+            return true;
+        }
+        boolean result = filter.mightContain(transactionId, clock.millis());
+        (result ? maybeSeen : definitelyNew).increment();
+        return result;
+    }
+
+    /**
+     * Registra um transactionId. Chamado antes do commit: se a transação fizer rollback o id fica
+     * como "talvez visto", o que só custa uma consulta extra num retry.
+     */
+    public void record(UUID transactionId) {
+        if (filter != null) {
+            long now = clock.millis();
+            filter.put(transactionId, now, now);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (filter == null) {
+            return;
+        }
+        Thread.ofPlatform().name("seen-filter-rebuild").daemon().start(this::rebuild);
+    }
+
+    /** Carrega os transactionIds da janela via cursor; fica pronto só se terminar dentro do timeout. */
+    void rebuild() {
+        long start = System.nanoTime();
+        long deadline = start + rebuildTimeout.toNanos();
+        var since = OffsetDateTime.now(clock).minus(window);
+        try {
+            var count = new AtomicLong();
+            operations.streamTransactionIdsCreatedSince(since, (transactionId, createdAt) -> {
+                filter.put(transactionId, createdAt.toInstant().toEpochMilli(), clock.millis());
+                if (count.incrementAndGet() % 10_000 == 0 && System.nanoTime() > deadline) {
+                    throw new RebuildTimeoutException(count.get());
+                }
+            });
+            long rows = count.get();
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(Duration.ofNanos(elapsed));
+            rebuildRows.increment(rows);
+            ready = true;
+            log.info("Seen-transaction filter ready: {} rows in {} s, {} MB off-heap, {} bits/entry",
+                    rows, String.format("%.1f", elapsed / 1e9), filter.allocatedBytes() / (1024 * 1024),
+                    String.format("%.1f", bitsPerEntry()));
+        } catch (RebuildTimeoutException e) {
+            rebuildRows.increment(e.rows);
+            log.warn("Seen-transaction filter rebuild aborted after {} rows ({} timeout); idempotency keeps using the database",
+                    e.rows, rebuildTimeout);
+        } catch (RuntimeException e) {
+            log.warn("Seen-transaction filter rebuild failed; idempotency keeps using the database", e);
+        }
+    }
+
+    private double entries() {
+        return filter != null ? filter.entries(clock.millis()) : 0;
+    }
+
+    private double bitsPerEntry() {
+        double entries = entries();
+        return filter != null && entries > 0 ? filter.allocatedBytes() * 8 / entries : 0;
+    }
+
+    private static class RebuildTimeoutException extends RuntimeException {
+        private final long rows;
+
+        private RebuildTimeoutException(long rows) {
+            super(null, null, false, false);
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.matheuscavalari.accountservice.application.idempotency;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter de UUIDs fora do heap, dividido em buckets de tempo (janela deslizante).
+ * <p>
+ * Cada bucket cobre {@code period} ms e é um {@link ByteBuffer} direto com bits setados via CAS
+ * ({@code getAndBitwiseOr}), então inserções concorrentes não perdem bits. Quando o tempo avança
+ * além da janela, o bucket mais antigo é descartado e reaproveitado para o período corrente.
+ * <p>
+ * {@link #mightContain} nunca dá falso negativo para UUIDs inseridos dentro da janela.
+ */
+class TimeBucketedBloomFilter {
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final int bucketCount;
+    private final long periodMillis;
+    private final long bitsPerBucket;
+    private final int hashFunctions;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    TimeBucketedBloomFilter(long expectedInsertions, double falsePositiveRate, int bucketCount, long windowMillis) {
+        if (expectedInsertions < 1 || bucketCount < 1 || windowMillis < bucketCount) {
+            throw new IllegalArgumentException("invalid bloom filter sizing");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("false positive rate must be in (0, 1)");
+        }
+        // um bucket extra para o período corrente (parcial): a janela coberta nunca fica menor que windowMillis
+        this.bucketCount = bucketCount + 1;
+        this.periodMillis = windowMillis / bucketCount;
+
+        // uma consulta checa todos os buckets: divide a taxa de falso positivo entre eles
+        long perBucket = Math.max(1, (expectedInsertions + bucketCount - 1) / bucketCount);
+        double perBucketRate = falsePositiveRate / this.bucketCount;
+        long bits = (long) Math.ceil(-perBucket * Math.log(perBucketRate) / (Math.log(2) * Math.log(2)));
+        this.bitsPerBucket = Math.max(64, (bits + 63) / 64 * 64);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitsPerBucket / perBucket * Math.log(2)));
+
+        if (bitsPerBucket / 8 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("bloom filter bucket exceeds 2 GB; increase the bucket count");
+        }
+        this.buckets = new AtomicReferenceArray<>(this.bucketCount);
+    }
+
+    /** Memória total fora do heap quando todos os buckets estão alocados. */
+    long maxBytes() {
+        return bitsPerBucket / 8 * bucketCount;
+    }
+
+    long allocatedBytes() {
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            if (buckets.get(i) != null) {
+                total += bitsPerBucket / 8;
+            }
+        }
+        return total;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /** Inserções registradas nos buckets ainda dentro da janela (aproximado). */
+    long entries(long nowMillis) {
+        long generation = nowMillis / periodMillis;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            var bucket = buckets.get(i);
+            if (bucket != null && isLive(bucket, generation)) {
+                total += bucket.insertions.sum();
+            }
+        }
+        return total;
+    }
+
+    /** Registra o UUID no bucket de {@code atMillis}; ignorado se esse instante já saiu da janela. */
+    void put(UUID id, long atMillis, long nowMillis) {
+        long generation = atMillis / periodMillis;
+        if (generation <= nowMillis / periodMillis - bucketCount) {
+            return;
+        }
+        var bucket = bucketFor(generation);
+        if (bucket == null) {
+            return;
+        }
+
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitsPerBucket);
+            LONGS.getAndBitwiseOr(bucket.bits, (int) (bit >>> 6) << 3, 1L << (bit & 63));
+        }
+        bucket.insertions.increment();
+    }
+
+    boolean mightContain(UUID id, long nowMillis) {
+        long generation = nowMillis / periodMillis;
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+
+        for (int b = 0; b < bucketCount; b++) {
+            var bucket = buckets.get(b);
+            if (bucket == null || !isLive(bucket, generation)) {
+                continue;
+            }
+            if (contains(bucket, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(Bucket bucket, long h1, long h2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitsPerBucket);
+            long word = (long) LONGS.getVolatile(bucket.bits, (int) (bit >>> 6) << 3);
+            if ((word & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isLive(Bucket bucket, long currentGeneration) {
+        return bucket.generation > currentGeneration - bucketCount && bucket.generation <= currentGeneration;
+    }
+
+    private Bucket bucketFor(long generation) {
+        int index = (int) Math.floorMod(generation, (long) bucketCount);
+        while (true) {
+            var current = buckets.get(index);
+            if (current != null && current.generation == generation) {
+                return current;
+            }
+            if (current != null && current.generation > generation) {
+                // o slot já foi reaproveitado por um período mais novo
+                return null;
+            }
+            var fresh = new Bucket(generation, ByteBuffer.allocateDirect((int) (bitsPerBucket / 8)));
+            if (buckets.compareAndSet(index, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /** fmix64 do MurmurHash3: espalha os bits mesmo para UUIDs que não são v4. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Bucket {
+        private final long generation;
+        private final ByteBuffer bits;
+        private final LongAdder insertions = new LongAdder();
+
+        private Bucket(long generation, ByteBuffer bits) {
+            this.generation = generation;
+            this.bits = bits;
+        }
+    }
+}
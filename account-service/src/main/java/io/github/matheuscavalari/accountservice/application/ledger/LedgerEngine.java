@@ -0,0 +1,161 @@
+package io.github.matheuscavalari.accountservice.application.ledger;
+
+import io.github.matheuscavalari.accountservice.application.cache.AccountBalanceCache;
+import io.github.matheuscavalari.accountservice.application.cache.OperationResultCache;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.port.LedgerStorePort;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Ledger em memória: saldos de todas as contas decididos por shards de thread única (hash do accountId),
+ * cada decisão gravada com fsync em um journal mapeado em memória antes da resposta e projetada de forma
+ * assíncrona em {@code accounts}/{@code operations}.
+ * <p>
+ * Mesma semântica de {@code ApplyOperationUseCase}: retries pelo transactionId devolvem o resultado original (da
+ * janela em memória da shard ou, fora dela, do banco, consultado uma vez por lote),
+ * moeda divergente e conta inexistente são erros e débito sem saldo vira FAILED sem alterar o saldo. O ledger não
+ * conhece bloqueios: só sobe sem bloqueios ativos e, habilitado, recusa HOLD/CAPTURE/RELEASE.
+ * Enquanto habilitado, o ledger é o dono dos saldos: nenhuma outra escrita em {@code accounts.balance_amount}.
+ * A leitura de saldo ({@code GET /accounts/{id}/balance}) segue o banco e, portanto, a projeção.
+ */
+@Component
+@ConditionalOnProperty(name = "account.ledger.enabled", havingValue = "true")
+public class LedgerEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerEngine.class);
+
+    private final LedgerStorePort store;
+    private final OperationResultCache resultCache;
+    private final AccountBalanceCache balanceCache;
+    private final long replyTimeoutMillis;
+    private final List<LedgerShard> shards = new ArrayList<>();
+
+    public LedgerEngine(LedgerStorePort store,
+                        OperationPersistencePort persistence,
+                        OperationResultCache resultCache,
+                        AccountBalanceCache balanceCache,
+                        MeterRegistry meterRegistry,
+                        @Value("${account.ledger.directory:./data/ledger}") Path directory,
+                        @Value("${account.ledger.shards:4}") int shardCount,
+                        @Value("${account.ledger.segment-size:64MB}") DataSize segmentSize,
+                        @Value("${account.ledger.queue-capacity:10000}") int queueCapacity,
+                        @Value("${account.ledger.max-batch-size:256}") int maxBatchSize,
+                        @Value("${account.ledger.projection.max-batch-size:500}") int projectionBatchSize,
+                        @Value("${account.ledger.snapshot-every:100000}") long snapshotEvery,
+                        @Value("${account.ledger.idempotency-retention:10m}") Duration idempotencyRetention,
+                        @Value("${account.ledger.reply-timeout:5s}") Duration replyTimeout) {
+        if (shardCount < 1 || maxBatchSize < 1 || projectionBatchSize < 1 || snapshotEvery < 1) {
+            throw new IllegalArgumentException("ledger shards, batch sizes and snapshot-every must be >= 1");
+        }
+        this.store = store;
+        this.resultCache = resultCache;
+        this.balanceCache = balanceCache;
+        this.replyTimeoutMillis = replyTimeout.toMillis();
+
+        var batchSize = DistributionSummary.builder("account.ledger.fsync.batch.size")
+                .description("Operations acknowledged per journal fsync")
+                .register(meterRegistry);
+        for (int i = 0; i < shardCount; i++) {
+            var shard = new LedgerShard(i, directory.resolve("shard-" + i), store, segmentSize.toBytes(),
+                    queueCapacity, maxBatchSize, projectionBatchSize, snapshotEvery,
+                    idempotencyRetention.toNanos(), batchSize::record, persistence::findOperations);
+            Gauge.builder("account.ledger.queue.depth", shard, LedgerShard::queueDepth)
+                    .tag("shard", String.valueOf(i)).register(meterRegistry);
+            Gauge.builder("account.ledger.projection.lag", shard, LedgerShard::projectionLag)
+                    .description("Journal records not yet projected into Postgres")
+                    .tag("shard", String.valueOf(i)).register(meterRegistry);
+            shards.add(shard);
+        }
+    }
+
+    /** Snapshot + journal de cada shard, reprojeção da cauda e carga das demais contas do banco. */
+    @PostConstruct
+    void start() {
+        // as shards decidem débitos só pelo saldo: bloqueios feitos antes de ligar o ledger seriam gastos por
+        // DEBITs comuns (e a CAPTURE depois deixaria o saldo abaixo do bloqueado)
+        if (store.hasActiveHolds()) {
+            throw new IllegalStateException(
+                    "The in-memory ledger cannot start while accounts have ACTIVE holds; capture, release or let them expire first");
+        }
+        long started = System.nanoTime();
+        shards.forEach(LedgerShard::recover);
+        store.forEachBalance(account -> shardFor(account.accountId()).preload(account.accountId(), account.balance()));
+        shards.forEach(LedgerShard::start);
+        log.info("Ledger started with {} shards in {} ms", shards.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (var shard : shards) {
+            shard.stop();
+        }
+    }
+
+    /** Decide a operação na shard da conta e bloqueia até o fsync do journal, no máximo {@code reply-timeout}. */
+    public ApplyOperationResult execute(ApplyOperationCommand cmd) {
+        // 0) Retry de operação já commitada: responde da memória
+        var cached = resultCache.get(cmd.transactionId());
+        if (cached != null) {
+            return cached;
+        }
+
+        // 1) Validações que NÃO dependem da conta, fora da thread da shard
+        cmd.validate();
+        if (cmd.type() != OperationType.CREDIT && cmd.type() != OperationType.DEBIT) {
+            // as shards decidem uma conta por vez e não conhecem bloqueios: transferência exige as duas contas
+            // na mesma decisão; HOLD/CAPTURE/RELEASE vivem em account_holds
+            throw new IllegalArgumentException("%s is not supported by the in-memory ledger".formatted(cmd.type()));
+        }
+
+        ApplyOperationResult result;
+        try {
+            result = shardFor(cmd.accountId()).submit(cmd).get(replyTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ledger failed for transaction " + cmd.transactionId(), e.getCause());
+        } catch (TimeoutException e) {
+            // a operação pode ainda ser decidida: o retry com o mesmo transactionId devolve o resultado
+            throw new IllegalStateException("Ledger did not answer within %d ms for transaction %s"
+                    .formatted(replyTimeoutMillis, cmd.transactionId()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the ledger", e);
+        }
+
+        resultCache.putOnCommit(result);
+        if (result.status() == OperationStatus.SUCCEEDED) {
+            // o saldo no banco só muda com a projeção: a próxima leitura relê a linha
+            balanceCache.evictOnCommit(result.accountId());
+        }
+        return result;
+    }
+
+    private LedgerShard shardFor(UUID accountId) {
+        return shards.get(Math.floorMod(accountId.hashCode(), shards.size()));
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.matheuscavalari.accountservice.application.ledger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Journal append-only de uma shard: segmentos de tamanho fixo mapeados em memória ({@code <primeira seq>.journal}).
+ * <p>
+ * {@link #append} só copia o registro para o mapeamento; {@link #sync} faz o fsync do trecho escrito desde o último
+ * sync, e só depois dele as decisões podem ser confirmadas. Não é thread-safe: usado apenas pela thread da shard.
+ */
+class LedgerJournal implements AutoCloseable {
+
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentRecords;
+
+    private MappedByteBuffer segment;
+    private FileChannel channel;
+    private int position;
+    private int syncedPosition;
+
+    LedgerJournal(Path directory, long segmentBytes) {
+        this.directory = directory;
+        this.segmentRecords = (int) Math.max(1, Math.min(segmentBytes, Integer.MAX_VALUE) / LedgerRecord.SIZE);
+    }
+
+    /**
+     * Lê todos os registros válidos com sequência maior que {@code afterSequence}, em ordem, e posiciona a escrita
+     * logo após o último registro válido. Um registro incompleto no fim (escrita interrompida) é descartado.
+     */
+    long recover(long afterSequence, Consumer<LedgerRecord> consumer) {
+        try {
+            Files.createDirectories(directory);
+            long last = 0;
+            var segments = segments();
+            for (int s = 0; s < segments.size(); s++) {
+                var file = segments.get(s);
+                try (var ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                    var buffer = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                    int offset = 0;
+                    while (offset + LedgerRecord.SIZE <= buffer.capacity()) {
+                        var record = LedgerRecord.readFrom(buffer, offset);
+                        if (record == null || (last > 0 && record.sequence() != last + 1)) {
+                            break;
+                        }
+                        last = record.sequence();
+                        if (last > afterSequence) {
+                            consumer.accept(record);
+                        }
+                        offset += LedgerRecord.SIZE;
+                    }
+                    if (s == segments.size() - 1 && offset < buffer.capacity()) {
+                        open(file, offset);
+                    }
+                }
+            }
+            return last;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void append(LedgerRecord record) {
+        if (segment == null || position + LedgerRecord.SIZE > segment.capacity()) {
+            rollTo(record.sequence());
+        }
+        record.writeTo(segment, position);
+        position += LedgerRecord.SIZE;
+    }
+
+    /** fsync do que foi escrito desde o último sync. */
+    void sync() {
+        if (segment != null && position > syncedPosition) {
+            segment.force(syncedPosition, position - syncedPosition);
+            syncedPosition = position;
+        }
+    }
+
+    /** Remove segmentos cujos registros são todos {@code <= sequence}. Nunca toca no segmento corrente (o último). */
+    void deleteUpTo(long sequence) {
+        try {
+            var segments = segments();
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                long nextFirst = firstSequence(segments.get(i + 1));
+                if (nextFirst - 1 <= sequence) {
+                    Files.deleteIfExists(segments.get(i));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void rollTo(long firstSequence) {
+        sync();
+        closeSegment();
+        open(directory.resolve("%020d%s".formatted(firstSequence, SUFFIX)), 0);
+    }
+
+    private void open(Path file, int offset) {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * LedgerRecord.SIZE);
+            position = offset;
+            syncedPosition = offset;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(f -> f.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        var name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private void closeSegment() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        segment = null;
+        channel = null;
+    }
+
+    @Override
+    public void close() {
+        sync();
+        closeSegment();
+    }
+}
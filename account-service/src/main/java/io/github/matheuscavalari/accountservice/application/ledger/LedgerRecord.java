@@ -0,0 +1,116 @@
+package io.github.matheuscavalari.accountservice.application.ledger;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.domain.model.Money;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Uma decisão do ledger: a operação e o saldo resultante da conta. Registro binário de tamanho fixo no journal.
+ */
+public record LedgerRecord(
+        long sequence,
+        UUID transactionId,
+        UUID accountId,
+        OperationType type,
+        OperationStatus status,
+        String amountCurrency,
+        String accountCurrency,
+        long amountMinor,
+        long resultingMinor,
+        OffsetDateTime timestamp
+) {
+
+    /** Tamanho de cada registro no journal (84 bytes de dados + CRC, alinhado em 96). */
+    public static final int SIZE = 96;
+    private static final int CRC_OFFSET = 80;
+
+    public ApplyOperationResult toResult() {
+        return new ApplyOperationResult(
+                transactionId,
+                type,
+                new Money(amountMinor, amountCurrency).toBigDecimal(),
+                amountCurrency,
+                status,
+                timestamp,
+                accountId,
+                new Money(resultingMinor, accountCurrency).toBigDecimal(),
+                accountCurrency
+        );
+    }
+
+    /** Escreve o registro em {@code buffer} a partir de {@code offset}, sem mexer na posição do buffer. */
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, transactionId.getMostSignificantBits());
+        buffer.putLong(offset + 16, transactionId.getLeastSignificantBits());
+        buffer.putLong(offset + 24, accountId.getMostSignificantBits());
+        buffer.putLong(offset + 32, accountId.getLeastSignificantBits());
+        buffer.put(offset + 40, (byte) type.ordinal());
+        buffer.put(offset + 41, (byte) status.ordinal());
+        putCurrency(buffer, offset + 42, amountCurrency);
+        putCurrency(buffer, offset + 45, accountCurrency);
+        buffer.putLong(offset + 48, amountMinor);
+        buffer.putLong(offset + 56, resultingMinor);
+        buffer.putLong(offset + 64, timestamp.toEpochSecond());
+        buffer.putInt(offset + 72, timestamp.getNano());
+        buffer.putInt(offset + 76, timestamp.getOffset().getTotalSeconds());
+        buffer.putInt(offset + CRC_OFFSET, crc(buffer, offset));
+    }
+
+    /** Lê o registro em {@code offset}; {@code null} se o espaço está vazio ou o registro está incompleto/corrompido. */
+    static LedgerRecord readFrom(ByteBuffer buffer, int offset) {
+        long sequence = buffer.getLong(offset);
+        if (sequence <= 0 || buffer.getInt(offset + CRC_OFFSET) != crc(buffer, offset)) {
+            return null;
+        }
+        return new LedgerRecord(
+                sequence,
+                new UUID(buffer.getLong(offset + 8), buffer.getLong(offset + 16)),
+                new UUID(buffer.getLong(offset + 24), buffer.getLong(offset + 32)),
+                OperationType.values()[buffer.get(offset + 40)],
+                OperationStatus.values()[buffer.get(offset + 41)],
+                getCurrency(buffer, offset + 42),
+                getCurrency(buffer, offset + 45),
+                buffer.getLong(offset + 48),
+                buffer.getLong(offset + 56),
+                OffsetDateTime.ofInstant(
+                        Instant.ofEpochSecond(buffer.getLong(offset + 64), buffer.getInt(offset + 72)),
+                        ZoneOffset.ofTotalSeconds(buffer.getInt(offset + 76)))
+        );
+    }
+
+    private static int crc(ByteBuffer buffer, int offset) {
+        var crc = new CRC32C();
+        crc.update(buffer.slice(offset, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static void putCurrency(ByteBuffer buffer, int offset, String currency) {
+        byte[] bytes = currency.getBytes(StandardCharsets.US_ASCII);
+        if (bytes.length > 3) {
+            throw new IllegalArgumentException("currency code longer than 3 characters: " + currency);
+        }
+        for (int i = 0; i < 3; i++) {
+            buffer.put(offset + i, i < bytes.length ? bytes[i] : 0);
+        }
+    }
+
+    private static String getCurrency(ByteBuffer buffer, int offset) {
+        int length = 0;
+        while (length < 3 && buffer.get(offset + length) != 0) {
+            length++;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
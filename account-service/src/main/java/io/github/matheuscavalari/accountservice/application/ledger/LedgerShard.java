@@ -0,0 +1,468 @@
+package io.github.matheuscavalari.accountservice.application.ledger;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.port.LedgerStorePort;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase.AccountNotFoundException;
+import io.github.matheuscavalari.accountservice.domain.model.Money;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Uma shard do ledger: os saldos das suas contas e uma única thread que decide as operações em ordem de chegada.
+ * <p>
+ * A thread drena até {@code maxBatch} operações, busca em uma consulta as já registradas no banco entre as que não
+ * estão na janela em memória, decide cada uma em memória, grava os registros no journal e faz
+ * um único fsync antes de responder a todas (group commit). Os registros confirmados seguem para a projeção
+ * assíncrona no Postgres; a cada {@code snapshotEvery} registros os saldos são gravados em um snapshot, um por vez,
+ * fora da thread da shard. O journal só é tocado pela thread da shard, inclusive a limpeza depois do snapshot.
+ */
+class LedgerShard {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerShard.class);
+
+    private final int index;
+    private final LedgerStorePort store;
+    private final LedgerJournal journal;
+    private final LedgerSnapshots snapshots;
+    private final Path watermarkFile;
+    private final int maxBatch;
+    private final int projectionBatch;
+    private final long snapshotEvery;
+    private final long retentionNanos;
+    private final IntConsumer batchSizeRecorder;
+    private final Function<Collection<UUID>, List<ApplyOperationResult>> registeredOperations;
+
+    private final BlockingQueue<Pending> queue;
+    private final BlockingQueue<LedgerRecord> projectionQueue = new LinkedBlockingQueue<>();
+    private final Map<UUID, Balance> balances = new HashMap<>();
+    // decisões ainda não projetadas (ou projetadas há menos de retentionNanos), por transactionId
+    private final LinkedHashMap<UUID, Recent> recent = new LinkedHashMap<>();
+
+    private final Thread loop;
+    private final Thread projector;
+
+    private final AtomicBoolean snapshotInFlight = new AtomicBoolean();
+    private volatile Thread snapshotWriter;
+
+    private long nextSequence = 1;
+    private long snapshotSequence;
+    private long trimmedSequence;
+    private long trimmedForSnapshot;
+    private volatile long writtenSnapshotSequence;
+    private volatile long decidedSequence;
+    private volatile long projectedSequence;
+    private volatile boolean running = true;
+
+    LedgerShard(int index,
+                Path directory,
+                LedgerStorePort store,
+                long segmentBytes,
+                int queueCapacity,
+                int maxBatch,
+                int projectionBatch,
+                long snapshotEvery,
+                long retentionNanos,
+                IntConsumer batchSizeRecorder,
+                Function<Collection<UUID>, List<ApplyOperationResult>> registeredOperations) {
+        this.index = index;
+        this.store = store;
+        this.journal = new LedgerJournal(directory.resolve("journal"), segmentBytes);
+        this.snapshots = new LedgerSnapshots(directory.resolve("snapshots"));
+        this.watermarkFile = directory.resolve("projected.seq");
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        this.projectionBatch = projectionBatch;
+        this.snapshotEvery = snapshotEvery;
+        this.retentionNanos = retentionNanos;
+        this.batchSizeRecorder = batchSizeRecorder;
+        this.registeredOperations = registeredOperations;
+        this.loop = new Thread(this::run, "ledger-shard-" + index);
+        this.projector = new Thread(this::project, "ledger-projector-" + index);
+        this.loop.setDaemon(true);
+        this.projector.setDaemon(true);
+    }
+
+    /**
+     * Snapshot mais recente + cauda do journal. Registros ainda não projetados são gravados no Postgres antes
+     * de a shard aceitar operações, então a partir daqui o banco está em dia para contas fora da memória.
+     */
+    void recover() {
+        var snapshot = snapshots.readLatest();
+        snapshot.ifPresent(s -> {
+            for (int i = 0; i < s.size(); i++) {
+                balances.put(s.accountId(i), new Balance(s.balanceMinor()[i], s.currency()[i]));
+            }
+            snapshotSequence = s.sequence();
+            writtenSnapshotSequence = s.sequence();
+        });
+        projectedSequence = readWatermark();
+
+        var tail = new ArrayList<LedgerRecord>();
+        long last = journal.recover(Math.min(snapshotSequence, projectedSequence), record -> {
+            if (record.sequence() > snapshotSequence) {
+                balances.put(record.accountId(), new Balance(record.resultingMinor(), record.accountCurrency()));
+            }
+            if (record.sequence() > projectedSequence) {
+                tail.add(record);
+                recent.put(record.transactionId(), new Recent(record.toResult(), record.sequence(), System.nanoTime()));
+            }
+        });
+        nextSequence = Math.max(last, snapshotSequence) + 1;
+        decidedSequence = nextSequence - 1;
+
+        for (int from = 0; from < tail.size(); from += projectionBatch) {
+            var chunk = tail.subList(from, Math.min(tail.size(), from + projectionBatch));
+            store.project(chunk);
+            markProjected(chunk.get(chunk.size() - 1).sequence());
+        }
+        log.info("Ledger shard {} recovered: snapshot seq {}, {} accounts, {} journal records re-projected, next seq {}",
+                index, snapshotSequence, balances.size(), tail.size(), nextSequence);
+    }
+
+    /** Saldo lido do banco no startup; não sobrescreve o que veio do snapshot/journal. */
+    void preload(UUID accountId, Money balance) {
+        balances.putIfAbsent(accountId, new Balance(balance.minorUnits(), balance.currency()));
+    }
+
+    void start() {
+        loop.start();
+        projector.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        loop.interrupt();
+        loop.join(TimeUnit.SECONDS.toMillis(5));
+        projector.interrupt();
+        projector.join(TimeUnit.SECONDS.toMillis(5));
+        // um snapshot em gravação termina antes do fechamento (o próximo startup parte dele ou do anterior)
+        var writer = snapshotWriter;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        journal.close();
+    }
+
+    /** Enfileira a operação; falha na hora com a shard parada (desligando ou depois de um fsync com erro). */
+    CompletableFuture<ApplyOperationResult> submit(ApplyOperationCommand cmd) throws InterruptedException {
+        if (!running) {
+            throw stopped();
+        }
+        var pending = new Pending(cmd, new CompletableFuture<>());
+        // backpressure: o ledger é a fonte do saldo, não há caminho alternativo para aplicar a operação
+        queue.put(pending);
+        if (!running && queue.remove(pending)) {
+            // parou entre a checagem e o put: ninguém mais drena a fila
+            pending.result.completeExceptionally(stopped());
+        }
+        return pending.result;
+    }
+
+    private IllegalStateException stopped() {
+        return new IllegalStateException("Ledger shard %d is stopped".formatted(index));
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    long projectionLag() {
+        return decidedSequence - projectedSequence;
+    }
+
+    private void run() {
+        var batch = new ArrayList<Pending>(maxBatch);
+        var records = new ArrayList<LedgerRecord>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = running ? queue.poll(100, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) {
+                    // ocioso: a projeção pode ter alcançado o último snapshot desde a última limpeza
+                    trimJournal(true);
+                    evictRecent();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+            } catch (InterruptedException e) {
+                continue;
+            }
+
+            var outcomes = new Object[batch.size()];
+            try {
+                loadRegistered(batch);
+            } catch (RuntimeException e) {
+                // sem saber se o transactionId já foi registrado não dá para decidir: falha o lote, nada foi escrito
+                log.warn("Ledger shard {} failed to look up {} transaction ids", index, batch.size(), e);
+                batch.forEach(p -> p.result().completeExceptionally(e));
+                batch.clear();
+                continue;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    outcomes[i] = decide(batch.get(i).cmd(), records);
+                } catch (RuntimeException e) {
+                    outcomes[i] = e;
+                }
+            }
+
+            try {
+                journal.sync();
+            } catch (RuntimeException e) {
+                // sem fsync não há confirmação: falha o lote e tudo o que está na fila e para a shard (o estado em
+                // memória está à frente do disco); submit recusa daqui em diante
+                log.error("Ledger shard {} failed to sync its journal; stopping", index, e);
+                running = false;
+                queue.drainTo(batch);
+                batch.forEach(p -> p.result().completeExceptionally(e));
+                return;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (outcomes[i] instanceof ApplyOperationResult result) {
+                    batch.get(i).result().complete(result);
+                } else {
+                    batch.get(i).result().completeExceptionally((Throwable) outcomes[i]);
+                }
+            }
+            batchSizeRecorder.accept(batch.size());
+            if (!records.isEmpty()) {
+                decidedSequence = records.get(records.size() - 1).sequence();
+                projectionQueue.addAll(records);
+            }
+
+            if (decidedSequence - snapshotSequence >= snapshotEvery && snapshotInFlight.compareAndSet(false, true)) {
+                snapshot();
+            }
+            trimJournal(false);
+            evictRecent();
+            batch.clear();
+            records.clear();
+        }
+    }
+
+    /**
+     * Traz para {@code recent} as operações do lote já registradas no banco e fora da janela em memória: retries
+     * antigos, de antes do restart ou decididos fora do ledger. Uma consulta por lote; o filtro de transactionIds
+     * vistos não serve aqui porque é só uma dica, e a projeção ignoraria a operação repetida mas gravaria o saldo.
+     */
+    private void loadRegistered(List<Pending> batch) {
+        var unknown = new HashSet<UUID>();
+        for (var pending : batch) {
+            if (!recent.containsKey(pending.cmd().transactionId())) {
+                unknown.add(pending.cmd().transactionId());
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (var registered : registeredOperations.apply(unknown)) {
+            // sequência 0: já projetada, sai da janela pelo tempo como as demais
+            recent.put(registered.transactionId(), new Recent(registered, 0, now));
+        }
+    }
+
+    /**
+     * Mesmas regras de {@code ApplyOperationUseCase}: idempotência, checagem de moeda, FAILED sem saldo. Sem
+     * bloqueios: o {@code LedgerEngine} só sobe sem bloqueios ativos e recusa novos, então disponível = saldo.
+     */
+    private ApplyOperationResult decide(ApplyOperationCommand cmd, List<LedgerRecord> records) {
+        var seen = recent.get(cmd.transactionId());
+        if (seen != null) {
+            return seen.result();
+        }
+
+        var balance = balances.get(cmd.accountId());
+        if (balance == null) {
+            // conta criada depois do startup: leitura única no banco, feita na thread da shard
+            var loaded = store.loadBalance(cmd.accountId())
+                    .orElseThrow(() -> new AccountNotFoundException(cmd.accountId()));
+            balance = new Balance(loaded.minorUnits(), loaded.currency());
+            balances.put(cmd.accountId(), balance);
+        }
+        cmd.validateCurrency(balance.currency);
+
+        long amount = cmd.amount().minorUnits();
+        long resulting;
+        OperationStatus status;
+        if (cmd.type() == OperationType.CREDIT) {
+            resulting = Math.addExact(balance.minor, amount);
+            status = OperationStatus.SUCCEEDED;
+        } else if (balance.minor - amount < 0) {
+            // saldo insuficiente -> FAILED, não altera saldo
+            resulting = balance.minor;
+            status = OperationStatus.FAILED;
+        } else {
+            resulting = balance.minor - amount;
+            status = OperationStatus.SUCCEEDED;
+        }
+
+        var record = new LedgerRecord(nextSequence, cmd.transactionId(), cmd.accountId(), cmd.type(), status,
+                cmd.amountCurrency(), balance.currency, amount, resulting, cmd.timestamp());
+        journal.append(record);
+        nextSequence++;
+        balance.minor = resulting;
+        records.add(record);
+
+        var result = record.toResult();
+        recent.put(cmd.transactionId(), new Recent(result, record.sequence(), System.nanoTime()));
+        return result;
+    }
+
+    private void snapshot() {
+        int size = balances.size();
+        var snapshot = new LedgerSnapshots.Snapshot(decidedSequence, new long[size], new long[size], new long[size], new String[size]);
+        int i = 0;
+        for (var entry : balances.entrySet()) {
+            snapshot.accountMsb()[i] = entry.getKey().getMostSignificantBits();
+            snapshot.accountLsb()[i] = entry.getKey().getLeastSignificantBits();
+            snapshot.balanceMinor()[i] = entry.getValue().minor;
+            snapshot.currency()[i] = entry.getValue().currency;
+            i++;
+        }
+        snapshotSequence = snapshot.sequence();
+        // a cópia acima é feita na thread da shard; só a gravação sai dela. snapshotInFlight garante uma gravação
+        // por vez, e a limpeza do journal volta para a thread da shard (trimJournal)
+        snapshotWriter = Thread.ofVirtual().name("ledger-snapshot-" + index).start(() -> {
+            try {
+                snapshots.write(snapshot);
+                writtenSnapshotSequence = snapshot.sequence();
+            } catch (RuntimeException e) {
+                log.warn("Ledger shard {} failed to write snapshot {}", index, snapshot.sequence(), e);
+            } finally {
+                snapshotInFlight.set(false);
+            }
+        });
+    }
+
+    /**
+     * Remove do journal os segmentos cobertos pelo último snapshot gravado e já projetados. Só na thread da shard
+     * ({@link LedgerJournal} não é thread-safe). Sem {@code idle}, só roda quando um snapshot novo foi gravado.
+     */
+    private void trimJournal(boolean idle) {
+        long written = writtenSnapshotSequence;
+        if (!idle && written <= trimmedForSnapshot) {
+            return;
+        }
+        trimmedForSnapshot = written;
+        long upTo = Math.min(written, projectedSequence);
+        if (upTo <= trimmedSequence) {
+            return;
+        }
+        try {
+            journal.deleteUpTo(upTo);
+            trimmedSequence = upTo;
+        } catch (RuntimeException e) {
+            log.warn("Ledger shard {} failed to trim its journal up to {}", index, upTo, e);
+        }
+    }
+
+    private void evictRecent() {
+        long now = System.nanoTime();
+        long projected = projectedSequence;
+        Iterator<Recent> it = recent.values().iterator();
+        while (it.hasNext()) {
+            var entry = it.next();
+            if (entry.sequence() > projected || now - entry.decidedAt() < retentionNanos) {
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    private void project() {
+        var batch = new ArrayList<LedgerRecord>(projectionBatch);
+        while (running || !projectionQueue.isEmpty()) {
+            try {
+                var first = projectionQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                projectionQueue.drainTo(batch, projectionBatch - 1);
+            } catch (InterruptedException e) {
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+
+            while (true) {
+                try {
+                    store.project(batch);
+                    markProjected(batch.get(batch.size() - 1).sequence());
+                    break;
+                } catch (RuntimeException e) {
+                    // o journal é a fonte da verdade: tenta de novo até o banco voltar (ou o próximo startup reprojeta)
+                    log.warn("Ledger shard {} failed to project {} records, retrying", index, batch.size(), e);
+                    if (!running) {
+                        return;
+                    }
+                    try {
+                        Thread.sleep(1_000);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void markProjected(long sequence) {
+        projectedSequence = sequence;
+        try {
+            // sem fsync: um watermark antigo só faz o próximo startup reprojetar registros (idempotente)
+            Files.createDirectories(watermarkFile.getParent());
+            Files.writeString(watermarkFile, Long.toString(sequence));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readWatermark() {
+        try {
+            return Files.exists(watermarkFile) ? Long.parseLong(Files.readString(watermarkFile).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static final class Balance {
+        private long minor;
+        private final String currency;
+
+        private Balance(long minor, String currency) {
+            this.minor = minor;
+            this.currency = currency;
+        }
+    }
+
+    private record Recent(ApplyOperationResult result, long sequence, long decidedAt) {}
+
+    private record Pending(ApplyOperationCommand cmd, CompletableFuture<ApplyOperationResult> result) {}
+}
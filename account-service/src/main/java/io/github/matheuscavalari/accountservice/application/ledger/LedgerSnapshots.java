@@ -0,0 +1,126 @@
+package io.github.matheuscavalari.accountservice.application.ledger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshots dos saldos de uma shard ({@code <seq>.snapshot}): arquivo temporário, fsync e rename atômico;
+ * apenas o mais recente é mantido.
+ */
+class LedgerSnapshots {
+
+    private static final int MAGIC = 0x4C444753; // "LDGS"
+    private static final String SUFFIX = ".snapshot";
+
+    private final Path directory;
+
+    LedgerSnapshots(Path directory) {
+        this.directory = directory;
+    }
+
+    /** Contas de um snapshot, em arrays paralelos (copiados na thread da shard, gravados fora dela). */
+    record Snapshot(long sequence, long[] accountMsb, long[] accountLsb, long[] balanceMinor, String[] currency) {
+
+        int size() {
+            return accountMsb.length;
+        }
+
+        UUID accountId(int i) {
+            return new UUID(accountMsb[i], accountLsb[i]);
+        }
+    }
+
+    void write(Snapshot snapshot) {
+        var target = directory.resolve("%020d%s".formatted(snapshot.sequence(), SUFFIX));
+        var tmp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            var crc = new CRC32C();
+            try (var out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)), crc))) {
+                out.writeInt(MAGIC);
+                out.writeLong(snapshot.sequence());
+                out.writeInt(snapshot.size());
+                for (int i = 0; i < snapshot.size(); i++) {
+                    out.writeLong(snapshot.accountMsb()[i]);
+                    out.writeLong(snapshot.accountLsb()[i]);
+                    out.writeLong(snapshot.balanceMinor()[i]);
+                    out.writeUTF(snapshot.currency()[i]);
+                }
+                out.flush();
+                out.writeLong(crc.getValue());
+            }
+            try (var ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ch.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+
+            try (Stream<Path> files = Files.list(directory)) {
+                for (var old : files.filter(f -> f.getFileName().toString().endsWith(SUFFIX))
+                        .filter(f -> !f.equals(target)).toList()) {
+                    Files.deleteIfExists(old);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Snapshot válido mais recente; snapshots corrompidos são ignorados. */
+    Optional<Snapshot> readLatest() {
+        if (!Files.isDirectory(directory)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (var file : files.filter(f -> f.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.reverseOrder()).toList()) {
+                var snapshot = read(file);
+                if (snapshot.isPresent()) {
+                    return snapshot;
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Optional<Snapshot> read(Path file) {
+        var crc = new CRC32C();
+        try (var in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file)), crc))) {
+            if (in.readInt() != MAGIC) {
+                return Optional.empty();
+            }
+            long sequence = in.readLong();
+            int size = in.readInt();
+            var snapshot = new Snapshot(sequence, new long[size], new long[size], new long[size], new String[size]);
+            for (int i = 0; i < size; i++) {
+                snapshot.accountMsb()[i] = in.readLong();
+                snapshot.accountLsb()[i] = in.readLong();
+                snapshot.balanceMinor()[i] = in.readLong();
+                snapshot.currency()[i] = in.readUTF();
+            }
+            long expected = crc.getValue();
+            return in.readLong() == expected ? Optional.of(snapshot) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+}
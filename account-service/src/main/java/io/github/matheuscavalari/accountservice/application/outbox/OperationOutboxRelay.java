@@ -0,0 +1,184 @@
+package io.github.matheuscavalari.accountservice.application.outbox;
+
+import io.github.matheuscavalari.accountservice.application.port.OperationEventPublisherPort;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relay do outbox: cada worker reivindica até {@code claim-size} eventos com um lease de {@code lease} (SKIP LOCKED
+ * na escolha, então workers e instâncias dividem o backlog sem publicar o mesmo evento em paralelo), publica em lotes
+ * de até 10 sem transação nem conexão presas, apaga os publicados em um único DELETE e devolve os demais. Enquanto o
+ * backlog enche cada reivindicação, o worker emenda uma na outra; senão espera {@code poll-interval}. Um evento só sai
+ * do outbox depois de aceito pela fila: entrega at-least-once (um worker que para no meio da publicação deixa o lease
+ * vencer e os eventos voltam a ser reivindicados).
+ */
+@Component
+@ConditionalOnProperty(name = "account.outbox.enabled", havingValue = "true")
+public class OperationOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OperationOutboxRelay.class);
+
+    private final OperationOutboxPort outbox;
+    private final OperationEventPublisherPort publisher;
+    private final int claimSize;
+    private final int publishBatchSize;
+    private final Duration lease;
+    private final long pollIntervalMillis;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Counter published;
+    private final Counter failed;
+    private final DistributionSummary batchSize;
+    private final Timer lag;
+
+    private volatile boolean running = true;
+
+    public OperationOutboxRelay(OperationOutboxPort outbox,
+                                OperationEventPublisherPort publisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${account.outbox.relay.workers:1}") int workerCount,
+                                @Value("${account.outbox.relay.claim-size:100}") int claimSize,
+                                @Value("${account.outbox.relay.publish-batch-size:10}") int publishBatchSize,
+                                @Value("${account.outbox.relay.poll-interval:200ms}") Duration pollInterval,
+                                @Value("${account.outbox.relay.lease:30s}") Duration lease) {
+        if (workerCount < 1 || claimSize < 1) {
+            throw new IllegalArgumentException("outbox relay workers and claim-size must be >= 1");
+        }
+        if (publishBatchSize < 1 || publishBatchSize > OperationEventPublisherPort.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("outbox relay publish-batch-size must be between 1 and "
+                    + OperationEventPublisherPort.MAX_BATCH_SIZE);
+        }
+        this.outbox = outbox;
+        this.publisher = publisher;
+        this.claimSize = claimSize;
+        this.publishBatchSize = publishBatchSize;
+        this.pollIntervalMillis = pollInterval.toMillis();
+        this.lease = lease;
+        this.published = Counter.builder("account.outbox.relay.events")
+                .description("Outbox events handed to the publisher")
+                .tag("outcome", "published")
+                .register(meterRegistry);
+        this.failed = Counter.builder("account.outbox.relay.events")
+                .description("Outbox events handed to the publisher")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("account.outbox.relay.batch.size")
+                .description("Events per publish request")
+                .register(meterRegistry);
+        this.lag = Timer.builder("account.outbox.relay.lag")
+                .description("Time from the outbox row insert (start of the operation's transaction) to the event "
+                        + "being accepted by the queue")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        for (int i = 0; i < workerCount; i++) {
+            var worker = new Thread(this::run, "outbox-relay-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        workers.forEach(Thread::start);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (var worker : workers) {
+            worker.interrupt();
+        }
+        for (var worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (!relayOnce()) {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                // desligando: o laço confere running
+            } catch (RuntimeException e) {
+                // banco indisponível, por exemplo: os eventos continuam no outbox
+                log.warn("Outbox relay pass failed", e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    // desligando
+                }
+            }
+        }
+    }
+
+    /**
+     * Uma reivindicação: publica os eventos em lotes e devolve {@code true} quando vale emendar outra imediatamente
+     * (reivindicação cheia e tudo publicado); com backlog vazio ou falha de publicação, o worker espera o intervalo.
+     */
+    boolean relayOnce() {
+        var events = outbox.claim(claimSize, lease);
+        if (events.isEmpty()) {
+            return false;
+        }
+
+        Set<Long> publishedIds = new HashSet<>();
+        for (int from = 0; from < events.size(); from += publishBatchSize) {
+            var batch = events.subList(from, Math.min(from + publishBatchSize, events.size()));
+            Set<Long> accepted;
+            try {
+                accepted = publisher.publish(batch);
+            } catch (RuntimeException e) {
+                // fila indisponível: não adianta tentar os próximos lotes agora; o que já foi aceito é apagado
+                log.warn("Publishing {} outbox events failed", events.size() - from, e);
+                failed.increment(events.size() - from);
+                break;
+            }
+            record(batch, accepted);
+            publishedIds.addAll(accepted);
+        }
+
+        if (!publishedIds.isEmpty()) {
+            outbox.delete(publishedIds);
+        }
+        if (publishedIds.size() == events.size()) {
+            return events.size() == claimSize;
+        }
+        // sem isso, os não publicados só voltariam depois do lease
+        outbox.release(events.stream().map(OutboxEvent::id).filter(id -> !publishedIds.contains(id)).toList());
+        return false;
+    }
+
+    private void record(List<OutboxEvent> batch, Set<Long> accepted) {
+        batchSize.record(batch.size());
+        published.increment(accepted.size());
+        failed.increment(batch.size() - accepted.size());
+
+        var now = OffsetDateTime.now();
+        for (var event : batch) {
+            if (accepted.contains(event.id())) {
+                lag.record(Duration.between(event.createdAt(), now));
+            }
+        }
+    }
+}
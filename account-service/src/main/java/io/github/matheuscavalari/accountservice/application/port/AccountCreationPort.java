@@ -0,0 +1,18 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/** Criação de contas a partir dos eventos de conta criada. Participa da transação corrente. */
+public interface AccountCreationPort {
+
+    /**
+     * Insere, em um único statement, as contas ainda inexistentes com saldo zero na moeda informada.
+     * Contas já existentes são ignoradas; retorna os ids efetivamente inseridos.
+     */
+    Set<UUID> insertIfAbsent(List<NewAccount> accounts, String currency, OffsetDateTime updatedAt);
+
+    record NewAccount(UUID id, String owner, String status, OffsetDateTime createdAt) {}
+}
@@ -0,0 +1,57 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.domain.model.HoldStatus;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bloqueios de saldo (HOLD/CAPTURE/RELEASE) em {@code account_holds}, com a soma dos ativos mantida em
+ * {@code accounts.held_amount}. As chamadas participam da transação corrente, exceto {@link #expireDue}.
+ * <p>
+ * Ordem de locks: bloqueio antes da conta (captura, liberação e expiração); a expiração trava as contas em ordem
+ * de accountId, a mesma de lotes e transferências.
+ */
+public interface AccountHoldPort {
+
+    Optional<Hold> findHold(UUID holdId);
+
+    /**
+     * Lock da conta, conferência do saldo disponível, registro do bloqueio (ACTIVE ou FAILED) e reserva em
+     * {@code held_amount} em um único statement. Vazio quando a conta não existe, a moeda diverge, a conta usa
+     * slots de saldo ou o holdId já foi registrado.
+     */
+    Optional<Hold> placeHold(ApplyOperationCommand cmd, OffsetDateTime expiresAt);
+
+    /** SELECT ... FOR UPDATE no bloqueio. */
+    Optional<Hold> lockHold(UUID holdId);
+
+    /**
+     * Captura um bloqueio ativo travado por {@link #lockHold}: debita o valor capturado, libera o valor bloqueado
+     * inteiro e registra a operação CAPTURE (transactionId = holdId), em um único statement.
+     */
+    ApplyOperationResult capture(Hold hold, ApplyOperationCommand cmd);
+
+    /** Libera um bloqueio ativo travado por {@link #lockHold}; devolve o saldo contábil da conta. */
+    BigDecimal release(Hold hold);
+
+    /**
+     * Expira, em uma transação curta própria, até {@code limit} bloqueios ativos vencidos (os já travados por
+     * outra transação ficam para o próximo lote). Devolve quantos foram expirados.
+     */
+    int expireDue(int limit);
+
+    record Hold(UUID holdId,
+                UUID accountId,
+                BigDecimal amountValue,
+                String amountCurrency,
+                HoldStatus status,
+                OffsetDateTime timestamp,
+                BigDecimal resultingBalanceAmount,
+                String resultingBalanceCurrency,
+                OffsetDateTime expiresAt) {}
+}
@@ -0,0 +1,17 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import io.github.matheuscavalari.accountservice.application.port.AccountCreationPort.NewAccount;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/** Carga em massa de contas (importação de arquivos de parceiros). */
+public interface AccountImportPort {
+
+    /**
+     * Copia o lote para uma tabela de staging e faz o merge em accounts com saldo zero na moeda informada,
+     * em uma transação própria. Contas já existentes (inclusive ids repetidos no lote) são ignoradas;
+     * retorna quantas contas foram efetivamente inseridas.
+     */
+    long copyAndMerge(List<NewAccount> accounts, String currency, OffsetDateTime updatedAt);
+}
@@ -0,0 +1,69 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/** Leituras e registro de progresso da conciliação de saldos (accounts x operations). */
+public interface BalanceReconciliationPort {
+
+    /** Execução iniciada e não concluída (queda no meio), se houver. */
+    Optional<Run> findUnfinishedRun();
+
+    /** Cria uma execução com {@code partitions} partições pendentes. */
+    Run startRun(int partitions);
+
+    List<Integer> pendingPartitions(long runId);
+
+    /**
+     * Lê a faixa {@code [lower, upper)} de account_id ({@code upper} nulo = até o fim) em uma transação somente
+     * leitura REPEATABLE READ, então saldos e operações vêm do mesmo snapshot. Entrega primeiro todos os saldos
+     * gravados da faixa e depois as operações, por cursor no servidor, agrupadas por conta e ordenadas por
+     * {@code (created_at, transaction_id)} dentro de cada conta.
+     */
+    void scan(UUID lower, UUID upper, PartitionVisitor visitor);
+
+    /** Grava as divergências e marca a partição como concluída, em uma única transação. */
+    void completePartition(long runId, int partition, PartitionResult result);
+
+    /** Marca a execução como concluída e devolve os totais de todas as partições. */
+    RunTotals finishRun(long runId);
+
+    interface PartitionVisitor {
+        void account(StoredBalance balance);
+
+        void operation(OperationEntry operation);
+    }
+
+    record Run(long id, int partitions) {}
+
+    /** Saldo gravado em centavos (linha base + slots); {@code hot} = conta com slots de saldo. */
+    record StoredBalance(UUID accountId, long balanceMinor, boolean hot) {}
+
+    record OperationEntry(UUID transactionId,
+                          UUID accountId,
+                          OperationType type,
+                          OperationStatus status,
+                          long amountMinor,
+                          long resultingMinor) {}
+
+    /** Valores em centavos; {@code transactionId} só quando a divergência é de uma operação específica. */
+    record Discrepancy(UUID accountId, Kind kind, Long expectedMinor, Long actualMinor, UUID transactionId) {
+
+        public enum Kind {
+            /** saldo gravado diferente da soma das operações SUCCEEDED */
+            BALANCE_MISMATCH,
+            /** resulting_balance_amount das operações SUCCEEDED não forma uma cadeia de 0 até o saldo calculado */
+            BROKEN_CHAIN,
+            /** operação FAILED que não poderia ter falhado (crédito, ou débito com saldo suficiente) */
+            INVALID_FAILED_OPERATION
+        }
+    }
+
+    record PartitionResult(long accounts, long operations, List<Discrepancy> discrepancies) {}
+
+    record RunTotals(long accounts, long operations, long discrepancies) {}
+}
@@ -0,0 +1,35 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/** Snapshots diários de saldo e saldo em um instante passado. */
+public interface BalanceSnapshotPort {
+
+    /** Último dia com snapshot gerado; os dias anteriores a ele estão todos gerados. */
+    Optional<LocalDate> lastSnapshotDay();
+
+    /** Instante da operação mais antiga, ponto de partida quando ainda não há snapshot. */
+    Optional<OffsetDateTime> firstOperationAt();
+
+    /**
+     * Grava, em uma transação, o saldo de fim do dia {@code day} das contas com operação SUCCEEDED em
+     * {@code [start, end)}: snapshot anterior mais a soma das operações do dia. Registra o dia como gerado,
+     * com a quantidade de contas e a duração. Devolve a quantidade de contas, ou vazio quando o dia já estava
+     * registrado (outra instância gerou).
+     */
+    OptionalLong snapshotDay(LocalDate day, OffsetDateTime start, OffsetDateTime end);
+
+    /**
+     * Saldo da conta em {@code asOf}: último snapshot até {@code snapshotDay} mais as operações SUCCEEDED com
+     * created_at em {@code [replayFrom, asOf]}. Sem {@code snapshotDay}, soma o histórico desde o início.
+     * {@code updatedAt} é o created_at da última operação considerada (ou a criação da conta).
+     */
+    Optional<AccountBalanceView> balanceAsOf(UUID accountId, OffsetDateTime asOf,
+                                             LocalDate snapshotDay, OffsetDateTime replayFrom);
+}
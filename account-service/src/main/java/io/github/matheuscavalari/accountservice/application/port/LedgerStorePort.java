@@ -0,0 +1,30 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import io.github.matheuscavalari.accountservice.application.ledger.LedgerRecord;
+import io.github.matheuscavalari.accountservice.domain.model.Money;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/** Leitura das contas e projeção das decisões do ledger em memória nas tabelas {@code accounts}/{@code operations}. */
+public interface LedgerStorePort {
+
+    /** Saldo autoritativo (linha base + slots), lido sem lock. */
+    Optional<Money> loadBalance(UUID accountId);
+
+    /** Há bloqueios (HOLD) ativos em alguma conta: o ledger não conhece bloqueios e não sobe com eles. */
+    boolean hasActiveHolds();
+
+    /** Percorre todas as contas por cursor, sem carregar a tabela inteira na memória. */
+    void forEachBalance(Consumer<AccountBalance> consumer);
+
+    /**
+     * Grava as operações (ignorando transactionIds já registrados) e o último saldo de cada conta em uma transação.
+     * Idempotente: reprojetar registros já projetados não muda o resultado final.
+     */
+    void project(List<LedgerRecord> records);
+
+    record AccountBalance(UUID accountId, Money balance) {}
+}
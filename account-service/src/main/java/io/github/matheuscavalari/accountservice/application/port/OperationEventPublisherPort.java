@@ -0,0 +1,19 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort.OutboxEvent;
+
+import java.util.List;
+import java.util.Set;
+
+/** Publicação dos eventos de operação aplicada para consumidores externos. */
+public interface OperationEventPublisherPort {
+
+    /** Máximo de eventos por chamada (limite de uma requisição SendMessageBatch do SQS). */
+    int MAX_BATCH_SIZE = 10;
+
+    /**
+     * Publica até {@link #MAX_BATCH_SIZE} eventos em uma única requisição e devolve os ids dos que foram aceitos.
+     * Falha parcial não lança exceção: os ids ausentes do retorno continuam pendentes.
+     */
+    Set<Long> publish(List<OutboxEvent> batch);
+}
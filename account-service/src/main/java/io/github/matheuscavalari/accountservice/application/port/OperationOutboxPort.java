@@ -0,0 +1,31 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/** Outbox transacional das operações registradas (tabela operation_outbox). */
+public interface OperationOutboxPort {
+
+    /** Registra um evento por operação na transação corrente: só fica visível ao relay se a operação for commitada. */
+    void append(Collection<ApplyOperationResult> operations);
+
+    /**
+     * Reivindica até {@code limit} eventos pendentes (mais antigos primeiro) em um único statement, com transação
+     * própria e curta: as linhas ganham um lease de {@code lease} ({@code FOR UPDATE SKIP LOCKED} na escolha, então
+     * instâncias concorrentes nunca recebem os mesmos eventos) e só voltam a ser reivindicadas quando ele vence. Nenhum
+     * lock nem conexão fica preso durante a publicação.
+     */
+    List<OutboxEvent> claim(int limit, Duration lease);
+
+    /** Apaga em um único statement os eventos já publicados. */
+    void delete(Collection<Long> ids);
+
+    /** Devolve os eventos não publicados ao outbox antes do fim do lease. */
+    void release(Collection<Long> ids);
+
+    record OutboxEvent(long id, ApplyOperationResult operation, OffsetDateTime createdAt) {}
+}
@@ -0,0 +1,140 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.domain.model.Money;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Persistência usada por {@code ApplyOperationUseCase}. Todas as chamadas participam da transação corrente.
+ * <p>
+ * Implementações: JPA/Hibernate ({@code account.persistence.adapter=jpa}, padrão) e JDBC com SQL escrito à mão
+ * ({@code account.persistence.adapter=jdbc}).
+ */
+public interface OperationPersistencePort {
+
+    Optional<ApplyOperationResult> findOperation(UUID transactionId);
+
+    List<ApplyOperationResult> findOperations(Collection<UUID> transactionIds);
+
+    /** SELECT ... FOR UPDATE na conta. */
+    Optional<LockedAccount> lockAccount(UUID accountId);
+
+    /** Leitura sem lock de slots e moeda da conta. */
+    Optional<BalanceLayout> findBalanceLayout(UUID accountId);
+
+    /**
+     * Leitura sem lock do saldo (linha base + slots). A versão é o {@code updated_at} mais recente entre a conta
+     * e seus slots.
+     */
+    Optional<AccountBalanceView> findBalance(UUID accountId);
+
+    /** Grava o saldo de uma conta obtida por {@link #lockAccount}. */
+    void updateBalance(LockedAccount account);
+
+    /** Grava em lote (JDBC batching) os saldos de contas obtidas por {@link #lockAccount}. */
+    void updateBalances(Collection<? extends LockedAccount> accounts);
+
+    /**
+     * Registra a operação. Retorna o resultado já existente quando outra transação registrou o mesmo
+     * transactionId ao mesmo tempo, ou vazio quando a operação foi gravada.
+     */
+    Optional<ApplyOperationResult> insertOperation(ApplyOperationResult operation);
+
+    /**
+     * Grava status e saldo resultante de uma operação registrada nesta transação por {@link #insertOperation}
+     * (caminho de conta quente: o transactionId é reservado antes de mexer nos slots).
+     */
+    void completeOperation(ApplyOperationResult operation);
+
+    /**
+     * Registra as duas pernas de uma transferência efetivada, ligadas por {@code transfer_id} (o transactionId da perna de
+     * débito). Como {@link #insertOperation}: devolve a perna de débito já existente quando outra transação
+     * registrou a mesma transferência ao mesmo tempo, ou vazio quando as duas pernas foram gravadas.
+     */
+    Optional<ApplyOperationResult> insertTransfer(ApplyOperationResult debit, ApplyOperationResult credit);
+
+    /**
+     * Liga a si mesma, por {@code transfer_id}, a perna de débito FAILED de uma transferência recusada, registrada
+     * nesta transação por {@link #insertOperation}.
+     */
+    void markTransfer(UUID transactionId);
+
+    /** A operação com este transactionId é a perna de débito de uma transferência ({@code transfer_id} = transactionId). */
+    boolean isTransfer(UUID transactionId);
+
+    /**
+     * Insert em lote ({@code ON CONFLICT (transaction_id) DO NOTHING}) em um único statement. Retorna os
+     * transactionIds gravados; os demais já estavam registrados por outra transação e ficam de fora, sem reverter
+     * o lote.
+     */
+    Set<UUID> insertOperations(List<ApplyOperationResult> operations);
+
+    /**
+     * Lock, decisão, insert da operação e update do saldo em um único statement. Vazio quando a conta não existe,
+     * a moeda diverge, a conta usa slots de saldo ou o transactionId já foi registrado.
+     */
+    Optional<AppliedOperation> applyAtomically(ApplyOperationCommand cmd);
+
+    void creditSlot(UUID accountId, int slot, BigDecimal amount);
+
+    /**
+     * Debita o slot somente se houver saldo suficiente nele e a conta não tiver bloqueios ativos; com bloqueios, o
+     * débito segue pelo caminho com lock, que confere o disponível (saldo - held_amount). Contas quentes não
+     * recebem novos bloqueios, então o held_amount lido aqui sem lock só pode diminuir.
+     */
+    boolean tryDebitSlot(UUID accountId, int slot, BigDecimal amount);
+
+    /** Saldo autoritativo (linha base + slots), lido sem lock. */
+    BigDecimal currentBalance(UUID accountId);
+
+    /** Trava todos os slots da conta (sempre na mesma ordem) e retorna a soma dos saldos. */
+    BigDecimal lockSlots(UUID accountId);
+
+    /** Zera os slots travados por {@link #lockSlots}. */
+    void drainSlots(UUID accountId);
+
+    interface LockedAccount {
+        UUID getId();
+
+        BigDecimal getBalanceAmount();
+
+        String getBalanceCurrency();
+
+        int getBalanceSlots();
+
+        /** Soma dos bloqueios (HOLD) ativos; só muda pelos statements de bloqueio, nunca por {@link #updateBalance}. */
+        BigDecimal getHeldAmount();
+
+        void setBalanceAmount(BigDecimal balanceAmount);
+
+        /** {@code updated_at} da última escrita; após {@link #updateBalance}, disponível no máximo no commit. */
+        OffsetDateTime getUpdatedAt();
+
+        default Money getBalance() {
+            return Money.of(getBalanceAmount(), getBalanceCurrency());
+        }
+
+        /** Saldo disponível: saldo contábil menos os bloqueios ativos. */
+        default Money getAvailable() {
+            return getBalance().minus(Money.of(getHeldAmount(), getBalanceCurrency()));
+        }
+
+        default void setBalance(Money balance) {
+            setBalanceAmount(balance.toBigDecimal());
+        }
+    }
+
+    record BalanceLayout(int balanceSlots, String balanceCurrency) {}
+
+    record AppliedOperation(OperationStatus status, BigDecimal resultingBalanceAmount, String resultingBalanceCurrency) {}
+}
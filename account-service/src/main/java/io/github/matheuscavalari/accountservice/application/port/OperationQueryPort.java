@@ -0,0 +1,35 @@
+package io.github.matheuscavalari.accountservice.application.port;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementPage.StatementEntry;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/** Leituras do histórico de operações: sem lock e fora do caminho de escrita ({@link OperationPersistencePort}). */
+public interface OperationQueryPort {
+
+    /**
+     * Até {@code limit} operações da conta depois do cursor da consulta, ordenadas por
+     * {@code (created_at, transaction_id)} no sentido pedido. Nunca usa OFFSET.
+     */
+    List<StatementEntry> findStatement(AccountStatementQuery query, int limit);
+
+    /**
+     * Todas as operações da conta que passam nos filtros, na ordem pedida, entregues uma a uma a partir de um cursor
+     * no servidor (fetch size fixo): a memória não depende do tamanho do histórico. Cursor e limit da consulta são
+     * ignorados. Bloqueia até o fim da leitura.
+     */
+    void streamStatement(AccountStatementQuery query, Consumer<StatementEntry> consumer);
+
+    boolean accountExists(UUID accountId);
+
+    /**
+     * transactionId e created_at das operações criadas desde {@code since}, entregues um a um a partir de um cursor
+     * no servidor. Uma exceção do consumer interrompe a leitura e é propagada. Bloqueia até o fim da leitura.
+     */
+    void streamTransactionIdsCreatedSince(OffsetDateTime since, BiConsumer<UUID, OffsetDateTime> consumer);
+}
@@ -0,0 +1,130 @@
+package io.github.matheuscavalari.accountservice.application.snapshot;
+
+import io.github.matheuscavalari.accountservice.application.port.BalanceSnapshotPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gera os snapshots de fim de dia em sequência, do dia seguinte ao último gerado até o último dia fechado.
+ * Um dia só é gerado depois de {@code settle-time} do seu fim, para incluir transações que começaram antes da
+ * meia-noite (created_at é o início da transação) e commitaram depois. Cada dia lê só as operações dele, então
+ * o custo acompanha o volume diário, não o total de contas. Várias instâncias podem rodar o job: cada dia é
+ * reivindicado no banco por uma delas.
+ */
+@Component
+@ConditionalOnProperty(name = "account.balance-snapshots.enabled", havingValue = "true")
+public class BalanceSnapshotJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotJob.class);
+
+    private final BalanceSnapshotPort snapshots;
+    private final ZoneId zone;
+    private final Duration settleTime;
+    private final Clock clock;
+    private final Thread worker;
+    private final Timer dayDuration;
+    private final Counter accounts;
+
+    private volatile boolean running = true;
+
+    public BalanceSnapshotJob(BalanceSnapshotPort snapshots,
+                              MeterRegistry meterRegistry,
+                              @Value("${account.balance-snapshots.zone:UTC}") ZoneId zone,
+                              @Value("${account.balance-snapshots.settle-time:5m}") Duration settleTime) {
+        this(snapshots, meterRegistry, zone, settleTime, Clock.systemUTC());
+    }
+
+    BalanceSnapshotJob(BalanceSnapshotPort snapshots, MeterRegistry meterRegistry,
+                       ZoneId zone, Duration settleTime, Clock clock) {
+        this.snapshots = snapshots;
+        this.zone = zone;
+        this.settleTime = settleTime;
+        this.clock = clock;
+        this.dayDuration = Timer.builder("account.balance.snapshot.day.duration")
+                .description("Time to generate the end-of-day snapshots of one day")
+                .register(meterRegistry);
+        this.accounts = Counter.builder("account.balance.snapshot.accounts")
+                .description("Account snapshots written")
+                .register(meterRegistry);
+        this.worker = new Thread(this::run, "balance-snapshots");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                generatePending();
+                // próximo dia fecha na próxima meia-noite (no fuso dos snapshots) + settle-time
+                var nextRun = LocalDate.now(clock.withZone(zone)).plusDays(1).atStartOfDay(zone).plus(settleTime);
+                Thread.sleep(Math.max(1, Duration.between(clock.instant(), nextRun.toInstant()).toMillis()));
+            } catch (InterruptedException e) {
+                // desligando: o laço confere running
+            } catch (RuntimeException e) {
+                log.warn("Balance snapshot generation failed, retrying in 1 minute", e);
+                try {
+                    Thread.sleep(Duration.ofMinutes(1));
+                } catch (InterruptedException interrupted) {
+                    // desligando
+                }
+            }
+        }
+    }
+
+    /** Gera todos os dias fechados ainda sem snapshot; devolve quantos dias foram gerados por esta instância. */
+    int generatePending() {
+        LocalDate lastClosed = LocalDate.ofInstant(clock.instant().minus(settleTime), zone).minusDays(1);
+        LocalDate next = snapshots.lastSnapshotDay()
+                .map(day -> day.plusDays(1))
+                .or(() -> snapshots.firstOperationAt().map(first -> first.atZoneSameInstant(zone).toLocalDate()))
+                .orElse(null);
+        if (next == null) {
+            return 0;
+        }
+
+        int generated = 0;
+        for (LocalDate day = next; !day.isAfter(lastClosed) && running; day = day.plusDays(1)) {
+            OffsetDateTime start = day.atStartOfDay(zone).toOffsetDateTime();
+            OffsetDateTime end = day.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
+
+            long begin = System.nanoTime();
+            var written = snapshots.snapshotDay(day, start, end);
+            long nanos = System.nanoTime() - begin;
+            if (written.isEmpty()) {
+                continue;
+            }
+            generated++;
+            dayDuration.record(nanos, TimeUnit.NANOSECONDS);
+            accounts.increment(written.getAsLong());
+            log.info("Balance snapshots of {}: {} accounts in {} ms", day, written.getAsLong(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+        return generated;
+    }
+}
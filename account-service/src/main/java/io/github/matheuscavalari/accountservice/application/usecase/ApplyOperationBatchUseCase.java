@@ -0,0 +1,79 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationOutcome;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.ledger.LedgerEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Lote de operações vindo da API: uma transação para o lote inteiro ({@link ApplyOperationUseCase#executeBatch}),
+ * com resultado (ou erro) por item, na ordem de entrada. Dentro de uma conta as operações são aplicadas na ordem
+ * em que aparecem no lote; entre contas diferentes não há ordem garantida.
+ */
+@Service
+public class ApplyOperationBatchUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplyOperationBatchUseCase.class);
+
+    private final ApplyOperationUseCase useCase;
+    private final LedgerEngine ledger;
+    private final int maxItems;
+
+    public ApplyOperationBatchUseCase(ApplyOperationUseCase useCase,
+                                      ObjectProvider<LedgerEngine> ledger,
+                                      @Value("${account.operations.batch.max-items:1000}") int maxItems) {
+        this.useCase = useCase;
+        this.ledger = ledger.getIfAvailable();
+        this.maxItems = maxItems;
+    }
+
+    public int maxItems() {
+        return maxItems;
+    }
+
+    public List<ApplyOperationOutcome> execute(List<ApplyOperationCommand> commands) {
+        if (commands.isEmpty()) {
+            throw new IllegalArgumentException("operations must not be empty");
+        }
+        if (commands.size() > maxItems) {
+            throw new IllegalArgumentException("operations must have at most %d items".formatted(maxItems));
+        }
+
+        if (ledger != null) {
+            // o ledger é o único escritor dos saldos: itens aplicados em ordem pelas shards
+            return applyEach(commands, ledger::execute);
+        }
+
+        try {
+            return useCase.executeBatch(commands);
+        } catch (DataIntegrityViolationException e) {
+            // o lote inteiro foi revertido (transactionId duplicado não chega aqui: o insert em lote o resolve
+            // por item): aplica item a item, cada um com a própria idempotência
+            log.warn("Batch of {} operations failed, retrying individually", commands.size(), e);
+            return applyEach(commands, useCase::execute);
+        }
+    }
+
+    private static List<ApplyOperationOutcome> applyEach(List<ApplyOperationCommand> commands,
+                                                         Function<ApplyOperationCommand, ApplyOperationResult> apply) {
+        List<ApplyOperationOutcome> outcomes = new ArrayList<>(commands.size());
+        for (var cmd : commands) {
+            try {
+                outcomes.add(ApplyOperationOutcome.success(apply.apply(cmd)));
+            } catch (IllegalArgumentException | ApplyOperationUseCase.AccountNotFoundException e) {
+                outcomes.add(ApplyOperationOutcome.failure(e));
+            }
+        }
+        return outcomes;
+    }
+}
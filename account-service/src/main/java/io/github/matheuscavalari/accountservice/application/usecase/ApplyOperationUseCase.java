@@ -1,103 +1,560 @@
 package io.github.matheuscavalari.accountservice.application.usecase;
 
-import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.AccountEntity;
-import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.OperationEntity;
-import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.AccountJpaRepository;
-import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.OperationJpaRepository;
+import io.github.matheuscavalari.accountservice.application.cache.AccountBalanceCache;
+import io.github.matheuscavalari.accountservice.application.cache.OperationResultCache;
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
 import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationOutcome;
 import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.idempotency.SeenTransactionFilter;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort.LockedAccount;
+import io.github.matheuscavalari.accountservice.domain.model.Money;
 import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
 import io.github.matheuscavalari.accountservice.domain.model.OperationType;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class ApplyOperationUseCase {
 
-    private final AccountJpaRepository accountRepository;
-    private final OperationJpaRepository operationRepository;
+    private final OperationPersistencePort persistence;
+    private final OperationResultCache resultCache;
+    private final AccountBalanceCache balanceCache;
+    private final SeenTransactionFilter seenFilter;
+    private final OperationOutboxPort outbox;
+    private final ExecutionMode executionMode;
+    private final boolean hotAccountRouting;
 
-    public ApplyOperationUseCase(AccountJpaRepository accountRepository,
-                                 OperationJpaRepository operationRepository) {
-        this.accountRepository = accountRepository;
-        this.operationRepository = operationRepository;
+    public ApplyOperationUseCase(OperationPersistencePort persistence,
+                                 OperationResultCache resultCache,
+                                 AccountBalanceCache balanceCache,
+                                 SeenTransactionFilter seenFilter,
+                                 ObjectProvider<OperationOutboxPort> outbox,
+                                 @Value("${account.operations.execution-mode:LOCKING}") ExecutionMode executionMode,
+                                 @Value("${account.hot-accounts.routing-enabled:false}") boolean hotAccountRouting) {
+        this.persistence = persistence;
+        this.resultCache = resultCache;
+        this.balanceCache = balanceCache;
+        this.seenFilter = seenFilter;
+        this.outbox = outbox.getIfAvailable();
+        this.executionMode = executionMode;
+        this.hotAccountRouting = hotAccountRouting;
     }
 
     @Transactional
     public ApplyOperationResult execute(ApplyOperationCommand cmd) {
+        // 0) Retry de operação já commitada: responde da memória, sem ir ao banco
+        var cached = resultCache.get(cmd.transactionId());
+        if (cached != null) {
+            if (cmd.type() == OperationType.TRANSFER && cached.type() != OperationType.TRANSFER) {
+                throw notATransfer(cached);
+            }
+            return cached;
+        }
+
+        var result = cmd.type() == OperationType.TRANSFER ? transfer(cmd) : apply(cmd);
+        seenFilter.record(result.transactionId());
+        resultCache.putOnCommit(result);
+        return result;
+    }
+
+    private ApplyOperationResult apply(ApplyOperationCommand cmd) {
         // 1) Idempotência: se já existe operação com esse transactionId, retorna o mesmo resultado
-        var existing = operationRepository.findById(cmd.transactionId());
-        if (existing.isPresent()) {
-            return toResult(existing.get());
+        //    (o filtro dispensa a consulta quando o transactionId é certamente novo)
+        if (seenFilter.mightContain(cmd.transactionId())) {
+            var existing = persistence.findOperation(cmd.transactionId());
+            if (existing.isPresent()) {
+                return existing.get();
+            }
         }
 
         // 2) Validações que NÃO dependem do banco (antes do lock)
-        validateCommand(cmd);
+        cmd.validate();
+        if (cmd.type() != OperationType.CREDIT && cmd.type() != OperationType.DEBIT) {
+            // HOLD/CAPTURE/RELEASE seguem pelo ciclo de bloqueios (AuthorizationHoldUseCase)
+            throw new IllegalArgumentException("%s is not applied as a single operation".formatted(cmd.type()));
+        }
+
+        // 2.1) Contas quentes (balance_slots > 0) não travam a linha base: leitura sem lock para rotear
+        if (hotAccountRouting) {
+            var layout = persistence.findBalanceLayout(cmd.accountId())
+                    .orElseThrow(() -> new AccountNotFoundException(cmd.accountId()));
+            if (layout.balanceSlots() > 0) {
+                cmd.validateCurrency(layout.balanceCurrency());
+                return applyToHotAccount(cmd, layout.balanceSlots(), layout.balanceCurrency());
+            }
+        }
+
+        if (executionMode == ExecutionMode.ATOMIC) {
+            return applyAtomically(cmd);
+        }
 
         // 3) Lock pessimista na conta (SELECT ... FOR UPDATE)
-        AccountEntity account = accountRepository.findByIdForUpdate(cmd.accountId())
+        LockedAccount account = persistence.lockAccount(cmd.accountId())
                 .orElseThrow(() -> new AccountNotFoundException(cmd.accountId()));
 
         // 4) Validações que dependem da conta (depois do lock)
         validateAgainstAccount(cmd, account);
 
+        if (account.getBalanceSlots() > 0) {
+            // conta quente sem roteamento habilitado: continua correta, só não escapa do lock na linha base
+            return applyToHotAccount(cmd, account.getBalanceSlots(), account.getBalanceCurrency());
+        }
+
         // 5) Regra de negócio: calcula saldo resultante e status
-        BigDecimal current = account.getBalanceAmount();
+        Decision decision = decide(cmd, account.getBalance(), heldOf(account));
+        Money resulting = decision.resulting();
+        OperationStatus status = decision.status();
+
+        // 6) Persistência da operação (idempotência é garantida pelo PK transaction_id)
+        var result = resultOf(cmd, status, resulting.toBigDecimal(), account.getBalanceCurrency());
+        var duplicate = persistence.insertOperation(result);
+        if (duplicate.isPresent()) {
+            return duplicate.get();
+        }
+        appendToOutbox(List.of(result));
+
+        // 7) Se SUCCEEDED, atualiza saldo (lock já está segurando a linha)
+        if (status == OperationStatus.SUCCEEDED) {
+            account.setBalance(resulting);
+            persistence.updateBalance(account);
+            publishBalanceOnCommit(account);
+        }
+
+        return result;
+    }
+
+    /**
+     * Débito na origem e crédito no destino na mesma transação, gravados como duas operações ligadas sob o
+     * transactionId da transferência. Sempre pelo caminho com lock (inclusive em {@link ExecutionMode#ATOMIC}).
+     */
+    private ApplyOperationResult transfer(ApplyOperationCommand cmd) {
+        // 1) Idempotência: a perna de débito é gravada com o próprio transactionId da transferência
+        if (seenFilter.mightContain(cmd.transactionId())) {
+            var existing = persistence.findOperation(cmd.transactionId());
+            if (existing.isPresent()) {
+                return registeredTransfer(existing.get());
+            }
+        }
+
+        cmd.validate();
+
+        // 2) Locks em ordem canônica de accountId (a mesma do executeBatch): transferências cruzadas A->B e B->A
+        //    disputam primeiro a mesma conta e uma espera a outra, sem ciclo de espera
+        UUID source = cmd.accountId();
+        UUID destination = cmd.destinationAccountId();
+        boolean sourceFirst = source.compareTo(destination) < 0;
+        LockedAccount first = lockOrThrow(sourceFirst ? source : destination);
+        LockedAccount second = lockOrThrow(sourceFirst ? destination : source);
+        LockedAccount from = sourceFirst ? first : second;
+        LockedAccount to = sourceFirst ? second : first;
+
+        cmd.validateCurrency(from.getBalanceCurrency());
+        cmd.validateCurrency(to.getBalanceCurrency());
+
+        // 3) Contas quentes: slots travados depois das duas linhas base, na mesma ordem
+        Money firstTotal = lockedTotal(first);
+        Money secondTotal = lockedTotal(second);
+        Money fromTotal = sourceFirst ? firstTotal : secondTotal;
+        Money toTotal = sourceFirst ? secondTotal : firstTotal;
+
+        // 4) Saldo disponível insuficiente na origem: só a perna de débito é registrada, como FAILED (o destino
+        //    não vê crédito que não aconteceu e a conciliação continua valendo: crédito nunca falha)
+        Money debited = fromTotal.minus(cmd.amount());
+        Money available = fromTotal.minus(heldOf(from));
+        if (available.minus(cmd.amount()).isNegative()) {
+            var failed = legOf(cmd, cmd.transactionId(), OperationType.DEBIT, source, OperationStatus.FAILED, available);
+            var duplicate = persistence.insertOperation(failed);
+            if (duplicate.isPresent()) {
+                return registeredTransfer(duplicate.get());
+            }
+            persistence.markTransfer(failed.transactionId());
+            appendToOutbox(List.of(failed));
+            return asTransfer(failed);
+        }
+
+        Money toResulting = toTotal.plus(cmd.amount());
+        var debit = legOf(cmd, cmd.transactionId(), OperationType.DEBIT, source, OperationStatus.SUCCEEDED, debited);
+        var credit = legOf(cmd, ApplyOperationCommand.creditLegTransactionId(cmd.transactionId()),
+                OperationType.CREDIT, destination, OperationStatus.SUCCEEDED, toResulting);
+        var duplicate = persistence.insertTransfer(debit, credit);
+        if (duplicate.isPresent()) {
+            return registeredTransfer(duplicate.get());
+        }
+        appendToOutbox(List.of(debit, credit));
+        seenFilter.record(credit.transactionId());
+
+        writeTransferBalance(from, debited);
+        writeTransferBalance(to, toResulting);
+
+        return asTransfer(debit);
+    }
+
+    private LockedAccount lockOrThrow(UUID accountId) {
+        return persistence.lockAccount(accountId).orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    /** Saldo da conta travada; em conta quente, trava também os slots e soma os saldos deles. */
+    private Money lockedTotal(LockedAccount account) {
+        if (account.getBalanceSlots() == 0) {
+            return account.getBalance();
+        }
+        return account.getBalance()
+                .plus(Money.of(persistence.lockSlots(account.getId()), account.getBalanceCurrency()));
+    }
+
+    private void writeTransferBalance(LockedAccount account, Money resulting) {
+        if (account.getBalanceSlots() > 0) {
+            // conta quente: consolida o saldo na linha base, como no débito que não cabe em um slot
+            persistence.drainSlots(account.getId());
+            account.setBalance(resulting);
+            persistence.updateBalance(account);
+            balanceCache.evictOnCommit(account.getId());
+        } else {
+            account.setBalance(resulting);
+            persistence.updateBalance(account);
+            publishBalanceOnCommit(account);
+        }
+    }
+
+    /**
+     * Aplica um grupo de operações em uma única transação: um lock por conta, um update de saldo por conta
+     * e um insert em lote das operações. Os resultados (ou erros) seguem a ordem de entrada e, dentro de uma
+     * mesma conta, as operações são aplicadas na ordem de chegada.
+     */
+    @Transactional
+    public List<ApplyOperationOutcome> executeBatch(List<ApplyOperationCommand> commands) {
+        var outcomes = new ApplyOperationOutcome[commands.size()];
+
+        // 1) Idempotência em lote: cache primeiro, depois um único SELECT para os transactionIds
+        //    que o filtro não garante serem novos
+        List<UUID> uncached = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            var transactionId = commands.get(i).transactionId();
+            var cached = resultCache.get(transactionId);
+            if (cached != null) {
+                outcomes[i] = ApplyOperationOutcome.success(cached);
+            } else if (seenFilter.mightContain(transactionId)) {
+                uncached.add(transactionId);
+            }
+        }
+
+        Map<UUID, ApplyOperationResult> existing = new HashMap<>();
+        if (!uncached.isEmpty()) {
+            persistence.findOperations(uncached).forEach(op -> existing.put(op.transactionId(), op));
+        }
+
+        // 2) Validações sem banco + agrupamento por conta (TreeMap: locks sempre na mesma ordem)
+        Map<UUID, List<Integer>> byAccount = new TreeMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            if (outcomes[i] != null) {
+                continue;
+            }
+            var cmd = commands.get(i);
+            var op = existing.get(cmd.transactionId());
+            if (op != null) {
+                outcomes[i] = ApplyOperationOutcome.success(op);
+                continue;
+            }
+            try {
+                if (cmd.type() != null && cmd.type() != OperationType.CREDIT && cmd.type() != OperationType.DEBIT) {
+                    throw new IllegalArgumentException("%s is not supported in batches".formatted(cmd.type()));
+                }
+                cmd.validate();
+            } catch (IllegalArgumentException e) {
+                outcomes[i] = ApplyOperationOutcome.failure(e);
+                continue;
+            }
+            byAccount.computeIfAbsent(cmd.accountId(), id -> new ArrayList<>()).add(i);
+        }
+
+        // 3) Um lock por conta; saldo corrente mantido em memória enquanto o grupo é aplicado
+        Map<UUID, ApplyOperationResult> appliedInBatch = new HashMap<>();
+        List<ApplyOperationResult> toInsert = new ArrayList<>();
+        Set<LockedAccount> changed = new LinkedHashSet<>();
+        Map<UUID, LockedAccount> locked = new HashMap<>();
+        Map<UUID, Money> opening = new HashMap<>();
+
+        for (var entry : byAccount.entrySet()) {
+            LockedAccount account = persistence.lockAccount(entry.getKey()).orElse(null);
+            Money balance = account != null && account.getBalanceSlots() == 0 ? account.getBalance() : null;
+            Money held = balance != null ? heldOf(account) : null;
+            if (balance != null) {
+                locked.put(entry.getKey(), account);
+                opening.put(entry.getKey(), balance);
+            }
+            boolean balanceChanged = false;
+
+            for (int i : entry.getValue()) {
+                var cmd = commands.get(i);
+                var repeated = appliedInBatch.get(cmd.transactionId());
+                if (repeated != null) {
+                    outcomes[i] = ApplyOperationOutcome.success(repeated);
+                    continue;
+                }
+                if (account == null) {
+                    outcomes[i] = ApplyOperationOutcome.failure(new AccountNotFoundException(cmd.accountId()));
+                    continue;
+                }
+                try {
+                    validateAgainstAccount(cmd, account);
+                } catch (IllegalArgumentException e) {
+                    outcomes[i] = ApplyOperationOutcome.failure(e);
+                    continue;
+                }
+
+                ApplyOperationResult result;
+                if (account.getBalanceSlots() > 0) {
+                    result = applyToHotAccount(cmd, account.getBalanceSlots(), account.getBalanceCurrency());
+                } else {
+                    Decision decision = decide(cmd, balance, held);
+                    result = resultOf(cmd, decision.status(), decision.resulting().toBigDecimal(), account.getBalanceCurrency());
+                    toInsert.add(result);
+                    if (decision.status() == OperationStatus.SUCCEEDED) {
+                        balance = decision.resulting();
+                        balanceChanged = true;
+                    }
+                }
+                appliedInBatch.put(cmd.transactionId(), result);
+                outcomes[i] = ApplyOperationOutcome.success(result);
+            }
+
+            if (balanceChanged) {
+                account.setBalance(balance);
+                changed.add(account);
+            }
+        }
+
+        // 4) Insert em lote das operações (ON CONFLICT DO NOTHING) e UPDATEs de saldo (um por conta) em lote.
+        //    transactionId registrado por outra transação depois da checagem de idempotência não reverte o
+        //    lote: só esses itens, e as contas deles, são resolvidos
+        Set<UUID> inserted = persistence.insertOperations(toInsert);
+        if (inserted.size() < toInsert.size()) {
+            toInsert = resolveConflicts(commands, outcomes, byAccount, locked, opening, toInsert, inserted, changed);
+        }
+        appendToOutbox(toInsert);
+        persistence.updateBalances(changed);
+        changed.forEach(this::publishBalanceOnCommit);
+
+        for (var outcome : outcomes) {
+            if (outcome.succeeded()) {
+                seenFilter.record(outcome.result().transactionId());
+                resultCache.putOnCommit(outcome.result());
+            }
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Itens do lote cujo transactionId já estava registrado recebem a operação registrada; as contas deles são
+     * recalculadas a partir do saldo travado, sem esses itens, e as operações gravadas pelo lote cujo status ou
+     * saldo resultante mudou são completadas com o novo resultado. Retorna as operações gravadas pelo lote.
+     */
+    private List<ApplyOperationResult> resolveConflicts(List<ApplyOperationCommand> commands,
+                                                        ApplyOperationOutcome[] outcomes,
+                                                        Map<UUID, List<Integer>> byAccount,
+                                                        Map<UUID, LockedAccount> locked,
+                                                        Map<UUID, Money> opening,
+                                                        List<ApplyOperationResult> toInsert,
+                                                        Set<UUID> inserted,
+                                                        Set<LockedAccount> changed) {
+        List<UUID> conflicts = new ArrayList<>();
+        Set<UUID> affected = new LinkedHashSet<>();
+        for (var op : toInsert) {
+            if (!inserted.contains(op.transactionId())) {
+                conflicts.add(op.transactionId());
+                affected.add(op.accountId());
+            }
+        }
+        Map<UUID, ApplyOperationResult> registered = new HashMap<>();
+        persistence.findOperations(conflicts).forEach(op -> registered.put(op.transactionId(), op));
+
+        Map<UUID, ApplyOperationResult> recomputed = new HashMap<>();
+        for (var accountId : affected) {
+            LockedAccount account = locked.get(accountId);
+            Money balance = opening.get(accountId);
+            Money held = heldOf(account);
+
+            for (int i : byAccount.get(accountId)) {
+                if (!outcomes[i].succeeded()) {
+                    continue;
+                }
+                var cmd = commands.get(i);
+                if (!inserted.contains(cmd.transactionId())) {
+                    var existing = registered.get(cmd.transactionId());
+                    if (existing == null) {
+                        throw new IllegalStateException(
+                                "Operation %s conflicted but is not visible".formatted(cmd.transactionId()));
+                    }
+                    outcomes[i] = ApplyOperationOutcome.success(existing);
+                    continue;
+                }
+                var repeated = recomputed.get(cmd.transactionId());
+                if (repeated != null) {
+                    outcomes[i] = ApplyOperationOutcome.success(repeated);
+                    continue;
+                }
+
+                Decision decision = decide(cmd, balance, held);
+                var result = resultOf(cmd, decision.status(), decision.resulting().toBigDecimal(), account.getBalanceCurrency());
+                if (!result.equals(outcomes[i].result())) {
+                    persistence.completeOperation(result);
+                }
+                if (decision.status() == OperationStatus.SUCCEEDED) {
+                    balance = decision.resulting();
+                }
+                recomputed.put(cmd.transactionId(), result);
+                outcomes[i] = ApplyOperationOutcome.success(result);
+            }
+
+            account.setBalance(balance);
+            changed.add(account);
+        }
+
+        return toInsert.stream()
+                .filter(op -> inserted.contains(op.transactionId()))
+                .map(op -> recomputed.getOrDefault(op.transactionId(), op))
+                .toList();
+    }
+
+    private ApplyOperationResult applyAtomically(ApplyOperationCommand cmd) {
+        // lock, decisão, insert da operação e update do saldo em um único statement
+        var applied = persistence.applyAtomically(cmd);
+
+        if (applied.isPresent()) {
+            var row = applied.get();
+            if (row.status() == OperationStatus.SUCCEEDED) {
+                // o updated_at gravado pelo statement não é devolvido: a próxima leitura relê do banco
+                balanceCache.evictOnCommit(cmd.accountId());
+            }
+            var result = resultOf(cmd, row.status(), row.resultingBalanceAmount(), row.resultingBalanceCurrency());
+            appendToOutbox(List.of(result));
+            return result;
+        }
+
+        // nada foi inserido: operação concorrente com o mesmo transactionId, conta inexistente,
+        // moeda divergente ou conta quente (o statement só atua em contas sem slots)
+        var existing = persistence.findOperation(cmd.transactionId());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        var layout = persistence.findBalanceLayout(cmd.accountId())
+                .orElseThrow(() -> new AccountNotFoundException(cmd.accountId()));
+        cmd.validateCurrency(layout.balanceCurrency());
+
+        if (layout.balanceSlots() > 0) {
+            return applyToHotAccount(cmd, layout.balanceSlots(), layout.balanceCurrency());
+        }
+
+        throw new IllegalStateException("Operation %s was not applied".formatted(cmd.transactionId()));
+    }
+
+    private ApplyOperationResult applyToHotAccount(ApplyOperationCommand cmd, int slots, String accountCurrency) {
+        // reserva o transactionId antes de mexer em slot ou saldo: retry concorrente, falso negativo do filtro ou
+        // item repetido de lote recebem a operação registrada, sem aplicar o valor de novo. O status e o saldo
+        // resultante só são conhecidos depois e completam a linha reservada, na mesma transação.
+        var duplicate = persistence.insertOperation(resultOf(cmd, OperationStatus.SUCCEEDED, BigDecimal.ZERO, accountCurrency));
+        if (duplicate.isPresent()) {
+            return duplicate.get();
+        }
+
+        // saldo = linha base (accounts) + soma dos slots; cada crédito/débito trava só um slot
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        OperationStatus status = OperationStatus.SUCCEEDED;
         BigDecimal resulting;
-        OperationStatus status;
 
         if (cmd.type() == OperationType.CREDIT) {
-            resulting = current.add(cmd.amountValue());
-            status = OperationStatus.SUCCEEDED;
-        } else { // DEBIT
-            BigDecimal candidate = current.subtract(cmd.amountValue());
-            if (candidate.compareTo(BigDecimal.ZERO) < 0) {
-                // saldo insuficiente -> FAILED, não altera saldo
-                resulting = current;
+            persistence.creditSlot(cmd.accountId(), slot, cmd.amountValue());
+            resulting = persistence.currentBalance(cmd.accountId());
+        } else if (persistence.tryDebitSlot(cmd.accountId(), slot, cmd.amountValue())) {
+            resulting = persistence.currentBalance(cmd.accountId());
+        } else {
+            // slot sem saldo suficiente (ou conta com bloqueios ativos): trava linha base e depois todos os slots
+            // (ordem fixa -> sem deadlock) e consolida o saldo na linha base, zerando os slots
+            LockedAccount account = persistence.lockAccount(cmd.accountId())
+                    .orElseThrow(() -> new AccountNotFoundException(cmd.accountId()));
+
+            Money total = account.getBalance().plus(Money.of(persistence.lockSlots(cmd.accountId()), accountCurrency));
+            Money candidate = total.minus(cmd.amount());
+            // mesma regra de decide(): o débito é limitado ao disponível (total - bloqueios ativos)
+            Money available = total.minus(heldOf(account));
+
+            if (available.minus(cmd.amount()).isNegative()) {
+                resulting = available.toBigDecimal();
                 status = OperationStatus.FAILED;
             } else {
-                resulting = candidate;
-                status = OperationStatus.SUCCEEDED;
+                persistence.drainSlots(cmd.accountId());
+                account.setBalance(candidate);
+                persistence.updateBalance(account);
+                resulting = candidate.toBigDecimal();
             }
         }
 
-        // 6) Persistência da operação (idempotência é garantida pelo PK transaction_id)
-        OffsetDateTime now = OffsetDateTime.now();
-        OperationEntity op = new OperationEntity(
-                cmd.transactionId(),
-                cmd.accountId(),
-                cmd.type().name(),
-                cmd.amountValue(),
-                cmd.amountCurrency(),
-                status.name(),
-                cmd.timestamp(),
-                resulting,
-                account.getBalanceCurrency(),
-                now
-        );
+        var result = resultOf(cmd, status, resulting, accountCurrency);
+        persistence.completeOperation(result);
+        appendToOutbox(List.of(result));
+        if (status == OperationStatus.SUCCEEDED) {
+            // a versão de uma conta quente inclui o updated_at dos slots: a próxima leitura relê do banco
+            balanceCache.evictOnCommit(cmd.accountId());
+        }
+        return result;
+    }
 
-        try {
-            // salva a operação primeiro para garantir idempotência antes de atualizar saldo
-            operationRepository.saveAndFlush(op);
-        } catch (DataIntegrityViolationException dup) {
-            // outra thread/processo inseriu a mesma operação ao mesmo tempo -> retorna a já existente
-            return operationRepository.findById(cmd.transactionId())
-                    .map(this::toResult)
-                    .orElseThrow(() -> dup);
+    /** Outbox transacional: o evento da operação é commitado (ou desfeito) junto com ela; o relay publica depois. */
+    private void appendToOutbox(List<ApplyOperationResult> results) {
+        if (outbox != null && !results.isEmpty()) {
+            outbox.append(results);
         }
+    }
 
-        // 7) Se SUCCEEDED, atualiza saldo (lock já está segurando a linha)
-        if (status == OperationStatus.SUCCEEDED) {
-            account.setBalanceAmount(resulting);
-            // updatedAt será preenchido automaticamente via @PreUpdate
-            accountRepository.save(account);
+    /** Write-through: o saldo gravado vai para o cache depois do commit, com o updated_at da escrita. */
+    private void publishBalanceOnCommit(LockedAccount account) {
+        balanceCache.putOnCommit(() -> new AccountBalanceView(
+                account.getId(),
+                account.getBalanceAmount(),
+                account.getBalanceCurrency(),
+                account.getUpdatedAt()));
+    }
+
+    private static Decision decide(ApplyOperationCommand cmd, Money current, Money held) {
+        if (cmd.type() == OperationType.CREDIT) {
+            return new Decision(OperationStatus.SUCCEEDED, current.plus(cmd.amount()));
         }
+        // DEBIT: limitado ao saldo disponível (saldo - bloqueios ativos)
+        Money available = current.minus(held);
+        if (available.minus(cmd.amount()).isNegative()) {
+            // saldo insuficiente -> FAILED, não altera saldo; registra o disponível que impediu o débito
+            // (sem bloqueios, o próprio saldo)
+            return new Decision(OperationStatus.FAILED, available);
+        }
+        return new Decision(OperationStatus.SUCCEEDED, current.minus(cmd.amount()));
+    }
+
+    private static Money heldOf(LockedAccount account) {
+        return Money.of(account.getHeldAmount(), account.getBalanceCurrency());
+    }
 
+    private static ApplyOperationResult resultOf(ApplyOperationCommand cmd,
+                                                 OperationStatus status,
+                                                 BigDecimal resulting,
+                                                 String accountCurrency) {
         return new ApplyOperationResult(
                 cmd.transactionId(),
                 cmd.type(),
@@ -107,48 +564,73 @@ public class ApplyOperationUseCase {
                 cmd.timestamp(),
                 cmd.accountId(),
                 resulting,
-                account.getBalanceCurrency()
+                accountCurrency
         );
     }
 
-    private void validateCommand(ApplyOperationCommand cmd) {
-        if (cmd.type() == null) {
-            throw new IllegalArgumentException("type is required");
-        }
-        if (cmd.amountValue() == null || cmd.amountValue().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("amountValue must be > 0");
-        }
-        if (cmd.amountCurrency() == null || cmd.amountCurrency().isBlank()) {
-            throw new IllegalArgumentException("amountCurrency is required");
-        }
-        if (cmd.timestamp() == null) {
-            throw new IllegalArgumentException("timestamp is required");
-        }
+    private static ApplyOperationResult legOf(ApplyOperationCommand cmd,
+                                              UUID transactionId,
+                                              OperationType type,
+                                              UUID accountId,
+                                              OperationStatus status,
+                                              Money resulting) {
+        return new ApplyOperationResult(
+                transactionId,
+                type,
+                cmd.amountValue(),
+                cmd.amountCurrency(),
+                status,
+                cmd.timestamp(),
+                accountId,
+                resulting.toBigDecimal(),
+                resulting.currency()
+        );
     }
 
-    private void validateAgainstAccount(ApplyOperationCommand cmd, AccountEntity account) {
-        if (!cmd.amountCurrency().equalsIgnoreCase(account.getBalanceCurrency())) {
-            throw new IllegalArgumentException(
-                    "Currency mismatch: operation currency '%s' does not match account currency '%s'"
-                            .formatted(cmd.amountCurrency(), account.getBalanceCurrency())
-            );
+    /**
+     * Retry de uma transferência: a perna de débito registrada, como TRANSFER. Uma operação comum registrada antes com
+     * o mesmo transactionId ({@code transfer_id} nulo) não é transferência e não pode responder como uma: 400.
+     */
+    private ApplyOperationResult registeredTransfer(ApplyOperationResult existing) {
+        if (existing.type() != OperationType.DEBIT || !persistence.isTransfer(existing.transactionId())) {
+            throw notATransfer(existing);
         }
+        return asTransfer(existing);
+    }
+
+    private static IllegalArgumentException notATransfer(ApplyOperationResult existing) {
+        return new IllegalArgumentException("transactionId %s is already registered as a %s operation, not a TRANSFER"
+                .formatted(existing.transactionId(), existing.type()));
     }
 
-    private ApplyOperationResult toResult(OperationEntity op) {
+    /** Resultado de uma transferência, visto da origem: a perna de débito com o tipo TRANSFER. */
+    private static ApplyOperationResult asTransfer(ApplyOperationResult debit) {
         return new ApplyOperationResult(
-                op.getTransactionId(),
-                OperationType.valueOf(op.getType()),
-                op.getAmountValue(),
-                op.getAmountCurrency(),
-                OperationStatus.valueOf(op.getStatus()),
-                op.getTimestamp(),
-                op.getAccountId(),
-                op.getResultingBalanceAmount(),
-                op.getResultingBalanceCurrency()
+                debit.transactionId(),
+                OperationType.TRANSFER,
+                debit.amountValue(),
+                debit.amountCurrency(),
+                debit.status(),
+                debit.timestamp(),
+                debit.accountId(),
+                debit.resultingBalanceAmount(),
+                debit.resultingBalanceCurrency()
         );
     }
 
+    private void validateAgainstAccount(ApplyOperationCommand cmd, LockedAccount account) {
+        cmd.validateCurrency(account.getBalanceCurrency());
+    }
+
+    private record Decision(OperationStatus status, Money resulting) {}
+
+    public enum ExecutionMode {
+        /** SELECT ... FOR UPDATE + insert da operação + update do saldo via Hibernate */
+        LOCKING,
+        /** lock, insert e update condicionais em um único statement (CTE) */
+        ATOMIC
+    }
+
     public static class AccountNotFoundException extends RuntimeException {
         public AccountNotFoundException(UUID accountId) {
             super("Account not found: " + accountId);
@@ -0,0 +1,198 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.cache.AccountBalanceCache;
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.idempotency.SeenTransactionFilter;
+import io.github.matheuscavalari.accountservice.application.port.AccountHoldPort;
+import io.github.matheuscavalari.accountservice.application.port.AccountHoldPort.Hold;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase.AccountNotFoundException;
+import io.github.matheuscavalari.accountservice.domain.model.HoldStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Autorização em duas fases: HOLD reserva valor do saldo disponível sem alterar o saldo contábil; CAPTURE
+ * (mesmo transactionId do HOLD) converte a reserva em débito; RELEASE a desfaz. Bloqueios não capturados nem
+ * liberados vencem depois de {@code account.holds.ttl} e são liberados em lote pelo {@code HoldExpiryJob}.
+ */
+@Service
+public class AuthorizationHoldUseCase {
+
+    private final AccountHoldPort holds;
+    private final OperationPersistencePort persistence;
+    private final AccountBalanceCache balanceCache;
+    private final SeenTransactionFilter seenFilter;
+    private final OperationOutboxPort outbox;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public AuthorizationHoldUseCase(AccountHoldPort holds,
+                                    OperationPersistencePort persistence,
+                                    AccountBalanceCache balanceCache,
+                                    SeenTransactionFilter seenFilter,
+                                    ObjectProvider<OperationOutboxPort> outbox,
+                                    @Value("${account.holds.ttl:7d}") Duration ttl) {
+        this(holds, persistence, balanceCache, seenFilter, outbox, ttl, Clock.systemUTC());
+    }
+
+    AuthorizationHoldUseCase(AccountHoldPort holds,
+                             OperationPersistencePort persistence,
+                             AccountBalanceCache balanceCache,
+                             SeenTransactionFilter seenFilter,
+                             ObjectProvider<OperationOutboxPort> outbox,
+                             Duration ttl,
+                             Clock clock) {
+        this.holds = holds;
+        this.persistence = persistence;
+        this.balanceCache = balanceCache;
+        this.seenFilter = seenFilter;
+        this.outbox = outbox.getIfAvailable();
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Transactional
+    public ApplyOperationResult execute(ApplyOperationCommand cmd) {
+        cmd.validate();
+        return switch (cmd.type()) {
+            case HOLD -> hold(cmd);
+            case CAPTURE -> capture(cmd);
+            case RELEASE -> release(cmd);
+            default -> throw new IllegalArgumentException("%s is not a hold operation".formatted(cmd.type()));
+        };
+    }
+
+    private ApplyOperationResult hold(ApplyOperationCommand cmd) {
+        // 1) Idempotência: o bloqueio é registrado com o próprio transactionId
+        var existing = holds.findHold(cmd.transactionId());
+        if (existing.isPresent()) {
+            return holdResult(existing.get());
+        }
+
+        // 2) Lock da conta, conferência do disponível, registro e reserva em um único statement
+        var placed = holds.placeHold(cmd, OffsetDateTime.now(clock).plus(ttl));
+        if (placed.isPresent()) {
+            return holdResult(placed.get());
+        }
+
+        // nada inserido: HOLD concorrente com o mesmo transactionId, conta inexistente, moeda divergente
+        // ou conta quente (o saldo delas é dividido em slots que não passam pelo lock da linha base)
+        var concurrent = holds.findHold(cmd.transactionId());
+        if (concurrent.isPresent()) {
+            return holdResult(concurrent.get());
+        }
+        var layout = persistence.findBalanceLayout(cmd.accountId())
+                .orElseThrow(() -> new AccountNotFoundException(cmd.accountId()));
+        cmd.validateCurrency(layout.balanceCurrency());
+        if (layout.balanceSlots() > 0) {
+            throw new IllegalArgumentException("HOLD is not supported on hot accounts");
+        }
+        throw new IllegalStateException("Hold %s was not placed".formatted(cmd.transactionId()));
+    }
+
+    private ApplyOperationResult capture(ApplyOperationCommand cmd) {
+        // lock no bloqueio antes da conta (mesma ordem da expiração): capturas concorrentes se enfileiram aqui
+        Hold hold = lockHold(cmd);
+
+        if (hold.status() == HoldStatus.CAPTURED) {
+            // retry: a operação CAPTURE já está registrada com o transactionId do bloqueio
+            return persistence.findOperation(cmd.transactionId())
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Hold %s is CAPTURED but its operation is missing".formatted(cmd.transactionId())));
+        }
+        requireActive(hold);
+        if (!hold.expiresAt().isAfter(OffsetDateTime.now(clock))) {
+            throw new IllegalArgumentException("Hold %s expired at %s".formatted(hold.holdId(), hold.expiresAt()));
+        }
+        cmd.validateCurrency(hold.amountCurrency());
+        if (cmd.amountValue().compareTo(hold.amountValue()) > 0) {
+            throw new IllegalArgumentException("Capture amount %s exceeds the held amount %s"
+                    .formatted(cmd.amountValue(), hold.amountValue()));
+        }
+
+        // débito do valor capturado + liberação do bloqueio inteiro (captura parcial devolve o restante)
+        var result = holds.capture(hold, cmd);
+        if (outbox != null) {
+            outbox.append(List.of(result));
+        }
+        seenFilter.record(result.transactionId());
+        balanceCache.evictOnCommit(hold.accountId());
+        return result;
+    }
+
+    private ApplyOperationResult release(ApplyOperationCommand cmd) {
+        Hold hold = lockHold(cmd);
+
+        BigDecimal balance;
+        if (hold.status() == HoldStatus.RELEASED || hold.status() == HoldStatus.EXPIRED) {
+            // retry (ou liberação de um bloqueio que já venceu): nada mais a desfazer
+            balance = persistence.findBalance(hold.accountId())
+                    .map(AccountBalanceView::balanceAmount)
+                    .orElseThrow(() -> new AccountNotFoundException(hold.accountId()));
+        } else {
+            requireActive(hold);
+            balance = holds.release(hold);
+        }
+        return new ApplyOperationResult(
+                hold.holdId(),
+                OperationType.RELEASE,
+                hold.amountValue(),
+                hold.amountCurrency(),
+                OperationStatus.SUCCEEDED,
+                cmd.timestamp(),
+                hold.accountId(),
+                balance,
+                hold.resultingBalanceCurrency()
+        );
+    }
+
+    private Hold lockHold(ApplyOperationCommand cmd) {
+        return holds.lockHold(cmd.transactionId())
+                .filter(hold -> hold.accountId().equals(cmd.accountId()))
+                .orElseThrow(() -> new HoldNotFoundException(cmd.accountId(), cmd.transactionId()));
+    }
+
+    private static void requireActive(Hold hold) {
+        if (hold.status() != HoldStatus.ACTIVE) {
+            throw new IllegalArgumentException("Hold %s is %s".formatted(hold.holdId(), hold.status()));
+        }
+    }
+
+    /** HOLD sem saldo disponível fica registrado como FAILED; qualquer outro estado é um bloqueio que foi feito. */
+    private static ApplyOperationResult holdResult(Hold hold) {
+        return new ApplyOperationResult(
+                hold.holdId(),
+                OperationType.HOLD,
+                hold.amountValue(),
+                hold.amountCurrency(),
+                hold.status() == HoldStatus.FAILED ? OperationStatus.FAILED : OperationStatus.SUCCEEDED,
+                hold.timestamp(),
+                hold.accountId(),
+                hold.resultingBalanceAmount(),
+                hold.resultingBalanceCurrency()
+        );
+    }
+
+    public static class HoldNotFoundException extends RuntimeException {
+        public HoldNotFoundException(UUID accountId, UUID holdId) {
+            super("Hold not found: " + holdId + " (account " + accountId + ")");
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package io.github.matheuscavalari.accountservice.application.usecase;
 
-import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.AccountEntity;
-import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.AccountJpaRepository;
+import io.github.matheuscavalari.accountservice.application.cache.AccountBalanceCache;
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.dto.AccountCreatedEvent;
+import io.github.matheuscavalari.accountservice.application.port.AccountCreationPort;
+import io.github.matheuscavalari.accountservice.application.port.AccountCreationPort.NewAccount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,18 +18,37 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class CreateAccountFromEventService {
 
-    private final AccountJpaRepository accountRepository;
+    private static final Logger log = LoggerFactory.getLogger(CreateAccountFromEventService.class);
+
+    private final AccountCreationPort accountCreation;
+    private final AccountBalanceCache balanceCache;
     private final String defaultCurrency;
+    private final Counter created;
+    private final DistributionSummary batchSize;
 
-    public CreateAccountFromEventService(AccountJpaRepository accountRepository,
+    public CreateAccountFromEventService(AccountCreationPort accountCreation,
+                                         AccountBalanceCache balanceCache,
+                                         MeterRegistry meterRegistry,
                                          @Value("${account.default-currency:BRL}") String defaultCurrency) {
-        this.accountRepository = accountRepository;
+        this.accountCreation = accountCreation;
+        this.balanceCache = balanceCache;
         this.defaultCurrency = defaultCurrency;
+        this.created = Counter.builder("account.events.accounts.created")
+                .description("Accounts inserted from account-created events")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("account.events.batch.size")
+                .description("Account-created events per insert statement")
+                .register(meterRegistry);
     }
 
     @Transactional
@@ -32,28 +58,75 @@ public class CreateAccountFromEventService {
                                   String status) {
 
         OffsetDateTime createdAt = parseEpochSeconds(createdAtEpoch);
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
 
-        AccountEntity entity = new AccountEntity(
+        // idempotência no próprio INSERT (ON CONFLICT DO NOTHING): conta já existente → nada inserido, ACK normal
+        var inserted = accountCreation.insertIfAbsent(List.of(new NewAccount(
                 accountId,
                 owner,
                 status != null ? status : "ENABLED",
-                BigDecimal.ZERO,
-                defaultCurrency,
-                createdAt != null ? createdAt : now,
-                now
-        );
-
-        try {
-            accountRepository.save(entity);
-        } catch (DataIntegrityViolationException e) {
-            // idempotência: conta já existe → ACK normal da mensagem
+                createdAt != null ? createdAt : now
+        )), defaultCurrency, now);
+        batchSize.record(1);
+        if (inserted.isEmpty()) {
             return;
         }
+        created.increment();
+
+        // semeia o cache de saldo com o saldo zero da conta nova
+        balanceCache.putOnCommit(() -> new AccountBalanceView(accountId, BigDecimal.ZERO, defaultCurrency, now));
+    }
+
+    /**
+     * Cria as contas de um lote de eventos com um único INSERT multi-linha; contas já existentes são ignoradas.
+     * Retorna os ids dos eventos aceitos (inseridos ou já existentes), que podem ser confirmados na fila depois
+     * do commit. Eventos inválidos (sem id, sem owner, created_at não numérico) ficam de fora e não são confirmados:
+     * um deles no INSERT derrubaria o lote inteiro, e o lote voltaria da fila para sempre.
+     */
+    @Transactional
+    public Set<UUID> createAllIfNotExist(List<AccountCreatedEvent> events) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+
+        List<NewAccount> accounts = new ArrayList<>(events.size());
+        Set<UUID> accepted = new HashSet<>();
+        for (var event : events) {
+            OffsetDateTime createdAt;
+            try {
+                createdAt = parseEpochSeconds(event.createdAtEpoch());
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring account-created event {} with invalid created_at '{}'", event.accountId(), event.createdAtEpoch());
+                continue;
+            }
+            if (event.accountId() == null) {
+                log.warn("Ignoring account-created event without account id");
+                continue;
+            }
+            if (event.owner() == null || event.owner().isBlank()) {
+                log.warn("Ignoring account-created event {} without owner", event.accountId());
+                continue;
+            }
+            accounts.add(new NewAccount(
+                    event.accountId(),
+                    event.owner(),
+                    event.status() != null ? event.status() : "ENABLED",
+                    createdAt != null ? createdAt : now
+            ));
+            accepted.add(event.accountId());
+        }
+
+        var inserted = accountCreation.insertIfAbsent(accounts, defaultCurrency, now);
+        created.increment(inserted.size());
+        batchSize.record(accounts.size());
+
+        // semeia o cache de saldo só com as contas novas
+        for (var accountId : inserted) {
+            balanceCache.putOnCommit(() -> new AccountBalanceView(accountId, BigDecimal.ZERO, defaultCurrency, now));
+        }
+        return accepted;
     }
 
 
-    private static OffsetDateTime parseEpochSeconds(String epoch) {
+    static OffsetDateTime parseEpochSeconds(String epoch) {
         if (epoch == null || epoch.isBlank()) return null;
         long seconds = Long.parseLong(epoch);
         return OffsetDateTime.ofInstant(Instant.ofEpochSecond(seconds), ZoneOffset.UTC);
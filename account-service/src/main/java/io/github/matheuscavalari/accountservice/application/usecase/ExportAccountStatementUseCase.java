@@ -0,0 +1,53 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementPage.StatementEntry;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery;
+import io.github.matheuscavalari.accountservice.application.port.OperationQueryPort;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase.AccountNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * Exportação do histórico completo de uma conta (auditoria), em streaming: nada é acumulado em memória,
+ * cada operação lida do cursor é entregue direto a quem escreve a resposta.
+ */
+@Service
+public class ExportAccountStatementUseCase {
+
+    private final OperationQueryPort operations;
+    private final Counter exportedRows;
+
+    public ExportAccountStatementUseCase(OperationQueryPort operations, MeterRegistry meterRegistry) {
+        this.operations = operations;
+        this.exportedRows = Counter.builder("account.statement.export.rows")
+                .description("Operations written by statement exports")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Valida a consulta e a conta antes de qualquer byte da resposta ser escrito; a leitura em si só acontece
+     * quando o {@link StatementExport} devolvido é executado.
+     */
+    public StatementExport prepare(AccountStatementQuery query) {
+        if (query.from() != null && query.to() != null && !query.from().isBefore(query.to())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (!operations.accountExists(query.accountId())) {
+            throw new AccountNotFoundException(query.accountId());
+        }
+        return consumer -> operations.streamStatement(query, entry -> {
+            consumer.accept(entry);
+            exportedRows.increment();
+        });
+    }
+
+    @FunctionalInterface
+    public interface StatementExport {
+
+        /** Entrega as operações na ordem pedida; bloqueia até o fim da leitura. */
+        void forEach(Consumer<StatementEntry> consumer);
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.port.BalanceSnapshotPort;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase.AccountNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Saldo de uma conta em um instante passado: parte do snapshot de fim de dia mais próximo antes de {@code asOf}
+ * e soma só as operações entre o fim desse dia e {@code asOf}. Operações contam pelo created_at (instante em que
+ * foram registradas), o mesmo critério dos snapshots.
+ */
+@Service
+public class GetAccountBalanceAsOfUseCase {
+
+    private final BalanceSnapshotPort snapshots;
+    private final ZoneId zone;
+
+    public GetAccountBalanceAsOfUseCase(BalanceSnapshotPort snapshots,
+                                        @Value("${account.balance-snapshots.zone:UTC}") ZoneId zone) {
+        this.snapshots = snapshots;
+        this.zone = zone;
+    }
+
+    public AccountBalanceView execute(UUID accountId, OffsetDateTime asOf) {
+        // dia base: o último gerado que termina até asOf (véspera do dia de asOf, no máximo)
+        LocalDate dayBefore = asOf.atZoneSameInstant(zone).toLocalDate().minusDays(1);
+        LocalDate snapshotDay = snapshots.lastSnapshotDay()
+                .map(last -> last.isBefore(dayBefore) ? last : dayBefore)
+                .orElse(null);
+        OffsetDateTime replayFrom = snapshotDay != null
+                ? snapshotDay.plusDays(1).atStartOfDay(zone).toOffsetDateTime()
+                : null;
+
+        return snapshots.balanceAsOf(accountId, asOf, snapshotDay, replayFrom)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+}
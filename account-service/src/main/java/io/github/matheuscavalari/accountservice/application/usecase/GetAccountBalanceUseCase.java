@@ -0,0 +1,39 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.cache.AccountBalanceCache;
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase.AccountNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Saldo de uma conta servido do cache write-through; no miss, leitura sem lock de {@code accounts}
+ * (não disputa a linha com as escritas em andamento).
+ */
+@Service
+public class GetAccountBalanceUseCase {
+
+    private final OperationPersistencePort persistence;
+    private final AccountBalanceCache balanceCache;
+
+    public GetAccountBalanceUseCase(OperationPersistencePort persistence, AccountBalanceCache balanceCache) {
+        this.persistence = persistence;
+        this.balanceCache = balanceCache;
+    }
+
+    public AccountBalanceView execute(UUID accountId) {
+        var cached = balanceCache.get(accountId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // evict que chegar durante a leitura invalida o valor lido: não é publicado
+        long loadStartedAt = balanceCache.beginLoad();
+        var view = persistence.findBalance(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        balanceCache.putLoaded(view, loadStartedAt);
+        return view;
+    }
+}
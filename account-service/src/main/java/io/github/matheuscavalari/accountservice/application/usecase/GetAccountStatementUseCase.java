@@ -0,0 +1,49 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementPage;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery;
+import io.github.matheuscavalari.accountservice.application.port.OperationQueryPort;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase.AccountNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Extrato paginado por cursor (keyset) sobre {@code (created_at, transaction_id)}: cada página custa o mesmo,
+ * em qualquer posição do histórico. Lê uma entrada a mais para saber se existe próxima página.
+ */
+@Service
+public class GetAccountStatementUseCase {
+
+    private final OperationQueryPort operations;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public GetAccountStatementUseCase(OperationQueryPort operations,
+                                      @Value("${account.statement.default-page-size:50}") int defaultPageSize,
+                                      @Value("${account.statement.max-page-size:500}") int maxPageSize) {
+        this.operations = operations;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public AccountStatementPage execute(AccountStatementQuery query) {
+        int limit = query.limit() != null ? query.limit() : defaultPageSize;
+        if (limit < 1 || limit > maxPageSize) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxPageSize);
+        }
+        if (query.from() != null && query.to() != null && !query.from().isBefore(query.to())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        var entries = operations.findStatement(query, limit + 1);
+        if (entries.isEmpty() && query.after() == null && !operations.accountExists(query.accountId())) {
+            throw new AccountNotFoundException(query.accountId());
+        }
+
+        if (entries.size() <= limit) {
+            return new AccountStatementPage(entries, null);
+        }
+        var page = entries.subList(0, limit);
+        return new AccountStatementPage(page, page.getLast().cursor());
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountCreatedEvent;
+import io.github.matheuscavalari.accountservice.application.dto.AccountImportLine;
+import io.github.matheuscavalari.accountservice.application.dto.AccountImportReport;
+import io.github.matheuscavalari.accountservice.application.dto.AccountImportReport.Rejection;
+import io.github.matheuscavalari.accountservice.application.port.AccountCreationPort.NewAccount;
+import io.github.matheuscavalari.accountservice.application.port.AccountImportPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Importação em massa de contas (onboarding de parceiros) sem passar pela fila.
+ * As linhas são consumidas em streaming e gravadas em lotes de tamanho fixo via {@link AccountImportPort},
+ * então a memória não depende do tamanho do arquivo. Reimportar o mesmo arquivo não altera contas existentes.
+ */
+@Service
+public class ImportAccountsUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportAccountsUseCase.class);
+
+    private final AccountImportPort accountImport;
+    private final String defaultCurrency;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+    private final Counter insertedRows;
+    private final Counter duplicateRows;
+    private final Counter rejectedRows;
+
+    public ImportAccountsUseCase(AccountImportPort accountImport,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${account.default-currency:BRL}") String defaultCurrency,
+                                 @Value("${account.import.chunk-size:50000}") int chunkSize,
+                                 @Value("${account.import.max-reported-rejections:100}") int maxReportedRejections) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("account.import.chunk-size must be positive");
+        }
+        this.accountImport = accountImport;
+        this.defaultCurrency = defaultCurrency;
+        this.chunkSize = chunkSize;
+        this.maxReportedRejections = maxReportedRejections;
+        this.insertedRows = rowCounter(meterRegistry, "inserted");
+        this.duplicateRows = rowCounter(meterRegistry, "duplicate");
+        this.rejectedRows = rowCounter(meterRegistry, "rejected");
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("account.import.rows")
+                .description("Rows read by the bulk account import")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public AccountImportReport importAccounts(Stream<AccountImportLine> lines) {
+        long start = System.nanoTime();
+        long accepted = 0;
+        long inserted = 0;
+        long rejected = 0;
+        List<Rejection> rejections = new ArrayList<>();
+        List<NewAccount> chunk = new ArrayList<>(chunkSize);
+        OffsetDateTime now = now();
+
+        var iterator = lines.iterator();
+        while (iterator.hasNext()) {
+            AccountImportLine line = iterator.next();
+            String error = line.error();
+            if (error == null) {
+                try {
+                    chunk.add(toNewAccount(line.event(), now));
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                rejected++;
+                rejectedRows.increment();
+                if (rejections.size() < maxReportedRejections) {
+                    rejections.add(new Rejection(line.lineNumber(), error));
+                    log.warn("Rejected line {}: {}", line.lineNumber(), error);
+                }
+                continue;
+            }
+            accepted++;
+
+            if (chunk.size() == chunkSize) {
+                inserted += flush(chunk, now);
+                now = now();
+                log.info("Imported {} rows ({} rejected), {} rows/s",
+                        accepted, rejected, ratePerSecond(accepted + rejected, start));
+            }
+        }
+        inserted += flush(chunk, now);
+
+        var report = new AccountImportReport(accepted, inserted, rejected, List.copyOf(rejections),
+                Duration.ofNanos(System.nanoTime() - start));
+        if (rejected > rejections.size()) {
+            log.warn("{} further rejected lines not logged", rejected - rejections.size());
+        }
+        return report;
+    }
+
+    private long flush(List<NewAccount> chunk, OffsetDateTime now) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        long inserted = accountImport.copyAndMerge(chunk, defaultCurrency, now);
+        insertedRows.increment(inserted);
+        duplicateRows.increment(chunk.size() - inserted);
+        chunk.clear();
+        return inserted;
+    }
+
+    /** Mesmas regras do consumo dos eventos, mas rejeitando antes do COPY o que faria o lote inteiro falhar. */
+    private static NewAccount toNewAccount(AccountCreatedEvent event, OffsetDateTime now) {
+        if (event.accountId() == null) {
+            throw new IllegalArgumentException("missing id");
+        }
+        if (event.owner() == null || event.owner().isBlank()) {
+            throw new IllegalArgumentException("missing owner");
+        }
+        if (event.owner().indexOf('\0') >= 0 || (event.status() != null && event.status().indexOf('\0') >= 0)) {
+            throw new IllegalArgumentException("NUL character in text field");
+        }
+        OffsetDateTime createdAt;
+        try {
+            createdAt = CreateAccountFromEventService.parseEpochSeconds(event.createdAtEpoch());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid created_at '" + event.createdAtEpoch() + "'");
+        }
+        return new NewAccount(
+                event.accountId(),
+                event.owner(),
+                event.status() != null ? event.status() : "ENABLED",
+                createdAt != null ? createdAt : now
+        );
+    }
+
+    private static long ratePerSecond(long rows, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        return nanos > 0 ? rows * 1_000_000_000L / nanos : 0;
+    }
+
+    private static OffsetDateTime now() {
+        return OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.Discrepancy;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.Discrepancy.Kind;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.OperationEntry;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.PartitionResult;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.PartitionVisitor;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.StoredBalance;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Confere uma partição conta a conta, em uma passada sobre as operações. Memória: os saldos gravados da partição
+ * e o estado de uma única conta por vez.
+ *
+ * <p>A cadeia de resulting_balance_amount é conferida como multiconjunto, sem depender da ordem de leitura:
+ * operações de um mesmo lote têm o mesmo created_at e, sob contenção, o created_at (início da transação) pode
+ * não seguir a ordem em que o lock foi obtido. Cada operação SUCCEEDED soma 1 ao saldo anterior
+ * ({@code resulting - delta}) e subtrai 1 do resultante; numa cadeia íntegra de 0 até o saldo final tudo se
+ * cancela, exceto {@code +1} em 0 e {@code -1} no saldo final. Lido em ordem, o mapa fica com duas entradas.
+ * Contas quentes não têm cadeia (o resultante é lido sem lock entre slots concorrentes) e só conferem o saldo.
+ */
+final class PartitionReconciler implements PartitionVisitor {
+
+    /** De quantas em quantas linhas o throttle é consultado. */
+    static final int THROTTLE_STEP = 1000;
+
+    private final RowThrottle throttle;
+    private final Map<UUID, StoredBalance> stored = new LinkedHashMap<>();
+    private final List<Discrepancy> discrepancies = new ArrayList<>();
+    private final Map<Long, Integer> chain = new HashMap<>();
+    private long accounts;
+    private long operations;
+    private int unthrottled;
+
+    private UUID accountId;
+    private boolean hot;
+    private long computedMinor;
+
+    PartitionReconciler(RowThrottle throttle) {
+        this.throttle = throttle;
+    }
+
+    @Override
+    public void account(StoredBalance balance) {
+        stored.put(balance.accountId(), balance);
+        accounts++;
+    }
+
+    @Override
+    public void operation(OperationEntry op) {
+        if (++unthrottled == THROTTLE_STEP) {
+            throttle.acquire(unthrottled);
+            unthrottled = 0;
+        }
+        operations++;
+        if (!op.accountId().equals(accountId)) {
+            finishAccount();
+            accountId = op.accountId();
+            var balance = stored.get(accountId);
+            hot = balance != null && balance.hot();
+            computedMinor = 0;
+        }
+
+        if (op.status() == OperationStatus.SUCCEEDED) {
+            long delta = op.type() == OperationType.CREDIT ? op.amountMinor() : -op.amountMinor();
+            computedMinor += delta;
+            if (!hot) {
+                count(op.resultingMinor() - delta, 1);
+                count(op.resultingMinor(), -1);
+            }
+        } else if (op.type() == OperationType.CREDIT || op.resultingMinor() >= op.amountMinor()) {
+            // crédito nunca falha por saldo; débito só falha com saldo (resultante) menor que o valor
+            discrepancies.add(new Discrepancy(op.accountId(), Kind.INVALID_FAILED_OPERATION,
+                    null, op.resultingMinor(), op.transactionId()));
+        }
+    }
+
+    PartitionResult result() {
+        if (unthrottled > 0) {
+            throttle.acquire(unthrottled);
+            unthrottled = 0;
+        }
+        finishAccount();
+        // contas sem nenhuma operação: saldo calculado é zero
+        for (var balance : stored.values()) {
+            if (balance.balanceMinor() != 0) {
+                discrepancies.add(new Discrepancy(balance.accountId(), Kind.BALANCE_MISMATCH,
+                        0L, balance.balanceMinor(), null));
+            }
+        }
+        stored.clear();
+        return new PartitionResult(accounts, operations, List.copyOf(discrepancies));
+    }
+
+    private void finishAccount() {
+        if (accountId == null) {
+            return;
+        }
+        var balance = stored.remove(accountId);
+        if (balance != null && balance.balanceMinor() != computedMinor) {
+            discrepancies.add(new Discrepancy(accountId, Kind.BALANCE_MISMATCH,
+                    computedMinor, balance.balanceMinor(), null));
+        }
+        if (!hot && !chainCloses()) {
+            discrepancies.add(new Discrepancy(accountId, Kind.BROKEN_CHAIN, computedMinor, null, null));
+        }
+        chain.clear();
+        accountId = null;
+    }
+
+    private void count(long balanceMinor, int increment) {
+        // contagem zerada sai do mapa: em ordem, cada operação cancela o resultante da anterior
+        chain.merge(balanceMinor, increment, (current, inc) -> current + inc == 0 ? null : current + inc);
+    }
+
+    private boolean chainCloses() {
+        if (computedMinor == 0) {
+            return chain.isEmpty();
+        }
+        return chain.size() == 2
+                && Integer.valueOf(1).equals(chain.get(0L))
+                && Integer.valueOf(-1).equals(chain.get(computedMinor));
+    }
+}
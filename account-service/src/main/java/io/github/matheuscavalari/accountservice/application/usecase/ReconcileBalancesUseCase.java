@@ -0,0 +1,153 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.ReconciliationReport;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.Discrepancy.Kind;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.Run;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conciliação de saldos: confere se o saldo gravado de cada conta é a soma das operações SUCCEEDED e se os
+ * resulting_balance_amount formam uma cadeia íntegra. O espaço de UUIDs é dividido em {@code partitions} faixas
+ * de account_id, lidas por um pool fixo de {@code workers} threads, cada faixa em uma transação curta com cursor
+ * no servidor; {@code max-rows-per-second} limita a leitura somada de todos os workers.
+ *
+ * <p>Cada partição concluída é registrada junto com as suas divergências. Se o processo cair, a próxima execução
+ * retoma a execução pendente e só lê as partições que faltam.
+ */
+@Service
+public class ReconcileBalancesUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconcileBalancesUseCase.class);
+    private static final BigInteger UUID_SPACE = BigInteger.ONE.shiftLeft(64);
+
+    private final BalanceReconciliationPort reconciliation;
+    private final int partitions;
+    private final int workers;
+    private final long maxRowsPerSecond;
+    private final Counter rows;
+    private final Map<Kind, Counter> discrepancies = new EnumMap<>(Kind.class);
+    private final Timer partitionDuration;
+
+    public ReconcileBalancesUseCase(BalanceReconciliationPort reconciliation,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${account.reconciliation.partitions:4096}") int partitions,
+                                    @Value("${account.reconciliation.workers:4}") int workers,
+                                    @Value("${account.reconciliation.max-rows-per-second:50000}") long maxRowsPerSecond) {
+        if (partitions < 1 || workers < 1) {
+            throw new IllegalArgumentException("account.reconciliation partitions and workers must be >= 1");
+        }
+        this.reconciliation = reconciliation;
+        this.partitions = partitions;
+        this.workers = workers;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.rows = Counter.builder("account.reconciliation.rows")
+                .description("Operations read by the balance reconciliation")
+                .register(meterRegistry);
+        for (var kind : Kind.values()) {
+            discrepancies.put(kind, Counter.builder("account.reconciliation.discrepancies")
+                    .description("Discrepancies found by the balance reconciliation")
+                    .tag("kind", kind.name())
+                    .register(meterRegistry));
+        }
+        this.partitionDuration = Timer.builder("account.reconciliation.partition.duration")
+                .description("Time to read and check one account-id partition")
+                .register(meterRegistry);
+    }
+
+    public ReconciliationReport reconcile() {
+        long start = System.nanoTime();
+        var unfinished = reconciliation.findUnfinishedRun();
+        Run run = unfinished.orElseGet(() -> reconciliation.startRun(partitions));
+        List<Integer> pending = reconciliation.pendingPartitions(run.id());
+        if (unfinished.isPresent()) {
+            log.info("Resuming reconciliation run {}: {} of {} partitions pending",
+                    run.id(), pending.size(), run.partitions());
+        } else {
+            log.info("Starting reconciliation run {} over {} partitions with {} workers", run.id(), run.partitions(), workers);
+        }
+
+        var throttle = new RowThrottle(maxRowsPerSecond);
+        var done = new AtomicInteger();
+        var counter = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, pending.size())),
+                task -> new Thread(task, "reconciliation-" + counter.getAndIncrement()));
+        try {
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            for (int partition : pending) {
+                futures.add(executor.submit(() -> {
+                    reconcilePartition(run, partition, throttle);
+                    int finished = done.incrementAndGet();
+                    if (finished % 100 == 0) {
+                        log.info("Reconciliation run {}: {} of {} pending partitions done",
+                                run.id(), finished, pending.size());
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            // a execução fica pendente: a próxima chamada retoma a partir das partições concluídas
+            executor.shutdownNow();
+            throw new IllegalStateException("Reconciliation run %d failed".formatted(run.id()), e.getCause());
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconciliation run %d interrupted".formatted(run.id()), e);
+        } finally {
+            executor.shutdown();
+        }
+
+        var totals = reconciliation.finishRun(run.id());
+        return new ReconciliationReport(run.id(), unfinished.isPresent(), run.partitions(), pending.size(),
+                totals.accounts(), totals.operations(), totals.discrepancies(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void reconcilePartition(Run run, int partition, RowThrottle throttle) {
+        partitionDuration.record(() -> {
+            var reconciler = new PartitionReconciler(throttle);
+            reconciliation.scan(lowerBound(partition, run.partitions()), upperBound(partition, run.partitions()), reconciler);
+            var result = reconciler.result();
+            reconciliation.completePartition(run.id(), partition, result);
+
+            rows.increment(result.operations());
+            result.discrepancies().forEach(d -> discrepancies.get(d.kind()).increment());
+        });
+    }
+
+    /**
+     * Início da faixa: os 64 bits altos divididos em partes iguais, os baixos zerados. O Postgres compara uuid
+     * byte a byte sem sinal, a mesma ordem dos bits altos como número sem sinal.
+     */
+    static UUID lowerBound(int partition, int partitions) {
+        long high = UUID_SPACE.multiply(BigInteger.valueOf(partition))
+                .divide(BigInteger.valueOf(partitions))
+                .longValue();
+        return new UUID(high, 0);
+    }
+
+    /** Fim exclusivo da faixa; nulo na última (até o maior UUID). */
+    static UUID upperBound(int partition, int partitions) {
+        return partition + 1 < partitions ? lowerBound(partition + 1, partitions) : null;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limite global de linhas por segundo, compartilhado pelos workers: cada chamada reserva a próxima janela de tempo
+ * livre e dorme até ela. {@code rowsPerSecond <= 0} desliga o limite.
+ */
+final class RowThrottle {
+
+    private final long nanosPerRow;
+    private final AtomicLong nextFree = new AtomicLong(System.nanoTime());
+
+    RowThrottle(long rowsPerSecond) {
+        this.nanosPerRow = rowsPerSecond > 0 ? Math.max(1, 1_000_000_000L / rowsPerSecond) : 0;
+    }
+
+    void acquire(int rows) {
+        if (nanosPerRow == 0) {
+            return;
+        }
+        long cost = rows * nanosPerRow;
+        // sem crédito acumulado: depois de uma pausa, a próxima janela começa agora
+        long start = nextFree.getAndAccumulate(cost, (next, c) -> Math.max(next, System.nanoTime()) + c);
+        long wait = start - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.matheuscavalari.accountservice.domain.model;
+
+public enum HoldStatus {
+    /** valor reservado (conta em accounts.held_amount) */
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED,
+    /** sem saldo disponível: nada foi reservado */
+    FAILED
+}
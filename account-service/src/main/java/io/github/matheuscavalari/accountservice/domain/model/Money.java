@@ -0,0 +1,71 @@
+package io.github.matheuscavalari.accountservice.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Valor monetário em unidades menores (centésimos) com o código da moeda.
+ * <p>
+ * A escala é fixa em 2 casas, a mesma das colunas {@code NUMERIC(18,2)}; o maior valor dessas colunas cabe em um
+ * {@code long}. Soma e subtração lançam {@link ArithmeticException} em overflow em vez de dar a volta.
+ */
+public record Money(long minorUnits, String currency) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    public Money {
+        if (currency == null || currency.isBlank()) {
+            throw new IllegalArgumentException("currency is required");
+        }
+        currency = currency.toUpperCase(Locale.ROOT);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    /** Converte um decimal com no máximo 2 casas; mais casas lançam {@link ArithmeticException}. */
+    public static Money of(BigDecimal amount, String currency) {
+        return new Money(amount.movePointRight(SCALE).longValueExact(), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                    "Currency mismatch: '%s' and '%s'".formatted(currency, other.currency));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+}
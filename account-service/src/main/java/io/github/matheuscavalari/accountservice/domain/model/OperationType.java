@@ -2,5 +2,13 @@ package io.github.matheuscavalari.accountservice.domain.model;
 
 public enum OperationType {
     CREDIT,
-    DEBIT
+    DEBIT,
+    /** Débito na conta de origem + crédito na de destino; gravada como duas operações DEBIT/CREDIT ligadas. */
+    TRANSFER,
+    /** Reserva valor do saldo disponível sem alterar o saldo contábil; registrada só em account_holds. */
+    HOLD,
+    /** Converte um HOLD (mesmo transactionId) em débito; registrada em operations. */
+    CAPTURE,
+    /** Desfaz um HOLD ativo (mesmo transactionId), devolvendo o valor ao saldo disponível. */
+    RELEASE
 }
@@ -0,0 +1,20 @@
+-- Saldo de fim de dia por conta (dia no fuso account.balance-snapshots.zone, operações por created_at).
+-- Esparso: só contas com operação SUCCEEDED no dia ganham linha; sem linha no dia, vale a anterior.
+CREATE TABLE IF NOT EXISTS account_balance_snapshots (
+    account_id        UUID          NOT NULL,
+    snapshot_date     DATE          NOT NULL,
+    balance_amount    NUMERIC(18,2) NOT NULL,
+    balance_currency  VARCHAR(3)    NOT NULL,
+    last_operation_at TIMESTAMPTZ   NOT NULL,
+    CONSTRAINT pk_account_balance_snapshots PRIMARY KEY (account_id, snapshot_date),
+    CONSTRAINT fk_account_balance_snapshots_account
+        FOREIGN KEY (account_id) REFERENCES accounts (id)
+);
+
+-- Dias já processados, em sequência: um snapshot só é válido como ponto de partida até o último dia registrado.
+CREATE TABLE IF NOT EXISTS account_balance_snapshot_runs (
+    snapshot_date DATE        PRIMARY KEY,
+    accounts      BIGINT      NOT NULL DEFAULT 0,
+    duration_ms   BIGINT      NOT NULL DEFAULT 0,
+    finished_at   TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,4 @@
+-- Transferências efetivadas: as duas pernas (DEBIT na origem, CREDIT no destino) são linhas comuns de operations,
+-- ligadas pelo transactionId da transferência, que é também o transaction_id da perna de débito
+-- (o da perna de crédito é derivado dele). Coluna nula sem default: ALTER sem reescrita da tabela.
+ALTER TABLE operations ADD COLUMN IF NOT EXISTS transfer_id UUID;
@@ -0,0 +1,29 @@
+-- Bloqueios (autorização em duas fases): HOLD reserva valor sem alterar o saldo contábil (balance_amount).
+-- held_amount = soma dos bloqueios ACTIVE da conta, mantida na própria linha: saldo disponível =
+-- balance_amount - held_amount é lido junto com o lock da conta, sem somar account_holds no caminho quente.
+-- Default constante: ALTER sem reescrita da tabela.
+ALTER TABLE accounts
+    ADD COLUMN IF NOT EXISTS held_amount NUMERIC(18,2) NOT NULL DEFAULT 0;
+
+-- hold_id = transactionId do HOLD; a CAPTURE grava a operação em operations com o mesmo transactionId.
+-- status: ACTIVE | CAPTURED | RELEASED | EXPIRED | FAILED (sem saldo disponível, nada reservado)
+CREATE TABLE IF NOT EXISTS account_holds (
+    hold_id                    UUID PRIMARY KEY,
+    account_id                 UUID          NOT NULL,
+    amount_value               NUMERIC(18,2) NOT NULL,
+    amount_currency            VARCHAR(3)    NOT NULL,
+    status                     TEXT          NOT NULL,
+    timestamp                  TIMESTAMPTZ   NOT NULL,
+    resulting_balance_amount   NUMERIC(18,2) NOT NULL,
+    resulting_balance_currency VARCHAR(3)    NOT NULL,
+    expires_at                 TIMESTAMPTZ   NOT NULL,
+    created_at                 TIMESTAMPTZ   NOT NULL,
+    finished_at                TIMESTAMPTZ,
+    CONSTRAINT fk_account_holds_account
+        FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
+
+-- Varredura de expiração: só bloqueios ativos, em ordem de vencimento (o índice encolhe conforme eles terminam)
+CREATE INDEX IF NOT EXISTS idx_account_holds_active_expires_at
+    ON account_holds (expires_at)
+    WHERE status = 'ACTIVE';
@@ -0,0 +1,15 @@
+-- Hot accounts: balance split across N slot rows (0 = disabled)
+ALTER TABLE accounts
+    ADD COLUMN balance_slots INT NOT NULL DEFAULT 0;
+
+-- Slot rows are created lazily on the first credit routed to them.
+-- Authoritative balance of a hot account = accounts.balance_amount + SUM(account_balance_slots.balance_amount)
+CREATE TABLE IF NOT EXISTS account_balance_slots (
+    account_id UUID NOT NULL,
+    slot INT NOT NULL,
+    balance_amount NUMERIC(18,2) NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT pk_account_balance_slots PRIMARY KEY (account_id, slot),
+    CONSTRAINT fk_account_balance_slots_account
+        FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
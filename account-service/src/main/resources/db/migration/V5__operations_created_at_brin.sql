@@ -0,0 +1,3 @@
+-- created_at cresce junto com a inserção: BRIN é barato de manter e atende varreduras por janela de tempo
+CREATE INDEX IF NOT EXISTS idx_operations_created_at_brin
+    ON operations USING brin (created_at);
@@ -0,0 +1,15 @@
+-- Extrato por conta: igualdade em account_id + ordem (created_at, transaction_id) para paginação por cursor.
+-- INCLUDE só com o que filtra ou soma: type/status (filtros do extrato), amount_value e resulting_balance_amount
+-- (saldo em um instante e conciliação, que varrem muitas linhas em index-only scan). A página do extrato (até
+-- "limit" linhas) busca moedas e timestamp no heap.
+-- CONCURRENTLY não trava escritas em operations durante o build e não roda em transação
+-- (executeInTransaction=false no .conf deste script). Um build interrompido deixa o índice INVALID: o primeiro DROP
+-- o remove antes de uma nova tentativa.
+DROP INDEX CONCURRENTLY IF EXISTS idx_operations_account_created_at;
+
+CREATE INDEX CONCURRENTLY idx_operations_account_created_at
+    ON operations (account_id, created_at, transaction_id)
+    INCLUDE (type, status, amount_value, resulting_balance_amount);
+
+-- account_id é prefixo do índice acima: o índice antigo só custava escrita
+DROP INDEX CONCURRENTLY IF EXISTS idx_operations_account_id;
@@ -0,0 +1,17 @@
+-- Outbox transacional: uma linha por operação registrada, inserida na mesma transação da operação.
+-- O relay reivindica linhas marcando um lease (escolhidas com FOR UPDATE SKIP LOCKED, em uma transação curta),
+-- publica fora da transação e apaga em lote; o payload é lido de operations.
+CREATE TABLE IF NOT EXISTS operation_outbox (
+    id             BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    transaction_id UUID        NOT NULL,
+    -- início da transação da operação (now())
+    created_at     TIMESTAMPTZ NOT NULL DEFAULT now(),
+    -- reivindicada por um relay até este instante; NULL = pendente
+    leased_until   TIMESTAMPTZ
+);
+
+-- tabela de alta rotatividade (insert + update + delete): vacuum por número de linhas mortas, não por fração da tabela
+ALTER TABLE operation_outbox SET (
+    autovacuum_vacuum_scale_factor = 0,
+    autovacuum_vacuum_threshold = 1000
+);
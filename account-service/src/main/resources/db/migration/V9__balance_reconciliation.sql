@@ -0,0 +1,32 @@
+-- Conciliação de saldos: execuções particionadas por faixa de account_id, retomáveis após queda.
+-- Uma linha por partição é criada no início da execução; finished_at preenchido = partição concluída.
+CREATE TABLE IF NOT EXISTS reconciliation_runs (
+    id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    partitions  INT         NOT NULL,
+    started_at  TIMESTAMPTZ NOT NULL DEFAULT now(),
+    finished_at TIMESTAMPTZ
+);
+
+CREATE TABLE IF NOT EXISTS reconciliation_partitions (
+    run_id        BIGINT NOT NULL REFERENCES reconciliation_runs (id),
+    partition_no  INT    NOT NULL,
+    accounts      BIGINT,
+    operations    BIGINT,
+    discrepancies BIGINT,
+    finished_at   TIMESTAMPTZ,
+    CONSTRAINT pk_reconciliation_partitions PRIMARY KEY (run_id, partition_no)
+);
+
+-- Relatório de divergências: gravado na mesma transação que conclui a partição (retomar não duplica linhas)
+CREATE TABLE IF NOT EXISTS reconciliation_discrepancies (
+    run_id          BIGINT      NOT NULL REFERENCES reconciliation_runs (id),
+    account_id      UUID        NOT NULL,
+    kind            TEXT        NOT NULL,
+    expected_amount NUMERIC(18,2),
+    actual_amount   NUMERIC(18,2),
+    transaction_id  UUID,
+    detected_at     TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_reconciliation_discrepancies_run
+    ON reconciliation_discrepancies (run_id, account_id);
@@ -0,0 +1,78 @@
+package io.github.matheuscavalari.accountservice.adapters.inbound.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.matheuscavalari.accountservice.application.dto.AccountImportLine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountImportFileReaderTest {
+
+    private final AccountImportFileReader reader = new AccountImportFileReader(new ObjectMapper());
+
+    @TempDir
+    Path dir;
+
+    private List<AccountImportLine> read(String fileName, String content) throws IOException {
+        Path file = Files.writeString(dir.resolve(fileName), content);
+        try (var lines = reader.read(file)) {
+            return lines.toList();
+        }
+    }
+
+    @Test
+    void shouldReadNdjsonPayloadsAndWrappedMessages_withLineNumbers() throws IOException {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        var lines = read("accounts.ndjson", """
+                {"id":"%s","owner":"ana","created_at":"1634874339","status":"ENABLED"}
+
+                {"account":{"id":"%s","owner":"bia","created_at":"1634874340"}}
+                {"id":"not-a-uuid","owner":"x"}
+                """.formatted(first, second));
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0).lineNumber()).isEqualTo(1);
+        assertThat(lines.get(0).event().accountId()).isEqualTo(first);
+        assertThat(lines.get(0).event().createdAtEpoch()).isEqualTo("1634874339");
+        assertThat(lines.get(1).lineNumber()).isEqualTo(3);
+        assertThat(lines.get(1).event().accountId()).isEqualTo(second);
+        assertThat(lines.get(1).event().status()).isNull();
+        assertThat(lines.get(2).lineNumber()).isEqualTo(4);
+        assertThat(lines.get(2).error()).startsWith("invalid JSON");
+    }
+
+    @Test
+    void shouldReadCsvByHeaderName_withQuotedFields() throws IOException {
+        UUID id = UUID.randomUUID();
+
+        var lines = read("accounts.csv", """
+                status,id,owner,created_at
+                ENABLED,%s,"Silva, Ana ""Aninha""\",1634874339
+                ,%s,bia,
+                ENABLED,nope,carla,1
+                ENABLED,%s
+                """.formatted(id, id, id));
+
+        assertThat(lines).hasSize(4);
+        var event = lines.get(0).event();
+        assertThat(event.accountId()).isEqualTo(id);
+        assertThat(event.owner()).isEqualTo("Silva, Ana \"Aninha\"");
+        assertThat(event.createdAtEpoch()).isEqualTo("1634874339");
+        assertThat(lines.get(0).lineNumber()).isEqualTo(2);
+
+        assertThat(lines.get(1).event().status()).isNull();
+        assertThat(lines.get(1).event().createdAtEpoch()).isNull();
+
+        assertThat(lines.get(2).error()).isEqualTo("invalid id 'nope'");
+        assertThat(lines.get(3).error()).isEqualTo("expected 4 fields, got 2");
+    }
+}
@@ -1,9 +1,15 @@
 package io.github.matheuscavalari.accountservice.adapters.inbound.messaging;
 
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
 import io.github.matheuscavalari.accountservice.adapters.inbound.messaging.dto.AccountCreatedMessage;
+import io.github.matheuscavalari.accountservice.application.dto.AccountCreatedEvent;
 import io.github.matheuscavalari.accountservice.application.usecase.CreateAccountFromEventService;
 import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.Mockito.*;
@@ -29,5 +35,31 @@ class AccountCreatedSqsListenerTest {
 
         verify(service).createIfNotExists(accountId, "owner-123", "1634874339", "ENABLED");
     }
-}
 
+    private static Message<AccountCreatedMessage> message(UUID accountId) {
+        return MessageBuilder.withPayload(new AccountCreatedMessage(
+                new AccountCreatedMessage.AccountPayload(accountId, "owner", "1634874339", "ENABLED"))).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchListener_shouldAcknowledgeOnlyCommittedMessages() {
+        var service = mock(CreateAccountFromEventService.class);
+        var listener = new AccountCreatedBatchSqsListener(service);
+        BatchAcknowledgement<AccountCreatedMessage> ack = mock(BatchAcknowledgement.class);
+
+        UUID committed = UUID.randomUUID();
+        UUID rejected = UUID.randomUUID();
+        var committedMessage = message(committed);
+        var rejectedMessage = message(rejected);
+
+        when(service.createAllIfNotExist(List.of(
+                new AccountCreatedEvent(committed, "owner", "1634874339", "ENABLED"),
+                new AccountCreatedEvent(rejected, "owner", "1634874339", "ENABLED")
+        ))).thenReturn(Set.of(committed));
+
+        listener.onMessages(List.of(committedMessage, rejectedMessage), ack);
+
+        verify(ack).acknowledge(List.of(committedMessage));
+    }
+}
@@ -1,11 +1,22 @@
 package io.github.matheuscavalari.accountservice.adapters.inbound.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementPage;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationOutcome;
 import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationBatchUseCase;
 import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.AuthorizationHoldUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.ExportAccountStatementUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.GetAccountBalanceAsOfUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.GetAccountBalanceUseCase;
+import io.github.matheuscavalari.accountservice.application.usecase.GetAccountStatementUseCase;
 import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
 import io.github.matheuscavalari.accountservice.domain.model.OperationType;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -15,12 +26,23 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,6 +59,24 @@ class AccountOperationsControllerTest {
     @MockitoBean
     ApplyOperationUseCase useCase;
 
+    @MockitoBean
+    AuthorizationHoldUseCase holdUseCase;
+
+    @MockitoBean
+    ApplyOperationBatchUseCase batchUseCase;
+
+    @MockitoBean
+    GetAccountBalanceUseCase balanceUseCase;
+
+    @MockitoBean
+    GetAccountBalanceAsOfUseCase balanceAsOfUseCase;
+
+    @MockitoBean
+    GetAccountStatementUseCase statementUseCase;
+
+    @MockitoBean
+    ExportAccountStatementUseCase exportUseCase;
+
     @Test
     void shouldReturn200AndResponseBody_whenSucceeded() throws Exception {
         UUID accountId = UUID.randomUUID();
@@ -184,4 +224,315 @@ class AccountOperationsControllerTest {
                 .andExpect(jsonPath("$.error").value("BAD_REQUEST"))
                 .andExpect(jsonPath("$.message").value("Currency mismatch"));
     }
+
+    @Test
+    void shouldReturnBalanceWithEtag() throws Exception {
+        UUID accountId = UUID.randomUUID();
+
+        when(balanceUseCase.execute(accountId)).thenReturn(new AccountBalanceView(
+                accountId, new BigDecimal("90.00"), "BRL", OffsetDateTime.parse("2025-12-30T12:00:00.123456-03:00")));
+
+        mockMvc.perform(get("/accounts/{accountId}/balance", accountId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1767106800123456\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.accountId").value(accountId.toString()))
+                .andExpect(jsonPath("$.balanceAmount").value(90.00))
+                .andExpect(jsonPath("$.balanceCurrency").value("BRL"));
+    }
+
+    @Test
+    void shouldReturn304_whenIfNoneMatchEqualsCurrentEtag() throws Exception {
+        UUID accountId = UUID.randomUUID();
+
+        when(balanceUseCase.execute(accountId)).thenReturn(new AccountBalanceView(
+                accountId, new BigDecimal("90.00"), "BRL", OffsetDateTime.parse("2025-12-30T15:00:00.123456Z")));
+
+        mockMvc.perform(get("/accounts/{accountId}/balance", accountId)
+                        .header("If-None-Match", "\"1\", W/\"1767106800123456\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1767106800123456\""))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/accounts/{accountId}/balance", accountId)
+                        .header("If-None-Match", "\"1767106800000000\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldReturnPointInTimeBalanceWithoutEtag_whenAsOfIsGiven() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        var asOf = OffsetDateTime.parse("2025-12-30T23:59:00Z");
+
+        when(balanceAsOfUseCase.execute(accountId, asOf)).thenReturn(new AccountBalanceView(
+                accountId, new BigDecimal("42.00"), "BRL", OffsetDateTime.parse("2025-12-30T18:00:00Z")));
+
+        mockMvc.perform(get("/accounts/{accountId}/balance", accountId).param("asOf", "2025-12-30T23:59:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.balanceAmount").value(42.00))
+                .andExpect(jsonPath("$.updatedAt").value("2025-12-30T18:00:00Z"));
+
+        verifyNoInteractions(balanceUseCase);
+    }
+
+    @Test
+    void shouldReturn404_whenBalanceOfUnknownAccount() throws Exception {
+        UUID accountId = UUID.randomUUID();
+
+        when(balanceUseCase.execute(accountId)).thenThrow(new ApplyOperationUseCase.AccountNotFoundException(accountId));
+
+        mockMvc.perform(get("/accounts/{accountId}/balance", accountId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("NOT_FOUND"));
+    }
+
+    @Test
+    void shouldReturnPerItemResultsInInputOrder_forBatch() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        UUID missingAccountId = UUID.randomUUID();
+        UUID txOk = UUID.randomUUID();
+        UUID txMissing = UUID.randomUUID();
+        UUID txInvalid = UUID.randomUUID();
+
+        var applied = new ApplyOperationResult(
+                txOk, OperationType.CREDIT, new BigDecimal("10.00"), "BRL", OperationStatus.SUCCEEDED,
+                OffsetDateTime.parse("2025-12-30T12:00:00-03:00"), accountId, new BigDecimal("110.00"), "BRL");
+
+        when(batchUseCase.execute(any())).thenReturn(List.of(
+                ApplyOperationOutcome.success(applied),
+                ApplyOperationOutcome.failure(new ApplyOperationUseCase.AccountNotFoundException(missingAccountId)),
+                ApplyOperationOutcome.failure(new IllegalArgumentException("amountValue must be > 0"))
+        ));
+
+        String body = """
+                {
+                  "operations": [
+                    {"accountId": "%s", "transactionId": "%s", "type": "CREDIT", "amountValue": 10.00,
+                     "amountCurrency": "BRL", "timestamp": "2025-12-30T12:00:00-03:00"},
+                    {"accountId": "%s", "transactionId": "%s", "type": "CREDIT", "amountValue": 10.00,
+                     "amountCurrency": "BRL", "timestamp": "2025-12-30T12:00:00-03:00"},
+                    {"accountId": "%s", "transactionId": "%s", "type": "DEBIT", "amountValue": 0,
+                     "amountCurrency": "BRL", "timestamp": "2025-12-30T12:00:00-03:00"}
+                  ]
+                }
+                """.formatted(accountId, txOk, missingAccountId, txMissing, accountId, txInvalid);
+
+        mockMvc.perform(post("/accounts/operations:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(3))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].operation.resultingBalanceAmount").value(110.00))
+                .andExpect(jsonPath("$.results[1].transactionId").value(txMissing.toString()))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[1].error").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[2].status").value(400))
+                .andExpect(jsonPath("$.results[2].message").value("amountValue must be > 0"));
+    }
+
+    @Test
+    void shouldReturn400_whenBatchItemHasNoTransactionId() throws Exception {
+        String body = """
+                {
+                  "operations": [
+                    {"accountId": "%s", "type": "CREDIT", "amountValue": 10.00,
+                     "amountCurrency": "BRL", "timestamp": "2025-12-30T12:00:00-03:00"}
+                  ]
+                }
+                """.formatted(UUID.randomUUID());
+
+        mockMvc.perform(post("/accounts/operations:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnStatementPage_withCursorThatRoundTripsToNextQuery() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-12-30T15:00:00.123456Z");
+
+        var entry = new AccountStatementPage.StatementEntry(new ApplyOperationResult(
+                txId, OperationType.CREDIT, new BigDecimal("10.00"), "BRL", OperationStatus.SUCCEEDED,
+                OffsetDateTime.parse("2025-12-30T12:00:00-03:00"), accountId, new BigDecimal("110.00"), "BRL"
+        ), createdAt);
+        when(statementUseCase.execute(any())).thenReturn(new AccountStatementPage(List.of(entry), entry.cursor()));
+
+        var body = mockMvc.perform(get("/accounts/{accountId}/operations", accountId)
+                        .param("type", "CREDIT")
+                        .param("from", "2025-12-01T00:00:00Z")
+                        .param("limit", "1")
+                        .param("order", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountId").value(accountId.toString()))
+                .andExpect(jsonPath("$.operations[0].transactionId").value(txId.toString()))
+                .andExpect(jsonPath("$.operations[0].resultingBalanceAmount").value(110.00))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = objectMapper.readTree(body).get("nextCursor").asText();
+        mockMvc.perform(get("/accounts/{accountId}/operations", accountId).param("cursor", nextCursor))
+                .andExpect(status().isOk());
+
+        var captor = ArgumentCaptor.forClass(AccountStatementQuery.class);
+        verify(statementUseCase, times(2)).execute(captor.capture());
+
+        var first = captor.getAllValues().get(0);
+        assertThat(first.type()).isEqualTo(OperationType.CREDIT);
+        assertThat(first.from()).isEqualTo(OffsetDateTime.parse("2025-12-01T00:00:00Z"));
+        assertThat(first.limit()).isEqualTo(1);
+        assertThat(first.descending()).isTrue();
+        assertThat(first.after()).isNull();
+
+        var second = captor.getAllValues().get(1);
+        assertThat(second.after().transactionId()).isEqualTo(txId);
+        assertThat(second.after().createdAt().toInstant()).isEqualTo(createdAt.toInstant());
+        assertThat(second.descending()).isFalse();
+    }
+
+    @Test
+    void shouldReturn400_whenStatementCursorOrOrderInvalid() throws Exception {
+        UUID accountId = UUID.randomUUID();
+
+        mockMvc.perform(get("/accounts/{accountId}/operations", accountId).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("invalid cursor"));
+
+        mockMvc.perform(get("/accounts/{accountId}/operations", accountId).param("order", "sideways"))
+                .andExpect(status().isBadRequest());
+
+        verify(statementUseCase, never()).execute(any());
+    }
+
+    private static AccountStatementPage.StatementEntry statementEntry(UUID accountId, String currency) {
+        return new AccountStatementPage.StatementEntry(new ApplyOperationResult(
+                UUID.randomUUID(), OperationType.DEBIT, new BigDecimal("10.50"), currency, OperationStatus.SUCCEEDED,
+                OffsetDateTime.parse("2025-12-30T12:00:00Z"), accountId, new BigDecimal("89.50"), currency
+        ), OffsetDateTime.parse("2025-12-30T12:00:01Z"));
+    }
+
+    @Test
+    void shouldStreamCsvExport_withHeaderAndEscapedFields() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        var entry = statementEntry(accountId, "B,RL");
+        when(exportUseCase.prepare(any())).thenReturn(consumer -> consumer.accept(entry));
+
+        var started = mockMvc.perform(get("/accounts/{accountId}/operations:export", accountId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"statement-" + accountId + ".csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).containsExactly(
+                "transactionId,type,amountValue,amountCurrency,status,timestamp,"
+                        + "resultingBalanceAmount,resultingBalanceCurrency,createdAt",
+                entry.operation().transactionId() + ",DEBIT,10.50,\"B,RL\",SUCCEEDED,2025-12-30T12:00Z,"
+                        + "89.50,\"B,RL\",2025-12-30T12:00:01Z");
+    }
+
+    @Test
+    void shouldGzipNdjsonExport_whenClientAcceptsGzip() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        var first = statementEntry(accountId, "BRL");
+        var second = statementEntry(accountId, "BRL");
+        when(exportUseCase.prepare(any())).thenReturn(consumer -> {
+            consumer.accept(first);
+            consumer.accept(second);
+        });
+
+        var started = mockMvc.perform(get("/accounts/{accountId}/operations:export", accountId)
+                        .param("format", "ndjson")
+                        .header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var bytes = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            var lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines.get(1)).get("transactionId").asText())
+                    .isEqualTo(second.operation().transactionId().toString());
+        }
+    }
+
+    @Test
+    void shouldReturn404BeforeStreaming_whenExportingUnknownAccount() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        when(exportUseCase.prepare(any())).thenThrow(new ApplyOperationUseCase.AccountNotFoundException(accountId));
+
+        mockMvc.perform(get("/accounts/{accountId}/operations:export", accountId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("NOT_FOUND"));
+    }
+
+    @Test
+    void shouldRouteHoldOperationsToHoldUseCase() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        UUID holdId = UUID.randomUUID();
+
+        when(holdUseCase.execute(any())).thenReturn(new ApplyOperationResult(
+                holdId,
+                OperationType.HOLD,
+                new BigDecimal("10.00"),
+                "BRL",
+                OperationStatus.SUCCEEDED,
+                OffsetDateTime.parse("2025-12-30T12:00:00-03:00"),
+                accountId,
+                new BigDecimal("100.00"),
+                "BRL"
+        ));
+
+        String body = """
+                {
+                  "type": "HOLD",
+                  "amountValue": 10.00,
+                  "amountCurrency": "BRL",
+                  "timestamp": "2025-12-30T12:00:00-03:00"
+                }
+                """;
+
+        mockMvc.perform(post("/accounts/{accountId}/operations/{transactionId}", accountId, holdId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("HOLD"))
+                .andExpect(jsonPath("$.resultingBalanceAmount").value(100.00));
+
+        verify(holdUseCase).execute(any());
+        verifyNoInteractions(useCase);
+    }
+
+    @Test
+    void shouldReturn404_whenCapturingUnknownHold() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        UUID holdId = UUID.randomUUID();
+        when(holdUseCase.execute(any())).thenThrow(new AuthorizationHoldUseCase.HoldNotFoundException(accountId, holdId));
+
+        String body = """
+                {
+                  "type": "CAPTURE",
+                  "amountValue": 10.00,
+                  "amountCurrency": "BRL",
+                  "timestamp": "2025-12-30T12:00:00-03:00"
+                }
+                """;
+
+        mockMvc.perform(post("/accounts/{accountId}/operations/{transactionId}", accountId, holdId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("NOT_FOUND"));
+    }
 }
@@ -0,0 +1,107 @@
+package io.github.matheuscavalari.accountservice.application.cache;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountBalanceCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static AccountBalanceCache cache() {
+        return new AccountBalanceCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldPublishOnlyAfterCommit() {
+        var cache = cache();
+        var view = new AccountBalanceView(UUID.randomUUID(), new BigDecimal("10.00"), "BRL", OffsetDateTime.now());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putOnCommit(() -> view);
+
+        assertThat(cache.get(view.accountId())).isNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get(view.accountId())).isEqualTo(view);
+    }
+
+    @Test
+    void shouldKeepNewestVersion_whenCommitsPublishOutOfOrder() {
+        var cache = cache();
+        var accountId = UUID.randomUUID();
+        var older = new AccountBalanceView(accountId, new BigDecimal("10.00"), "BRL", OffsetDateTime.now().minusSeconds(1));
+        var newer = new AccountBalanceView(accountId, new BigDecimal("20.00"), "BRL", OffsetDateTime.now());
+
+        cache.put(newer);
+        cache.put(older);
+
+        assertThat(cache.get(accountId)).isEqualTo(newer);
+    }
+
+    @Test
+    void shouldEvictOnlyAfterCommit() {
+        var cache = cache();
+        var view = new AccountBalanceView(UUID.randomUUID(), new BigDecimal("10.00"), "BRL", OffsetDateTime.now());
+        cache.put(view);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictOnCommit(view.accountId());
+
+        assertThat(cache.get(view.accountId())).isEqualTo(view);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get(view.accountId())).isNull();
+    }
+
+    @Test
+    void shouldDropLoadedBalance_whenAnEvictHappenedDuringTheRead() {
+        var cache = cache();
+        var accountId = UUID.randomUUID();
+        var beforeCommit = new AccountBalanceView(accountId, new BigDecimal("10.00"), "BRL", OffsetDateTime.now().minusSeconds(1));
+
+        long loadStartedAt = cache.beginLoad();
+        cache.evictOnCommit(accountId);
+        cache.putLoaded(beforeCommit, loadStartedAt);
+
+        assertThat(cache.get(accountId)).isNull();
+
+        var afterCommit = new AccountBalanceView(accountId, new BigDecimal("20.00"), "BRL", OffsetDateTime.now());
+        cache.putLoaded(afterCommit, cache.beginLoad());
+
+        assertThat(cache.get(accountId)).isEqualTo(afterCommit);
+    }
+
+    @Test
+    void shouldDropLoadedBalance_whenTheEvictMarkerWasAlreadyEvicted() {
+        var cache = new AccountBalanceCache(new SimpleMeterRegistry(), true, 1, Duration.ofMinutes(1));
+        var accountId = UUID.randomUUID();
+
+        long loadStartedAt = cache.beginLoad();
+        cache.evictOnCommit(accountId);
+        // pressão de tamanho tira a marca do evict do cache
+        for (int i = 0; i < 100; i++) {
+            cache.put(new AccountBalanceView(UUID.randomUUID(), BigDecimal.ONE, "BRL", OffsetDateTime.now()));
+        }
+        cache.putLoaded(new AccountBalanceView(accountId, new BigDecimal("10.00"), "BRL", OffsetDateTime.now()), loadStartedAt);
+
+        assertThat(cache.get(accountId)).isNull();
+    }
+}
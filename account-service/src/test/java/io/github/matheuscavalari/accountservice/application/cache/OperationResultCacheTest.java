@@ -0,0 +1,108 @@
+package io.github.matheuscavalari.accountservice.application.cache;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperationResultCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static ApplyOperationResult result() {
+        return new ApplyOperationResult(
+                UUID.randomUUID(), OperationType.CREDIT, new BigDecimal("10.00"), "BRL",
+                OperationStatus.SUCCEEDED, OffsetDateTime.now(), UUID.randomUUID(),
+                new BigDecimal("10.00"), "BRL"
+        );
+    }
+
+    @Test
+    void shouldPublishOnlyAfterCommit() {
+        var cache = new OperationResultCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+        var result = result();
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putOnCommit(result);
+
+        assertThat(cache.get(result.transactionId())).isNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get(result.transactionId())).isEqualTo(result);
+    }
+
+    @Test
+    void shouldNeverPublishOnRollback() {
+        var cache = new OperationResultCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+        var result = result();
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putOnCommit(result);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(cache.get(result.transactionId())).isNull();
+    }
+
+    @Test
+    void shouldExposeHitMissAndEvictionMetrics_andRespectMaxEntries() {
+        var registry = new SimpleMeterRegistry();
+        var cache = new OperationResultCache(registry, true, 2, Duration.ofMinutes(1));
+
+        var first = result();
+        cache.putOnCommit(first);
+        cache.get(first.transactionId());
+        cache.get(UUID.randomUUID());
+        for (int i = 0; i < 10; i++) {
+            cache.putOnCommit(result());
+        }
+
+        assertThat(registry.get("cache.gets").tag("cache", "operation-results").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "operation-results").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+
+        // Caffeine aplica a evicção de forma assíncrona; força a manutenção via leitura do tamanho
+        await(() -> registry.get("cache.size").tag("cache", "operation-results").gauge().value() <= 2);
+        assertThat(registry.get("cache.evictions").tag("cache", "operation-results")
+                .functionCounter().count()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldBeNoOpWhenDisabled() {
+        var cache = new OperationResultCache(new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(1));
+        var result = result();
+
+        cache.putOnCommit(result);
+
+        assertThat(cache.get(result.transactionId())).isNull();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
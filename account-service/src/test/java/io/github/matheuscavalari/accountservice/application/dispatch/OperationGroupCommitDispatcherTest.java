@@ -0,0 +1,193 @@
+package io.github.matheuscavalari.accountservice.application.dispatch;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationOutcome;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OperationGroupCommitDispatcherTest {
+
+    private OperationGroupCommitDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    private static ApplyOperationCommand credit(UUID accountId) {
+        return new ApplyOperationCommand(
+                accountId, UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("1.00"), "BRL", OffsetDateTime.now()
+        );
+    }
+
+    private static ApplyOperationResult resultFor(ApplyOperationCommand cmd) {
+        return new ApplyOperationResult(
+                cmd.transactionId(), cmd.type(), cmd.amountValue(), cmd.amountCurrency(),
+                OperationStatus.SUCCEEDED, cmd.timestamp(), cmd.accountId(),
+                new BigDecimal("1.00"), "BRL"
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ApplyOperationCommand> commandsOf(Object arg) {
+        return (List<ApplyOperationCommand>) arg;
+    }
+
+    @Test
+    void shouldGroupConcurrentOperationsAndCompleteEachCallerWithItsOwnOutcome() throws Exception {
+        var useCase = mock(ApplyOperationUseCase.class);
+        var registry = new SimpleMeterRegistry();
+        var batchEntered = new CountDownLatch(1);
+        var releaseBatch = new CountDownLatch(1);
+
+        UUID accountId = UUID.randomUUID();
+        var notFound = new ApplyOperationUseCase.AccountNotFoundException(accountId);
+        var failing = credit(accountId);
+
+        when(useCase.executeBatch(anyList())).thenAnswer(inv -> {
+            List<ApplyOperationCommand> cmds = commandsOf(inv.getArgument(0));
+            if (cmds.size() == 1 && batchEntered.getCount() > 0) {
+                // segura o primeiro grupo para que os próximos se acumulem na fila
+                batchEntered.countDown();
+                releaseBatch.await();
+            }
+            return cmds.stream()
+                    .map(c -> c == failing ? ApplyOperationOutcome.failure(notFound) : ApplyOperationOutcome.success(resultFor(c)))
+                    .toList();
+        });
+
+        dispatcher = new OperationGroupCommitDispatcher(useCase, registry, 1, 100, Duration.ofMillis(50), 1000, Duration.ofSeconds(5));
+        dispatcher.start();
+
+        var first = CompletableFuture.supplyAsync(() -> dispatcher.apply(credit(accountId)));
+        batchEntered.await();
+
+        var cmds = new ArrayList<ApplyOperationCommand>();
+        var futures = new ArrayList<CompletableFuture<ApplyOperationResult>>();
+        for (int i = 0; i < 5; i++) {
+            var cmd = credit(accountId);
+            cmds.add(cmd);
+            futures.add(CompletableFuture.supplyAsync(() -> dispatcher.apply(cmd)));
+        }
+        var failed = CompletableFuture.supplyAsync(() -> dispatcher.apply(failing));
+
+        // espera os 6 pedidos chegarem na fila antes de liberar o primeiro grupo
+        while (registry.get("account.operations.group_commit.queue.depth").gauge().value() < 6) {
+            Thread.onSpinWait();
+        }
+        releaseBatch.countDown();
+
+        first.join();
+        for (int i = 0; i < cmds.size(); i++) {
+            assertThat(futures.get(i).join().transactionId()).isEqualTo(cmds.get(i).transactionId());
+        }
+        assertThatThrownBy(failed::join).hasCauseReference(notFound);
+
+        verify(useCase, times(2)).executeBatch(anyList());
+        var batchSize = registry.get("account.operations.group_commit.batch.size").summary();
+        assertThat(batchSize.count()).isEqualTo(2);
+        assertThat(batchSize.max()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldFallBackToIndividualExecution_whenGroupTransactionFails() {
+        var useCase = mock(ApplyOperationUseCase.class);
+        UUID accountId = UUID.randomUUID();
+        var cmd = credit(accountId);
+
+        when(useCase.executeBatch(anyList())).thenThrow(new DataIntegrityViolationException("dup key"));
+        when(useCase.execute(cmd)).thenReturn(resultFor(cmd));
+
+        dispatcher = new OperationGroupCommitDispatcher(useCase, new SimpleMeterRegistry(), 2, 10, Duration.ZERO, 10, Duration.ofSeconds(5));
+        dispatcher.start();
+
+        var result = dispatcher.apply(cmd);
+
+        assertThat(result.transactionId()).isEqualTo(cmd.transactionId());
+        verify(useCase).execute(cmd);
+    }
+
+    @Test
+    void shouldRethrowOriginalException_toCaller() {
+        var useCase = mock(ApplyOperationUseCase.class);
+        UUID accountId = UUID.randomUUID();
+        var cmd = credit(accountId);
+        var mismatch = new IllegalArgumentException("Currency mismatch");
+
+        when(useCase.executeBatch(anyList())).thenReturn(List.of(ApplyOperationOutcome.failure(mismatch)));
+
+        dispatcher = new OperationGroupCommitDispatcher(useCase, new SimpleMeterRegistry(), 1, 10, Duration.ZERO, 10, Duration.ofSeconds(5));
+        dispatcher.start();
+
+        assertThatThrownBy(() -> dispatcher.apply(cmd)).isSameAs(mismatch);
+    }
+
+    @Test
+    void shouldFailTheBatchAndKeepTheLaneAlive_whenGroupCommitThrowsAnError() {
+        var useCase = mock(ApplyOperationUseCase.class);
+        UUID accountId = UUID.randomUUID();
+        var first = credit(accountId);
+        var second = credit(accountId);
+        var fatal = new StackOverflowError("boom");
+
+        when(useCase.executeBatch(anyList()))
+                .thenThrow(fatal)
+                .thenAnswer(inv -> commandsOf(inv.getArgument(0)).stream()
+                        .map(cmd -> ApplyOperationOutcome.success(resultFor(cmd)))
+                        .toList());
+
+        dispatcher = new OperationGroupCommitDispatcher(useCase, new SimpleMeterRegistry(), 1, 10, Duration.ZERO, 10, Duration.ofSeconds(5));
+        dispatcher.start();
+
+        assertThatThrownBy(() -> dispatcher.apply(first))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCause(fatal);
+        assertThat(dispatcher.apply(second).transactionId()).isEqualTo(second.transactionId());
+        verify(useCase, never()).execute(any());
+    }
+
+    @Test
+    void shouldStopWaiting_whenGroupCommitDoesNotAnswerWithinReplyTimeout() throws InterruptedException {
+        var useCase = mock(ApplyOperationUseCase.class);
+        var release = new CountDownLatch(1);
+        var cmd = credit(UUID.randomUUID());
+
+        when(useCase.executeBatch(anyList())).thenAnswer(inv -> {
+            release.await();
+            return List.of(ApplyOperationOutcome.success(resultFor(cmd)));
+        });
+
+        dispatcher = new OperationGroupCommitDispatcher(useCase, new SimpleMeterRegistry(), 1, 10, Duration.ZERO, 10, Duration.ofMillis(50));
+        dispatcher.start();
+
+        try {
+            assertThatThrownBy(() -> dispatcher.apply(cmd))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining(cmd.transactionId().toString());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.matheuscavalari.accountservice.application.hold;
+
+import io.github.matheuscavalari.accountservice.application.port.AccountHoldPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HoldExpiryJobTest {
+
+    private AccountHoldPort holds;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        holds = mock(AccountHoldPort.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldExpireOneBatchOfConfiguredSize_andRecordMetrics() {
+        when(holds.expireDue(500)).thenReturn(500, 120);
+        var job = new HoldExpiryJob(holds, meterRegistry, 500, Duration.ofSeconds(1));
+
+        assertThat(job.expireOnce()).isEqualTo(500);
+        assertThat(job.expireOnce()).isEqualTo(120);
+
+        verify(holds, times(2)).expireDue(500);
+        assertThat(meterRegistry.get("account.holds.expired").counter().count()).isEqualTo(620);
+        assertThat(meterRegistry.get("account.holds.expiry.batch.duration").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotRecordBatch_whenNothingIsDue() {
+        var job = new HoldExpiryJob(holds, meterRegistry, 500, Duration.ofSeconds(1));
+
+        assertThat(job.expireOnce()).isZero();
+        assertThat(meterRegistry.get("account.holds.expiry.batch.duration").timer().count()).isZero();
+    }
+
+    @Test
+    void shouldRejectNonPositiveBatchSize() {
+        assertThatThrownBy(() -> new HoldExpiryJob(holds, meterRegistry, 0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
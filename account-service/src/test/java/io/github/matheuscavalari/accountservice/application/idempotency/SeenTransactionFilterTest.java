@@ -0,0 +1,127 @@
+package io.github.matheuscavalari.accountservice.application.idempotency;
+
+import io.github.matheuscavalari.accountservice.application.port.OperationQueryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeenTransactionFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T12:00:00Z");
+
+    private OperationQueryPort operations;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(OperationQueryPort.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    private SeenTransactionFilter newFilter(boolean enabled, DataSize maxMemory, Duration rebuildTimeout) {
+        return new SeenTransactionFilter(operations, registry,
+                enabled, 100_000, 0.01, Duration.ofDays(7), 7, maxMemory, rebuildTimeout,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private record Row(UUID transactionId, Instant createdAt) {}
+
+    @SuppressWarnings("unchecked")
+    private void stream(Stream<Row> rows) {
+        doAnswer(inv -> {
+            BiConsumer<UUID, OffsetDateTime> consumer = inv.getArgument(1);
+            rows.forEach(row -> consumer.accept(row.transactionId(), row.createdAt().atOffset(ZoneOffset.UTC)));
+            return null;
+        }).when(operations).streamTransactionIdsCreatedSince(any(OffsetDateTime.class), any(BiConsumer.class));
+    }
+
+    @Test
+    void shouldAnswerMaybeSeen_untilRebuildCompletes() {
+        var filter = newFilter(true, DataSize.ofMegabytes(16), Duration.ofMinutes(1));
+
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.mightContain(UUID.randomUUID())).isTrue();
+    }
+
+    @Test
+    void shouldNeverReportFalseNegatives_forRebuiltAndLiveIds() {
+        List<UUID> stored = IntStream.range(0, 20_000).mapToObj(i -> UUID.randomUUID()).toList();
+        var rows = new ArrayList<Row>();
+        for (int i = 0; i < stored.size(); i++) {
+            rows.add(new Row(stored.get(i), NOW.minus(Duration.ofHours(i % 160))));
+        }
+        stream(rows.stream());
+
+        var filter = newFilter(true, DataSize.ofMegabytes(16), Duration.ofMinutes(1));
+        UUID live = UUID.randomUUID();
+        filter.record(live);
+        filter.rebuild();
+
+        assertThat(filter.isReady()).isTrue();
+        assertThat(stored).allMatch(filter::mightContain);
+        assertThat(filter.mightContain(live)).isTrue();
+
+        long falsePositives = IntStream.range(0, 20_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID()))
+                .count();
+        assertThat(falsePositives).isLessThan(20_000 / 100 * 2);
+        assertThat(registry.get("account.operations.seen_filter.lookups").tag("result", "definitely_new")
+                .counter().count()).isPositive();
+    }
+
+    @Test
+    void shouldForgetIds_olderThanTheWindow() {
+        UUID old = UUID.randomUUID();
+        stream(Stream.of(new Row(old, NOW.minus(Duration.ofDays(9)))));
+
+        var filter = newFilter(true, DataSize.ofMegabytes(16), Duration.ofMinutes(1));
+        filter.rebuild();
+
+        assertThat(filter.mightContain(old)).isFalse();
+    }
+
+    @Test
+    void shouldStayNotReady_whenRebuildTimesOut() {
+        var sameRow = new Row(UUID.randomUUID(), NOW);
+        stream(Stream.generate(() -> sameRow).limit(50_000));
+
+        var filter = newFilter(true, DataSize.ofMegabytes(16), Duration.ZERO);
+        filter.rebuild();
+
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.mightContain(UUID.randomUUID())).isTrue();
+    }
+
+    @Test
+    void shouldRefuseToStart_whenSizingExceedsMaxMemory() {
+        assertThatThrownBy(() -> newFilter(true, DataSize.ofKilobytes(1), Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("max-memory");
+    }
+
+    @Test
+    void shouldStayConservative_whenDisabled() {
+        var filter = newFilter(false, DataSize.ofKilobytes(1), Duration.ofMinutes(1));
+        filter.record(UUID.randomUUID());
+        filter.rebuildOnStartup();
+
+        assertThat(filter.mightContain(UUID.randomUUID())).isTrue();
+        verifyNoInteractions(operations);
+    }
+}
@@ -0,0 +1,318 @@
+package io.github.matheuscavalari.accountservice.application.ledger;
+
+import io.github.matheuscavalari.accountservice.application.cache.AccountBalanceCache;
+import io.github.matheuscavalari.accountservice.application.cache.OperationResultCache;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.port.LedgerStorePort;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase;
+import io.github.matheuscavalari.accountservice.domain.model.Money;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LedgerEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private FakeStore store;
+    private OperationPersistencePort persistence;
+    private LedgerEngine engine;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        store = new FakeStore();
+        store.balances.put(accountId, Money.of(new BigDecimal("100.00"), "BRL"));
+        persistence = mock(OperationPersistencePort.class);
+        when(persistence.findOperations(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    private LedgerEngine startEngine(long snapshotEvery) {
+        return startEngine(snapshotEvery, Duration.ofSeconds(5));
+    }
+
+    private LedgerEngine startEngine(long snapshotEvery, Duration replyTimeout) {
+        var started = new LedgerEngine(store, persistence,
+                new OperationResultCache(new SimpleMeterRegistry(), false, 0, Duration.ofMinutes(1)),
+                new AccountBalanceCache(new SimpleMeterRegistry(), false, 0, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry(), directory, 2, DataSize.ofKilobytes(4), 100, 64, 100,
+                snapshotEvery, Duration.ofMinutes(10), replyTimeout);
+        started.start();
+        return started;
+    }
+
+    private ApplyOperationCommand cmd(UUID txId, OperationType type, String amount, String currency) {
+        return new ApplyOperationCommand(accountId, txId, type, new BigDecimal(amount), currency,
+                OffsetDateTime.parse("2025-12-30T12:00:00-03:00"));
+    }
+
+    @Test
+    void shouldDecideLikeTheUseCase_creditDebitAndFailedDebit() throws Exception {
+        engine = startEngine(1_000);
+
+        var credit = engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "25.50", "BRL"));
+        var debit = engine.execute(cmd(UUID.randomUUID(), OperationType.DEBIT, "100.00", "BRL"));
+        var failed = engine.execute(cmd(UUID.randomUUID(), OperationType.DEBIT, "30.00", "BRL"));
+
+        assertThat(credit.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(credit.resultingBalanceAmount()).isEqualByComparingTo("125.50");
+        assertThat(debit.resultingBalanceAmount()).isEqualByComparingTo("25.50");
+        assertThat(failed.status()).isEqualTo(OperationStatus.FAILED);
+        assertThat(failed.resultingBalanceAmount()).isEqualByComparingTo("25.50");
+
+        awaitProjected(3);
+        assertThat(store.balances.get(accountId).toBigDecimal()).isEqualByComparingTo("25.50");
+    }
+
+    @Test
+    void shouldReturnOriginalResult_whenTransactionIdIsRetried() {
+        engine = startEngine(1_000);
+        UUID txId = UUID.randomUUID();
+
+        var first = engine.execute(cmd(txId, OperationType.DEBIT, "10.00", "BRL"));
+        var retry = engine.execute(cmd(txId, OperationType.DEBIT, "10.00", "BRL"));
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "1.00", "BRL"))
+                .resultingBalanceAmount()).isEqualByComparingTo("91.00");
+    }
+
+    @Test
+    void shouldReturnTheRegisteredOperation_whenTheRetryIsOutsideTheInMemoryWindow() throws Exception {
+        UUID txId = UUID.randomUUID();
+        var registered = new ApplyOperationResult(txId, OperationType.DEBIT, new BigDecimal("10.00"), "BRL",
+                OperationStatus.SUCCEEDED, OffsetDateTime.parse("2025-12-01T12:00:00-03:00"), accountId,
+                new BigDecimal("50.00"), "BRL");
+        when(persistence.findOperations(any())).thenAnswer(inv -> {
+            Collection<UUID> ids = inv.getArgument(0);
+            return ids.contains(txId) ? List.of(registered) : List.of();
+        });
+        engine = startEngine(1_000);
+
+        var retry = engine.execute(cmd(txId, OperationType.DEBIT, "10.00", "BRL"));
+
+        assertThat(retry).isEqualTo(registered);
+        // nada decidido de novo: o saldo não mudou e nada foi projetado
+        assertThat(engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "1.00", "BRL"))
+                .resultingBalanceAmount()).isEqualByComparingTo("101.00");
+        awaitProjected(1);
+        assertThat(store.projected).noneMatch(r -> r.transactionId().equals(txId));
+    }
+
+    @Test
+    void shouldRefuseToStart_whileAccountsHaveActiveHolds() {
+        store.activeHolds = true;
+
+        assertThatThrownBy(() -> startEngine(1_000))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ACTIVE holds");
+    }
+
+    @Test
+    void shouldRejectCurrencyMismatchAndUnknownAccount_withoutJournaling() {
+        engine = startEngine(1_000);
+
+        assertThatThrownBy(() -> engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "1.00", "USD")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Currency mismatch");
+
+        var unknown = new ApplyOperationCommand(UUID.randomUUID(), UUID.randomUUID(), OperationType.CREDIT,
+                BigDecimal.ONE, "BRL", OffsetDateTime.now());
+        assertThatThrownBy(() -> engine.execute(unknown))
+                .isInstanceOf(ApplyOperationUseCase.AccountNotFoundException.class);
+
+        assertThat(store.projected).isEmpty();
+    }
+
+    @Test
+    void shouldStopWaiting_whenTheShardDoesNotAnswerWithinTheReplyTimeout() throws Exception {
+        engine = startEngine(1_000, Duration.ofMillis(100));
+        var slowAccount = UUID.randomUUID();
+        store.balances.put(slowAccount, Money.of(new BigDecimal("10.00"), "BRL"));
+        // conta fora da memória: a shard lê o saldo no banco, que não responde
+        store.loadGate = new CountDownLatch(1);
+        var slow = new ApplyOperationCommand(slowAccount, UUID.randomUUID(), OperationType.CREDIT,
+                BigDecimal.ONE, "BRL", OffsetDateTime.now());
+
+        try {
+            assertThatThrownBy(() -> engine.execute(slow))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("did not answer within 100 ms");
+        } finally {
+            store.loadGate.countDown();
+        }
+    }
+
+    @Test
+    void shouldRejectSubmissions_onceTheShardIsStopped() throws Exception {
+        engine = startEngine(1_000);
+        engine.stop();
+
+        assertThatThrownBy(() -> engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "1.00", "BRL")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is stopped");
+        engine = null;
+    }
+
+    @Test
+    void shouldRecoverBalancesAndIdempotency_fromSnapshotAndJournalTail() throws Exception {
+        engine = startEngine(2);
+        UUID retried = UUID.randomUUID();
+        engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "10.00", "BRL"));
+        engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "10.00", "BRL"));
+        var original = engine.execute(cmd(retried, OperationType.DEBIT, "5.00", "BRL"));
+        engine.stop();
+
+        // banco atrasado: nada foi projetado e o saldo na tabela ainda é o antigo
+        store.projected.clear();
+        store.balances.put(accountId, Money.of(new BigDecimal("100.00"), "BRL"));
+        try (Stream<Path> shards = Files.list(directory)) {
+            shards.forEach(shard -> {
+                try {
+                    Files.deleteIfExists(shard.resolve("projected.seq"));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+
+        engine = startEngine(2);
+
+        assertThat(store.projected).hasSize(3);
+        assertThat(store.balances.get(accountId).toBigDecimal()).isEqualByComparingTo("115.00");
+        assertThat(engine.execute(cmd(retried, OperationType.DEBIT, "5.00", "BRL"))).isEqualTo(original);
+        assertThat(engine.execute(cmd(UUID.randomUUID(), OperationType.DEBIT, "15.00", "BRL"))
+                .resultingBalanceAmount()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void shouldTrimTheJournalBehindSnapshots_andRecoverFromWhatIsLeft() throws Exception {
+        // snapshot a cada lote: as gravações são serializadas e a limpeza do journal roda na thread da shard
+        engine = startEngine(1);
+        for (int i = 0; i < 300; i++) {
+            engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "1.00", "BRL"));
+        }
+        awaitProjected(300);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (journalSegments() > 2 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(journalSegments()).isLessThanOrEqualTo(2);
+        engine.stop();
+
+        engine = startEngine(1);
+
+        assertThat(engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "1.00", "BRL"))
+                .resultingBalanceAmount()).isEqualByComparingTo("401.00");
+    }
+
+    private long journalSegments() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(f -> f.toString().endsWith(".journal")).count();
+        }
+    }
+
+    @Test
+    void shouldIgnoreTornRecord_atTheEndOfTheJournal() throws Exception {
+        engine = startEngine(1_000);
+        engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "10.00", "BRL"));
+        engine.stop();
+
+        Path segment;
+        try (Stream<Path> files = Files.walk(directory)) {
+            segment = files.filter(f -> f.toString().endsWith(".journal")).findFirst().orElseThrow();
+        }
+        try (var ch = java.nio.channels.FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // metade de um registro com sequência 2 e CRC inválido
+            ch.write(java.nio.ByteBuffer.allocate(48).putLong(2).putLong(42).flip(), LedgerRecord.SIZE);
+        }
+
+        engine = startEngine(1_000);
+
+        assertThat(engine.execute(cmd(UUID.randomUUID(), OperationType.CREDIT, "1.00", "BRL"))
+                .resultingBalanceAmount()).isEqualByComparingTo("111.00");
+    }
+
+    private void awaitProjected(int records) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (store.projected.size() < records && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(store.projected).hasSize(records);
+    }
+
+    private static class FakeStore implements LedgerStorePort {
+        private final Map<UUID, Money> balances = new ConcurrentHashMap<>();
+        private final List<LedgerRecord> projected = new CopyOnWriteArrayList<>();
+        private volatile boolean activeHolds;
+        private volatile CountDownLatch loadGate = new CountDownLatch(0);
+
+        @Override
+        public Optional<Money> loadBalance(UUID accountId) {
+            try {
+                loadGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.ofNullable(balances.get(accountId));
+        }
+
+        @Override
+        public boolean hasActiveHolds() {
+            return activeHolds;
+        }
+
+        @Override
+        public void forEachBalance(Consumer<AccountBalance> consumer) {
+            balances.forEach((id, balance) -> consumer.accept(new AccountBalance(id, balance)));
+        }
+
+        @Override
+        public void project(List<LedgerRecord> records) {
+            for (var record : records) {
+                if (projected.stream().noneMatch(r -> r.transactionId().equals(record.transactionId()))) {
+                    projected.add(record);
+                }
+                balances.put(record.accountId(), new Money(record.resultingMinor(), record.accountCurrency()));
+            }
+        }
+    }
+}
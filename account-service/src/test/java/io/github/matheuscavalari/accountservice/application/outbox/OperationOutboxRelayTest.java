@@ -0,0 +1,153 @@
+package io.github.matheuscavalari.accountservice.application.outbox;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.port.OperationEventPublisherPort;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort.OutboxEvent;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OperationOutboxRelayTest {
+
+    private OperationOutboxPort outbox;
+    private OperationEventPublisherPort publisher;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Long> deleted;
+    private List<Long> released;
+
+    @BeforeEach
+    void setUp() {
+        outbox = mock(OperationOutboxPort.class);
+        publisher = mock(OperationEventPublisherPort.class);
+        meterRegistry = new SimpleMeterRegistry();
+        deleted = new ArrayList<>();
+        released = new ArrayList<>();
+    }
+
+    private OperationOutboxRelay newRelay(int claimSize) {
+        return new OperationOutboxRelay(outbox, publisher, meterRegistry, 1, claimSize, 10, Duration.ofMillis(10),
+                Duration.ofSeconds(30));
+    }
+
+    /** Simula o outbox com {@code count} eventos pendentes; guarda os ids que o relay mandou apagar e devolver. */
+    private void pending(int count) {
+        var events = LongStream.rangeClosed(1, count).mapToObj(OperationOutboxRelayTest::event).toList();
+        when(outbox.claim(anyInt(), any())).thenAnswer(inv -> {
+            int limit = inv.getArgument(0);
+            return events.subList(0, Math.min(limit, events.size()));
+        });
+        doAnswer(inv -> deleted.addAll(inv.getArgument(0))).when(outbox).delete(any());
+        doAnswer(inv -> released.addAll(inv.getArgument(0))).when(outbox).release(any());
+    }
+
+    private static OutboxEvent event(long id) {
+        var operation = new ApplyOperationResult(
+                UUID.randomUUID(), OperationType.CREDIT, new BigDecimal("1.00"), "BRL",
+                OperationStatus.SUCCEEDED, OffsetDateTime.now(), UUID.randomUUID(),
+                new BigDecimal("1.00"), "BRL"
+        );
+        return new OutboxEvent(id, operation, OffsetDateTime.now().minusSeconds(1));
+    }
+
+    private static Set<Long> idsOf(List<OutboxEvent> batch) {
+        return batch.stream().map(OutboxEvent::id).collect(Collectors.toSet());
+    }
+
+    @Test
+    void shouldPublishClaimedEventsInBatchesOfTen_andDeleteAllOfThem() {
+        pending(25);
+        when(publisher.publish(any())).thenAnswer(inv -> idsOf(inv.getArgument(0)));
+
+        boolean more = newRelay(25).relayOnce();
+
+        verify(publisher, times(3)).publish(any());
+        verify(publisher, times(2)).publish(argThat(batch -> batch.size() == 10));
+        verify(publisher).publish(argThat(batch -> batch.size() == 5));
+        assertThat(deleted).hasSize(25).doesNotHaveDuplicates();
+        verify(outbox, never()).release(any());
+        // reivindicação cheia e tudo publicado: o worker emenda a próxima sem esperar
+        assertThat(more).isTrue();
+
+        assertThat(meterRegistry.get("account.outbox.relay.events").tag("outcome", "published").counter().count())
+                .isEqualTo(25);
+        assertThat(meterRegistry.get("account.outbox.relay.batch.size").summary().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("account.outbox.relay.lag").timer().count()).isEqualTo(25);
+    }
+
+    @Test
+    void shouldKeepRejectedEventsInOutbox_whenBatchIsPartiallyAccepted() {
+        pending(10);
+        when(publisher.publish(any())).thenAnswer(inv -> {
+            List<OutboxEvent> batch = inv.getArgument(0);
+            return idsOf(batch.subList(0, 7));
+        });
+
+        boolean more = newRelay(10).relayOnce();
+
+        assertThat(deleted).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(released).containsExactlyInAnyOrder(8L, 9L, 10L);
+        assertThat(more).isFalse();
+        assertThat(meterRegistry.get("account.outbox.relay.events").tag("outcome", "failed").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void shouldStopPublishingAfterPublisherFailure_andDeleteOnlyWhatWasAccepted() {
+        pending(30);
+        when(publisher.publish(any()))
+                .thenAnswer(inv -> idsOf(inv.getArgument(0)))
+                .thenThrow(new IllegalStateException("queue unavailable"));
+
+        boolean more = newRelay(30).relayOnce();
+
+        verify(publisher, times(2)).publish(any());
+        assertThat(deleted).hasSize(10);
+        assertThat(released).hasSize(20).doesNotContainAnyElementsOf(deleted);
+        assertThat(more).isFalse();
+        assertThat(meterRegistry.get("account.outbox.relay.events").tag("outcome", "failed").counter().count())
+                .isEqualTo(20);
+    }
+
+    @Test
+    void shouldWaitForNextPoll_whenClaimIsNotFull() {
+        pending(3);
+        when(publisher.publish(any())).thenAnswer(inv -> idsOf(inv.getArgument(0)));
+
+        assertThat(newRelay(100).relayOnce()).isFalse();
+        assertThat(deleted).hasSize(3);
+    }
+
+    @Test
+    void shouldNotTouchTheOutbox_whenNothingIsPending() {
+        pending(0);
+
+        assertThat(newRelay(100).relayOnce()).isFalse();
+        verifyNoInteractions(publisher);
+        verify(outbox, never()).delete(any());
+        verify(outbox, never()).release(any());
+    }
+
+    @Test
+    void shouldRejectPublishBatchSizeAboveTheQueueLimit() {
+        assertThatThrownBy(() -> new OperationOutboxRelay(outbox, publisher, meterRegistry, 1, 100, 11, Duration.ofMillis(10),
+                Duration.ofSeconds(30)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
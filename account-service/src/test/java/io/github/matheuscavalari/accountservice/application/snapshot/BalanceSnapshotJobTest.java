@@ -0,0 +1,89 @@
+package io.github.matheuscavalari.accountservice.application.snapshot;
+
+import io.github.matheuscavalari.accountservice.application.port.BalanceSnapshotPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BalanceSnapshotJobTest {
+
+    private BalanceSnapshotPort snapshots;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        snapshots = mock(BalanceSnapshotPort.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(snapshots.snapshotDay(any(), any(), any())).thenReturn(OptionalLong.of(100));
+    }
+
+    private BalanceSnapshotJob job(String now, Duration settleTime) {
+        var clock = Clock.fixed(Instant.parse(now), ZoneOffset.UTC);
+        return new BalanceSnapshotJob(snapshots, meterRegistry, ZoneId.of("UTC"), settleTime, clock);
+    }
+
+    @Test
+    void shouldGenerateEveryClosedDayAfterTheLastOne_inOrder() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.of(LocalDate.parse("2025-12-27")));
+
+        int generated = job("2025-12-31T10:00:00Z", Duration.ofMinutes(5)).generatePending();
+
+        assertThat(generated).isEqualTo(3);
+        var inOrder = inOrder(snapshots);
+        for (String day : new String[]{"2025-12-28", "2025-12-29", "2025-12-30"}) {
+            var date = LocalDate.parse(day);
+            inOrder.verify(snapshots).snapshotDay(date,
+                    OffsetDateTime.parse(day + "T00:00:00Z"), OffsetDateTime.parse(date.plusDays(1) + "T00:00:00Z"));
+        }
+        assertThat(meterRegistry.get("account.balance.snapshot.accounts").counter().count()).isEqualTo(300);
+        assertThat(meterRegistry.get("account.balance.snapshot.day.duration").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldWaitForSettleTime_beforeGeneratingTheDayThatJustEnded() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.of(LocalDate.parse("2025-12-29")));
+
+        assertThat(job("2025-12-31T00:02:00Z", Duration.ofMinutes(5)).generatePending()).isZero();
+        assertThat(job("2025-12-31T00:06:00Z", Duration.ofMinutes(5)).generatePending()).isEqualTo(1);
+        verify(snapshots, times(1)).snapshotDay(eq(LocalDate.parse("2025-12-30")), any(), any());
+    }
+
+    @Test
+    void shouldStartFromTheFirstOperationDay_whenNothingWasGeneratedYet() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.empty());
+        when(snapshots.firstOperationAt()).thenReturn(Optional.of(OffsetDateTime.parse("2025-12-29T15:00:00Z")));
+
+        assertThat(job("2025-12-31T10:00:00Z", Duration.ZERO).generatePending()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSkipDaysGeneratedByAnotherInstance() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.of(LocalDate.parse("2025-12-28")));
+        when(snapshots.snapshotDay(eq(LocalDate.parse("2025-12-29")), any(), any())).thenReturn(OptionalLong.empty());
+
+        assertThat(job("2025-12-31T10:00:00Z", Duration.ZERO).generatePending()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDoNothing_whenThereAreNoOperations() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.empty());
+        when(snapshots.firstOperationAt()).thenReturn(Optional.empty());
+
+        assertThat(job("2025-12-31T10:00:00Z", Duration.ZERO).generatePending()).isZero();
+        verify(snapshots, never()).snapshotDay(any(), any(), any());
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationOutcome;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.ledger.LedgerEngine;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ApplyOperationBatchUseCaseTest {
+
+    private ApplyOperationUseCase useCase;
+    private ApplyOperationBatchUseCase batchUseCase;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        useCase = mock(ApplyOperationUseCase.class);
+        ObjectProvider<LedgerEngine> noLedger = mock(ObjectProvider.class);
+        batchUseCase = new ApplyOperationBatchUseCase(useCase, noLedger, 2);
+    }
+
+    private static ApplyOperationCommand command() {
+        return new ApplyOperationCommand(UUID.randomUUID(), UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("10.00"), "BRL", OffsetDateTime.now());
+    }
+
+    private static ApplyOperationResult resultOf(ApplyOperationCommand cmd) {
+        return new ApplyOperationResult(cmd.transactionId(), cmd.type(), cmd.amountValue(), cmd.amountCurrency(),
+                OperationStatus.SUCCEEDED, cmd.timestamp(), cmd.accountId(), cmd.amountValue(), "BRL");
+    }
+
+    @Test
+    void shouldRejectBatchAboveLimit() {
+        assertThatThrownBy(() -> batchUseCase.execute(List.of(command(), command(), command())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("operations must have at most 2 items");
+        assertThatThrownBy(() -> batchUseCase.execute(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(useCase);
+    }
+
+    @Test
+    void shouldApplyWholeBatchInOneCall() {
+        var first = command();
+        var second = command();
+        var outcomes = List.of(ApplyOperationOutcome.success(resultOf(first)), ApplyOperationOutcome.success(resultOf(second)));
+        when(useCase.executeBatch(List.of(first, second))).thenReturn(outcomes);
+
+        assertThat(batchUseCase.execute(List.of(first, second))).isEqualTo(outcomes);
+        verify(useCase, never()).execute(any());
+    }
+
+    @Test
+    void shouldRetryItemByItem_whenBatchIsRolledBack() {
+        var first = command();
+        var second = command();
+        when(useCase.executeBatch(any())).thenThrow(new DataIntegrityViolationException("constraint violation"));
+        when(useCase.execute(first)).thenReturn(resultOf(first));
+        when(useCase.execute(second)).thenThrow(new ApplyOperationUseCase.AccountNotFoundException(second.accountId()));
+
+        var outcomes = batchUseCase.execute(List.of(first, second));
+
+        assertThat(outcomes.get(0).result()).isEqualTo(resultOf(first));
+        assertThat(outcomes.get(1).error()).isInstanceOf(ApplyOperationUseCase.AccountNotFoundException.class);
+    }
+}
@@ -1,20 +1,42 @@
 package io.github.matheuscavalari.accountservice.application.usecase;
 
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.JpaOperationPersistenceAdapter;
 import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.AccountEntity;
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.AccountBalanceSlotEntity;
 import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.OperationEntity;
+import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.AccountBalanceSlotJpaRepository;
 import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.AccountJpaRepository;
 import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.OperationJpaRepository;
+import io.github.matheuscavalari.accountservice.application.cache.AccountBalanceCache;
+import io.github.matheuscavalari.accountservice.application.cache.OperationResultCache;
 import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationOutcome;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.idempotency.SeenTransactionFilter;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort;
 import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
 import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,13 +45,47 @@ class ApplyOperationUseCaseTest {
 
     private AccountJpaRepository accountRepository;
     private OperationJpaRepository operationRepository;
+    private AccountBalanceSlotJpaRepository slotRepository;
+    private OperationResultCache resultCache;
+    private AccountBalanceCache balanceCache;
+    private SeenTransactionFilter seenFilter;
+    private OperationOutboxPort outbox;
     private ApplyOperationUseCase useCase;
 
     @BeforeEach
     void setUp() {
         accountRepository = mock(AccountJpaRepository.class);
         operationRepository = mock(OperationJpaRepository.class);
-        useCase = new ApplyOperationUseCase(accountRepository, operationRepository);
+        slotRepository = mock(AccountBalanceSlotJpaRepository.class);
+        // INSERT ... ON CONFLICT DO NOTHING RETURNING: por padrão a operação é nova e volta marcada como inserida
+        when(operationRepository.insertIfAbsent(any())).thenAnswer(inv -> List.<Object[]>of(new Object[]{inv.getArgument(0), true}));
+        when(operationRepository.completeOperation(any(), any(), any())).thenReturn(1);
+        when(operationRepository.markTransfer(any())).thenReturn(1);
+        // insert em lote: por padrão todos os transactionIds são novos e voltam como gravados
+        when(operationRepository.insertAllIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> List.of((UUID[]) inv.getArgument(0)));
+        resultCache = new OperationResultCache(new SimpleMeterRegistry(), true, 1000, Duration.ofMinutes(1));
+        balanceCache = new AccountBalanceCache(new SimpleMeterRegistry(), true, 1000, Duration.ofMinutes(1));
+        seenFilter = mock(SeenTransactionFilter.class);
+        when(seenFilter.mightContain(any())).thenReturn(true);
+        outbox = mock(OperationOutboxPort.class);
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.LOCKING, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ApplyOperationUseCase newUseCase(ApplyOperationUseCase.ExecutionMode mode, boolean hotAccountRouting) {
+        ObjectProvider<OperationOutboxPort> outboxProvider = mock(ObjectProvider.class);
+        when(outboxProvider.getIfAvailable()).thenReturn(outbox);
+        return new ApplyOperationUseCase(
+                new JpaOperationPersistenceAdapter(accountRepository, operationRepository, slotRepository),
+                resultCache, balanceCache, seenFilter, outboxProvider, mode, hotAccountRouting);
+    }
+
+    private static AccountJpaRepository.BalanceLayout layout(int slots, String currency) {
+        var layout = mock(AccountJpaRepository.BalanceLayout.class);
+        when(layout.getBalanceSlots()).thenReturn(slots);
+        when(layout.getBalanceCurrency()).thenReturn(currency);
+        return layout;
     }
 
     private static AccountEntity account(UUID id, String currency, String balance) {
@@ -41,6 +97,14 @@ class ApplyOperationUseCaseTest {
         );
     }
 
+    private static ApplyOperationCommand transfer(UUID source, UUID destination, String amount) {
+        return new ApplyOperationCommand(
+                source, UUID.randomUUID(), OperationType.TRANSFER,
+                new BigDecimal(amount), "BRL",
+                OffsetDateTime.now(), destination
+        );
+    }
+
     @Test
     void shouldReturnExistingOperation_whenTransactionIdAlreadyProcessed() {
         UUID accountId = UUID.randomUUID();
@@ -73,7 +137,7 @@ class ApplyOperationUseCaseTest {
 
         verify(operationRepository).findById(txId);
         verifyNoInteractions(accountRepository);
-        verify(operationRepository, never()).saveAndFlush(any());
+        verify(operationRepository, never()).insertIfAbsent(any());
     }
 
     @Test
@@ -94,7 +158,7 @@ class ApplyOperationUseCaseTest {
                 .isInstanceOf(ApplyOperationUseCase.AccountNotFoundException.class)
                 .hasMessage("Account not found: " + accountId);
 
-        verify(operationRepository, never()).saveAndFlush(any());
+        verify(operationRepository, never()).insertIfAbsent(any());
         verify(accountRepository, never()).save(any());
     }
 
@@ -117,10 +181,30 @@ class ApplyOperationUseCaseTest {
 
         // não deve tentar lockar conta
         verify(accountRepository, never()).findByIdForUpdate(any());
-        verify(operationRepository, never()).saveAndFlush(any());
+        verify(operationRepository, never()).insertIfAbsent(any());
         verify(accountRepository, never()).save(any());
     }
 
+    @Test
+    void shouldThrowWhenAmountHasMoreThanTwoDecimalPlaces_beforeLock() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.CREDIT,
+                new BigDecimal("10.005"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        assertThatThrownBy(() -> useCase.execute(cmd))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at most 2 decimal places");
+
+        verify(accountRepository, never()).findByIdForUpdate(any());
+    }
+
     @Test
     void shouldThrowWhenCurrencyIsBlank_beforeLock() {
         UUID accountId = UUID.randomUUID();
@@ -139,7 +223,7 @@ class ApplyOperationUseCaseTest {
                 .hasMessageContaining("amountCurrency is required");
 
         verify(accountRepository, never()).findByIdForUpdate(any());
-        verify(operationRepository, never()).saveAndFlush(any());
+        verify(operationRepository, never()).insertIfAbsent(any());
         verify(accountRepository, never()).save(any());
     }
 
@@ -161,7 +245,7 @@ class ApplyOperationUseCaseTest {
                 .hasMessageContaining("timestamp is required");
 
         verify(accountRepository, never()).findByIdForUpdate(any());
-        verify(operationRepository, never()).saveAndFlush(any());
+        verify(operationRepository, never()).insertIfAbsent(any());
         verify(accountRepository, never()).save(any());
     }
 
@@ -183,7 +267,7 @@ class ApplyOperationUseCaseTest {
                 .hasMessageContaining("type is required");
 
         verify(accountRepository, never()).findByIdForUpdate(any());
-        verify(operationRepository, never()).saveAndFlush(any());
+        verify(operationRepository, never()).insertIfAbsent(any());
         verify(accountRepository, never()).save(any());
     }
 
@@ -207,7 +291,7 @@ class ApplyOperationUseCaseTest {
                 .hasMessageContaining("USD")
                 .hasMessageContaining("BRL");
 
-        verify(operationRepository, never()).saveAndFlush(any());
+        verify(operationRepository, never()).insertIfAbsent(any());
         verify(accountRepository, never()).save(any());
     }
 
@@ -220,7 +304,6 @@ class ApplyOperationUseCaseTest {
 
         when(operationRepository.findById(txId)).thenReturn(Optional.empty());
         when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
-        when(operationRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
 
         ApplyOperationCommand cmd = new ApplyOperationCommand(
                 accountId, txId, OperationType.CREDIT,
@@ -234,8 +317,9 @@ class ApplyOperationUseCaseTest {
         assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("125.50");
 
         verify(accountRepository).findByIdForUpdate(accountId);
-        verify(operationRepository).saveAndFlush(any(OperationEntity.class));
+        verify(operationRepository).insertIfAbsent(any(OperationEntity.class));
         verify(accountRepository).save(account);
+        verify(outbox).append(List.of(result));
 
         assertThat(account.getBalanceAmount()).isEqualByComparingTo("125.50");
     }
@@ -249,7 +333,6 @@ class ApplyOperationUseCaseTest {
 
         when(operationRepository.findById(txId)).thenReturn(Optional.empty());
         when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
-        when(operationRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
 
         ApplyOperationCommand cmd = new ApplyOperationCommand(
                 accountId, txId, OperationType.DEBIT,
@@ -262,7 +345,7 @@ class ApplyOperationUseCaseTest {
         assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
         assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("30.00");
 
-        verify(operationRepository).saveAndFlush(any(OperationEntity.class));
+        verify(operationRepository).insertIfAbsent(any(OperationEntity.class));
         verify(accountRepository).save(account);
 
         assertThat(account.getBalanceAmount()).isEqualByComparingTo("30.00");
@@ -277,7 +360,6 @@ class ApplyOperationUseCaseTest {
 
         when(operationRepository.findById(txId)).thenReturn(Optional.empty());
         when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
-        when(operationRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
 
         ApplyOperationCommand cmd = new ApplyOperationCommand(
                 accountId, txId, OperationType.DEBIT,
@@ -291,23 +373,47 @@ class ApplyOperationUseCaseTest {
         assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("50.00");
         assertThat(account.getBalanceAmount()).isEqualByComparingTo("50.00");
 
-        verify(operationRepository).saveAndFlush(any(OperationEntity.class));
+        verify(operationRepository).insertIfAbsent(any(OperationEntity.class));
         verify(accountRepository, never()).save(any(AccountEntity.class));
     }
 
     @Test
-    void shouldHandleDuplicateInsertRace_byReturningExistingOperation() {
+    void shouldFailDebit_whenActiveHoldsLeaveNotEnoughAvailableBalance() {
         UUID accountId = UUID.randomUUID();
         UUID txId = UUID.randomUUID();
 
         AccountEntity account = account(accountId, "BRL", "100.00");
+        // held_amount é mantido só pelo SQL dos bloqueios (sem setter na entidade)
+        ReflectionTestUtils.setField(account, "heldAmount", new BigDecimal("60.00"));
 
-        // primeira checagem: não existe
         when(operationRepository.findById(txId)).thenReturn(Optional.empty());
         when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
 
-        DataIntegrityViolationException dup = new DataIntegrityViolationException("dup key");
-        when(operationRepository.saveAndFlush(any())).thenThrow(dup);
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT,
+                new BigDecimal("50.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        // FAILED registra o saldo disponível, não o contábil
+        assertThat(result.status()).isEqualTo(OperationStatus.FAILED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("40.00");
+        assertThat(account.getBalanceAmount()).isEqualByComparingTo("100.00");
+        verify(accountRepository, never()).save(any(AccountEntity.class));
+    }
+
+    @Test
+    void shouldHandleDuplicateInsertRace_byReturningExistingOperationFromSameStatement() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+
+        AccountEntity account = account(accountId, "BRL", "100.00");
+
+        // checagem de idempotência: ainda não existe
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
 
         OperationEntity persistedByOtherThread = new OperationEntity(
                 txId, accountId, "CREDIT",
@@ -317,8 +423,9 @@ class ApplyOperationUseCaseTest {
                 OffsetDateTime.now()
         );
 
-        // segunda checagem: agora existe
-        when(operationRepository.findById(txId)).thenReturn(Optional.of(persistedByOtherThread));
+        // ON CONFLICT DO NOTHING: o próprio INSERT devolve a linha já registrada por outra thread
+        when(operationRepository.insertIfAbsent(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{persistedByOtherThread, false}));
 
         ApplyOperationCommand cmd = new ApplyOperationCommand(
                 accountId, txId, OperationType.CREDIT,
@@ -331,12 +438,49 @@ class ApplyOperationUseCaseTest {
         assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
         assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("110.00");
 
-        // nesse cenário, este fluxo retorna o existente e não salva conta
+        // nesse cenário, este fluxo retorna o existente e não salva conta; sem releitura após o conflito
         verify(accountRepository, never()).save(any());
+        verify(operationRepository, times(1)).findById(txId);
+        // o evento pertence à transação que registrou a operação
+        verifyNoInteractions(outbox);
     }
 
     @Test
-    void shouldRethrowDuplicateException_whenDuplicateInsertAndOperationStillNotFound() {
+    void shouldRereadExistingOperation_whenConflictingRowNotVisibleInStatementSnapshot() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+
+        AccountEntity account = account(accountId, "BRL", "100.00");
+
+        OperationEntity committedConcurrently = new OperationEntity(
+                txId, accountId, "CREDIT",
+                new BigDecimal("10.00"), "BRL",
+                "SUCCEEDED", OffsetDateTime.now(),
+                new BigDecimal("110.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        // primeira checagem vazia; após o conflito invisível no snapshot, a releitura encontra a linha
+        when(operationRepository.findById(txId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(committedConcurrently));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+        when(operationRepository.insertIfAbsent(any())).thenReturn(List.of());
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.CREDIT,
+                new BigDecimal("10.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("110.00");
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldFail_whenInsertConflictsAndOperationStillNotFound() {
         UUID accountId = UUID.randomUUID();
         UUID txId = UUID.randomUUID();
 
@@ -344,12 +488,121 @@ class ApplyOperationUseCaseTest {
 
         when(operationRepository.findById(txId)).thenReturn(Optional.empty());
         when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+        when(operationRepository.insertIfAbsent(any())).thenReturn(List.of());
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.CREDIT,
+                new BigDecimal("10.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        assertThatThrownBy(() -> useCase.execute(cmd))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(txId.toString());
+
+        verify(operationRepository).insertIfAbsent(any(OperationEntity.class));
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void atomicMode_shouldApplyInSingleStatement_withoutLockingViaHibernate() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.ATOMIC, false);
+
+        var applied = mock(OperationJpaRepository.AppliedOperation.class);
+        when(applied.getStatus()).thenReturn("SUCCEEDED");
+        when(applied.getResultingBalanceAmount()).thenReturn(new BigDecimal("30.00"));
+        when(applied.getResultingBalanceCurrency()).thenReturn("BRL");
+
+        OffsetDateTime timestamp = OffsetDateTime.now();
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(operationRepository.applyAtomically(txId, accountId, "DEBIT", new BigDecimal("70.00"), "BRL", timestamp))
+                .thenReturn(Optional.of(applied));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT,
+                new BigDecimal("70.00"), "BRL",
+                timestamp
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("30.00");
+        assertThat(result.transactionId()).isEqualTo(txId);
+
+        verifyNoInteractions(accountRepository);
+        verify(operationRepository, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void atomicMode_shouldReturnFailedStatus_whenInsufficientFunds() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.ATOMIC, false);
+
+        var applied = mock(OperationJpaRepository.AppliedOperation.class);
+        when(applied.getStatus()).thenReturn("FAILED");
+        when(applied.getResultingBalanceAmount()).thenReturn(new BigDecimal("50.00"));
+        when(applied.getResultingBalanceCurrency()).thenReturn("BRL");
+
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(operationRepository.applyAtomically(any(), any(), any(), any(), any(), any())).thenReturn(Optional.of(applied));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT,
+                new BigDecimal("70.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.status()).isEqualTo(OperationStatus.FAILED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void atomicMode_shouldReturnExistingOperation_whenNothingInsertedDueToConcurrentDuplicate() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.ATOMIC, false);
+
+        OperationEntity persistedByOtherThread = new OperationEntity(
+                txId, accountId, "CREDIT",
+                new BigDecimal("10.00"), "BRL",
+                "SUCCEEDED", OffsetDateTime.now(),
+                new BigDecimal("110.00"), "BRL",
+                OffsetDateTime.now()
+        );
 
-        DataIntegrityViolationException dup = new DataIntegrityViolationException("dup key");
-        when(operationRepository.saveAndFlush(any())).thenThrow(dup);
+        when(operationRepository.findById(txId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(persistedByOtherThread));
+        when(operationRepository.applyAtomically(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.CREDIT,
+                new BigDecimal("10.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("110.00");
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void atomicMode_shouldThrowAccountNotFound_whenNothingInsertedAndAccountMissing() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.ATOMIC, false);
 
-        // segunda checagem continua vazia -> relança dup
         when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(operationRepository.applyAtomically(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(accountRepository.findBalanceLayoutById(accountId)).thenReturn(Optional.empty());
 
         ApplyOperationCommand cmd = new ApplyOperationCommand(
                 accountId, txId, OperationType.CREDIT,
@@ -358,9 +611,687 @@ class ApplyOperationUseCaseTest {
         );
 
         assertThatThrownBy(() -> useCase.execute(cmd))
-                .isSameAs(dup);
+                .isInstanceOf(ApplyOperationUseCase.AccountNotFoundException.class)
+                .hasMessage("Account not found: " + accountId);
 
-        verify(operationRepository).saveAndFlush(any(OperationEntity.class));
+        verify(accountRepository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    void atomicMode_shouldThrowCurrencyMismatch_whenNothingInsertedAndCurrencyDiffers() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.ATOMIC, false);
+
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(operationRepository.applyAtomically(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        var layout = layout(0, "BRL");
+        when(accountRepository.findBalanceLayoutById(accountId)).thenReturn(Optional.of(layout));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT,
+                new BigDecimal("10.00"), "USD",
+                OffsetDateTime.now()
+        );
+
+        assertThatThrownBy(() -> useCase.execute(cmd))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Currency mismatch");
+    }
+
+    @Test
+    void hotAccount_shouldCreditSingleSlot_withoutLockingAccountRow() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.LOCKING, true);
+
+        var layout = layout(8, "BRL");
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findBalanceLayoutById(accountId)).thenReturn(Optional.of(layout));
+        when(slotRepository.currentBalance(accountId)).thenReturn(new BigDecimal("125.50"));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.CREDIT,
+                new BigDecimal("25.50"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("125.50");
+
+        verify(slotRepository).credit(eq(accountId), intThat(slot -> slot >= 0 && slot < 8), eq(new BigDecimal("25.50")));
+        verify(accountRepository, never()).findByIdForUpdate(any());
+        verify(operationRepository).insertIfAbsent(any(OperationEntity.class));
+    }
+
+    @Test
+    void hotAccount_shouldDebitLocalSlot_whenSlotHasFunds() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.LOCKING, true);
+
+        var layout = layout(4, "BRL");
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findBalanceLayoutById(accountId)).thenReturn(Optional.of(layout));
+        when(slotRepository.tryDebit(eq(accountId), anyInt(), any())).thenReturn(1);
+        when(slotRepository.currentBalance(accountId)).thenReturn(new BigDecimal("30.00"));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT,
+                new BigDecimal("70.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("30.00");
+        verify(accountRepository, never()).findByIdForUpdate(any());
+        verify(slotRepository, never()).findAllByAccountIdForUpdate(any());
+    }
+
+    @Test
+    void hotAccount_shouldBorrowFromSiblingSlots_andFoldIntoAccountRow() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.LOCKING, true);
+
+        AccountEntity account = account(accountId, "BRL", "10.00");
+        var slot0 = new AccountBalanceSlotEntity(accountId, 0, new BigDecimal("40.00"), OffsetDateTime.now());
+        var slot1 = new AccountBalanceSlotEntity(accountId, 1, new BigDecimal("30.00"), OffsetDateTime.now());
+
+        var layout = layout(2, "BRL");
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findBalanceLayoutById(accountId)).thenReturn(Optional.of(layout));
+        when(slotRepository.tryDebit(eq(accountId), anyInt(), any())).thenReturn(0);
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+        when(slotRepository.findAllByAccountIdForUpdate(accountId)).thenReturn(List.of(slot0, slot1));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT,
+                new BigDecimal("60.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("20.00");
+        assertThat(account.getBalanceAmount()).isEqualByComparingTo("20.00");
+        assertThat(slot0.getBalanceAmount()).isEqualByComparingTo("0");
+        assertThat(slot1.getBalanceAmount()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void hotAccount_shouldFailDebitAndKeepSlots_whenTotalIsInsufficient() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.LOCKING, true);
+
+        AccountEntity account = account(accountId, "BRL", "10.00");
+        var slot0 = new AccountBalanceSlotEntity(accountId, 0, new BigDecimal("40.00"), OffsetDateTime.now());
+
+        var layout = layout(1, "BRL");
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findBalanceLayoutById(accountId)).thenReturn(Optional.of(layout));
+        when(slotRepository.tryDebit(eq(accountId), anyInt(), any())).thenReturn(0);
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+        when(slotRepository.findAllByAccountIdForUpdate(accountId)).thenReturn(List.of(slot0));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT,
+                new BigDecimal("60.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.status()).isEqualTo(OperationStatus.FAILED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("50.00");
+        assertThat(account.getBalanceAmount()).isEqualByComparingTo("10.00");
+        assertThat(slot0.getBalanceAmount()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void hotAccount_shouldReturnRecordedOperation_withoutTouchingSlots_whenTransactionIdIsAlreadyClaimed() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.LOCKING, true);
+
+        // falso negativo do filtro (ou retry concorrente): a linha já existe e o INSERT devolve a registrada
+        when(seenFilter.mightContain(txId)).thenReturn(false);
+        var layout = layout(4, "BRL");
+        when(accountRepository.findBalanceLayoutById(accountId)).thenReturn(Optional.of(layout));
+        OperationEntity recorded = new OperationEntity(
+                txId, accountId, "CREDIT", new BigDecimal("25.50"), "BRL", "SUCCEEDED",
+                OffsetDateTime.parse("2025-12-30T12:00:00-03:00"), new BigDecimal("125.50"), "BRL",
+                OffsetDateTime.parse("2025-12-30T12:00:01-03:00"));
+        when(operationRepository.insertIfAbsent(any())).thenReturn(List.<Object[]>of(new Object[]{recorded, false}));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.CREDIT,
+                new BigDecimal("25.50"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("125.50");
+        verify(slotRepository, never()).credit(any(), anyInt(), any());
+        verify(slotRepository, never()).tryDebit(any(), anyInt(), any());
+        verify(slotRepository, never()).findAllByAccountIdForUpdate(any());
+        verify(operationRepository, never()).completeOperation(any(), any(), any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void hotAccount_shouldClaimTransactionIdBeforeTouchingSlots_andCompleteItAfterwards() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.LOCKING, true);
+
+        var layout = layout(4, "BRL");
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findBalanceLayoutById(accountId)).thenReturn(Optional.of(layout));
+        when(slotRepository.tryDebit(eq(accountId), anyInt(), any())).thenReturn(1);
+        when(slotRepository.currentBalance(accountId)).thenReturn(new BigDecimal("30.00"));
+
+        useCase.execute(new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT,
+                new BigDecimal("70.00"), "BRL",
+                OffsetDateTime.now()
+        ));
+
+        InOrder order = inOrder(operationRepository, slotRepository);
+        order.verify(operationRepository).insertIfAbsent(any(OperationEntity.class));
+        order.verify(slotRepository).tryDebit(eq(accountId), anyInt(), eq(new BigDecimal("70.00")));
+        order.verify(operationRepository).completeOperation(txId, "SUCCEEDED", new BigDecimal("30.00"));
+    }
+
+    @Test
+    void hotAccount_shouldFailDebitThatWouldSpendHeldAmount() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        useCase = newUseCase(ApplyOperationUseCase.ExecutionMode.LOCKING, true);
+
+        // total 100 (10 na linha base + 90 no slot), 50 bloqueados antes de a conta virar quente: disponível 50
+        AccountEntity account = account(accountId, "BRL", "10.00");
+        ReflectionTestUtils.setField(account, "heldAmount", new BigDecimal("50.00"));
+        var slot0 = new AccountBalanceSlotEntity(accountId, 0, new BigDecimal("90.00"), OffsetDateTime.now());
+
+        var layout = layout(1, "BRL");
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findBalanceLayoutById(accountId)).thenReturn(Optional.of(layout));
+        // com bloqueio ativo o UPDATE do slot não casa (NOT EXISTS held_amount > 0): segue pelo caminho com lock
+        when(slotRepository.tryDebit(eq(accountId), anyInt(), any())).thenReturn(0);
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+        when(slotRepository.findAllByAccountIdForUpdate(accountId)).thenReturn(List.of(slot0));
+
+        var result = useCase.execute(new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT,
+                new BigDecimal("60.00"), "BRL",
+                OffsetDateTime.now()
+        ));
+
+        assertThat(result.status()).isEqualTo(OperationStatus.FAILED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("50.00");
+        assertThat(account.getBalanceAmount()).isEqualByComparingTo("10.00");
+        assertThat(slot0.getBalanceAmount()).isEqualByComparingTo("90.00");
+    }
+
+    @Test
+    void lockingMode_shouldHonourSlots_whenHotAccountRoutingDisabled() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+
+        AccountEntity account = account(accountId, "BRL", "100.00");
+        account.setBalanceSlots(4);
+
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+        when(slotRepository.currentBalance(accountId)).thenReturn(new BigDecimal("110.00"));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.CREDIT,
+                new BigDecimal("10.00"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var result = useCase.execute(cmd);
+
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("110.00");
+        verify(slotRepository).credit(eq(accountId), anyInt(), eq(new BigDecimal("10.00")));
+        assertThat(account.getBalanceAmount()).isEqualByComparingTo("100.00");
+        verify(accountRepository, never()).findBalanceLayoutById(any());
+    }
+
+    @Test
+    void executeBatch_shouldLockOncePerAccount_andApplyInArrivalOrder() {
+        UUID accountId = UUID.randomUUID();
+        AccountEntity account = account(accountId, "BRL", "50.00");
+
+        when(operationRepository.findAllById(any())).thenReturn(List.of());
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+
+        var credit = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("30.00"), "BRL", OffsetDateTime.now());
+        var debit = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.DEBIT,
+                new BigDecimal("70.00"), "BRL", OffsetDateTime.now());
+        var overdraft = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.DEBIT,
+                new BigDecimal("20.00"), "BRL", OffsetDateTime.now());
+
+        var outcomes = useCase.executeBatch(List.of(credit, debit, overdraft));
+
+        assertThat(outcomes).allMatch(ApplyOperationOutcome::succeeded);
+        assertThat(outcomes.get(0).result().resultingBalanceAmount()).isEqualByComparingTo("80.00");
+        assertThat(outcomes.get(1).result().resultingBalanceAmount()).isEqualByComparingTo("10.00");
+        assertThat(outcomes.get(2).result().status()).isEqualTo(OperationStatus.FAILED);
+        assertThat(outcomes.get(2).result().resultingBalanceAmount()).isEqualByComparingTo("10.00");
+        assertThat(account.getBalanceAmount()).isEqualByComparingTo("10.00");
+
+        verify(accountRepository, times(1)).findByIdForUpdate(accountId);
+        verify(operationRepository).insertAllIfAbsent(argThat(ids -> ids.length == 3), any(), any(), any(), any(), any(), any(), any(), any());
+        verify(operationRepository, never()).insertIfAbsent(any());
+        verify(outbox).append(argThat(ops -> ops.size() == 3));
+    }
+
+    @Test
+    void executeBatch_shouldResolveOnlyConflictingItems_andRecomputeTheirAccount() {
+        UUID accountId = UUID.randomUUID();
+        // saldo travado já inclui o crédito que outra transação registrou depois da checagem de idempotência
+        AccountEntity account = account(accountId, "BRL", "80.00");
+
+        var credit = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("30.00"), "BRL", OffsetDateTime.now());
+        var debit = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.DEBIT,
+                new BigDecimal("70.00"), "BRL", OffsetDateTime.now());
+        var overdraft = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.DEBIT,
+                new BigDecimal("20.00"), "BRL", OffsetDateTime.now());
+
+        OperationEntity registered = new OperationEntity(
+                credit.transactionId(), accountId, "CREDIT",
+                new BigDecimal("30.00"), "BRL", "SUCCEEDED", credit.timestamp(),
+                new BigDecimal("80.00"), "BRL", OffsetDateTime.now()
+        );
+        when(operationRepository.findAllById(any())).thenReturn(List.of(), List.of(registered));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+        doReturn(List.of(debit.transactionId(), overdraft.transactionId())).when(operationRepository)
+                .insertAllIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any());
+
+        var outcomes = useCase.executeBatch(List.of(credit, debit, overdraft));
+
+        assertThat(outcomes.get(0).result().resultingBalanceAmount()).isEqualByComparingTo("80.00");
+        assertThat(outcomes.get(1).result().status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(outcomes.get(1).result().resultingBalanceAmount()).isEqualByComparingTo("10.00");
+        assertThat(outcomes.get(2).result().status()).isEqualTo(OperationStatus.FAILED);
+        assertThat(outcomes.get(2).result().resultingBalanceAmount()).isEqualByComparingTo("10.00");
+        assertThat(account.getBalanceAmount()).isEqualByComparingTo("10.00");
+
+        // só as operações gravadas pelo lote cujo resultado mudou são completadas; nada é reaplicado item a item
+        verify(operationRepository).completeOperation(debit.transactionId(), "SUCCEEDED", new BigDecimal("10.00"));
+        verify(operationRepository).completeOperation(overdraft.transactionId(), "FAILED", new BigDecimal("10.00"));
+        verify(operationRepository, never()).insertIfAbsent(any());
+        verify(accountRepository, times(1)).findByIdForUpdate(accountId);
+        verify(outbox).append(argThat(ops -> ops.size() == 2
+                && ops.stream().anyMatch(op -> op.status() == OperationStatus.FAILED)
+                && ops.stream().noneMatch(op -> op.transactionId().equals(credit.transactionId()))));
+    }
+
+    @Test
+    void executeBatch_shouldReportPerItemErrors_andReturnExistingForDuplicates() {
+        UUID accountId = UUID.randomUUID();
+        UUID missingAccountId = UUID.randomUUID();
+        AccountEntity account = account(accountId, "BRL", "100.00");
+
+        var alreadyProcessed = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.DEBIT,
+                new BigDecimal("10.00"), "BRL", OffsetDateTime.now());
+        var wrongCurrency = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("10.00"), "USD", OffsetDateTime.now());
+        var invalidAmount = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.CREDIT,
+                BigDecimal.ZERO, "BRL", OffsetDateTime.now());
+        var missingAccount = new ApplyOperationCommand(missingAccountId, UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("10.00"), "BRL", OffsetDateTime.now());
+        var credit = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("5.00"), "BRL", OffsetDateTime.now());
+        var creditRepeated = new ApplyOperationCommand(accountId, credit.transactionId(), OperationType.CREDIT,
+                new BigDecimal("5.00"), "BRL", OffsetDateTime.now());
+
+        OperationEntity existing = new OperationEntity(
+                alreadyProcessed.transactionId(), accountId, "DEBIT",
+                new BigDecimal("10.00"), "BRL", "SUCCEEDED", OffsetDateTime.now(),
+                new BigDecimal("90.00"), "BRL", OffsetDateTime.now()
+        );
+        when(operationRepository.findAllById(any())).thenReturn(List.of(existing));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIdForUpdate(missingAccountId)).thenReturn(Optional.empty());
+
+        var outcomes = useCase.executeBatch(List.of(
+                alreadyProcessed, wrongCurrency, invalidAmount, missingAccount, credit, creditRepeated));
+
+        assertThat(outcomes.get(0).result().resultingBalanceAmount()).isEqualByComparingTo("90.00");
+        assertThat(outcomes.get(1).error()).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Currency mismatch");
+        assertThat(outcomes.get(2).error()).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("amountValue must be > 0");
+        assertThat(outcomes.get(3).error()).isInstanceOf(ApplyOperationUseCase.AccountNotFoundException.class);
+        assertThat(outcomes.get(4).result().resultingBalanceAmount()).isEqualByComparingTo("105.00");
+        assertThat(outcomes.get(5).result()).isEqualTo(outcomes.get(4).result());
+
+        assertThat(account.getBalanceAmount()).isEqualByComparingTo("105.00");
+        verify(operationRepository).insertAllIfAbsent(argThat(ids -> ids.length == 1), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldAnswerRetryFromResultCache_withoutTouchingRepositories() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+
+        AccountEntity account = account(accountId, "BRL", "100.00");
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+
+        ApplyOperationCommand cmd = new ApplyOperationCommand(
+                accountId, txId, OperationType.CREDIT,
+                new BigDecimal("25.50"), "BRL",
+                OffsetDateTime.now()
+        );
+
+        var first = useCase.execute(cmd);
+        clearInvocations(accountRepository, operationRepository);
+
+        var retry = useCase.execute(cmd);
+
+        assertThat(retry).isEqualTo(first);
+        verifyNoInteractions(accountRepository, operationRepository);
+        assertThat(account.getBalanceAmount()).isEqualByComparingTo("125.50");
+    }
+
+    @Test
+    void executeBatch_shouldSkipDatabaseLookupForCachedResults() {
+        UUID accountId = UUID.randomUUID();
+        var cmd = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("5.00"), "BRL", OffsetDateTime.now());
+        var cached = new ApplyOperationResult(cmd.transactionId(), cmd.type(), cmd.amountValue(), cmd.amountCurrency(),
+                OperationStatus.SUCCEEDED, cmd.timestamp(), accountId, new BigDecimal("5.00"), "BRL");
+        resultCache.putOnCommit(cached);
+
+        var outcomes = useCase.executeBatch(List.of(cmd));
+
+        assertThat(outcomes.get(0).result()).isEqualTo(cached);
+        verify(operationRepository, never()).findAllById(any());
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void shouldSkipIdempotencyLookup_whenSeenFilterSaysDefinitelyNew() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        when(seenFilter.mightContain(txId)).thenReturn(false);
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account(accountId, "BRL", "10.00")));
+
+        var result = useCase.execute(new ApplyOperationCommand(accountId, txId, OperationType.CREDIT,
+                new BigDecimal("1.00"), "BRL", OffsetDateTime.now()));
+
+        assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        verify(operationRepository, never()).findById(any());
+        verify(seenFilter).record(txId);
+    }
+
+    @Test
+    void executeBatch_shouldOnlyLookUpTransactionIdsTheSeenFilterMightContain() {
+        UUID accountId = UUID.randomUUID();
+        var fresh = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("1.00"), "BRL", OffsetDateTime.now());
+        var maybeSeen = new ApplyOperationCommand(accountId, UUID.randomUUID(), OperationType.CREDIT,
+                new BigDecimal("2.00"), "BRL", OffsetDateTime.now());
+        when(seenFilter.mightContain(fresh.transactionId())).thenReturn(false);
+        when(operationRepository.findAllById(any())).thenReturn(List.of());
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account(accountId, "BRL", "0.00")));
+
+        var outcomes = useCase.executeBatch(List.of(fresh, maybeSeen));
+
+        assertThat(outcomes).allMatch(ApplyOperationOutcome::succeeded);
+        verify(operationRepository).findAllById(List.of(maybeSeen.transactionId()));
+        verify(seenFilter).record(fresh.transactionId());
+        verify(seenFilter).record(maybeSeen.transactionId());
+    }
+
+    @Test
+    void shouldWriteResultingBalanceThroughToBalanceCache_whenSucceeded() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+        var account = account(accountId, "BRL", "100.00");
+
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
+
+        useCase.execute(new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT, new BigDecimal("30.00"), "BRL", OffsetDateTime.now()));
+
+        var cached = balanceCache.get(accountId);
+        assertThat(cached).isNotNull();
+        assertThat(cached.balanceAmount()).isEqualByComparingTo("70.00");
+        assertThat(cached.balanceCurrency()).isEqualTo("BRL");
+        assertThat(cached.updatedAt()).isEqualTo(account.getUpdatedAt());
+    }
+
+    @Test
+    void shouldKeepBalanceCacheUntouched_whenDebitFails() {
+        UUID accountId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+
+        when(operationRepository.findById(txId)).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account(accountId, "BRL", "10.00")));
+
+        useCase.execute(new ApplyOperationCommand(
+                accountId, txId, OperationType.DEBIT, new BigDecimal("30.00"), "BRL", OffsetDateTime.now()));
+
+        assertThat(balanceCache.get(accountId)).isNull();
+    }
+
+    @Test
+    void transfer_shouldDebitAndCredit_andRecordTwoLinkedLegsUnderTheTransferId() {
+        UUID sourceId = UUID.randomUUID();
+        UUID destinationId = UUID.randomUUID();
+        AccountEntity source = account(sourceId, "BRL", "100.00");
+        AccountEntity destination = account(destinationId, "BRL", "5.00");
+
+        when(operationRepository.findById(any())).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(sourceId)).thenReturn(Optional.of(source));
+        when(accountRepository.findByIdForUpdate(destinationId)).thenReturn(Optional.of(destination));
+        when(operationRepository.insertTransferIfAbsent(any(), any())).thenReturn(2L);
+
+        var cmd = transfer(sourceId, destinationId, "30.00");
+        var result = useCase.execute(cmd);
+
+        assertThat(result.transactionId()).isEqualTo(cmd.transactionId());
+        assertThat(result.type()).isEqualTo(OperationType.TRANSFER);
+        assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(result.accountId()).isEqualTo(sourceId);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("70.00");
+        assertThat(source.getBalanceAmount()).isEqualByComparingTo("70.00");
+        assertThat(destination.getBalanceAmount()).isEqualByComparingTo("35.00");
+
+        var debit = ArgumentCaptor.forClass(OperationEntity.class);
+        var credit = ArgumentCaptor.forClass(OperationEntity.class);
+        verify(operationRepository).insertTransferIfAbsent(debit.capture(), credit.capture());
+        assertThat(debit.getValue().getTransactionId()).isEqualTo(cmd.transactionId());
+        assertThat(debit.getValue().getType()).isEqualTo("DEBIT");
+        assertThat(debit.getValue().getAccountId()).isEqualTo(sourceId);
+        assertThat(debit.getValue().getResultingBalanceAmount()).isEqualByComparingTo("70.00");
+        assertThat(credit.getValue().getTransactionId())
+                .isEqualTo(ApplyOperationCommand.creditLegTransactionId(cmd.transactionId()));
+        assertThat(credit.getValue().getType()).isEqualTo("CREDIT");
+        assertThat(credit.getValue().getAccountId()).isEqualTo(destinationId);
+        assertThat(credit.getValue().getResultingBalanceAmount()).isEqualByComparingTo("35.00");
+
+        verify(accountRepository).save(source);
+        verify(accountRepository).save(destination);
+        verify(operationRepository, never()).insertIfAbsent(any());
+        verify(outbox).append(argThat(ops -> ops.size() == 2));
+    }
+
+    @Test
+    void transfer_shouldLockBothAccountsInCanonicalOrder_regardlessOfDirection() {
+        UUID low = new UUID(0, 1);
+        UUID high = new UUID(0, 2);
+
+        when(operationRepository.findById(any())).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(low)).thenReturn(Optional.of(account(low, "BRL", "100.00")));
+        when(accountRepository.findByIdForUpdate(high)).thenReturn(Optional.of(account(high, "BRL", "100.00")));
+        when(operationRepository.insertTransferIfAbsent(any(), any())).thenReturn(2L);
+
+        useCase.execute(transfer(high, low, "10.00"));
+        useCase.execute(transfer(low, high, "10.00"));
+
+        InOrder order = inOrder(accountRepository);
+        order.verify(accountRepository).findByIdForUpdate(low);
+        order.verify(accountRepository).findByIdForUpdate(high);
+        order.verify(accountRepository).findByIdForUpdate(low);
+        order.verify(accountRepository).findByIdForUpdate(high);
+    }
+
+    @Test
+    void transfer_shouldRecordOnlyFailedDebitLeg_whenSourceHasInsufficientFunds() {
+        UUID sourceId = UUID.randomUUID();
+        UUID destinationId = UUID.randomUUID();
+        AccountEntity source = account(sourceId, "BRL", "10.00");
+        AccountEntity destination = account(destinationId, "BRL", "0.00");
+
+        when(operationRepository.findById(any())).thenReturn(Optional.empty());
+        when(accountRepository.findByIdForUpdate(sourceId)).thenReturn(Optional.of(source));
+        when(accountRepository.findByIdForUpdate(destinationId)).thenReturn(Optional.of(destination));
+
+        var result = useCase.execute(transfer(sourceId, destinationId, "30.00"));
+
+        assertThat(result.type()).isEqualTo(OperationType.TRANSFER);
+        assertThat(result.status()).isEqualTo(OperationStatus.FAILED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("10.00");
+        assertThat(source.getBalanceAmount()).isEqualByComparingTo("10.00");
+        assertThat(destination.getBalanceAmount()).isEqualByComparingTo("0.00");
+
+        verify(operationRepository).insertIfAbsent(argThat(op ->
+                op.getType().equals("DEBIT") && op.getStatus().equals("FAILED") && op.getAccountId().equals(sourceId)));
+        // a perna recusada também fica ligada à transferência: o retry a reconhece por transfer_id
+        verify(operationRepository).markTransfer(result.transactionId());
+        verify(operationRepository, never()).insertTransferIfAbsent(any(), any());
         verify(accountRepository, never()).save(any());
     }
+
+    @Test
+    void transfer_shouldReturnRecordedTransfer_onRetry_withoutLocking() {
+        UUID sourceId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+
+        when(operationRepository.findById(txId)).thenReturn(Optional.of(new OperationEntity(
+                txId, sourceId, "DEBIT", new BigDecimal("30.00"), "BRL", "SUCCEEDED",
+                OffsetDateTime.now(), new BigDecimal("70.00"), "BRL", OffsetDateTime.now())));
+        when(operationRepository.isTransfer(txId)).thenReturn(true);
+
+        var result = useCase.execute(new ApplyOperationCommand(
+                sourceId, txId, OperationType.TRANSFER, new BigDecimal("30.00"), "BRL",
+                OffsetDateTime.now(), UUID.randomUUID()));
+
+        assertThat(result.type()).isEqualTo(OperationType.TRANSFER);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("70.00");
+        verifyNoInteractions(accountRepository);
+        verify(operationRepository, never()).insertTransferIfAbsent(any(), any());
+    }
+
+    @Test
+    void transfer_shouldReject_whenTheTransactionIdBelongsToAPlainDebit() {
+        UUID sourceId = UUID.randomUUID();
+        UUID txId = UUID.randomUUID();
+
+        // DEBIT comum (transfer_id nulo) registrado antes com o mesmo transactionId
+        when(operationRepository.findById(txId)).thenReturn(Optional.of(new OperationEntity(
+                txId, sourceId, "DEBIT", new BigDecimal("30.00"), "BRL", "SUCCEEDED",
+                OffsetDateTime.now(), new BigDecimal("70.00"), "BRL", OffsetDateTime.now())));
+        when(operationRepository.isTransfer(txId)).thenReturn(false);
+
+        assertThatThrownBy(() -> useCase.execute(new ApplyOperationCommand(
+                sourceId, txId, OperationType.TRANSFER, new BigDecimal("30.00"), "BRL",
+                OffsetDateTime.now(), UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already registered as a DEBIT operation");
+        verifyNoInteractions(accountRepository);
+        verify(operationRepository, never()).insertTransferIfAbsent(any(), any());
+    }
+
+    @Test
+    void transfer_shouldRejectMissingOrSameDestination_andBatchItems() {
+        UUID accountId = UUID.randomUUID();
+        when(operationRepository.findById(any())).thenReturn(Optional.empty());
+        when(operationRepository.findAllById(any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> useCase.execute(transfer(accountId, null, "10.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("destinationAccountId is required for TRANSFER");
+        assertThatThrownBy(() -> useCase.execute(transfer(accountId, accountId, "10.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("destinationAccountId must differ from the source account");
+
+        var outcomes = useCase.executeBatch(List.of(transfer(accountId, UUID.randomUUID(), "10.00")));
+        assertThat(outcomes.get(0).succeeded()).isFalse();
+        assertThat(outcomes.get(0).error()).hasMessage("TRANSFER is not supported in batches");
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void transfer_crossingTransfersShouldNotDeadlock_andConserveTheTotal() throws Exception {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        Map<UUID, AccountEntity> accounts = Map.of(a, account(a, "BRL", "2000.00"), b, account(b, "BRL", "2000.00"));
+
+        // lock de linha simulado: travado no SELECT ... FOR UPDATE e solto só no "commit" (fim do execute)
+        Map<UUID, ReentrantLock> rowLocks = Map.of(a, new ReentrantLock(), b, new ReentrantLock());
+        ThreadLocal<List<ReentrantLock>> held = ThreadLocal.withInitial(ArrayList::new);
+
+        when(operationRepository.findById(any())).thenReturn(Optional.empty());
+        when(operationRepository.insertTransferIfAbsent(any(), any())).thenReturn(2L);
+        when(accountRepository.findByIdForUpdate(any())).thenAnswer(inv -> {
+            UUID id = inv.getArgument(0);
+            var lock = rowLocks.get(id);
+            // espera limitada: um ciclo de espera vira falha do teste em vez de travar o build
+            if (!lock.tryLock(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Lock wait timeout (deadlock) on " + id);
+            }
+            held.get().add(lock);
+            return Optional.of(accounts.get(id));
+        });
+
+        int threads = 8;
+        int transfersPerThread = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                boolean aToB = t % 2 == 0;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        try {
+                            useCase.execute(aToB ? transfer(a, b, "1.00") : transfer(b, a, "1.00"));
+                        } finally {
+                            held.get().forEach(ReentrantLock::unlock);
+                            held.get().clear();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // metade das threads em cada direção (saldo inicial cobre uma direção inteira, nenhuma falha):
+        // os saldos voltam ao ponto de partida
+        assertThat(accounts.get(a).getBalanceAmount()).isEqualByComparingTo("2000.00");
+        assertThat(accounts.get(b).getBalanceAmount()).isEqualByComparingTo("2000.00");
+        verify(operationRepository, times(threads * transfersPerThread)).insertTransferIfAbsent(any(), any());
+    }
 }
@@ -0,0 +1,197 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.cache.AccountBalanceCache;
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.idempotency.SeenTransactionFilter;
+import io.github.matheuscavalari.accountservice.application.port.AccountHoldPort;
+import io.github.matheuscavalari.accountservice.application.port.AccountHoldPort.Hold;
+import io.github.matheuscavalari.accountservice.application.port.OperationOutboxPort;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort;
+import io.github.matheuscavalari.accountservice.application.port.OperationPersistencePort.BalanceLayout;
+import io.github.matheuscavalari.accountservice.domain.model.HoldStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthorizationHoldUseCaseTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-12-30T12:00:00Z");
+
+    private AccountHoldPort holds;
+    private OperationPersistencePort persistence;
+    private SeenTransactionFilter seenFilter;
+    private OperationOutboxPort outbox;
+    private AuthorizationHoldUseCase useCase;
+
+    private final UUID accountId = UUID.randomUUID();
+    private final UUID holdId = UUID.randomUUID();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        holds = mock(AccountHoldPort.class);
+        persistence = mock(OperationPersistencePort.class);
+        seenFilter = mock(SeenTransactionFilter.class);
+        outbox = mock(OperationOutboxPort.class);
+        ObjectProvider<OperationOutboxPort> outboxProvider = mock(ObjectProvider.class);
+        when(outboxProvider.getIfAvailable()).thenReturn(outbox);
+        useCase = new AuthorizationHoldUseCase(holds, persistence,
+                new AccountBalanceCache(new SimpleMeterRegistry(), true, 1000, Duration.ofMinutes(1)),
+                seenFilter, outboxProvider, Duration.ofDays(7),
+                Clock.fixed(Instant.parse("2025-12-30T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private ApplyOperationCommand cmd(OperationType type, String amount) {
+        return new ApplyOperationCommand(accountId, holdId, type, new BigDecimal(amount), "BRL", NOW);
+    }
+
+    private Hold hold(HoldStatus status, String amount, OffsetDateTime expiresAt) {
+        return new Hold(holdId, accountId, new BigDecimal(amount), "BRL", status, NOW,
+                new BigDecimal("100.00"), "BRL", expiresAt);
+    }
+
+    @Test
+    void shouldPlaceHoldWithTtl_andReturnLedgerBalanceUnchanged() {
+        when(holds.findHold(holdId)).thenReturn(Optional.empty());
+        when(holds.placeHold(any(), any())).thenReturn(Optional.of(hold(HoldStatus.ACTIVE, "30.00", NOW.plusDays(7))));
+
+        var result = useCase.execute(cmd(OperationType.HOLD, "30.00"));
+
+        verify(holds).placeHold(any(), eq(NOW.plusDays(7)));
+        assertThat(result.type()).isEqualTo(OperationType.HOLD);
+        assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(result.resultingBalanceAmount()).isEqualByComparingTo("100.00");
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void shouldReturnStoredHold_whenHoldIsRetried() {
+        when(holds.findHold(holdId)).thenReturn(Optional.of(hold(HoldStatus.FAILED, "300.00", NOW.plusDays(7))));
+
+        var result = useCase.execute(cmd(OperationType.HOLD, "300.00"));
+
+        assertThat(result.status()).isEqualTo(OperationStatus.FAILED);
+        verify(holds, never()).placeHold(any(), any());
+    }
+
+    @Test
+    void shouldRejectHold_onHotAccounts() {
+        when(holds.findHold(holdId)).thenReturn(Optional.empty());
+        when(holds.placeHold(any(), any())).thenReturn(Optional.empty());
+        when(persistence.findBalanceLayout(accountId)).thenReturn(Optional.of(new BalanceLayout(4, "BRL")));
+
+        assertThatThrownBy(() -> useCase.execute(cmd(OperationType.HOLD, "10.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("hot accounts");
+    }
+
+    @Test
+    void shouldThrowAccountNotFound_whenHoldingOnUnknownAccount() {
+        when(holds.findHold(holdId)).thenReturn(Optional.empty());
+        when(holds.placeHold(any(), any())).thenReturn(Optional.empty());
+        when(persistence.findBalanceLayout(accountId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> useCase.execute(cmd(OperationType.HOLD, "10.00")))
+                .isInstanceOf(ApplyOperationUseCase.AccountNotFoundException.class);
+    }
+
+    @Test
+    void shouldCaptureActiveHold_andPublishTheDebit() {
+        var active = hold(HoldStatus.ACTIVE, "30.00", NOW.plusDays(1));
+        var captured = new ApplyOperationResult(holdId, OperationType.CAPTURE, new BigDecimal("25.00"), "BRL",
+                OperationStatus.SUCCEEDED, NOW, accountId, new BigDecimal("75.00"), "BRL");
+        when(holds.lockHold(holdId)).thenReturn(Optional.of(active));
+        when(holds.capture(eq(active), any())).thenReturn(captured);
+
+        var result = useCase.execute(cmd(OperationType.CAPTURE, "25.00"));
+
+        assertThat(result).isEqualTo(captured);
+        verify(outbox).append(List.of(captured));
+        verify(seenFilter).record(holdId);
+    }
+
+    @Test
+    void shouldReturnStoredCapture_whenCaptureIsRetried() {
+        var stored = new ApplyOperationResult(holdId, OperationType.CAPTURE, new BigDecimal("25.00"), "BRL",
+                OperationStatus.SUCCEEDED, NOW, accountId, new BigDecimal("75.00"), "BRL");
+        when(holds.lockHold(holdId)).thenReturn(Optional.of(hold(HoldStatus.CAPTURED, "30.00", NOW.plusDays(1))));
+        when(persistence.findOperation(holdId)).thenReturn(Optional.of(stored));
+
+        assertThat(useCase.execute(cmd(OperationType.CAPTURE, "25.00"))).isEqualTo(stored);
+        verify(holds, never()).capture(any(), any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void shouldRejectCapture_aboveHeldAmount_orAfterExpiry() {
+        when(holds.lockHold(holdId)).thenReturn(Optional.of(hold(HoldStatus.ACTIVE, "30.00", NOW.plusDays(1))));
+        assertThatThrownBy(() -> useCase.execute(cmd(OperationType.CAPTURE, "30.01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds the held amount");
+
+        when(holds.lockHold(holdId)).thenReturn(Optional.of(hold(HoldStatus.ACTIVE, "30.00", NOW)));
+        assertThatThrownBy(() -> useCase.execute(cmd(OperationType.CAPTURE, "10.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expired");
+
+        verify(holds, never()).capture(any(), any());
+    }
+
+    @Test
+    void shouldThrowHoldNotFound_whenHoldBelongsToAnotherAccount() {
+        var other = new Hold(holdId, UUID.randomUUID(), new BigDecimal("30.00"), "BRL", HoldStatus.ACTIVE, NOW,
+                new BigDecimal("100.00"), "BRL", NOW.plusDays(1));
+        when(holds.lockHold(holdId)).thenReturn(Optional.of(other));
+
+        assertThatThrownBy(() -> useCase.execute(cmd(OperationType.RELEASE, "30.00")))
+                .isInstanceOf(AuthorizationHoldUseCase.HoldNotFoundException.class);
+        verify(holds, never()).release(any());
+    }
+
+    @Test
+    void shouldReleaseActiveHold_andTreatExpiredHoldAsAlreadyReleased() {
+        var active = hold(HoldStatus.ACTIVE, "30.00", NOW.plusDays(1));
+        when(holds.lockHold(holdId)).thenReturn(Optional.of(active));
+        when(holds.release(active)).thenReturn(new BigDecimal("100.00"));
+
+        var released = useCase.execute(cmd(OperationType.RELEASE, "30.00"));
+        assertThat(released.type()).isEqualTo(OperationType.RELEASE);
+        assertThat(released.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(released.resultingBalanceAmount()).isEqualByComparingTo("100.00");
+
+        when(holds.lockHold(holdId)).thenReturn(Optional.of(hold(HoldStatus.EXPIRED, "30.00", NOW.minusDays(1))));
+        when(persistence.findBalance(accountId))
+                .thenReturn(Optional.of(new AccountBalanceView(accountId, new BigDecimal("100.00"), "BRL", NOW)));
+
+        assertThat(useCase.execute(cmd(OperationType.RELEASE, "30.00")).status()).isEqualTo(OperationStatus.SUCCEEDED);
+        verify(holds, times(1)).release(any());
+    }
+
+    @Test
+    void shouldRejectRelease_ofCapturedHold() {
+        when(holds.lockHold(holdId)).thenReturn(Optional.of(hold(HoldStatus.CAPTURED, "30.00", NOW.plusDays(1))));
+
+        assertThatThrownBy(() -> useCase.execute(cmd(OperationType.RELEASE, "30.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CAPTURED");
+    }
+}
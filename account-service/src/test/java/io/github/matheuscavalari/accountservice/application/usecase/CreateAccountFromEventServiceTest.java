@@ -1,15 +1,20 @@
 package io.github.matheuscavalari.accountservice.application.usecase;
 
-import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.entity.AccountEntity;
-import io.github.matheuscavalari.accountservice.adapters.outbound.persistence.jpa.repository.AccountJpaRepository;
+import io.github.matheuscavalari.accountservice.application.cache.AccountBalanceCache;
+import io.github.matheuscavalari.accountservice.application.dto.AccountCreatedEvent;
+import io.github.matheuscavalari.accountservice.application.port.AccountCreationPort;
+import io.github.matheuscavalari.accountservice.application.port.AccountCreationPort.NewAccount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,50 +22,56 @@ import static org.mockito.Mockito.*;
 
 class CreateAccountFromEventServiceTest {
 
-    private AccountJpaRepository repo;
+    private AccountCreationPort accountCreation;
+    private AccountBalanceCache balanceCache;
     private CreateAccountFromEventService service;
 
     @BeforeEach
     void setUp() {
-        repo = mock(AccountJpaRepository.class);
-        service = new CreateAccountFromEventService(repo, "BRL");
+        accountCreation = mock(AccountCreationPort.class);
+        balanceCache = new AccountBalanceCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+        service = new CreateAccountFromEventService(accountCreation, balanceCache, new SimpleMeterRegistry(), "BRL");
+    }
+
+    /** Simula o INSERT ... ON CONFLICT DO NOTHING RETURNING id inserindo todas as contas recebidas. */
+    private void insertAll() {
+        when(accountCreation.insertIfAbsent(any(), any(), any())).thenAnswer(inv -> {
+            List<NewAccount> accounts = inv.getArgument(0);
+            return Set.copyOf(accounts.stream().map(NewAccount::id).toList());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private NewAccount insertedAccount() {
+        ArgumentCaptor<List<NewAccount>> captor = ArgumentCaptor.forClass(List.class);
+        verify(accountCreation).insertIfAbsent(captor.capture(), eq("BRL"), any());
+        assertThat(captor.getValue()).hasSize(1);
+        return captor.getValue().get(0);
     }
 
     @Test
     void shouldCreateAccountWithZeroBalanceAndDefaultCurrency() {
         UUID accountId = UUID.randomUUID();
-
-        when(repo.existsById(accountId)).thenReturn(false);
+        insertAll();
 
         service.createIfNotExists(accountId, "matheus", "1634874339", "ENABLED");
 
-        ArgumentCaptor<AccountEntity> captor = ArgumentCaptor.forClass(AccountEntity.class);
-        verify(repo).save(captor.capture());
-
-        AccountEntity saved = captor.getValue();
-
-        assertThat(saved.getId()).isEqualTo(accountId);
-        assertThat(saved.getOwner()).isEqualTo("matheus");
-        assertThat(saved.getStatus()).isEqualTo("ENABLED");
-
-        // requisito do case: saldo inicial ZERO
-        assertThat(saved.getBalanceAmount()).isEqualByComparingTo(BigDecimal.ZERO);
-        assertThat(saved.getBalanceCurrency()).isEqualTo("BRL");
+        // requisito do case: saldo inicial ZERO (fixo no INSERT) na moeda padrão
+        NewAccount saved = insertedAccount();
+        assertThat(saved.id()).isEqualTo(accountId);
+        assertThat(saved.owner()).isEqualTo("matheus");
+        assertThat(saved.status()).isEqualTo("ENABLED");
     }
 
     @Test
     void shouldParseCreatedAtEpochSecondsAsUtc() {
         UUID accountId = UUID.randomUUID();
-        when(repo.existsById(accountId)).thenReturn(false);
+        insertAll();
 
         // 1634874339 -> 2021-10-22T...Z (UTC)
         service.createIfNotExists(accountId, "owner", "1634874339", "ENABLED");
 
-        ArgumentCaptor<AccountEntity> captor = ArgumentCaptor.forClass(AccountEntity.class);
-        verify(repo).save(captor.capture());
-
-        AccountEntity saved = captor.getValue();
-        OffsetDateTime createdAt = saved.getCreatedAt();
+        OffsetDateTime createdAt = insertedAccount().createdAt();
 
         assertThat(createdAt.getOffset()).isEqualTo(ZoneOffset.UTC);
         assertThat(createdAt.toEpochSecond()).isEqualTo(1634874339L);
@@ -70,57 +81,114 @@ class CreateAccountFromEventServiceTest {
     void shouldNotFailOnDuplicateInsertRace_condition() {
         UUID accountId = UUID.randomUUID();
 
-        when(repo.existsById(accountId)).thenReturn(false);
-        when(repo.save(any(AccountEntity.class))).thenThrow(new DataIntegrityViolationException("dup key"));
+        // ON CONFLICT DO NOTHING: conta já existente → nenhum id devolvido, sem exceção
+        when(accountCreation.insertIfAbsent(any(), any(), any())).thenReturn(Set.of());
 
         // não deve lançar
         service.createIfNotExists(accountId, "matheus", "1634874339", "ENABLED");
 
-        verify(repo).save(any(AccountEntity.class));
+        verify(accountCreation).insertIfAbsent(any(), any(), any());
     }
 
     @Test
     void shouldHandleNullOrBlankEpochByUsingNow() {
         UUID accountId = UUID.randomUUID();
-        when(repo.existsById(accountId)).thenReturn(false);
+        insertAll();
 
         service.createIfNotExists(accountId, "matheus", " ", "ENABLED");
 
-        ArgumentCaptor<AccountEntity> captor = ArgumentCaptor.forClass(AccountEntity.class);
-        verify(repo).save(captor.capture());
-
-        AccountEntity saved = captor.getValue();
-        assertThat(saved.getCreatedAt()).isNotNull();
-        assertThat(saved.getUpdatedAt()).isNotNull();
+        assertThat(insertedAccount().createdAt()).isNotNull();
     }
 
     @Test
     void shouldHandleNullEpochByUsingNow() {
         UUID accountId = UUID.randomUUID();
-        when(repo.existsById(accountId)).thenReturn(false);
+        insertAll();
 
         service.createIfNotExists(accountId, "matheus", null, "ENABLED");
 
-        ArgumentCaptor<AccountEntity> captor = ArgumentCaptor.forClass(AccountEntity.class);
-        verify(repo).save(captor.capture());
-
-        AccountEntity saved = captor.getValue();
-        assertThat(saved.getCreatedAt()).isNotNull();
-        assertThat(saved.getUpdatedAt()).isNotNull();
+        assertThat(insertedAccount().createdAt()).isNotNull();
     }
 
     @Test
     void shouldDefaultStatusToEnabledWhenStatusIsNull() {
         UUID accountId = UUID.randomUUID();
-        when(repo.existsById(accountId)).thenReturn(false);
+        insertAll();
 
         service.createIfNotExists(accountId, "matheus", "1634874339", null);
 
-        ArgumentCaptor<AccountEntity> captor = ArgumentCaptor.forClass(AccountEntity.class);
-        verify(repo).save(captor.capture());
+        assertThat(insertedAccount().status()).isEqualTo("ENABLED");
+    }
+
+    @Test
+    void shouldSeedBalanceCacheWithZeroBalance() {
+        UUID accountId = UUID.randomUUID();
+        insertAll();
 
-        AccountEntity saved = captor.getValue();
-        assertThat(saved.getStatus()).isEqualTo("ENABLED");
+        service.createIfNotExists(accountId, "matheus", "1634874339", "ENABLED");
+
+        var cached = balanceCache.get(accountId);
+        assertThat(cached).isNotNull();
+        assertThat(cached.balanceAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(cached.balanceCurrency()).isEqualTo("BRL");
     }
-}
 
+    @Test
+    void shouldNotSeedBalanceCache_whenAccountAlreadyExists() {
+        UUID accountId = UUID.randomUUID();
+        when(accountCreation.insertIfAbsent(any(), any(), any())).thenReturn(Set.of());
+
+        service.createIfNotExists(accountId, "matheus", "1634874339", "ENABLED");
+
+        assertThat(balanceCache.get(accountId)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldInsertBatchInOneCall_andAcceptOnlyValidEvents() {
+        UUID fresh = UUID.randomUUID();
+        UUID existing = UUID.randomUUID();
+        UUID invalid = UUID.randomUUID();
+
+        when(accountCreation.insertIfAbsent(any(), eq("BRL"), any())).thenReturn(Set.of(fresh));
+
+        var accepted = service.createAllIfNotExist(List.of(
+                new AccountCreatedEvent(fresh, "owner-1", "1634874339", "ENABLED"),
+                new AccountCreatedEvent(existing, "owner-2", null, null),
+                new AccountCreatedEvent(invalid, "owner-3", "not-a-number", "ENABLED")
+        ));
+
+        assertThat(accepted).containsExactlyInAnyOrder(fresh, existing);
+
+        ArgumentCaptor<List<NewAccount>> captor = ArgumentCaptor.forClass(List.class);
+        verify(accountCreation, times(1)).insertIfAbsent(captor.capture(), eq("BRL"), any());
+        assertThat(captor.getValue()).extracting(NewAccount::id).containsExactly(fresh, existing);
+        assertThat(captor.getValue().get(0).createdAt().toEpochSecond()).isEqualTo(1634874339L);
+        assertThat(captor.getValue().get(1).status()).isEqualTo("ENABLED");
+
+        // só a conta efetivamente inserida semeia o cache de saldo
+        assertThat(balanceCache.get(fresh).balanceAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(balanceCache.get(existing)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLeaveEventsWithoutOwnerOutOfTheBatch() {
+        UUID valid = UUID.randomUUID();
+        UUID nullOwner = UUID.randomUUID();
+        UUID blankOwner = UUID.randomUUID();
+        insertAll();
+
+        var accepted = service.createAllIfNotExist(List.of(
+                new AccountCreatedEvent(valid, "owner-1", "1634874339", "ENABLED"),
+                new AccountCreatedEvent(nullOwner, null, "1634874339", "ENABLED"),
+                new AccountCreatedEvent(blankOwner, "  ", "1634874339", "ENABLED")
+        ));
+
+        // owner é NOT NULL: um evento sem owner no INSERT desfaria o lote inteiro
+        assertThat(accepted).containsExactly(valid);
+        ArgumentCaptor<List<NewAccount>> captor = ArgumentCaptor.forClass(List.class);
+        verify(accountCreation).insertIfAbsent(captor.capture(), eq("BRL"), any());
+        assertThat(captor.getValue()).extracting(NewAccount::id).containsExactly(valid);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementPage.StatementEntry;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery;
+import io.github.matheuscavalari.accountservice.application.port.OperationQueryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ExportAccountStatementUseCaseTest {
+
+    private final UUID accountId = UUID.randomUUID();
+    private final AccountStatementQuery query = new AccountStatementQuery(accountId, null, null, null, null, null, false, null);
+    private OperationQueryPort operations;
+    private SimpleMeterRegistry meterRegistry;
+    private ExportAccountStatementUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(OperationQueryPort.class);
+        meterRegistry = new SimpleMeterRegistry();
+        useCase = new ExportAccountStatementUseCase(operations, meterRegistry);
+    }
+
+    @Test
+    void shouldThrowNotFoundOnPrepare_withoutStartingTheStream() {
+        when(operations.accountExists(accountId)).thenReturn(false);
+
+        assertThatThrownBy(() -> useCase.prepare(query))
+                .isInstanceOf(ApplyOperationUseCase.AccountNotFoundException.class);
+        verify(operations, never()).streamStatement(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamOnlyWhenExportRuns_andCountRows() {
+        when(operations.accountExists(accountId)).thenReturn(true);
+        var entry = mock(StatementEntry.class);
+        doAnswer(inv -> {
+            Consumer<StatementEntry> consumer = inv.getArgument(1);
+            consumer.accept(entry);
+            consumer.accept(entry);
+            return null;
+        }).when(operations).streamStatement(eq(query), any());
+
+        var export = useCase.prepare(query);
+        verify(operations, never()).streamStatement(any(), any());
+
+        var received = new ArrayList<StatementEntry>();
+        export.forEach(received::add);
+
+        assertThat(received).hasSize(2);
+        assertThat(meterRegistry.get("account.statement.export.rows").counter().count()).isEqualTo(2);
+    }
+}
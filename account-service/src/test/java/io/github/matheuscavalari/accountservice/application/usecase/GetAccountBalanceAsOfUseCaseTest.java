@@ -0,0 +1,88 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountBalanceView;
+import io.github.matheuscavalari.accountservice.application.port.BalanceSnapshotPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GetAccountBalanceAsOfUseCaseTest {
+
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+
+    private BalanceSnapshotPort snapshots;
+    private GetAccountBalanceAsOfUseCase useCase;
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        snapshots = mock(BalanceSnapshotPort.class);
+        useCase = new GetAccountBalanceAsOfUseCase(snapshots, SAO_PAULO);
+        when(snapshots.balanceAsOf(eq(accountId), any(), any(), any())).thenReturn(Optional.of(
+                new AccountBalanceView(accountId, new BigDecimal("10.00"), "BRL", OffsetDateTime.now())));
+    }
+
+    @Test
+    void shouldStartFromTheDayBeforeAsOf_andReplayFromItsEnd() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.of(LocalDate.parse("2025-12-31")));
+        var asOf = OffsetDateTime.parse("2025-12-20T23:59:00-03:00");
+
+        useCase.execute(accountId, asOf);
+
+        verify(snapshots).balanceAsOf(accountId, asOf, LocalDate.parse("2025-12-19"),
+                OffsetDateTime.parse("2025-12-20T00:00:00-03:00"));
+    }
+
+    @Test
+    void shouldUseTheDayOfAsOfInTheSnapshotZone() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.of(LocalDate.parse("2025-12-31")));
+        // 01:30 UTC do dia 21 ainda é dia 20 em São Paulo
+        var asOf = OffsetDateTime.parse("2025-12-21T01:30:00Z");
+
+        useCase.execute(accountId, asOf);
+
+        verify(snapshots).balanceAsOf(accountId, asOf, LocalDate.parse("2025-12-19"),
+                OffsetDateTime.parse("2025-12-20T00:00:00-03:00"));
+    }
+
+    @Test
+    void shouldStartFromLastGeneratedDay_whenSnapshotsLagBehindAsOf() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.of(LocalDate.parse("2025-12-10")));
+        var asOf = OffsetDateTime.parse("2025-12-20T12:00:00-03:00");
+
+        useCase.execute(accountId, asOf);
+
+        verify(snapshots).balanceAsOf(accountId, asOf, LocalDate.parse("2025-12-10"),
+                OffsetDateTime.parse("2025-12-11T00:00:00-03:00"));
+    }
+
+    @Test
+    void shouldReplayWholeHistory_whenNoSnapshotWasGenerated() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.empty());
+        var asOf = OffsetDateTime.parse("2025-12-20T12:00:00-03:00");
+
+        useCase.execute(accountId, asOf);
+
+        verify(snapshots).balanceAsOf(accountId, asOf, null, null);
+    }
+
+    @Test
+    void shouldThrowAccountNotFound_whenAccountDoesNotExist() {
+        when(snapshots.lastSnapshotDay()).thenReturn(Optional.empty());
+        var missing = UUID.randomUUID();
+        when(snapshots.balanceAsOf(eq(missing), any(), any(), any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> useCase.execute(missing, OffsetDateTime.now()))
+                .isInstanceOf(ApplyOperationUseCase.AccountNotFoundException.class);
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementPage.StatementEntry;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery;
+import io.github.matheuscavalari.accountservice.application.dto.AccountStatementQuery.StatementCursor;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationResult;
+import io.github.matheuscavalari.accountservice.application.port.OperationQueryPort;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GetAccountStatementUseCaseTest {
+
+    private final UUID accountId = UUID.randomUUID();
+    private OperationQueryPort operations;
+    private GetAccountStatementUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(OperationQueryPort.class);
+        useCase = new GetAccountStatementUseCase(operations, 2, 10);
+    }
+
+    private AccountStatementQuery query(StatementCursor after, Integer limit) {
+        return new AccountStatementQuery(accountId, null, null, null, null, after, false, limit);
+    }
+
+    private List<StatementEntry> entries(int count) {
+        OffsetDateTime base = OffsetDateTime.parse("2025-12-30T12:00:00Z");
+        return IntStream.range(0, count)
+                .mapToObj(i -> new StatementEntry(new ApplyOperationResult(
+                        UUID.randomUUID(), OperationType.CREDIT, BigDecimal.ONE, "BRL", OperationStatus.SUCCEEDED,
+                        base, accountId, BigDecimal.valueOf(i + 1), "BRL"), base.plusSeconds(i)))
+                .toList();
+    }
+
+    @Test
+    void shouldReadOneExtraEntry_andReturnCursorOfLastEntryOfPage() {
+        var rows = entries(3);
+        when(operations.findStatement(any(), eq(3))).thenReturn(rows);
+
+        var page = useCase.execute(query(null, null));
+
+        assertThat(page.entries()).hasSize(2);
+        assertThat(page.next()).isEqualTo(rows.get(1).cursor());
+        verify(operations, never()).accountExists(any());
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+        when(operations.findStatement(any(), eq(6))).thenReturn(entries(4));
+
+        var page = useCase.execute(query(new StatementCursor(OffsetDateTime.now(), UUID.randomUUID()), 5));
+
+        assertThat(page.entries()).hasSize(4);
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    void shouldThrowNotFound_whenFirstPageEmptyAndAccountMissing() {
+        when(operations.findStatement(any(), anyInt())).thenReturn(List.of());
+        when(operations.accountExists(accountId)).thenReturn(false);
+
+        assertThatThrownBy(() -> useCase.execute(query(null, null)))
+                .isInstanceOf(ApplyOperationUseCase.AccountNotFoundException.class);
+    }
+
+    @Test
+    void shouldRejectLimitAboveMaxAndInvertedTimeRange() {
+        assertThatThrownBy(() -> useCase.execute(query(null, 11)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        assertThatThrownBy(() -> useCase.execute(new AccountStatementQuery(
+                accountId, null, null, now, now, null, false, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(operations);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.dto.AccountCreatedEvent;
+import io.github.matheuscavalari.accountservice.application.dto.AccountImportLine;
+import io.github.matheuscavalari.accountservice.application.port.AccountCreationPort.NewAccount;
+import io.github.matheuscavalari.accountservice.application.port.AccountImportPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImportAccountsUseCaseTest {
+
+    private AccountImportPort accountImport;
+    private List<Integer> chunkSizes;
+
+    @BeforeEach
+    void setUp() {
+        accountImport = mock(AccountImportPort.class);
+        chunkSizes = new ArrayList<>();
+        // cada lote insere tudo, exceto contas com owner "existing"
+        when(accountImport.copyAndMerge(any(), eq("BRL"), any())).thenAnswer(inv -> {
+            List<NewAccount> chunk = inv.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return chunk.stream().filter(a -> !a.owner().equals("existing")).count();
+        });
+    }
+
+    private ImportAccountsUseCase useCase(int chunkSize, int maxReportedRejections) {
+        return new ImportAccountsUseCase(accountImport, new SimpleMeterRegistry(), "BRL", chunkSize, maxReportedRejections);
+    }
+
+    private static AccountImportLine line(long n, String owner, String createdAt, String status) {
+        return AccountImportLine.parsed(n, new AccountCreatedEvent(UUID.randomUUID(), owner, createdAt, status));
+    }
+
+    @Test
+    void shouldCopyInFixedSizeChunks_andCountInsertedAndDuplicates() {
+        var lines = LongStream.rangeClosed(1, 25)
+                .mapToObj(n -> line(n, n % 5 == 0 ? "existing" : "owner-" + n, "1634874339", "ENABLED"));
+
+        var report = useCase(10, 100).importAccounts(lines);
+
+        assertThat(chunkSizes).containsExactly(10, 10, 5);
+        assertThat(report.accepted()).isEqualTo(25);
+        assertThat(report.inserted()).isEqualTo(20);
+        assertThat(report.duplicates()).isEqualTo(5);
+        assertThat(report.rejected()).isZero();
+        assertThat(report.rowsPerSecond()).isPositive();
+    }
+
+    @Test
+    void shouldRejectInvalidLinesBeforeCopy_andKeepOnlyFirstRejections() {
+        var lines = Stream.of(
+                line(1, "ok", "1634874339", null),
+                AccountImportLine.rejected(2, "invalid JSON: boom"),
+                AccountImportLine.parsed(3, new AccountCreatedEvent(null, "no-id", null, null)),
+                line(4, " ", null, null),
+                line(5, "bad-epoch", "yesterday", null),
+                line(6, "nul\0owner", null, null)
+        );
+
+        var report = useCase(10, 2).importAccounts(lines);
+
+        assertThat(report.accepted()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(5);
+        assertThat(report.rejections())
+                .extracting(r -> r.lineNumber() + ": " + r.reason())
+                .containsExactly("2: invalid JSON: boom", "3: missing id");
+        assertThat(chunkSizes).containsExactly(1);
+    }
+
+    @Test
+    void shouldNotCallPort_whenNothingAccepted() {
+        var report = useCase(10, 100).importAccounts(Stream.of(AccountImportLine.rejected(1, "x")));
+
+        assertThat(report.inserted()).isZero();
+        assertThat(chunkSizes).isEmpty();
+    }
+}
@@ -0,0 +1,250 @@
+package io.github.matheuscavalari.accountservice.application.usecase;
+
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.Discrepancy;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.Discrepancy.Kind;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.OperationEntry;
+import io.github.matheuscavalari.accountservice.application.port.BalanceReconciliationPort.StoredBalance;
+import io.github.matheuscavalari.accountservice.domain.model.OperationStatus;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReconcileBalancesUseCaseTest {
+
+    /** Ordem do Postgres para uuid: bytes sem sinal. */
+    private static final Comparator<UUID> PG_ORDER = Comparator
+            .comparing((UUID id) -> id.getMostSignificantBits(), Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private InMemoryReconciliation port;
+
+    @BeforeEach
+    void setUp() {
+        port = new InMemoryReconciliation();
+    }
+
+    private ReconcileBalancesUseCase useCase(int partitions, int workers) {
+        return new ReconcileBalancesUseCase(port, new SimpleMeterRegistry(), partitions, workers, 0);
+    }
+
+    private static OperationEntry op(UUID accountId, OperationType type, OperationStatus status, long amount, long resulting) {
+        return new OperationEntry(UUID.randomUUID(), accountId, type, status, amount, resulting);
+    }
+
+    @Test
+    void partitionBounds_shouldCoverTheWholeUuidSpaceInAscendingUnsignedOrder() {
+        int partitions = 7;
+        assertThat(ReconcileBalancesUseCase.lowerBound(0, partitions)).isEqualTo(new UUID(0, 0));
+        assertThat(ReconcileBalancesUseCase.upperBound(partitions - 1, partitions)).isNull();
+        for (int p = 0; p < partitions - 1; p++) {
+            assertThat(ReconcileBalancesUseCase.upperBound(p, partitions))
+                    .isEqualTo(ReconcileBalancesUseCase.lowerBound(p + 1, partitions));
+            assertThat(PG_ORDER.compare(ReconcileBalancesUseCase.lowerBound(p, partitions),
+                    ReconcileBalancesUseCase.lowerBound(p + 1, partitions))).isNegative();
+        }
+        // metade do espaço: primeiro byte 0x80 (negativo como long com sinal)
+        assertThat(ReconcileBalancesUseCase.lowerBound(1, 2).toString()).startsWith("80000000");
+    }
+
+    @Test
+    void shouldReportNothing_whenBalancesAndChainsAreConsistent() {
+        var healthy = UUID.randomUUID();
+        port.account(healthy, 7_000, false);
+        port.operation(op(healthy, OperationType.CREDIT, OperationStatus.SUCCEEDED, 10_000, 10_000));
+        port.operation(op(healthy, OperationType.DEBIT, OperationStatus.FAILED, 20_000, 10_000));
+        port.operation(op(healthy, OperationType.DEBIT, OperationStatus.SUCCEEDED, 3_000, 7_000));
+        port.account(UUID.randomUUID(), 0, false);
+
+        var report = useCase(16, 4).reconcile();
+
+        assertThat(report.accounts()).isEqualTo(2);
+        assertThat(report.operations()).isEqualTo(3);
+        assertThat(report.discrepancies()).isZero();
+        assertThat(report.partitionsProcessed()).isEqualTo(16);
+        assertThat(port.discrepancies).isEmpty();
+        assertThat(port.finished).isTrue();
+    }
+
+    @Test
+    void shouldAcceptChain_whenOperationsOfTheSameTransactionAreReadOutOfOrder() {
+        var accountId = UUID.randomUUID();
+        port.account(accountId, 5_000, false);
+        // mesmo created_at no lote: a leitura por transaction_id não segue a ordem de aplicação
+        port.operation(op(accountId, OperationType.DEBIT, OperationStatus.SUCCEEDED, 1_000, 5_000));
+        port.operation(op(accountId, OperationType.CREDIT, OperationStatus.SUCCEEDED, 6_000, 6_000));
+
+        assertThat(useCase(1, 1).reconcile().discrepancies()).isZero();
+    }
+
+    @Test
+    void shouldReportBalanceMismatch_andBrokenChain() {
+        var drifted = UUID.randomUUID();
+        port.account(drifted, 9_999, false);
+        port.operation(op(drifted, OperationType.CREDIT, OperationStatus.SUCCEEDED, 10_000, 10_000));
+
+        var gap = UUID.randomUUID();
+        port.account(gap, 15_000, false);
+        port.operation(op(gap, OperationType.CREDIT, OperationStatus.SUCCEEDED, 10_000, 10_000));
+        // resultante não parte do saldo anterior (10000 -> 12000 + 5000 = 17000 esperado)
+        port.operation(op(gap, OperationType.CREDIT, OperationStatus.SUCCEEDED, 5_000, 12_000));
+
+        var withoutOperations = UUID.randomUUID();
+        port.account(withoutOperations, 100, false);
+
+        useCase(4, 2).reconcile();
+
+        assertThat(port.discrepancies).containsExactlyInAnyOrder(
+                new Discrepancy(drifted, Kind.BALANCE_MISMATCH, 10_000L, 9_999L, null),
+                new Discrepancy(gap, Kind.BROKEN_CHAIN, 15_000L, null, null),
+                new Discrepancy(withoutOperations, Kind.BALANCE_MISMATCH, 0L, 100L, null));
+    }
+
+    @Test
+    void shouldReportFailedOperationThatHadEnoughBalance() {
+        var accountId = UUID.randomUUID();
+        port.account(accountId, 10_000, false);
+        port.operation(op(accountId, OperationType.CREDIT, OperationStatus.SUCCEEDED, 10_000, 10_000));
+        var wronglyFailed = op(accountId, OperationType.DEBIT, OperationStatus.FAILED, 5_000, 10_000);
+        port.operation(wronglyFailed);
+
+        useCase(1, 1).reconcile();
+
+        assertThat(port.discrepancies).containsExactly(new Discrepancy(
+                accountId, Kind.INVALID_FAILED_OPERATION, null, 10_000L, wronglyFailed.transactionId()));
+    }
+
+    @Test
+    void shouldOnlyCompareTotals_forHotAccounts() {
+        var hot = UUID.randomUUID();
+        port.account(hot, 8_000, true);
+        // resultantes lidos sem lock entre slots: não formam cadeia, mas a soma bate
+        port.operation(op(hot, OperationType.CREDIT, OperationStatus.SUCCEEDED, 5_000, 8_000));
+        port.operation(op(hot, OperationType.CREDIT, OperationStatus.SUCCEEDED, 3_000, 8_000));
+
+        assertThat(useCase(1, 1).reconcile().discrepancies()).isZero();
+    }
+
+    @Test
+    void shouldResumeUnfinishedRun_readingOnlyPendingPartitions() {
+        var run = port.startRun(8);
+        port.completePartition(run.id(), 0, new BalanceReconciliationPort.PartitionResult(3, 5, List.of()));
+        port.completePartition(run.id(), 1, new BalanceReconciliationPort.PartitionResult(2, 1, List.of()));
+        port.scanned.clear();
+
+        // configuração atual diferente: a execução retomada mantém as partições com que começou
+        var report = useCase(64, 2).reconcile();
+
+        assertThat(report.resumed()).isTrue();
+        assertThat(report.runId()).isEqualTo(run.id());
+        assertThat(report.partitions()).isEqualTo(8);
+        assertThat(report.partitionsProcessed()).isEqualTo(6);
+        assertThat(port.scanned).hasSize(6).doesNotContain(
+                ReconcileBalancesUseCase.lowerBound(0, 8), ReconcileBalancesUseCase.lowerBound(1, 8));
+        assertThat(report.accounts()).isEqualTo(5);
+        assertThat(report.operations()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldLeaveRunPending_whenAPartitionFails() {
+        port.failScans = true;
+
+        assertThatThrownBy(() -> useCase(4, 2).reconcile())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("failed");
+        assertThat(port.finished).isFalse();
+        assertThat(port.findUnfinishedRun()).isPresent();
+    }
+
+    /** Porta em memória: contas e operações ordenadas como o Postgres as devolveria. */
+    private static final class InMemoryReconciliation implements BalanceReconciliationPort {
+
+        private final Map<UUID, StoredBalance> accounts = new TreeMap<>(PG_ORDER);
+        private final List<OperationEntry> operations = new ArrayList<>();
+        private final Map<Integer, PartitionResult> completed = new ConcurrentHashMap<>();
+        private final List<Discrepancy> discrepancies = new CopyOnWriteArrayList<>();
+        private final Set<UUID> scanned = ConcurrentHashMap.newKeySet();
+        private Run run;
+        private boolean finished;
+        private volatile boolean failScans;
+
+        void account(UUID id, long balanceMinor, boolean hot) {
+            accounts.put(id, new StoredBalance(id, balanceMinor, hot));
+        }
+
+        void operation(OperationEntry op) {
+            operations.add(op);
+        }
+
+        @Override
+        public Optional<Run> findUnfinishedRun() {
+            return run != null && !finished ? Optional.of(run) : Optional.empty();
+        }
+
+        @Override
+        public Run startRun(int partitions) {
+            run = new Run(1, partitions);
+            return run;
+        }
+
+        @Override
+        public List<Integer> pendingPartitions(long runId) {
+            List<Integer> pending = new ArrayList<>();
+            for (int p = 0; p < run.partitions(); p++) {
+                if (!completed.containsKey(p)) {
+                    pending.add(p);
+                }
+            }
+            return pending;
+        }
+
+        @Override
+        public void scan(UUID lower, UUID upper, PartitionVisitor visitor) {
+            if (failScans) {
+                throw new IllegalStateException("connection reset");
+            }
+            scanned.add(lower);
+            accounts.values().stream()
+                    .filter(a -> inRange(a.accountId(), lower, upper))
+                    .forEach(visitor::account);
+            // ordem estável por conta: a ordem de inserção faz o papel de (created_at, transaction_id)
+            operations.stream()
+                    .filter(op -> inRange(op.accountId(), lower, upper))
+                    .sorted(Comparator.comparing(OperationEntry::accountId, PG_ORDER))
+                    .forEach(visitor::operation);
+        }
+
+        private static boolean inRange(UUID id, UUID lower, UUID upper) {
+            return PG_ORDER.compare(id, lower) >= 0 && (upper == null || PG_ORDER.compare(id, upper) < 0);
+        }
+
+        @Override
+        public void completePartition(long runId, int partition, PartitionResult result) {
+            discrepancies.addAll(result.discrepancies());
+            completed.put(partition, result);
+        }
+
+        @Override
+        public RunTotals finishRun(long runId) {
+            finished = true;
+            return new RunTotals(
+                    completed.values().stream().mapToLong(PartitionResult::accounts).sum(),
+                    completed.values().stream().mapToLong(PartitionResult::operations).sum(),
+                    completed.values().stream().mapToLong(r -> r.discrepancies().size()).sum());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.matheuscavalari.accountservice.benchmark;
+
+import io.github.matheuscavalari.accountservice.AccountServiceApplication;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark: N threads crediting the same account, for increasing slot counts.
+ * <p>
+ * Requires the Postgres from docker-compose ({@code docker compose up -d account-postgres}).
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.matheuscavalari.accountservice.benchmark.HotAccountContentionBenchmark}
+ * or straight from the IDE. Optional args: {@code threads seconds}.
+ */
+public class HotAccountContentionBenchmark {
+
+    private static final int[] SLOT_COUNTS = {0, 1, 2, 4, 8, 16};
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        try (var ctx = new SpringApplicationBuilder(AccountServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cloud.aws.sqs.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "account.hot-accounts.routing-enabled=true",
+                        "spring.datasource.hikari.maximum-pool-size=" + threads
+                )
+                .run()) {
+
+            var useCase = ctx.getBean(ApplyOperationUseCase.class);
+            var jdbc = ctx.getBean(JdbcTemplate.class);
+
+            System.out.printf("threads=%d duration=%ds%n", threads, seconds);
+            System.out.printf("%6s %12s %10s%n", "slots", "ops", "ops/s");
+
+            for (int slots : SLOT_COUNTS) {
+                UUID accountId = UUID.randomUUID();
+                jdbc.update("""
+                        INSERT INTO accounts (id, owner, status, balance_amount, balance_currency, balance_slots, created_at, updated_at)
+                        VALUES (?, 'benchmark', 'ENABLED', 0, 'BRL', ?, now(), now())
+                        """, accountId, slots);
+
+                long ops = run(useCase, accountId, threads, seconds);
+                System.out.printf("%6d %12d %10.0f%n", slots, ops, ops / (double) seconds);
+            }
+        }
+    }
+
+    private static long run(ApplyOperationUseCase useCase, UUID accountId, int threads, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<Long>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    long done = 0;
+                    while (System.nanoTime() < deadline) {
+                        useCase.execute(new ApplyOperationCommand(
+                                accountId,
+                                UUID.randomUUID(),
+                                OperationType.CREDIT,
+                                new BigDecimal("1.00"),
+                                "BRL",
+                                OffsetDateTime.now()
+                        ));
+                        done++;
+                    }
+                    return done;
+                }));
+            }
+            long total = 0;
+            for (var f : futures) {
+                total += f.get();
+            }
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
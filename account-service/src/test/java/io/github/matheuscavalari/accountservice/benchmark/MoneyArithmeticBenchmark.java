@@ -0,0 +1,94 @@
+package io.github.matheuscavalari.accountservice.benchmark;
+
+import io.github.matheuscavalari.accountservice.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the balance decision (credit/debit + insufficient-funds check) on {@link BigDecimal}
+ * versus {@link Money}, with and without the decimal conversions done at the REST/persistence boundary.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.matheuscavalari.accountservice.benchmark.MoneyArithmeticBenchmark}.
+ * Reports ns/op and, through the GC profiler, bytes allocated per op ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final BigDecimal[] decimalAmounts = new BigDecimal[SIZE];
+    private final Money[] moneyAmounts = new Money[SIZE];
+    private BigDecimal decimalBalance;
+    private Money moneyBalance;
+    private int i;
+
+    @Setup
+    public void setUp() {
+        var random = ThreadLocalRandom.current();
+        for (int k = 0; k < SIZE; k++) {
+            decimalAmounts[k] = BigDecimal.valueOf(random.nextLong(1, 100_000), 2);
+            moneyAmounts[k] = Money.of(decimalAmounts[k], "BRL");
+        }
+        decimalBalance = new BigDecimal("1000000.00");
+        moneyBalance = Money.of(decimalBalance, "BRL");
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal amount = decimalAmounts[i++ & (SIZE - 1)];
+        BigDecimal candidate = (i & 1) == 0 ? decimalBalance.add(amount) : decimalBalance.subtract(amount);
+        if (candidate.compareTo(BigDecimal.ZERO) >= 0) {
+            decimalBalance = candidate;
+        }
+        return decimalBalance;
+    }
+
+    @Benchmark
+    public Money money() {
+        Money amount = moneyAmounts[i++ & (SIZE - 1)];
+        Money candidate = (i & 1) == 0 ? moneyBalance.plus(amount) : moneyBalance.minus(amount);
+        if (!candidate.isNegative()) {
+            moneyBalance = candidate;
+        }
+        return moneyBalance;
+    }
+
+    /** Mesmo cálculo, pagando a conversão de entrada (request) e de saída (resultado) a cada operação. */
+    @Benchmark
+    public BigDecimal moneyWithBoundaryConversion() {
+        Money amount = Money.of(decimalAmounts[i++ & (SIZE - 1)], "BRL");
+        Money candidate = (i & 1) == 0 ? moneyBalance.plus(amount) : moneyBalance.minus(amount);
+        if (!candidate.isNegative()) {
+            moneyBalance = candidate;
+        }
+        return moneyBalance.toBigDecimal();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MoneyArithmeticBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
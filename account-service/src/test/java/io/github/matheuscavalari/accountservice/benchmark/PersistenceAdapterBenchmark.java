@@ -0,0 +1,96 @@
+package io.github.matheuscavalari.accountservice.benchmark;
+
+import io.github.matheuscavalari.accountservice.AccountServiceApplication;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compares the JPA and JDBC persistence adapters on the apply-operation path: allocated bytes per operation
+ * (current thread) and latency percentiles, single-threaded, alternating CREDIT/DEBIT on one account.
+ * <p>
+ * Requires the Postgres from docker-compose ({@code docker compose up -d account-postgres}).
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.matheuscavalari.accountservice.benchmark.PersistenceAdapterBenchmark}
+ * or straight from the IDE. Optional args: {@code operations warmup}.
+ */
+public class PersistenceAdapterBenchmark {
+
+    private static final String[] ADAPTERS = {"jpa", "jdbc"};
+
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+
+        System.out.printf("operations=%d warmup=%d%n", operations, warmup);
+        System.out.printf("%8s %12s %10s %10s %10s %10s%n", "adapter", "bytes/op", "p50(us)", "p99(us)", "p999(us)", "ops/s");
+
+        for (String adapter : ADAPTERS) {
+            try (var ctx = new SpringApplicationBuilder(AccountServiceApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.cloud.aws.sqs.enabled=false",
+                            "spring.jpa.show-sql=false",
+                            "account.persistence.adapter=" + adapter
+                    )
+                    .run()) {
+
+                var useCase = ctx.getBean(ApplyOperationUseCase.class);
+                UUID accountId = UUID.randomUUID();
+                ctx.getBean(JdbcTemplate.class).update("""
+                        INSERT INTO accounts (id, owner, status, balance_amount, balance_currency, created_at, updated_at)
+                        VALUES (?, 'benchmark', 'ENABLED', 0, 'BRL', now(), now())
+                        """, accountId);
+
+                run(useCase, accountId, warmup, new long[warmup]);
+
+                var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                long[] latencies = new long[operations];
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                run(useCase, accountId, operations, latencies);
+                long elapsed = System.nanoTime() - start;
+                long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+                Arrays.sort(latencies);
+                System.out.printf("%8s %12d %10.0f %10.0f %10.0f %10.0f%n",
+                        adapter,
+                        allocated / operations,
+                        percentile(latencies, 0.50) / 1e3,
+                        percentile(latencies, 0.99) / 1e3,
+                        percentile(latencies, 0.999) / 1e3,
+                        operations / (elapsed / 1e9));
+            }
+        }
+    }
+
+    private static void run(ApplyOperationUseCase useCase, UUID accountId, int operations, long[] latencies) {
+        var amount = new BigDecimal("1.00");
+        for (int i = 0; i < operations; i++) {
+            var cmd = new ApplyOperationCommand(
+                    accountId,
+                    UUID.randomUUID(),
+                    i % 2 == 0 ? OperationType.CREDIT : OperationType.DEBIT,
+                    amount,
+                    "BRL",
+                    OffsetDateTime.now()
+            );
+            long t0 = System.nanoTime();
+            useCase.execute(cmd);
+            latencies[i] = System.nanoTime() - t0;
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
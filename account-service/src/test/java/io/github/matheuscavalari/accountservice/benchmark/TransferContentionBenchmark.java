@@ -0,0 +1,123 @@
+package io.github.matheuscavalari.accountservice.benchmark;
+
+import io.github.matheuscavalari.accountservice.AccountServiceApplication;
+import io.github.matheuscavalari.accountservice.application.dto.ApplyOperationCommand;
+import io.github.matheuscavalari.accountservice.application.usecase.ApplyOperationUseCase;
+import io.github.matheuscavalari.accountservice.domain.model.OperationType;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Crossing transfers vs single operations: N threads over the same small set of accounts, first applying
+ * single-account DEBITs, then TRANSFERs between random pairs (so A->B and B->A run at the same time).
+ * Reports ops/s and the number of deadlocks / lock failures seen by the callers (expected: 0), and checks that
+ * the sum of the balances did not change.
+ * <p>
+ * Requires the Postgres from docker-compose ({@code docker compose up -d account-postgres}).
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.matheuscavalari.accountservice.benchmark.TransferContentionBenchmark}
+ * or straight from the IDE. Optional args: {@code threads seconds accounts}.
+ */
+public class TransferContentionBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int accountCount = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+        try (var ctx = new SpringApplicationBuilder(AccountServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.cloud.aws.sqs.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.datasource.hikari.maximum-pool-size=" + threads
+                )
+                .run()) {
+
+            var useCase = ctx.getBean(ApplyOperationUseCase.class);
+            var jdbc = ctx.getBean(JdbcTemplate.class);
+
+            var accounts = new UUID[accountCount];
+            for (int i = 0; i < accountCount; i++) {
+                accounts[i] = UUID.randomUUID();
+                jdbc.update("""
+                        INSERT INTO accounts (id, owner, status, balance_amount, balance_currency, created_at, updated_at)
+                        VALUES (?, 'benchmark', 'ENABLED', 1000000000, 'BRL', now(), now())
+                        """, accounts[i]);
+            }
+
+            System.out.printf("threads=%d duration=%ds accounts=%d%n", threads, seconds, accountCount);
+            System.out.printf("%10s %12s %10s %10s%n", "mode", "ops", "ops/s", "failures");
+
+            BigDecimal before = null;
+            for (var type : new OperationType[]{OperationType.DEBIT, OperationType.TRANSFER}) {
+                before = sumOfBalances(jdbc, accounts);
+                var failures = new AtomicLong();
+                long ops = run(useCase, accounts, type, threads, seconds, failures);
+                System.out.printf("%10s %12d %10.0f %10d%n", type, ops, ops / (double) seconds, failures.get());
+            }
+            System.out.printf("sum of balances before/after transfers: %s / %s%n", before, sumOfBalances(jdbc, accounts));
+        }
+    }
+
+    private static BigDecimal sumOfBalances(JdbcTemplate jdbc, UUID[] accounts) {
+        return jdbc.queryForObject("SELECT SUM(balance_amount) FROM accounts WHERE id = ANY(?)",
+                BigDecimal.class, new SqlArrayValue("uuid", (Object[]) accounts));
+    }
+
+    private static long run(ApplyOperationUseCase useCase, UUID[] accounts, OperationType type,
+                            int threads, int seconds, AtomicLong failures) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<Long>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    var random = ThreadLocalRandom.current();
+                    long done = 0;
+                    while (System.nanoTime() < deadline) {
+                        int from = random.nextInt(accounts.length);
+                        int to = (from + 1 + random.nextInt(accounts.length - 1)) % accounts.length;
+                        try {
+                            useCase.execute(new ApplyOperationCommand(
+                                    accounts[from],
+                                    UUID.randomUUID(),
+                                    type,
+                                    new BigDecimal("1.00"),
+                                    "BRL",
+                                    OffsetDateTime.now(),
+                                    type == OperationType.TRANSFER ? accounts[to] : null
+                            ));
+                            done++;
+                        } catch (PessimisticLockingFailureException e) {
+                            // deadlock detected by Postgres (40P01) or lock timeout
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return done;
+                }));
+            }
+            long total = 0;
+            for (var f : futures) {
+                total += f.get();
+            }
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.matheuscavalari.accountservice.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void shouldRoundTripDecimalsThroughMinorUnits() {
+        var money = Money.of(new BigDecimal("123.4"), "brl");
+
+        assertThat(money.minorUnits()).isEqualTo(12340);
+        assertThat(money.currency()).isEqualTo("BRL");
+        assertThat(money.toBigDecimal()).isEqualTo(new BigDecimal("123.40"));
+    }
+
+    @Test
+    void shouldRejectMoreDecimalPlacesThanTheScale() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.001"), "BRL"))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void shouldAddSubtractAndCompare() {
+        var balance = Money.of(new BigDecimal("10.00"), "BRL");
+        var amount = Money.of(new BigDecimal("10.01"), "BRL");
+
+        assertThat(balance.plus(amount).toBigDecimal()).isEqualByComparingTo("20.01");
+        assertThat(balance.minus(amount).isNegative()).isTrue();
+        assertThat(balance.compareTo(amount)).isNegative();
+    }
+
+    @Test
+    void shouldFailOnOverflowInsteadOfWrappingAround() {
+        var max = new Money(Long.MAX_VALUE, "BRL");
+        var min = new Money(Long.MIN_VALUE, "BRL");
+
+        assertThatThrownBy(() -> max.plus(new Money(1, "BRL"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> min.minus(new Money(1, "BRL"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void shouldRefuseArithmeticAcrossCurrencies() {
+        var brl = Money.of(BigDecimal.ONE, "BRL");
+        var usd = Money.of(BigDecimal.ONE, "USD");
+
+        assertThatThrownBy(() -> brl.plus(usd))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Currency mismatch");
+    }
+}
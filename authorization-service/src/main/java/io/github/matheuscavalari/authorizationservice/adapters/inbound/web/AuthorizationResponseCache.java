@@ -0,0 +1,94 @@
+package io.github.matheuscavalari.authorizationservice.adapters.inbound.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.matheuscavalari.authorizationservice.adapters.inbound.web.dto.AuthorizeTransactionRequest;
+import io.github.matheuscavalari.authorizationservice.adapters.inbound.web.dto.AuthorizeTransactionResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cache limitado em entradas e com TTL curto das respostas de {@code POST /transactions/{transactionId}}: retries do
+ * cliente são respondidos daqui, sem ir ao account-service. A entrada guarda a requisição original e só é usada
+ * quando o corpo do retry é o mesmo; corpo diferente segue para o account-service, como se não houvesse cache. Entram
+ * as respostas finais, SUCCEEDED ou FAILED (recusa registrada pelo account-service, que também é definitiva); erros
+ * saem como exceção e nunca chegam aqui.
+ */
+@Component
+@ConditionalOnProperty(name = "authorization.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class AuthorizationResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorizationResponseCache.class);
+
+    static final String NAME = "authorization-responses";
+
+    private record Entry(AuthorizeTransactionRequest request, AuthorizeTransactionResponse response) {}
+
+    private final Cache<UUID, Entry> cache;
+    private final Counter mismatches;
+
+    @Autowired
+    public AuthorizationResponseCache(MeterRegistry meterRegistry,
+                                      @Value("${authorization.response-cache.max-entries:100000}") long maxEntries,
+                                      @Value("${authorization.response-cache.ttl:30s}") Duration ttl) {
+        this(meterRegistry, maxEntries, ttl, Ticker.systemTicker());
+    }
+
+    AuthorizationResponseCache(MeterRegistry meterRegistry, long maxEntries, Duration ttl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .<UUID, Entry>build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ...
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("authorization.response-cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of lookups that found a cached response")
+                .register(meterRegistry);
+        this.mismatches = Counter.builder("authorization.response-cache.mismatches")
+                .description("Retries whose body differs from the cached request (sent to account-service)")
+                .register(meterRegistry);
+    }
+
+    /** Resposta já dada a este transactionId com o mesmo corpo, ou null. */
+    public AuthorizeTransactionResponse get(UUID transactionId, AuthorizeTransactionRequest request) {
+        var entry = cache.getIfPresent(transactionId);
+        if (entry == null) {
+            return null;
+        }
+        if (!sameRequest(entry.request(), request)) {
+            mismatches.increment();
+            log.warn("Retry of transaction {} does not match the cached request; forwarding to account-service",
+                    transactionId);
+            return null;
+        }
+        return entry.response();
+    }
+
+    public void put(UUID transactionId, AuthorizeTransactionRequest request, AuthorizeTransactionResponse response) {
+        cache.put(transactionId, new Entry(request, response));
+    }
+
+    /** Valores e instantes comparados pelo significado: 10.0 == 10.00 e o mesmo instante em outro offset. */
+    static boolean sameRequest(AuthorizeTransactionRequest a, AuthorizeTransactionRequest b) {
+        return a.accountId().equals(b.accountId())
+                && a.type().equalsIgnoreCase(b.type())
+                && a.amount().value().compareTo(b.amount().value()) == 0
+                && a.amount().currency().equalsIgnoreCase(b.amount().currency())
+                && a.timestamp().isEqual(b.timestamp());
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.matheuscavalari.authorizationservice.adapters.inbound.web;
 
 import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.AccountServiceClient;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,4 +30,14 @@ public class RestExceptionHandler {
                 "message", ex.getMessage()
         ));
     }
-}
\ No newline at end of file
+
+    /** Bulkhead cheio ou circuito aberto: o account-service não foi chamado, o cliente pode tentar de novo. */
+    @ExceptionHandler({BulkheadFullException.class, CallNotPermittedException.class})
+    public ResponseEntity<Map<String, Object>> unavailable(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "timestamp", OffsetDateTime.now().toString(),
+                "error", "SERVICE_UNAVAILABLE",
+                "message", ex.getMessage()
+        ));
+    }
+}
@@ -5,6 +5,7 @@ import io.github.matheuscavalari.authorizationservice.adapters.inbound.web.dto.A
 import io.github.matheuscavalari.authorizationservice.adapters.inbound.web.dto.AuthorizeTransactionResponse;
 import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.AccountServiceClient;
 import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationRequest;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -14,13 +15,21 @@ import java.util.UUID;
 public class TransactionsController implements TransactionsApi {
 
     private final AccountServiceClient accountServiceClient;
+    private final AuthorizationResponseCache responseCache;
 
-    public TransactionsController(AccountServiceClient accountServiceClient) {
+    public TransactionsController(AccountServiceClient accountServiceClient,
+                                  ObjectProvider<AuthorizationResponseCache> responseCache) {
         this.accountServiceClient = accountServiceClient;
+        this.responseCache = responseCache.getIfAvailable();
     }
 
     @Override
     public ResponseEntity<AuthorizeTransactionResponse> authorize(UUID transactionId, AuthorizeTransactionRequest req) {
+        // retry com o mesmo corpo: resposta já conhecida, sem ir ao account-service
+        var cached = responseCache != null ? responseCache.get(transactionId, req) : null;
+        if (cached != null) {
+            return ResponseEntity.ok(cached);
+        }
 
         var applyReq = new ApplyOperationRequest(
                 req.type(),
@@ -45,6 +54,9 @@ public class TransactionsController implements TransactionsApi {
                 )
         );
 
+        if (responseCache != null) {
+            responseCache.put(transactionId, req, response);
+        }
         return ResponseEntity.ok(response);
     }
 }
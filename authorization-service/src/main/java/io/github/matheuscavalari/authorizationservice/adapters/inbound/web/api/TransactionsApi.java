@@ -24,6 +24,7 @@ public interface TransactionsApi {
     @ApiResponse(responseCode = "200", description = "Authorized (SUCCEEDED) or declined (FAILED)")
     @ApiResponse(responseCode = "400", description = "Invalid request")
     @ApiResponse(responseCode = "404", description = "Account not found")
+    @ApiResponse(responseCode = "503", description = "Account service unavailable (circuit open or bulkhead full)")
     @PostMapping(value = "/{transactionId}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
     ResponseEntity<AuthorizeTransactionResponse> authorize(
             @PathVariable UUID transactionId,
@@ -0,0 +1,205 @@
+package io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient;
+
+import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationBatchRequest;
+import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationBatchResponse;
+import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationBatchResponse.ItemResult;
+import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationRequest;
+import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Junta chamadas concorrentes ao account-service em um único {@code POST /accounts/operations:batch}: o lote fecha
+ * com {@code max-batch-size} itens ou {@code max-linger} depois do primeiro item, o que vier antes. O envio roda fora
+ * da thread coletora (um lote pode estar em voo enquanto o próximo se forma) e cada chamador recebe o resultado do
+ * próprio item. Falha do lote inteiro (conexão, 5xx) chega a todos os chamadores dele.
+ */
+@Component
+@ConditionalOnProperty(name = "account-service.batching.enabled", havingValue = "true")
+public class AccountOperationBatcher {
+
+    private final RestClient restClient;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Thread collector;
+    private final ExecutorService senders;
+    private final DistributionSummary batchSize;
+    private final Timer batchWait;
+    private final Counter flushedBySize;
+    private final Counter flushedByLinger;
+
+    private volatile boolean running = true;
+
+    public AccountOperationBatcher(RestClient accountServiceRestClient,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${account-service.batching.max-batch-size:100}") int maxBatchSize,
+                                   @Value("${account-service.batching.max-linger:2ms}") Duration maxLinger,
+                                   @Value("${account-service.batching.queue-capacity:10000}") int queueCapacity) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("account-service.batching.max-batch-size must be >= 1");
+        }
+        this.restClient = accountServiceRestClient;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("account-batch-sender-", 0).factory());
+
+        this.batchSize = DistributionSummary.builder("account.client.batch.size")
+                .description("Operations sent per batched request to account-service")
+                .register(meterRegistry);
+        this.batchWait = Timer.builder("account.client.batch.wait")
+                .description("Time the first operation of a batch waited before the batch was sent")
+                .register(meterRegistry);
+        this.flushedBySize = flushCounter(meterRegistry, "size");
+        this.flushedByLinger = flushCounter(meterRegistry, "linger");
+        Gauge.builder("account.client.batch.queue.depth", queue, BlockingQueue::size)
+                .description("Operations waiting to be batched")
+                .register(meterRegistry);
+        // limites configurados, para ler o tamanho/espera reais contra eles
+        Gauge.builder("account.client.batch.max.size", () -> maxBatchSize)
+                .description("Configured maximum operations per batch")
+                .register(meterRegistry);
+        Gauge.builder("account.client.batch.max.linger", () -> maxLinger.toNanos() / 1e9)
+                .description("Configured maximum wait before a batch is sent")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        this.collector = new Thread(this::collect, "account-batcher");
+        this.collector.setDaemon(true);
+    }
+
+    private static Counter flushCounter(MeterRegistry meterRegistry, String trigger) {
+        return Counter.builder("account.client.batch.flushes")
+                .description("Batches sent, by what closed them (size cap or linger timeout)")
+                .tag("trigger", trigger)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        collector.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        collector.interrupt();
+        collector.join(TimeUnit.SECONDS.toMillis(5));
+        senders.close();
+    }
+
+    /**
+     * Enfileira a operação para o próximo lote. Devolve {@code null} quando a fila está cheia (ou desligando):
+     * o chamador envia a operação sozinha.
+     */
+    CompletableFuture<ApplyOperationResponse> submit(UUID accountId, UUID transactionId, ApplyOperationRequest req) {
+        var pending = new Pending(new ApplyOperationBatchRequest.Item(accountId, transactionId, req.type(),
+                req.amountValue(), req.amountCurrency(), req.timestamp()), new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            return null;
+        }
+        return pending.result;
+    }
+
+    private void collect() {
+        var batch = new ArrayList<Pending>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            long firstAt = 0;
+            try {
+                Pending first = running ? queue.take() : queue.poll();
+                if (first == null) {
+                    return;
+                }
+                batch.add(first);
+                firstAt = System.nanoTime();
+
+                long deadline = firstAt + maxLingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // desligando: envia o que já foi coletado e segue drenando a fila sem bloquear
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+
+            (batch.size() == maxBatchSize ? flushedBySize : flushedByLinger).increment();
+            batchSize.record(batch.size());
+            batchWait.record(System.nanoTime() - firstAt, TimeUnit.NANOSECONDS);
+            var sending = List.copyOf(batch);
+            senders.execute(() -> send(sending));
+            batch.clear();
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            var response = restClient.post()
+                    .uri("/accounts/operations:batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new ApplyOperationBatchRequest(batch.stream().map(Pending::item).toList()))
+                    .retrieve()
+                    .body(ApplyOperationBatchResponse.class);
+            if (response == null || response.results() == null || response.results().size() != batch.size()) {
+                throw new IllegalStateException("account-service returned %s results for a batch of %d"
+                        .formatted(response == null || response.results() == null ? "no" : response.results().size(),
+                                batch.size()));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), response.results().get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+
+    /** Mesmo desfecho da chamada isolada: 200 com a operação, 404 como conta inexistente, demais como erro HTTP. */
+    private static void complete(Pending pending, ItemResult result) {
+        if (result.status() == HttpStatus.OK.value()) {
+            pending.result.complete(result.operation());
+        } else if (result.status() == HttpStatus.NOT_FOUND.value()) {
+            pending.result.completeExceptionally(
+                    new AccountServiceClient.AccountNotFoundException(pending.item.accountId()));
+        } else {
+            var message = result.message() != null ? result.message() : "";
+            pending.result.completeExceptionally(HttpClientErrorException.create(
+                    HttpStatusCode.valueOf(result.status()), String.valueOf(result.error()), HttpHeaders.EMPTY,
+                    message.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        }
+    }
+
+    private record Pending(ApplyOperationBatchRequest.Item item, CompletableFuture<ApplyOperationResponse> result) {}
+}
@@ -2,23 +2,60 @@ package io.github.matheuscavalari.authorizationservice.adapters.outbound.account
 
 import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationRequest;
 import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
 @Component
 public class AccountServiceClient {
 
     private final RestClient restClient;
+    private final AccountOperationBatcher batcher;
+    private final AccountServiceResilience resilience;
+
+    @Autowired
+    public AccountServiceClient(RestClient accountServiceRestClient,
+                                ObjectProvider<AccountOperationBatcher> batcher,
+                                ObjectProvider<AccountServiceResilience> resilience) {
+        this.restClient = accountServiceRestClient;
+        this.batcher = batcher.getIfAvailable();
+        this.resilience = resilience.getIfAvailable();
+    }
 
     public AccountServiceClient(RestClient accountServiceRestClient) {
         this.restClient = accountServiceRestClient;
+        this.batcher = null;
+        this.resilience = null;
     }
 
     public ApplyOperationResponse applyOperation(UUID accountId, UUID transactionId, ApplyOperationRequest req) {
+        // bulkhead, retry, circuit breaker e hedge valem para o envio em lote e para o isolado
+        if (resilience != null) {
+            return resilience.execute(() -> send(accountId, transactionId, req));
+        }
+        return send(accountId, transactionId, req);
+    }
+
+    private ApplyOperationResponse send(UUID accountId, UUID transactionId, ApplyOperationRequest req) {
+        // com batching ligado, a operação vai no próximo lote; fila cheia: envio isolado
+        var batched = batcher != null ? batcher.submit(accountId, transactionId, req) : null;
+        if (batched != null) {
+            try {
+                return batched.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
         try {
             return restClient.post()
                     .uri("/accounts/{accountId}/operations/{transactionId}", accountId, transactionId)
@@ -36,4 +73,4 @@ public class AccountServiceClient {
             super("Account not found: " + accountId);
         }
     }
-}
\ No newline at end of file
+}
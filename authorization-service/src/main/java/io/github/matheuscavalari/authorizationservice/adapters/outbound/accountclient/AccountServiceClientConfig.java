@@ -1,18 +1,94 @@
 package io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class AccountServiceClientConfig {
 
+    static final String CLIENT_NAME = "account-service";
+
+    /**
+     * HTTP/1.1: pool do Apache HttpClient com limites, timeouts e expulsão de conexões ociosas explícitos.
+     * HTTP/2 sem TLS (h2c): {@link HttpClient} do JDK, que multiplexa as requisições em poucas conexões
+     * (o account-service precisa de {@code server.http2.enabled=true}; sem isso a conexão segue em HTTP/1.1).
+     */
     @Bean
-    RestClient accountServiceRestClient(@Value("${account-service.base-url}") String baseUrl) {
-        return RestClient.builder()
+    ClientHttpRequestFactory accountServiceRequestFactory(
+            MeterRegistry meterRegistry,
+            @Value("${account-service.http.protocol:http1}") String protocol,
+            @Value("${account-service.http.max-connections:200}") int maxConnections,
+            @Value("${account-service.http.max-connections-per-route:200}") int maxConnectionsPerRoute,
+            @Value("${account-service.http.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${account-service.http.response-timeout:5s}") Duration responseTimeout,
+            @Value("${account-service.http.connection-request-timeout:500ms}") Duration connectionRequestTimeout,
+            @Value("${account-service.http.idle-eviction:30s}") Duration idleEviction,
+            @Value("${account-service.http.time-to-live:5m}") Duration timeToLive,
+            @Value("${account-service.http.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        return switch (protocol) {
+            case "http1" -> {
+                var connectionManager = new InstrumentedConnectionManager(meterRegistry, CLIENT_NAME);
+                connectionManager.setMaxTotal(maxConnections);
+                connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+                connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                        .build());
+                // conexões totais/alugadas/livres e pedidos esperando por conexão
+                new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, CLIENT_NAME)
+                        .bindTo(meterRegistry);
+
+                var httpClient = HttpClients.custom()
+                        .setConnectionManager(connectionManager)
+                        .setDefaultRequestConfig(RequestConfig.custom()
+                                .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                                .setResponseTimeout(Timeout.of(responseTimeout))
+                                .build())
+                        // fecha ociosas antes do keep-alive do servidor, para não reaproveitar conexão já encerrada
+                        .evictIdleConnections(TimeValue.of(idleEviction))
+                        .evictExpiredConnections()
+                        .build();
+                yield new HttpComponentsClientHttpRequestFactory(httpClient);
+            }
+            case "h2c" -> {
+                var httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(connectTimeout)
+                        .build();
+                var factory = new JdkClientHttpRequestFactory(httpClient);
+                factory.setReadTimeout(responseTimeout);
+                yield factory;
+            }
+            default -> throw new IllegalArgumentException(
+                    "account-service.http.protocol must be http1 or h2c, got: " + protocol);
+        };
+    }
+
+    @Bean
+    RestClient accountServiceRestClient(RestClient.Builder builder,
+                                        ClientHttpRequestFactory accountServiceRequestFactory,
+                                        @Value("${account-service.base-url}") String baseUrl) {
+        // builder do Spring Boot: cada chamada também entra em http.client.requests
+        return builder
                 .baseUrl(baseUrl)
+                .requestFactory(accountServiceRequestFactory)
                 .build();
     }
 }
-
@@ -0,0 +1,280 @@
+package io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Proteções em volta das chamadas ao account-service, de fora para dentro:
+ * <ol>
+ *     <li>bulkhead: no máximo {@code max-concurrent-calls} requisições em andamento (hedges incluídos); as demais
+ *     esperam até {@code max-wait} por uma vaga e então falham</li>
+ *     <li>retry: até {@code max-attempts} tentativas, com backoff exponencial e jitter, só em erro de conexão e 5xx
+ *     (as operações são idempotentes por transactionId)</li>
+ *     <li>circuit breaker: com a taxa de falhas (ou de chamadas lentas) acima do limite, falha rápido por
+ *     {@code wait-in-open-state} antes de deixar passar chamadas de teste</li>
+ *     <li>hedge (opcional): sem resposta depois do p95 recente, dispara uma segunda requisição igual e fica com a
+ *     primeira resposta; o hedge ocupa uma vaga própria do bulkhead e não é disparado sem vaga livre</li>
+ * </ol>
+ * Erros de negócio (4xx, conta inexistente) passam direto, sem retry e sem contar como falha. Opcional
+ * ({@code account-service.resilience.enabled=true}).
+ */
+@Component
+@ConditionalOnProperty(name = "account-service.resilience.enabled", havingValue = "true")
+public class AccountServiceResilience {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountServiceResilience.class);
+
+    static final String NAME = "account-service";
+
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final CircuitBreaker circuitBreaker;
+
+    private final boolean hedgingEnabled;
+    private final Duration hedgeMinDelay;
+    private final Duration hedgeMaxDelay;
+    private final Timer latency;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter hedgesSkipped;
+    private final ExecutorService hedgeExecutor;
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayComputedAt;
+
+    public AccountServiceResilience(
+            MeterRegistry meterRegistry,
+            @Value("${account-service.resilience.bulkhead.max-concurrent-calls:5000}") int maxConcurrentCalls,
+            @Value("${account-service.resilience.bulkhead.max-wait:500ms}") Duration bulkheadMaxWait,
+            @Value("${account-service.resilience.retry.max-attempts:3}") int maxAttempts,
+            @Value("${account-service.resilience.retry.initial-backoff:50ms}") Duration initialBackoff,
+            @Value("${account-service.resilience.retry.jitter:0.5}") double jitter,
+            @Value("${account-service.resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${account-service.resilience.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${account-service.resilience.circuit-breaker.sliding-window-size:100}") int slidingWindowSize,
+            @Value("${account-service.resilience.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${account-service.resilience.circuit-breaker.wait-in-open-state:10s}") Duration waitInOpenState,
+            @Value("${account-service.resilience.hedge.enabled:false}") boolean hedgingEnabled,
+            @Value("${account-service.resilience.hedge.min-delay:20ms}") Duration hedgeMinDelay,
+            @Value("${account-service.resilience.hedge.max-delay:500ms}") Duration hedgeMaxDelay) {
+
+        var bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(bulkheadMaxWait)
+                .build());
+        this.bulkhead = bulkheads.bulkhead(NAME);
+
+        var retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(initialBackoff, 2.0, jitter))
+                .retryOnException(AccountServiceResilience::isRetryable)
+                .build());
+        this.retry = retries.retry(NAME);
+
+        var circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(Math.max(1, minimumCalls / 4))
+                .recordException(AccountServiceResilience::isFailure)
+                .build());
+        this.circuitBreaker = circuitBreakers.circuitBreaker(NAME);
+
+        // resilience4j.circuitbreaker.state/calls/not.permitted.calls, resilience4j.bulkhead.*, resilience4j.retry.calls
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retries).bindTo(meterRegistry);
+
+        var rejections = Counter.builder("account.client.bulkhead.rejections")
+                .description("Calls to account-service rejected because the bulkhead was full")
+                .register(meterRegistry);
+        bulkhead.getEventPublisher().onCallRejected(event -> rejections.increment());
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            var transition = event.getStateTransition();
+            log.warn("account-service circuit breaker: {} -> {}", transition.getFromState(), transition.getToState());
+            Counter.builder("account.client.circuit.transitions")
+                    .description("Circuit breaker state transitions")
+                    .tag("from", transition.getFromState().name())
+                    .tag("to", transition.getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+        });
+
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeMinDelay = hedgeMinDelay;
+        this.hedgeMaxDelay = hedgeMaxDelay;
+        this.latency = Timer.builder("account.client.call.latency")
+                .description("Latency of successful attempts to account-service (drives the hedge delay)")
+                .publishPercentiles(0.95)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        this.hedgesFired = hedgeCounter(meterRegistry, "fired");
+        this.hedgesWon = hedgeCounter(meterRegistry, "won");
+        this.hedgesSkipped = hedgeCounter(meterRegistry, "skipped");
+        this.hedgeExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("account-hedge-", 0).factory());
+        this.hedgeDelayNanos = hedgeMaxDelay.toNanos();
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("account.client.hedges")
+                .description("Hedged requests to account-service: fired after the hedge delay, won when answered first, "
+                        + "skipped when the bulkhead had no free permit")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        Supplier<T> attempt = hedgingEnabled ? () -> hedged(call) : () -> timed(call);
+        try {
+            return Bulkhead.decorateSupplier(bulkhead,
+                    Retry.decorateSupplier(retry,
+                            CircuitBreaker.decorateSupplier(circuitBreaker, attempt))).get();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private <T> T timed(Supplier<T> call) {
+        long begin = System.nanoTime();
+        T result = call.get();
+        latency.record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Primeira requisição em uma thread virtual; sem resposta até o atraso de hedge, uma segunda igual, se o
+     * bulkhead tiver vaga (a primeira usa a vaga da chamada). Vale a primeira resposta bem-sucedida; a chamada só
+     * falha quando todas as requisições disparadas falharam.
+     */
+    private <T> T hedged(Supplier<T> call) {
+        var winner = new CompletableFuture<T>();
+        var started = new AtomicInteger(1);
+        var failed = new AtomicInteger();
+        hedgeExecutor.execute(() -> attempt(call, winner, started, failed, false));
+        try {
+            try {
+                return winner.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException slow) {
+                if (!bulkhead.tryAcquirePermission()) {
+                    // sem vaga: o hedge aumentaria a carga justamente quando o account-service está saturado
+                    hedgesSkipped.increment();
+                    return winner.get();
+                }
+                // contado antes de disparar: uma falha da primeira a partir daqui espera pelo hedge
+                started.incrementAndGet();
+                hedgesFired.increment();
+                hedgeExecutor.execute(() -> {
+                    try {
+                        attempt(call, winner, started, failed, true);
+                    } finally {
+                        bulkhead.onComplete();
+                    }
+                });
+                return winner.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for account-service", e);
+        }
+    }
+
+    private <T> void attempt(Supplier<T> call, CompletableFuture<T> winner,
+                             AtomicInteger started, AtomicInteger failed, boolean hedge) {
+        try {
+            T result = timed(call);
+            // contado antes de completar: o chamador já enxerga o hedge vencedor nas métricas ao retornar
+            synchronized (winner) {
+                if (!winner.isDone()) {
+                    if (hedge) {
+                        hedgesWon.increment();
+                    }
+                    winner.complete(result);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (failed.incrementAndGet() >= started.get()) {
+                winner.completeExceptionally(e);
+            }
+        }
+    }
+
+    /** p95 da janela recente, limitado a [min-delay, max-delay]; recalculado no máximo uma vez por segundo. */
+    long hedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - hedgeDelayComputedAt > TimeUnit.SECONDS.toNanos(1)) {
+            double p95 = 0;
+            for (var value : latency.takeSnapshot().percentileValues()) {
+                p95 = value.value(TimeUnit.NANOSECONDS);
+            }
+            long delay = p95 > 0 ? (long) p95 : hedgeMaxDelay.toNanos();
+            hedgeDelayNanos = Math.clamp(delay, hedgeMinDelay.toNanos(), hedgeMaxDelay.toNanos());
+            hedgeDelayComputedAt = now;
+        }
+        return hedgeDelayNanos;
+    }
+
+    /** Conexão recusada/sem conexão ou 5xx: a requisição não foi aplicada ou pode ser repetida com segurança. */
+    static boolean isRetryable(Throwable e) {
+        if (e instanceof HttpServerErrorException) {
+            return true;
+        }
+        return e instanceof ResourceAccessException
+                && (e.getCause() instanceof ConnectException
+                || e.getCause() instanceof ConnectTimeoutException
+                || e.getCause() instanceof HttpConnectTimeoutException);
+    }
+
+    /** Falhas do account-service (indisponível, timeout, 5xx); 4xx e conta inexistente são respostas válidas. */
+    static boolean isFailure(Throwable e) {
+        return e instanceof ResourceAccessException || e instanceof HttpServerErrorException;
+    }
+
+    @PreDestroy
+    void stop() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+}
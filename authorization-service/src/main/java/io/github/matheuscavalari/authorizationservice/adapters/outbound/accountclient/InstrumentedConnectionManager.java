@@ -0,0 +1,56 @@
+package io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pool de conexões que mede o lease: tempo de espera por uma conexão do pool, separado por conexão reaproveitada
+ * (já aberta) ou nova (o connect vem depois, fora do lease). A proporção entre as duas é a taxa de reuso.
+ */
+class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer reused;
+    private final Timer created;
+
+    InstrumentedConnectionManager(MeterRegistry meterRegistry, String clientName) {
+        this.reused = leaseTimer(meterRegistry, clientName, true);
+        this.created = leaseTimer(meterRegistry, clientName, false);
+    }
+
+    private static Timer leaseTimer(MeterRegistry meterRegistry, String clientName, boolean reused) {
+        return Timer.builder("http.client.connection.lease")
+                .description("Time waiting for a pooled connection, by whether an open connection was reused")
+                .tag("client", clientName)
+                .tag("reused", String.valueOf(reused))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        var request = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long begin = System.nanoTime();
+                var endpoint = request.get(timeout);
+                (endpoint.isConnected() ? reused : created).record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+                return endpoint;
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record ApplyOperationBatchRequest(
+        List<Item> operations
+) {
+
+    public record Item(
+            UUID accountId,
+            UUID transactionId,
+            String type,
+            BigDecimal amountValue,
+            String amountCurrency,
+            OffsetDateTime timestamp
+    ) {}
+}
@@ -0,0 +1,19 @@
+package io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Um resultado por item, na ordem do lote enviado; {@code status} = código HTTP da operação isolada. */
+public record ApplyOperationBatchResponse(
+        List<ItemResult> results
+) {
+
+    public record ItemResult(
+            UUID transactionId,
+            UUID accountId,
+            int status,
+            ApplyOperationResponse operation,
+            String error,
+            String message
+    ) {}
+}
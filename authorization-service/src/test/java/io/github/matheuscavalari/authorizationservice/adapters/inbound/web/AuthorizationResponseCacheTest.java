@@ -0,0 +1,112 @@
+package io.github.matheuscavalari.authorizationservice.adapters.inbound.web;
+
+import io.github.matheuscavalari.authorizationservice.adapters.inbound.web.dto.AuthorizeTransactionRequest;
+import io.github.matheuscavalari.authorizationservice.adapters.inbound.web.dto.AuthorizeTransactionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorizationResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final UUID accountId = UUID.randomUUID();
+
+    private AuthorizationResponseCache cache(long maxEntries) {
+        return new AuthorizationResponseCache(meterRegistry, maxEntries, Duration.ofSeconds(30), nanos::get);
+    }
+
+    private AuthorizeTransactionRequest request(String value, String timestamp) {
+        return new AuthorizeTransactionRequest(accountId, "DEBIT",
+                new AuthorizeTransactionRequest.Amount(new BigDecimal(value), "BRL"), OffsetDateTime.parse(timestamp));
+    }
+
+    private AuthorizeTransactionResponse response(UUID txId, String status) {
+        return new AuthorizeTransactionResponse(
+                new AuthorizeTransactionResponse.Transaction(txId, "DEBIT",
+                        new AuthorizeTransactionResponse.Amount(new BigDecimal("10.00"), "BRL"), status,
+                        OffsetDateTime.parse("2025-07-08T15:57:55-03:00")),
+                new AuthorizeTransactionResponse.Account(accountId,
+                        new AuthorizeTransactionResponse.Balance(new BigDecimal("90.00"), "BRL")));
+    }
+
+    @Test
+    void shouldReturnTheCachedResponse_whenTheRetryHasTheSameBody() {
+        var cache = cache(100);
+        var txId = UUID.randomUUID();
+        var response = response(txId, "SUCCEEDED");
+        cache.put(txId, request("10.00", "2025-07-08T15:57:55-03:00"), response);
+
+        // mesmo valor em outra escala e mesmo instante em outro offset
+        assertSame(response, cache.get(txId, request("10.0", "2025-07-08T18:57:55Z")));
+        assertNull(cache.get(UUID.randomUUID(), request("10.00", "2025-07-08T15:57:55-03:00")));
+
+        assertEquals(0.5, meterRegistry.get("authorization.response-cache.hit.ratio").gauge().value(), 1e-9);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", AuthorizationResponseCache.NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void shouldNotServeTheCachedResponse_whenTheRetryBodyDiffers() {
+        var cache = cache(100);
+        var txId = UUID.randomUUID();
+        cache.put(txId, request("10.00", "2025-07-08T15:57:55-03:00"), response(txId, "SUCCEEDED"));
+
+        assertNull(cache.get(txId, request("20.00", "2025-07-08T15:57:55-03:00")));
+        assertNull(cache.get(txId, request("10.00", "2025-07-08T15:57:56-03:00")));
+
+        assertEquals(2, meterRegistry.get("authorization.response-cache.mismatches").counter().count());
+    }
+
+    @Test
+    void shouldCacheDeclinedResponses() {
+        var cache = cache(100);
+        var txId = UUID.randomUUID();
+        var req = request("10.00", "2025-07-08T15:57:55-03:00");
+        var response = response(txId, "FAILED");
+
+        cache.put(txId, req, response);
+
+        assertSame(response, cache.get(txId, req));
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTheTtl() {
+        var cache = cache(100);
+        var txId = UUID.randomUUID();
+        var req = request("10.00", "2025-07-08T15:57:55-03:00");
+        cache.put(txId, req, response(txId, "SUCCEEDED"));
+
+        nanos.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertNotNull(cache.get(txId, req));
+
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertNull(cache.get(txId, req));
+    }
+
+    @Test
+    void shouldEvictBeyondMaxEntries() throws InterruptedException {
+        var cache = cache(2);
+        for (int i = 0; i < 10; i++) {
+            var txId = UUID.randomUUID();
+            cache.put(txId, request("10.00", "2025-07-08T15:57:55-03:00"), response(txId, "SUCCEEDED"));
+        }
+
+        // Caffeine aplica a evicção de forma assíncrona
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.get("cache.size").tag("cache", AuthorizationResponseCache.NAME).gauge().value() > 2
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(meterRegistry.get("cache.size").tag("cache", AuthorizationResponseCache.NAME).gauge().value() <= 2);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", AuthorizationResponseCache.NAME)
+                .functionCounter().count() > 0);
+    }
+}
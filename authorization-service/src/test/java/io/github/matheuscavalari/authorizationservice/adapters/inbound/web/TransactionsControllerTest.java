@@ -1,8 +1,11 @@
 package io.github.matheuscavalari.authorizationservice.adapters.inbound.web;
 
+import io.github.matheuscavalari.authorizationservice.adapters.inbound.web.dto.AuthorizeTransactionResponse;
 import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.AccountServiceClient;
 import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationRequest;
 import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationResponse;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -16,7 +19,7 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -29,6 +32,9 @@ class TransactionsControllerTest {
     @MockitoBean
     AccountServiceClient accountServiceClient;
 
+    @MockitoBean
+    AuthorizationResponseCache responseCache;
+
     @Test
     void shouldReturn200_whenSucceeded() throws Exception {
         UUID txId = UUID.randomUUID();
@@ -122,5 +128,88 @@ class TransactionsControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Currency mismatch"));
     }
-}
 
+    @Test
+    void shouldReturn503_whenTheCircuitIsOpen() throws Exception {
+        UUID txId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+        var circuitBreaker = CircuitBreaker.ofDefaults("account-service");
+        circuitBreaker.transitionToOpenState();
+
+        when(accountServiceClient.applyOperation(eq(accountId), eq(txId), any()))
+                .thenThrow(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+        String body = """
+        {
+          "accountId": "%s",
+          "type": "DEBIT",
+          "amount": { "value": 10.00, "currency": "BRL" },
+          "timestamp": "2025-07-08T15:57:55-03:00"
+        }
+        """.formatted(accountId);
+
+        mockMvc.perform(post("/transactions/{transactionId}", txId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("SERVICE_UNAVAILABLE"));
+    }
+
+    @Test
+    void shouldAnswerFromTheResponseCache_withoutCallingTheAccountService() throws Exception {
+        UUID txId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+
+        when(responseCache.get(eq(txId), any())).thenReturn(new AuthorizeTransactionResponse(
+                new AuthorizeTransactionResponse.Transaction(txId, "DEBIT",
+                        new AuthorizeTransactionResponse.Amount(new BigDecimal("10.00"), "BRL"), "SUCCEEDED",
+                        OffsetDateTime.parse("2025-07-08T15:57:55-03:00")),
+                new AuthorizeTransactionResponse.Account(accountId,
+                        new AuthorizeTransactionResponse.Balance(new BigDecimal("90.00"), "BRL"))
+        ));
+
+        String body = """
+        {
+          "accountId": "%s",
+          "type": "DEBIT",
+          "amount": { "value": 10.00, "currency": "BRL" },
+          "timestamp": "2025-07-08T15:57:55-03:00"
+        }
+        """.formatted(accountId);
+
+        mockMvc.perform(post("/transactions/{transactionId}", txId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transaction.id").value(txId.toString()))
+                .andExpect(jsonPath("$.account.balance.amount").value(90.00));
+
+        verifyNoInteractions(accountServiceClient);
+        verify(responseCache, never()).put(any(), any(), any());
+    }
+
+    @Test
+    void shouldNotCacheErrors() throws Exception {
+        UUID txId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+
+        when(accountServiceClient.applyOperation(eq(accountId), eq(txId), any()))
+                .thenThrow(new AccountServiceClient.AccountNotFoundException(accountId));
+
+        String body = """
+        {
+          "accountId": "%s",
+          "type": "DEBIT",
+          "amount": { "value": 10.00, "currency": "BRL" },
+          "timestamp": "2025-07-08T15:57:55-03:00"
+        }
+        """.formatted(accountId);
+
+        mockMvc.perform(post("/transactions/{transactionId}", txId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isNotFound());
+
+        verify(responseCache, never()).put(any(), any(), any());
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationRequest;
+import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountOperationBatcherTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final UUID unknownAccount = UUID.randomUUID();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private AccountOperationBatcher batcher;
+    private volatile int stubStatus = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        // stub de POST /accounts/operations:batch: 404 no item da conta desconhecida, 200 nos demais
+        server.createContext("/accounts/operations:batch", exchange -> {
+            var items = json.readTree(exchange.getRequestBody()).get("operations");
+            batchSizes.add(items.size());
+            var results = json.createArrayNode();
+            for (var item : items) {
+                ObjectNode result = results.addObject();
+                result.set("transactionId", item.get("transactionId"));
+                result.set("accountId", item.get("accountId"));
+                if (item.get("accountId").asText().equals(unknownAccount.toString())) {
+                    result.put("status", 404).put("error", "NOT_FOUND").put("message", "Account not found");
+                } else {
+                    result.put("status", 200).putObject("operation")
+                            .put("transactionId", item.get("transactionId").asText())
+                            .put("accountId", item.get("accountId").asText())
+                            .put("type", item.get("type").asText())
+                            .put("amountValue", item.get("amountValue").decimalValue())
+                            .put("amountCurrency", "BRL")
+                            .put("status", "SUCCEEDED")
+                            .put("resultingBalanceAmount", 100)
+                            .put("resultingBalanceCurrency", "BRL");
+                }
+            }
+            var body = json.writeValueAsBytes(json.createObjectNode().set("results", results));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(stubStatus, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (batcher != null) {
+            batcher.stop();
+        }
+        server.stop(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private AccountServiceClient client(int maxBatchSize, Duration maxLinger) {
+        var restClient = RestClient.builder().baseUrl("http://localhost:" + server.getAddress().getPort()).build();
+        batcher = new AccountOperationBatcher(restClient, meterRegistry, maxBatchSize, maxLinger, 1000);
+        batcher.start();
+        ObjectProvider<AccountOperationBatcher> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(batcher);
+        return new AccountServiceClient(restClient, provider, mock(ObjectProvider.class));
+    }
+
+    private static ApplyOperationRequest request() {
+        return new ApplyOperationRequest("DEBIT", new BigDecimal("10.00"), "BRL", OffsetDateTime.now());
+    }
+
+    /** {@code calls} chamadas concorrentes; a de índice {@code unknownIndex} usa a conta desconhecida. */
+    private List<Future<ApplyOperationResponse>> callConcurrently(AccountServiceClient client, List<UUID> txIds,
+                                                                  int unknownIndex) {
+        var futures = new ArrayList<Future<ApplyOperationResponse>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < txIds.size(); i++) {
+                UUID accountId = i == unknownIndex ? unknownAccount : UUID.randomUUID();
+                UUID txId = txIds.get(i);
+                futures.add(executor.submit(() -> client.applyOperation(accountId, txId, request())));
+            }
+        }
+        return futures;
+    }
+
+    private static List<UUID> txIds(int count) {
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    @Test
+    void shouldCoalesceConcurrentCalls_andCompleteEachCallerWithItsOwnResult() throws Exception {
+        var client = client(100, Duration.ofMillis(300));
+        var txIds = txIds(10);
+
+        var futures = callConcurrently(client, txIds, 3);
+
+        assertEquals(List.of(10), batchSizes);
+        for (int i = 0; i < futures.size(); i++) {
+            if (i == 3) {
+                var error = assertThrows(ExecutionException.class, futures.get(i)::get);
+                assertInstanceOf(AccountServiceClient.AccountNotFoundException.class, error.getCause());
+                assertEquals("Account not found: " + unknownAccount, error.getCause().getMessage());
+            } else {
+                assertEquals(txIds.get(i), futures.get(i).get().transactionId());
+            }
+        }
+        assertEquals(10, meterRegistry.get("account.client.batch.size").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("account.client.batch.flushes").tag("trigger", "linger").counter().count());
+    }
+
+    @Test
+    void shouldCloseBatchesAtMaxBatchSize() throws Exception {
+        var client = client(4, Duration.ofMillis(300));
+
+        var futures = callConcurrently(client, txIds(10), -1);
+
+        for (var future : futures) {
+            assertEquals("SUCCEEDED", future.get().status());
+        }
+        assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4), () -> "batch sizes: " + batchSizes);
+        assertTrue(meterRegistry.get("account.client.batch.flushes").tag("trigger", "size").counter().count() >= 2);
+        assertEquals(4, meterRegistry.get("account.client.batch.max.size").gauge().value());
+        assertEquals(0.3, meterRegistry.get("account.client.batch.max.linger").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void shouldFailEveryCallerOfTheBatch_whenTheBatchRequestFails() {
+        stubStatus = 503;
+        var client = client(100, Duration.ofMillis(100));
+
+        var futures = callConcurrently(client, txIds(3), -1);
+
+        for (var future : futures) {
+            var error = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(HttpServerErrorException.class, error.getCause());
+        }
+    }
+}
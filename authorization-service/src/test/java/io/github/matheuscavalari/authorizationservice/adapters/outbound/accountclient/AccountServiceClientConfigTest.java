@@ -0,0 +1,151 @@
+package io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient;
+
+import com.sun.net.httpserver.HttpServer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountServiceClientConfigTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private volatile long delayMillis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/accounts", exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            var body = """
+                    {"transactionId":"%s","accountId":"%s","type":"CREDIT","amountValue":10.00,"amountCurrency":"BRL",
+                     "status":"SUCCEEDED","timestamp":"2025-12-30T12:00:00-03:00","resultingBalanceAmount":110.00,
+                     "resultingBalanceCurrency":"BRL"}
+                    """.formatted(UUID.randomUUID(), UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        // threads de plataforma: o stub continua respondendo mesmo se as threads virtuais do cliente ficarem presas
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private AccountServiceClient client(ClientHttpRequestFactory factory) {
+        return new AccountServiceClient(RestClient.builder()
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .requestFactory(factory)
+                .build());
+    }
+
+    private ClientHttpRequestFactory pooledFactory(Duration responseTimeout) {
+        return pooledFactory(10, responseTimeout);
+    }
+
+    private ClientHttpRequestFactory pooledFactory(int maxConnections, Duration responseTimeout) {
+        return new AccountServiceClientConfig().accountServiceRequestFactory(meterRegistry, "http1",
+                maxConnections, maxConnections,
+                Duration.ofSeconds(1), responseTimeout, Duration.ofMillis(500),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(2));
+    }
+
+    private static ApplyOperationRequest request() {
+        return new ApplyOperationRequest("CREDIT", new BigDecimal("10.00"), "BRL", OffsetDateTime.now());
+    }
+
+    @Test
+    void pooledClient_shouldReuseTheConnection_andReportLeasesAndPoolMetrics() {
+        var client = client(pooledFactory(Duration.ofSeconds(5)));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("SUCCEEDED", client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request()).status());
+        }
+
+        // primeira chamada abre a conexão, as seguintes reaproveitam
+        assertEquals(1, meterRegistry.get("http.client.connection.lease").tag("reused", "false").timer().count());
+        assertEquals(2, meterRegistry.get("http.client.connection.lease").tag("reused", "true").timer().count());
+        assertEquals(10, meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        assertEquals(1, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value());
+    }
+
+    @Test
+    void pooledClient_shouldFailFast_whenResponseTakesLongerThanTheTimeout() {
+        delayMillis = 1000;
+        var client = client(pooledFactory(Duration.ofMillis(100)));
+
+        assertThrows(ResourceAccessException.class,
+                () -> client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request()));
+    }
+
+    /**
+     * Com spring.threads.virtual.enabled=true o caminho do cliente roda em threads virtuais: nenhuma pode ficar
+     * presa à thread carrier (synchronized em volta de I/O) enquanto espera o account-service.
+     */
+    @Test
+    void pooledClient_shouldNotPinVirtualThreads_whileWaitingForTheResponse() throws Exception {
+        delayMillis = 50;
+        var client = client(pooledFactory(50, Duration.ofSeconds(5)));
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+
+        try (var recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                var calls = new ArrayList<Future<?>>();
+                for (int i = 0; i < 50; i++) {
+                    calls.add(executor.submit(() -> client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request())));
+                }
+                for (var call : calls) {
+                    call.get();
+                }
+            }
+            // eventos chegam ao stream de forma assíncrona
+            Thread.sleep(1500);
+        }
+
+        assertTrue(pinned.isEmpty(), () -> "virtual threads pinned in the client path:\n" + pinned.getFirst());
+    }
+
+    @Test
+    void shouldRejectUnknownProtocol() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountServiceClientConfig()
+                .accountServiceRequestFactory(meterRegistry, "http3", 10, 10, Duration.ofSeconds(1),
+                        Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1),
+                        Duration.ofSeconds(1), Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,227 @@
+package io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.matheuscavalari.authorizationservice.adapters.outbound.accountclient.dto.ApplyOperationRequest;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountServiceResilienceTest {
+
+    /** Resposta do stub: status e atraso antes de responder. */
+    private record Reply(int status, long delayMillis) {}
+
+    private final Queue<Reply> script = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private AccountServiceResilience resilience;
+    private volatile Reply defaultReply = new Reply(200, 0);
+    private volatile CountDownLatch received = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        // stub de POST /accounts/{id}/operations/{tx}: segue o roteiro e depois responde defaultReply
+        server.createContext("/accounts/", exchange -> {
+            requests.incrementAndGet();
+            received.countDown();
+            var reply = script.poll();
+            if (reply == null) {
+                reply = defaultReply;
+            }
+            try {
+                Thread.sleep(reply.delayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            var path = exchange.getRequestURI().getPath().split("/");
+            var body = reply.status() != 200 ? new byte[0] : """
+                    {"transactionId":"%s","accountId":"%s","type":"DEBIT","amountValue":10.00,"amountCurrency":"BRL",
+                     "status":"SUCCEEDED","resultingBalanceAmount":90.00,"resultingBalanceCurrency":"BRL"}"""
+                    .formatted(path[4], path[2]).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(reply.status(), body.length == 0 ? -1 : body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (resilience != null) {
+            resilience.stop();
+        }
+        server.stop(0);
+    }
+
+    private AccountServiceResilience resilience(int maxConcurrentCalls, int maxAttempts, int minimumCalls,
+                                                boolean hedging, Duration hedgeDelay) {
+        resilience = new AccountServiceResilience(meterRegistry,
+                maxConcurrentCalls, Duration.ZERO,
+                maxAttempts, Duration.ofMillis(10), 0.5,
+                50, Duration.ofSeconds(2), minimumCalls, minimumCalls, Duration.ofSeconds(30),
+                hedging, hedgeDelay, hedgeDelay);
+        return resilience;
+    }
+
+    @SuppressWarnings("unchecked")
+    private AccountServiceClient client(AccountServiceResilience resilience, int port) {
+        ObjectProvider<AccountServiceResilience> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(resilience);
+        return new AccountServiceClient(RestClient.builder().baseUrl("http://localhost:" + port).build(),
+                mock(ObjectProvider.class), provider);
+    }
+
+    private AccountServiceClient client(AccountServiceResilience resilience) {
+        return client(resilience, server.getAddress().getPort());
+    }
+
+    private static ApplyOperationRequest request() {
+        return new ApplyOperationRequest("DEBIT", new BigDecimal("10.00"), "BRL", OffsetDateTime.now());
+    }
+
+    private double retryCalls(String kind) {
+        return meterRegistry.get("resilience4j.retry.calls").tag("kind", kind).functionCounter().count();
+    }
+
+    @Test
+    void shouldRetryServerErrors_untilTheAccountServiceAnswers() {
+        script.add(new Reply(503, 0));
+        script.add(new Reply(503, 0));
+        var client = client(resilience(10, 3, 100, false, Duration.ofMillis(50)));
+        var txId = UUID.randomUUID();
+
+        var response = client.applyOperation(UUID.randomUUID(), txId, request());
+
+        assertEquals(txId, response.transactionId());
+        assertEquals(3, requests.get());
+        assertEquals(1, retryCalls("successful_with_retry"));
+    }
+
+    @Test
+    void shouldNotRetryNorCountAsFailure_whenTheAccountDoesNotExist() {
+        defaultReply = new Reply(404, 0);
+        var resilience = resilience(10, 3, 100, false, Duration.ofMillis(50));
+        var client = client(resilience);
+
+        assertThrows(AccountServiceClient.AccountNotFoundException.class,
+                () -> client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request()));
+
+        assertEquals(1, requests.get());
+        assertEquals(0, resilience.circuitBreaker().getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void shouldRetryConnectionErrors_andGiveUpAfterMaxAttempts() throws IOException {
+        int closedPort;
+        try (var socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        var client = client(resilience(10, 3, 100, false, Duration.ofMillis(50)), closedPort);
+
+        assertThrows(ResourceAccessException.class,
+                () -> client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request()));
+
+        assertEquals(1, retryCalls("failed_with_retry"));
+        assertEquals(3, resilience.circuitBreaker().getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void shouldOpenTheCircuit_andFailFastWithoutCallingTheAccountService() {
+        defaultReply = new Reply(500, 0);
+        var client = client(resilience(10, 1, 4, false, Duration.ofMillis(50)));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpServerErrorException.class,
+                    () -> client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request()));
+        }
+        assertThrows(CallNotPermittedException.class,
+                () -> client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request()));
+
+        assertEquals(4, requests.get());
+        assertEquals(1, meterRegistry.get("account.client.circuit.transitions")
+                .tag("from", "CLOSED").tag("to", "OPEN").counter().count());
+    }
+
+    @Test
+    void shouldRejectCallsOverTheBulkheadLimit() throws Exception {
+        defaultReply = new Reply(200, 1000);
+        received = new CountDownLatch(2);
+        var client = client(resilience(2, 1, 100, false, Duration.ofMillis(50)));
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var first = executor.submit(() -> client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request()));
+            var second = executor.submit(() -> client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request()));
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+
+            assertThrows(BulkheadFullException.class,
+                    () -> client.applyOperation(UUID.randomUUID(), UUID.randomUUID(), request()));
+
+            assertEquals("SUCCEEDED", first.get().status());
+            assertEquals("SUCCEEDED", second.get().status());
+        }
+        assertEquals(2, requests.get());
+        assertEquals(1, meterRegistry.get("account.client.bulkhead.rejections").counter().count());
+    }
+
+    @Test
+    void shouldHedgeSlowCalls_andKeepTheFirstAnswer() {
+        script.add(new Reply(200, 2000));
+        var client = client(resilience(10, 1, 100, true, Duration.ofMillis(50)));
+        var txId = UUID.randomUUID();
+
+        long begin = System.nanoTime();
+        var response = client.applyOperation(UUID.randomUUID(), txId, request());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        assertEquals(txId, response.transactionId());
+        assertTrue(elapsedMillis < 1500, () -> "elapsed: " + elapsedMillis + "ms");
+        assertEquals(2, requests.get());
+        assertEquals(1, meterRegistry.get("account.client.hedges").tag("outcome", "fired").counter().count());
+        assertEquals(1, meterRegistry.get("account.client.hedges").tag("outcome", "won").counter().count());
+    }
+
+    @Test
+    void shouldNotHedge_whenTheBulkheadHasNoFreePermit() {
+        script.add(new Reply(200, 300));
+        var client = client(resilience(1, 1, 100, true, Duration.ofMillis(50)));
+        var txId = UUID.randomUUID();
+
+        var response = client.applyOperation(UUID.randomUUID(), txId, request());
+
+        assertEquals(txId, response.transactionId());
+        assertEquals(1, requests.get());
+        assertEquals(0, meterRegistry.get("account.client.hedges").tag("outcome", "fired").counter().count());
+        assertEquals(1, meterRegistry.get("account.client.hedges").tag("outcome", "skipped").counter().count());
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.matheuscavalari.authorizationservice.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.matheuscavalari.authorizationservice.AuthorizationServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load comparison of {@code POST /transactions/{id}} on platform Tomcat threads vs virtual threads
+ * ({@code spring.threads.virtual.enabled}), with N requests in flight at all times against a local account-service
+ * stub that answers after a fixed delay (pure I/O wait, no Postgres).
+ * <p>
+ * For each mode it reports throughput, p50/p99 latency, the peak number of live threads and the heap growth per
+ * in-flight request (peak heap during the run minus the heap after a GC before it, divided by N). Platform thread
+ * stacks live outside the heap: the "stacks" column estimates them as extra live threads x 1 MiB (default -Xss).
+ * The load generator and the stub share the JVM, identically in both modes.
+ * <p>
+ * 5k in-flight requests need ~20k file descriptors ({@code ulimit -n 65535}). Run with {@code mvn test-compile
+ * exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.matheuscavalari.authorizationservice.benchmark.AuthorizeLoadBenchmark}
+ * or straight from the IDE. Optional args: {@code inFlight seconds stubDelayMillis}.
+ */
+public class AuthorizeLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int inFlight = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int stubDelayMillis = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        var stub = startAccountServiceStub(stubDelayMillis);
+        try {
+            System.out.printf("inFlight=%d duration=%ds stubDelay=%dms%n", inFlight, seconds, stubDelayMillis);
+            System.out.printf("%9s %10s %8s %8s %8s %9s %12s %10s%n",
+                    "mode", "req/s", "p50 ms", "p99 ms", "errors", "threads", "heap/req KB", "stacks MB");
+            for (boolean virtualThreads : new boolean[]{false, true}) {
+                run(virtualThreads, stub.getAddress().getPort(), inFlight, seconds);
+            }
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private static HttpServer startAccountServiceStub(int delayMillis) throws Exception {
+        // sem Nagle: cabeçalhos e corpo saem em writes separados e esperariam o ACK atrasado do cliente
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        var server = HttpServer.create(new InetSocketAddress("localhost", 0), 10_000);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/accounts", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            var path = exchange.getRequestURI().getPath().split("/");
+            var body = """
+                    {"transactionId":"%s","accountId":"%s","type":"CREDIT","amountValue":10.00,"amountCurrency":"BRL",
+                     "status":"SUCCEEDED","timestamp":"2025-12-30T12:00:00-03:00","resultingBalanceAmount":110.00,
+                     "resultingBalanceCurrency":"BRL"}
+                    """.formatted(path[4], path[2]).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static void run(boolean virtualThreads, int stubPort, int inFlight, int seconds) throws Exception {
+        try (var ctx = (ServletWebServerApplicationContext) new SpringApplicationBuilder(AuthorizationServiceApplication.class)
+                .run(
+                        // argumentos: têm precedência sobre o application.properties
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.max-connections=" + (inFlight + 1000),
+                        "--server.tomcat.accept-count=" + inFlight,
+                        "--account-service.base-url=http://localhost:" + stubPort,
+                        // o pool de saída não pode ser o gargalo da comparação
+                        "--account-service.http.max-connections=" + inFlight,
+                        "--account-service.http.max-connections-per-route=" + inFlight,
+                        "--account-service.http.connection-request-timeout=60s",
+                        "--account-service.http.response-timeout=60s",
+                        "--logging.level.root=WARN"
+                )) {
+
+            var uri = "http://localhost:" + ctx.getWebServer().getPort() + "/transactions/";
+            var memory = ManagementFactory.getMemoryMXBean();
+            var threads = ManagementFactory.getThreadMXBean();
+
+            System.gc();
+            long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+            int baselineThreads = threads.getThreadCount();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            var errors = new AtomicLong();
+            long peakHeap = 0;
+            int peakThreads = 0;
+            var latencies = new ArrayList<Future<long[]>>();
+
+            try (var http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+                 var callers = Executors.newVirtualThreadPerTaskExecutor()) {
+
+                for (int i = 0; i < inFlight; i++) {
+                    latencies.add(callers.submit(() -> call(http, uri, deadline, errors)));
+                }
+                while (System.nanoTime() < deadline) {
+                    peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+                    peakThreads = Math.max(peakThreads, threads.getThreadCount());
+                    Thread.sleep(100);
+                }
+
+                long[] all = latencies.stream().map(AuthorizeLoadBenchmark::join)
+                        .flatMapToLong(Arrays::stream).sorted().toArray();
+                System.out.printf("%9s %10.0f %8.1f %8.1f %8d %9d %12.1f %10d%n",
+                        virtualThreads ? "virtual" : "platform",
+                        all.length / (double) seconds,
+                        percentile(all, 0.50), percentile(all, 0.99),
+                        errors.get(),
+                        peakThreads,
+                        (peakHeap - baselineHeap) / 1024.0 / inFlight,
+                        Math.max(0, peakThreads - baselineThreads));
+            }
+        }
+    }
+
+    /** Uma "conexão de cliente": requisições em sequência até o fim da janela; devolve as latências em µs. */
+    private static long[] call(HttpClient http, String uri, long deadline, AtomicLong errors) {
+        var body = """
+                {"accountId":"%s","type":"CREDIT","amount":{"value":10.00,"currency":"BRL"},
+                 "timestamp":"2025-12-30T12:00:00-03:00"}
+                """.formatted(UUID.randomUUID());
+        List<Long> latencies = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            var request = HttpRequest.newBuilder(URI.create(uri + UUID.randomUUID()))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            long begin = System.nanoTime();
+            try {
+                var response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+                latencies.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin));
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+        }
+        return latencies.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sortedMicros, double p) {
+        if (sortedMicros.length == 0) {
+            return Double.NaN;
+        }
+        return sortedMicros[(int) Math.min(sortedMicros.length - 1, Math.ceil(p * sortedMicros.length) - 1)] / 1000.0;
+    }
+}